@@ -0,0 +1,92 @@
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.Arrays;
+
+/**
+ * Not-found path benchmark: compares the latency of GET /api/tasks/{taskId}
+ * for an existing task (hit) and for a missing task (miss).
+ *
+ * Usage (with the application running):
+ *   java scripts/NotFoundBenchmark.java [baseUrl] [requests]
+ *
+ * Start the application with --ratelimit.enabled=false, otherwise the
+ * rate limit filter answers most of the requests with 429.
+ */
+public class NotFoundBenchmark {
+
+    private static final HttpClient CLIENT = HttpClient.newHttpClient();
+
+    public static void main(String[] args) throws Exception {
+        String baseUrl = args.length > 0 ? args[0] : "http://localhost:8080";
+        int requests = args.length > 1 ? Integer.parseInt(args[1]) : 20_000;
+
+        long taskId = createTask(baseUrl);
+        String hitUrl = baseUrl + "/api/tasks/" + taskId;
+        String missUrl = baseUrl + "/api/tasks/" + Long.MAX_VALUE;
+
+        // Warm up both paths so the JIT has compiled them before measuring
+        measure(hitUrl, requests / 2, 200);
+        measure(missUrl, requests / 2, 404);
+
+        report("hit  (200)", measure(hitUrl, requests, 200));
+        report("miss (404)", measure(missUrl, requests, 404));
+    }
+
+    /**
+     * Creates the user, category, priority and task used for the hit path.
+     */
+    private static long createTask(String baseUrl) throws Exception {
+        String suffix = Long.toString(System.nanoTime());
+        long userId = post(baseUrl + "/api/users",
+                "{\"name\":\"bench\",\"email\":\"bench" + suffix + "@example.org\"}");
+        long categoryId = post(baseUrl + "/api/categories", "{\"name\":\"bench" + suffix + "\"}");
+        long priorityId = post(baseUrl + "/api/priorities", "{\"name\":\"bench" + suffix + "\",\"level\":1}");
+        return post(baseUrl + "/api/tasks", "{\"title\":\"bench\",\"userId\":" + userId
+                + ",\"categoryId\":" + categoryId + ",\"priorityId\":" + priorityId + "}");
+    }
+
+    /**
+     * POSTs a JSON body and returns the "id" of the created entity.
+     */
+    private static long post(String url, String json) throws Exception {
+        HttpRequest request = HttpRequest.newBuilder(URI.create(url))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(json))
+                .build();
+        String body = CLIENT.send(request, HttpResponse.BodyHandlers.ofString()).body();
+        int start = body.indexOf("\"id\":") + 5;
+        int end = start;
+        while (Character.isDigit(body.charAt(end))) {
+            end++;
+        }
+        return Long.parseLong(body.substring(start, end));
+    }
+
+    /**
+     * Sends the GET request sequentially and returns the latency of each call in nanoseconds.
+     */
+    private static long[] measure(String url, int requests, int expectedStatus) throws Exception {
+        HttpRequest request = HttpRequest.newBuilder(URI.create(url)).GET().build();
+        long[] latencies = new long[requests];
+        for (int i = 0; i < requests; i++) {
+            long start = System.nanoTime();
+            HttpResponse<byte[]> response = CLIENT.send(request, HttpResponse.BodyHandlers.ofByteArray());
+            latencies[i] = System.nanoTime() - start;
+            if (response.statusCode() != expectedStatus) {
+                throw new IllegalStateException("Expected " + expectedStatus + " but got "
+                        + response.statusCode() + " for " + url);
+            }
+        }
+        return latencies;
+    }
+
+    private static void report(String label, long[] latencies) {
+        Arrays.sort(latencies);
+        double avg = Arrays.stream(latencies).average().orElse(0) / 1000;
+        System.out.printf("%s  avg %7.1f us   p50 %7.1f us   p99 %7.1f us%n", label, avg,
+                latencies[latencies.length / 2] / 1000.0,
+                latencies[(int) (latencies.length * 0.99)] / 1000.0);
+    }
+}
@@ -0,0 +1,113 @@
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Read throughput benchmark: concurrent GET /api/tasks/{taskId} requests
+ * for a fixed time, reported as requests per second.
+ * Run by replica-benchmark.sh once per replica count.
+ * The "replicas" of that script are the primary's own in-memory database, so the
+ * measured difference comes from the extra connection pools alone.
+ *
+ * Usage (with the application running):
+ *   java scripts/ReadScalingBenchmark.java [baseUrl] [threads] [seconds]
+ *
+ * Start the application with --ratelimit.enabled=false, otherwise the
+ * rate limit filter answers most of the requests with 429.
+ */
+public class ReadScalingBenchmark {
+
+    private static final HttpClient CLIENT = HttpClient.newHttpClient();
+    private static final int TASKS = 200;
+
+    public static void main(String[] args) throws Exception {
+        String baseUrl = args.length > 0 ? args[0] : "http://localhost:8080";
+        int threads = args.length > 1 ? Integer.parseInt(args[1]) : 32;
+        int seconds = args.length > 2 ? Integer.parseInt(args[2]) : 10;
+
+        List<String> urls = createTasks(baseUrl);
+
+        // Warm up, then measure
+        run(urls, threads, Math.max(1, seconds / 2));
+        long requests = run(urls, threads, seconds);
+        System.out.printf("%d threads, %d s: %d requests, %.0f req/s%n",
+                threads, seconds, requests, requests / (double) seconds);
+    }
+
+    /**
+     * Creates the tasks to read and returns their URLs.
+     */
+    private static List<String> createTasks(String baseUrl) throws Exception {
+        String suffix = Long.toString(System.nanoTime());
+        long userId = post(baseUrl + "/api/users",
+                "{\"name\":\"bench\",\"email\":\"bench" + suffix + "@example.org\"}");
+        long categoryId = post(baseUrl + "/api/categories", "{\"name\":\"bench" + suffix + "\"}");
+        long priorityId = post(baseUrl + "/api/priorities", "{\"name\":\"bench" + suffix + "\",\"level\":1}");
+        List<String> urls = new ArrayList<>(TASKS);
+        for (int i = 0; i < TASKS; i++) {
+            urls.add(baseUrl + "/api/tasks/" + post(baseUrl + "/api/tasks", "{\"title\":\"bench " + i
+                    + "\",\"userId\":" + userId + ",\"categoryId\":" + categoryId
+                    + ",\"priorityId\":" + priorityId + "}"));
+        }
+        return urls;
+    }
+
+    /**
+     * POSTs a JSON body and returns the "id" of the created entity.
+     */
+    private static long post(String url, String json) throws Exception {
+        HttpRequest request = HttpRequest.newBuilder(URI.create(url))
+                .header("Content-Type", "application/json")
+                .header("X-Client-Id", "bench-writer")
+                .POST(HttpRequest.BodyPublishers.ofString(json))
+                .build();
+        String body = CLIENT.send(request, HttpResponse.BodyHandlers.ofString()).body();
+        int start = body.indexOf("\"id\":") + 5;
+        int end = start;
+        while (Character.isDigit(body.charAt(end))) {
+            end++;
+        }
+        return Long.parseLong(body.substring(start, end));
+    }
+
+    /**
+     * Reads random tasks from all threads until the time is up and returns the number of requests.
+     * The readers use an own client ID, so they are not pinned to the primary by the writes above.
+     */
+    private static long run(List<String> urls, int threads, int seconds) throws InterruptedException {
+        LongAdder requests = new LongAdder();
+        long deadline = System.nanoTime() + seconds * 1_000_000_000L;
+        List<Thread> workers = new ArrayList<>(threads);
+        for (int t = 0; t < threads; t++) {
+            Thread worker = new Thread(() -> {
+                try {
+                    while (System.nanoTime() < deadline) {
+                        String url = urls.get(ThreadLocalRandom.current().nextInt(urls.size()));
+                        HttpRequest request = HttpRequest.newBuilder(URI.create(url))
+                                .header("X-Client-Id", "bench-reader")
+                                .GET()
+                                .build();
+                        HttpResponse<Void> response = CLIENT.send(request, HttpResponse.BodyHandlers.discarding());
+                        if (response.statusCode() != 200) {
+                            throw new IllegalStateException("Unexpected status " + response.statusCode());
+                        }
+                        requests.increment();
+                    }
+                } catch (Exception e) {
+                    throw new IllegalStateException(e);
+                }
+            });
+            worker.start();
+            workers.add(worker);
+        }
+        for (Thread worker : workers) {
+            worker.join();
+        }
+        return requests.sum();
+    }
+}
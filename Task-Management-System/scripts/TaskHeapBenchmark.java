@@ -0,0 +1,118 @@
+import org.example.config.TaskStoreProperties;
+import org.example.model.entity.Category;
+import org.example.model.entity.Priority;
+import org.example.model.entity.Task;
+import org.example.model.entity.User;
+import org.example.model.enums.TaskStatus;
+import org.example.repository.InMemoryTaskStore;
+import org.example.repository.InMemoryTaskStore.StoredTask;
+
+import java.lang.management.ManagementFactory;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Heap footprint benchmark: retained heap per task for
+ * - Task entities (as held by a persistence context, without Hibernate's own bookkeeping)
+ * - the in-memory store with the records layout (task.store.compact=false)
+ * - the in-memory store with the compact layout (task.store.compact=true)
+ * All variants hold the same generated tasks; about half have a 300-900 character description.
+ *
+ * Usage (after mvn compile):
+ *   java -cp target/classes scripts/TaskHeapBenchmark.java [tasks]
+ */
+public class TaskHeapBenchmark {
+
+    private static final String[] WORDS = ("the task needs review before release customer reported issue " +
+            "with login page after update please check logs and fix the error message shown to users " +
+            "also update documentation and add notes for the support team deadline next sprint").split(" ");
+
+    public static void main(String[] args) {
+        int count = args.length > 0 ? Integer.parseInt(args[0]) : 500_000;
+        List<StoredTask> source = generate(count);
+
+        report("Task entities", count, () -> toEntities(source));
+        report("Store, records layout", count, () -> fill(source, false));
+        report("Store, compact layout", count, () -> fill(source, true));
+    }
+
+    /**
+     * Measures the heap retained by the object built by the supplier.
+     */
+    private static void report(String name, int count, java.util.function.Supplier<Object> build) {
+        long before = usedHeap();
+        Object retained = build.get();
+        long after = usedHeap();
+        System.out.printf("%-24s %,8d bytes/task%n", name + ":", (after - before) / count);
+        if (retained.hashCode() == 42) {
+            System.out.print("");
+        }
+    }
+
+    private static Object toEntities(List<StoredTask> source) {
+        User user = new User();
+        Category category = new Category();
+        Priority priority = new Priority();
+        List<Task> tasks = new ArrayList<>(source.size());
+        for (StoredTask task : source) {
+            tasks.add(new Task(task.id(), copy(task.title()), copy(task.description()), task.status(),
+                    task.dueAt(), task.overdue(), task.parentId(), user, category, priority, copy(task.createdAt()), copy(task.updatedAt())));
+        }
+        return tasks;
+    }
+
+    private static Object fill(List<StoredTask> source, boolean compact) {
+        TaskStoreProperties properties = new TaskStoreProperties();
+        properties.setCompact(compact);
+        InMemoryTaskStore store = new InMemoryTaskStore(properties);
+        for (StoredTask task : source) {
+            // Copies, so the store does not share objects with the source list
+            store.save(new StoredTask(task.id(), copy(task.title()), copy(task.description()),
+                    task.status(), task.dueAt(), task.overdue(), task.parentId(), task.userId(), task.categoryId(), task.priorityId(),
+                    copy(task.createdAt()), copy(task.updatedAt())));
+        }
+        return store;
+    }
+
+    private static List<StoredTask> generate(int count) {
+        Random random = new Random(1);
+        TaskStatus[] statuses = TaskStatus.values();
+        LocalDateTime start = LocalDateTime.of(2024, 1, 1, 0, 0);
+        List<StoredTask> tasks = new ArrayList<>(count);
+        for (int i = 1; i <= count; i++) {
+            String description = null;
+            if (random.nextBoolean()) {
+                StringBuilder text = new StringBuilder();
+                int length = 300 + random.nextInt(600);
+                while (text.length() < length) {
+                    text.append(WORDS[random.nextInt(WORDS.length)]).append(' ');
+                }
+                description = text.toString();
+            }
+            LocalDateTime createdAt = start.plusNanos(random.nextLong(1L << 55) / 1000 * 1000);
+            tasks.add(new StoredTask(i, "Task " + i + " " + WORDS[random.nextInt(WORDS.length)], description,
+                    statuses[random.nextInt(statuses.length)], null, false, null, 1 + random.nextInt(1000), 1 + random.nextInt(20),
+                    1 + random.nextInt(5), createdAt, createdAt.plusMinutes(random.nextInt(10_000))));
+        }
+        return tasks;
+    }
+
+    private static String copy(String text) {
+        // new String(String) would share the byte array of the original
+        return text != null ? new String(text.toCharArray()) : null;
+    }
+
+    private static LocalDateTime copy(LocalDateTime time) {
+        return LocalDateTime.of(time.getYear(), time.getMonth(), time.getDayOfMonth(),
+                time.getHour(), time.getMinute(), time.getSecond(), time.getNano());
+    }
+
+    private static long usedHeap() {
+        for (int i = 0; i < 5; i++) {
+            System.gc();
+        }
+        return ManagementFactory.getMemoryMXBean().getHeapMemoryUsage().getUsed();
+    }
+}
@@ -0,0 +1,131 @@
+import org.example.json.ReferenceJsonFragments;
+import org.example.json.ResponseJsonModule;
+import org.example.model.dto.response.CategoryResponse;
+import org.example.model.dto.response.PriorityResponse;
+import org.example.model.dto.response.TaskResponse;
+import org.example.model.dto.response.UserResponse;
+import org.example.model.enums.TaskStatus;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+
+import java.io.OutputStream;
+import java.lang.management.ManagementFactory;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Serialization benchmark for task lists: bytes allocated and time per task when a
+ * List<TaskResponse> is written to a stream, as GET /api/tasks does, with
+ * - the default ObjectMapper (reflective bean serializers, one String per timestamp)
+ * - the same ObjectMapper with ResponseJsonModule (hand-written serializers), once with the
+ *   fragment cache disabled and once splicing in the cached JSON of users, categories and priorities
+ * Both mappers are configured like Spring Boot's (JavaTimeModule, ISO timestamps);
+ * the benchmark first checks that they produce identical bytes.
+ *
+ * Usage (after mvn compile):
+ *   mvn -q dependency:build-classpath -Dmdep.outputFile=target/classpath.txt
+ *   java -cp "target/classes:$(cat target/classpath.txt)" scripts/TaskJsonBenchmark.java [tasks] [rounds]
+ */
+public class TaskJsonBenchmark {
+
+    public static void main(String[] args) throws Exception {
+        int count = args.length > 0 ? Integer.parseInt(args[0]) : 10_000;
+        int rounds = args.length > 1 ? Integer.parseInt(args[1]) : 200;
+        List<TaskResponse> tasks = generate(count);
+
+        ObjectMapper reflective = mapper();
+        ObjectMapper handWritten = mapper().registerModule(new ResponseJsonModule(new ReferenceJsonFragments(0)));
+        ObjectMapper spliced = mapper().registerModule(new ResponseJsonModule(new ReferenceJsonFragments(10_000)));
+        byte[] expected = reflective.writeValueAsBytes(tasks);
+        // The second spliced run reads every fragment from the filled cache
+        for (ObjectMapper mapper : List.of(handWritten, spliced, spliced)) {
+            if (!Arrays.equals(expected, mapper.writeValueAsBytes(tasks))) {
+                throw new IllegalStateException("The serializers produce different JSON");
+            }
+        }
+
+        // Warm up all paths so the JIT has compiled them before measuring
+        measure(reflective, tasks, rounds / 2);
+        measure(handWritten, tasks, rounds / 2);
+        measure(spliced, tasks, rounds / 2);
+
+        report("ObjectMapper (reflection)", measure(reflective, tasks, rounds), count, rounds);
+        report("ResponseJsonModule", measure(handWritten, tasks, rounds), count, rounds);
+        report("+ fragment cache", measure(spliced, tasks, rounds), count, rounds);
+    }
+
+    private static ObjectMapper mapper() {
+        return new ObjectMapper()
+                .registerModule(new JavaTimeModule())
+                .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+    }
+
+    /**
+     * Serializes the list the given number of times.
+     *
+     * @return [bytes allocated by this thread, elapsed nanoseconds]
+     */
+    private static long[] measure(ObjectMapper mapper, List<TaskResponse> tasks, int rounds) throws Exception {
+        com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        long thread = Thread.currentThread().getId();
+        OutputStream out = new OutputStream() {
+            // Discards the output; unlike nullOutputStream(), survives the close by writeValue()
+            @Override
+            public void write(int b) {
+            }
+
+            @Override
+            public void write(byte[] b, int off, int len) {
+            }
+        };
+        long allocatedBefore = threads.getThreadAllocatedBytes(thread);
+        long start = System.nanoTime();
+        for (int i = 0; i < rounds; i++) {
+            mapper.writeValue(out, tasks);
+        }
+        long elapsed = System.nanoTime() - start;
+        return new long[] {threads.getThreadAllocatedBytes(thread) - allocatedBefore, elapsed};
+    }
+
+    private static void report(String name, long[] result, int count, int rounds) {
+        long serialized = (long) count * rounds;
+        System.out.printf("%-28s %,8d bytes/task  %,8d ns/task%n", name + ":",
+                result[0] / serialized, result[1] / serialized);
+    }
+
+    private static List<TaskResponse> generate(int count) {
+        Random random = new Random(1);
+        TaskStatus[] statuses = TaskStatus.values();
+        LocalDateTime start = LocalDateTime.of(2024, 1, 1, 0, 0);
+        List<UserResponse> users = new ArrayList<>();
+        for (long id = 1; id <= 100; id++) {
+            users.add(new UserResponse(id, "User " + id, "user" + id + "@example.org", start.plusSeconds(id)));
+        }
+        List<CategoryResponse> categories = new ArrayList<>();
+        for (long id = 1; id <= 20; id++) {
+            categories.add(new CategoryResponse(id, "Category " + id, id % 2 == 0 ? "Tasks of category " + id : null));
+        }
+        List<PriorityResponse> priorities = new ArrayList<>();
+        for (int level = 1; level <= 5; level++) {
+            priorities.add(new PriorityResponse((long) level, "Priority " + level, level));
+        }
+
+        List<TaskResponse> tasks = new ArrayList<>(count);
+        for (long id = 1; id <= count; id++) {
+            // Microsecond timestamps as stored by H2, some with trailing zeros in the fraction
+            LocalDateTime createdAt = start.plusNanos(random.nextLong(1L << 55) / 1000 * 1000);
+            tasks.add(new TaskResponse(id, "Task " + id, random.nextBoolean() ? "Description of task " + id : null,
+                    statuses[random.nextInt(statuses.length)],
+                    random.nextBoolean() ? createdAt.plusDays(7).withNano(0) : null, random.nextInt(10) == 0,
+                    random.nextInt(5) == 0 ? id / 2 : null,
+                    users.get(random.nextInt(users.size())), categories.get(random.nextInt(categories.size())),
+                    priorities.get(random.nextInt(priorities.size())),
+                    createdAt, createdAt.plusNanos(random.nextLong(1L << 40) / 1000 * 1000)));
+        }
+        return tasks;
+    }
+}
@@ -0,0 +1,150 @@
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Task store engine benchmark: a mixed task workload for a fixed time,
+ * reported as requests per second and latency percentiles.
+ * Each request is, at random: 60% GET /api/tasks/{taskId}, 20% PUT /api/tasks/{taskId}/status,
+ * 10% POST /api/tasks and 10% GET /api/users/{userId}/tasks/next.
+ * Run by store-benchmark.sh once per engine (JPA and "memory" profile).
+ *
+ * Usage (with the application running):
+ *   java scripts/TaskStoreBenchmark.java [baseUrl] [threads] [seconds]
+ *
+ * Start the application with --ratelimit.enabled=false, otherwise the
+ * rate limit filter answers most of the requests with 429.
+ */
+public class TaskStoreBenchmark {
+
+    private static final HttpClient CLIENT = HttpClient.newHttpClient();
+    private static final int TASKS = 1000;
+    private static final String[] STATUSES = {"PENDING", "IN_PROGRESS", "DONE"};
+
+    public static void main(String[] args) throws Exception {
+        String baseUrl = args.length > 0 ? args[0] : "http://localhost:8080";
+        int threads = args.length > 1 ? Integer.parseInt(args[1]) : 16;
+        int seconds = args.length > 2 ? Integer.parseInt(args[2]) : 10;
+
+        Fixture fixture = createFixture(baseUrl);
+
+        // Warm up, then measure
+        run(baseUrl, fixture, threads, Math.max(1, seconds / 2));
+        long[] latencies = run(baseUrl, fixture, threads, seconds);
+        Arrays.sort(latencies);
+        System.out.printf("%d threads, %d s: %d requests, %.0f req/s, p50 %.2f ms, p99 %.2f ms%n",
+                threads, seconds, latencies.length, latencies.length / (double) seconds,
+                percentile(latencies, 0.50) / 1e6, percentile(latencies, 0.99) / 1e6);
+    }
+
+    private record Fixture(long userId, long categoryId, long priorityId, long[] taskIds) {
+    }
+
+    /**
+     * Creates a user, category and priority and the initial tasks.
+     */
+    private static Fixture createFixture(String baseUrl) throws Exception {
+        String suffix = Long.toString(System.nanoTime());
+        long userId = post(baseUrl + "/api/users",
+                "{\"name\":\"bench\",\"email\":\"bench" + suffix + "@example.org\"}");
+        long categoryId = post(baseUrl + "/api/categories", "{\"name\":\"bench" + suffix + "\"}");
+        long priorityId = post(baseUrl + "/api/priorities", "{\"name\":\"bench" + suffix + "\",\"level\":1}");
+        long[] taskIds = new long[TASKS];
+        for (int i = 0; i < TASKS; i++) {
+            taskIds[i] = post(baseUrl + "/api/tasks", taskJson(i, userId, categoryId, priorityId));
+        }
+        return new Fixture(userId, categoryId, priorityId, taskIds);
+    }
+
+    private static String taskJson(int i, long userId, long categoryId, long priorityId) {
+        return "{\"title\":\"bench " + i + "\",\"userId\":" + userId + ",\"categoryId\":" + categoryId
+                + ",\"priorityId\":" + priorityId + "}";
+    }
+
+    /**
+     * POSTs a JSON body and returns the "id" of the created entity.
+     */
+    private static long post(String url, String json) throws Exception {
+        HttpRequest request = HttpRequest.newBuilder(URI.create(url))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(json))
+                .build();
+        String body = CLIENT.send(request, HttpResponse.BodyHandlers.ofString()).body();
+        int start = body.indexOf("\"id\":") + 5;
+        int end = start;
+        while (Character.isDigit(body.charAt(end))) {
+            end++;
+        }
+        return Long.parseLong(body.substring(start, end));
+    }
+
+    /**
+     * Sends the mixed workload from all threads until the time is up and returns the latency
+     * of every request in nanoseconds.
+     */
+    private static long[] run(String baseUrl, Fixture fixture, int threads, int seconds) throws InterruptedException {
+        ConcurrentLinkedQueue<long[]> results = new ConcurrentLinkedQueue<>();
+        long deadline = System.nanoTime() + seconds * 1_000_000_000L;
+        List<Thread> workers = new ArrayList<>(threads);
+        for (int t = 0; t < threads; t++) {
+            Thread worker = new Thread(() -> {
+                long[] latencies = new long[1024];
+                int count = 0;
+                try {
+                    ThreadLocalRandom random = ThreadLocalRandom.current();
+                    while (System.nanoTime() < deadline) {
+                        long taskId = fixture.taskIds()[random.nextInt(fixture.taskIds().length)];
+                        int operation = random.nextInt(10);
+                        HttpRequest.Builder request;
+                        if (operation < 6) {
+                            request = HttpRequest.newBuilder(URI.create(baseUrl + "/api/tasks/" + taskId)).GET();
+                        } else if (operation < 8) {
+                            request = HttpRequest.newBuilder(URI.create(baseUrl + "/api/tasks/" + taskId + "/status"))
+                                    .header("Content-Type", "application/json")
+                                    .PUT(HttpRequest.BodyPublishers.ofString(
+                                            "{\"status\":\"" + STATUSES[random.nextInt(STATUSES.length)] + "\"}"));
+                        } else if (operation < 9) {
+                            request = HttpRequest.newBuilder(URI.create(baseUrl + "/api/tasks"))
+                                    .header("Content-Type", "application/json")
+                                    .POST(HttpRequest.BodyPublishers.ofString(taskJson(random.nextInt(),
+                                            fixture.userId(), fixture.categoryId(), fixture.priorityId())));
+                        } else {
+                            request = HttpRequest.newBuilder(
+                                    URI.create(baseUrl + "/api/users/" + fixture.userId() + "/tasks/next")).GET();
+                        }
+
+                        long start = System.nanoTime();
+                        HttpResponse<Void> response = CLIENT.send(request.build(), HttpResponse.BodyHandlers.discarding());
+                        long latency = System.nanoTime() - start;
+                        if (response.statusCode() >= 300) {
+                            throw new IllegalStateException("Unexpected status " + response.statusCode());
+                        }
+                        if (count == latencies.length) {
+                            latencies = Arrays.copyOf(latencies, count * 2);
+                        }
+                        latencies[count++] = latency;
+                    }
+                } catch (Exception e) {
+                    throw new IllegalStateException(e);
+                }
+                results.add(Arrays.copyOf(latencies, count));
+            });
+            worker.start();
+            workers.add(worker);
+        }
+        for (Thread worker : workers) {
+            worker.join();
+        }
+        return results.stream().flatMapToLong(Arrays::stream).toArray();
+    }
+
+    private static long percentile(long[] sorted, double fraction) {
+        return sorted.length == 0 ? 0 : sorted[Math.min(sorted.length - 1, (int) (sorted.length * fraction))];
+    }
+}
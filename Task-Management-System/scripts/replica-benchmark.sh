@@ -0,0 +1,50 @@
+#!/usr/bin/env bash
+# ============================================
+# Read replica benchmark: read throughput of GET /api/tasks/{taskId}
+# with 0, 1, 2 and 4 replica pools.
+#
+# Every pool (primary and replicas) is capped at POOL_SIZE connections,
+# so the number of connections available to reads grows with the replicas.
+#
+# Every "replica" is the same in-memory database as the primary (jdbc:h2:mem:taskdb):
+# the numbers show the effect of the extra connection pools only, not of separate
+# replica databases (no replication lag, no extra database capacity).
+#
+# Usage: scripts/replica-benchmark.sh [threads] [seconds]
+# Build first with: mvn package
+# ============================================
+set -euo pipefail
+
+THREADS="${1:-32}"
+SECONDS_PER_RUN="${2:-10}"
+POOL_SIZE=2
+PORT=18080
+BASE_URL="http://localhost:$PORT"
+
+SCRIPTS="$(cd "$(dirname "$0")" && pwd)"
+JAR="$SCRIPTS/../target/Task-Management-System-1.0-SNAPSHOT.jar"
+
+echo "Note: every replica URL points at the primary's in-memory database;"
+echo "      this measures the extra connection pools only."
+
+for replicas in 0 1 2 4; do
+    urls=""
+    for _ in $(seq "$replicas"); do
+        urls="${urls:+$urls,}jdbc:h2:mem:taskdb"
+    done
+
+    java -jar "$JAR" --server.port=$PORT --spring.jpa.show-sql=false --ratelimit.enabled=false \
+        --spring.datasource.hikari.maximum-pool-size=$POOL_SIZE \
+        --datasource.replicas.maximum-pool-size=$POOL_SIZE \
+        --datasource.replicas.urls="$urls" > /dev/null 2>&1 &
+    pid=$!
+    until curl -sf -o /dev/null "$BASE_URL/api/priorities"; do
+        sleep 0.1
+    done
+
+    printf "%d replica(s): " "$replicas"
+    java "$SCRIPTS/ReadScalingBenchmark.java" "$BASE_URL" "$THREADS" "$SECONDS_PER_RUN"
+
+    kill "$pid"
+    wait "$pid" 2> /dev/null || true
+done
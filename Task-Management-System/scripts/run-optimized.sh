@@ -0,0 +1,19 @@
+#!/usr/bin/env bash
+# ============================================
+# Starts the application with Spring AOT and the AppCDS archive.
+# Build first with: mvn -Pstartup package
+# The beans are fixed by the profiles of the build: activate the same ones here,
+# e.g. mvn -Pstartup -Dstartup.spring.profiles=memory package
+# then SPRING_PROFILES_ACTIVE=memory scripts/run-optimized.sh
+# ============================================
+set -euo pipefail
+
+TARGET="$(cd "$(dirname "$0")/../target" && pwd)"
+APP_JAR="$TARGET/Task-Management-System-1.0-SNAPSHOT.jar"
+
+# The classpath must match the training run exactly, otherwise the JVM ignores the archive
+exec java \
+    -XX:SharedArchiveFile="$TARGET/app.jsa" \
+    -Dspring.aot.enabled=true \
+    -classpath "$APP_JAR:$(cat "$TARGET/classpath.txt")" \
+    org.example.Main "$@"
@@ -0,0 +1,51 @@
+#!/usr/bin/env bash
+# ============================================
+# Startup benchmark: time-to-first-request of Main
+# in the default mode and with Spring AOT + AppCDS.
+#
+# Usage: scripts/startup-benchmark.sh [runs]
+# Build first with: mvn -Pstartup package
+# ============================================
+set -euo pipefail
+
+RUNS="${1:-5}"
+PORT=18080
+URL="http://localhost:$PORT/api/priorities"
+
+TARGET="$(cd "$(dirname "$0")/../target" && pwd)"
+CLASSPATH="$TARGET/Task-Management-System-1.0-SNAPSHOT.jar:$(cat "$TARGET/classpath.txt")"
+
+# Starts the app with the given JVM options and prints the milliseconds
+# until the first successful HTTP response
+time_to_first_request() {
+    local start end pid
+    start=$(date +%s%N)
+    java "$@" -classpath "$CLASSPATH" org.example.Main \
+        --server.port=$PORT --spring.jpa.show-sql=false > /dev/null 2>&1 &
+    pid=$!
+    until curl -sf -o /dev/null "$URL"; do
+        sleep 0.02
+    done
+    end=$(date +%s%N)
+    kill "$pid"
+    wait "$pid" 2> /dev/null || true
+    echo $(( (end - start) / 1000000 ))
+}
+
+# Runs one mode RUNS times and prints every sample plus the average
+benchmark() {
+    local label="$1"
+    shift
+    local total=0 sample
+    printf "%-10s" "$label"
+    for _ in $(seq "$RUNS"); do
+        sample=$(time_to_first_request "$@")
+        total=$(( total + sample ))
+        printf " %6d" "$sample"
+    done
+    printf "   avg %6d ms\n" $(( total / RUNS ))
+}
+
+echo "Time to first request (ms), $RUNS runs each"
+benchmark "default" -Xshare:auto
+benchmark "aot+cds" -XX:SharedArchiveFile="$TARGET/app.jsa" -Dspring.aot.enabled=true
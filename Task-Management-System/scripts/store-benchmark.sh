@@ -0,0 +1,32 @@
+#!/usr/bin/env bash
+# ============================================
+# Task store engine benchmark: the same mixed task workload against
+# the JPA engine (default) and the in-memory engine ("memory" profile).
+#
+# Usage: scripts/store-benchmark.sh [threads] [seconds]
+# Build first with: mvn package
+# ============================================
+set -euo pipefail
+
+THREADS="${1:-16}"
+SECONDS_PER_RUN="${2:-10}"
+PORT=18080
+BASE_URL="http://localhost:$PORT"
+
+SCRIPTS="$(cd "$(dirname "$0")" && pwd)"
+JAR="$SCRIPTS/../target/Task-Management-System-1.0-SNAPSHOT.jar"
+
+for profile in default memory; do
+    java -jar "$JAR" --server.port=$PORT --spring.jpa.show-sql=false --ratelimit.enabled=false \
+        --spring.profiles.active="$profile" > /dev/null 2>&1 &
+    pid=$!
+    until curl -sf -o /dev/null "$BASE_URL/api/priorities"; do
+        sleep 0.1
+    done
+
+    printf "%-8s " "$profile:"
+    java "$SCRIPTS/TaskStoreBenchmark.java" "$BASE_URL" "$THREADS" "$SECONDS_PER_RUN"
+
+    kill "$pid"
+    wait "$pid" 2> /dev/null || true
+done
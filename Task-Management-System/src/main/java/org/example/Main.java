@@ -1,22 +1,39 @@
-package org.example;
-
-import org.springframework.boot.SpringApplication;
-import org.springframework.boot.autoconfigure.SpringBootApplication;
-
-//TIP To <b>Run</b> code, press <shortcut actionId="Run"/> or
-// click the <icon src="AllIcons.Actions.Execute"/> icon in the gutter.
-public class Main {
-    public static void main(String[] args) {
-                SpringApplication.run(Main.class, args);
-
-                System.out.println(" ========================================");
-                System.out.println("Task Management System Started!");
-                System.out.println("========================================");
-                System.out.println("Swagger UI: http://localhost:8080/swagger-ui.html");
-                System.out.println("H2 Console: http://localhost:8080/h2-console");
-                System.out.println("API Docs:   http://localhost:8080/api-docs");
-                System.out.println("======================================== ");
-    }
-}
-
-
+package org.example;
+
+import org.example.exception.ErrorResponse;
+import org.example.model.dto.request.*;
+import org.example.model.dto.response.*;
+import org.springframework.aot.hint.annotation.RegisterReflectionForBinding;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.autoconfigure.SpringBootApplication;
+
+//TIP To <b>Run</b> code, press <shortcut actionId="Run"/> or
+// click the <icon src="AllIcons.Actions.Execute"/> icon in the gutter.
+@SpringBootApplication
+@RegisterReflectionForBinding({
+        // Request/response DTOs are bound by Jackson through their Lombok-generated
+        // getters and setters, so AOT needs explicit reflection hints for them
+        UserRequest.class, CategoryRequest.class, PriorityRequest.class,
+        TaskRequest.class, TaskStatusUpdateRequest.class,
+        UserResponse.class, CategoryResponse.class, PriorityResponse.class,
+        TaskResponse.class, TaskImportResponse.class, TaskImportResponse.RowError.class,
+        PivotReportResponse.class, PivotReportResponse.Row.class,
+        TaskDependencyRequest.class, TaskDependencyResponse.class, TaskSubtasksResponse.class,
+        TaskStatusHistoryResponse.class, FlowTimeReportResponse.class, FlowTimeReportResponse.Group.class,
+        FlowTimeReportResponse.Percentiles.class, CacheStatisticsResponse.class, CacheStatisticsResponse.Region.class,
+        BatchResponse.class, UserDashboardResponse.class, UserDashboardResponse.Task.class,
+        ErrorResponse.class
+})
+public class Main {
+    public static void main(String[] args) {
+                SpringApplication.run(Main.class, args);
+
+                System.out.println(" ========================================");
+                System.out.println("Task Management System Started!");
+                System.out.println("========================================");
+                System.out.println("Swagger UI: http://localhost:8080/swagger-ui.html");
+                System.out.println("H2 Console: http://localhost:8080/h2-console");
+                System.out.println("API Docs:   http://localhost:8080/api-docs");
+                System.out.println("======================================== ");
+    }
+}
@@ -0,0 +1,94 @@
+package org.example.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Datasource setup with read/write splitting and task shards.
+ * - Writes and read-write transactions use the primary pool (spring.datasource.*)
+ * - @Transactional(readOnly = true) service methods use the replica pools (datasource.replicas.*)
+ * - Work bound to a task shard other than 0 uses that shard's pool (task.shards.*)
+ *
+ * Locally the replica URLs point at the same in-memory H2 database through separate
+ * read-only pools; in a real deployment they point at replicated database instances.
+ */
+@Configuration
+public class DataSourceConfig {
+
+    /**
+     * Connection pool of the primary (writable) database.
+     */
+    @Bean
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource primaryDataSource(DataSourceProperties properties) {
+        HikariDataSource dataSource = properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        dataSource.setPoolName("primary");
+        return dataSource;
+    }
+
+    /**
+     * The DataSource used by JPA: routes each transaction to the primary or a replica.
+     */
+    @Bean
+    @Primary
+    public DataSource dataSource(@Qualifier("primaryDataSource") DataSource primaryDataSource,
+                                 DataSourceProperties primaryProperties, ReplicaProperties replicaProperties,
+                                 ShardProperties shardProperties) {
+        Map<Object, Object> targets = new HashMap<>();
+        targets.put(RoutingDataSource.PRIMARY, primaryDataSource);
+        for (int i = 0; i < replicaProperties.getUrls().size(); i++) {
+            targets.put(RoutingDataSource.REPLICA_PREFIX + i,
+                    replicaDataSource(i, primaryProperties, replicaProperties));
+        }
+        // Shard 0 is the primary itself
+        for (int shard = 1; shard < shardProperties.getCount(); shard++) {
+            targets.put(RoutingDataSource.SHARD_PREFIX + shard,
+                    shardDataSource(shard, primaryProperties, shardProperties));
+        }
+
+        RoutingDataSource routingDataSource = new RoutingDataSource(replicaProperties.getUrls().size());
+        routingDataSource.setTargetDataSources(targets);
+        routingDataSource.setDefaultTargetDataSource(primaryDataSource);
+        routingDataSource.afterPropertiesSet();
+
+        // Defers taking a connection until the first statement, when the read-only flag is set
+        return new LazyConnectionDataSourceProxy(routingDataSource);
+    }
+
+    private HikariDataSource replicaDataSource(int index, DataSourceProperties primaryProperties,
+                                               ReplicaProperties replicaProperties) {
+        HikariDataSource dataSource = new HikariDataSource();
+        dataSource.setPoolName("replica-" + index);
+        dataSource.setDriverClassName(primaryProperties.determineDriverClassName());
+        dataSource.setJdbcUrl(replicaProperties.getUrls().get(index));
+        dataSource.setUsername(replicaProperties.getUsername() != null
+                ? replicaProperties.getUsername() : primaryProperties.determineUsername());
+        dataSource.setPassword(replicaProperties.getPassword() != null
+                ? replicaProperties.getPassword() : primaryProperties.determinePassword());
+        dataSource.setMaximumPoolSize(replicaProperties.getMaximumPoolSize());
+        dataSource.setReadOnly(true);
+        return dataSource;
+    }
+
+    private HikariDataSource shardDataSource(int shard, DataSourceProperties primaryProperties,
+                                             ShardProperties shardProperties) {
+        HikariDataSource dataSource = new HikariDataSource();
+        dataSource.setPoolName("shard-" + shard);
+        dataSource.setDriverClassName(primaryProperties.determineDriverClassName());
+        dataSource.setJdbcUrl(shardProperties.getUrls().get(shard - 1));
+        dataSource.setUsername(primaryProperties.determineUsername());
+        dataSource.setPassword(primaryProperties.determinePassword());
+        dataSource.setMaximumPoolSize(shardProperties.getMaximumPoolSize());
+        return dataSource;
+    }
+}
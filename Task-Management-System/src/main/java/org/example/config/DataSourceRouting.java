@@ -0,0 +1,52 @@
+package org.example.config;
+
+/**
+ * Thread-bound routing hints for the RoutingDataSource:
+ * - The task shard the current thread works on (set by the TaskShardRouter)
+ * - Whether the reads of the current request must go to the primary
+ *   (set by the ReadYourWritesFilter for clients that have just written)
+ */
+public final class DataSourceRouting {
+
+    private static final ThreadLocal<Boolean> PRIMARY_ONLY = new ThreadLocal<>();
+    private static final ThreadLocal<Integer> SHARD = new ThreadLocal<>();
+
+    private DataSourceRouting() {
+    }
+
+    /**
+     * Sends all queries of the current thread to the primary until {@link #clear()}.
+     */
+    public static void pinToPrimary() {
+        PRIMARY_ONLY.set(Boolean.TRUE);
+    }
+
+    public static boolean isPinnedToPrimary() {
+        return PRIMARY_ONLY.get() != null;
+    }
+
+    public static void clear() {
+        PRIMARY_ONLY.remove();
+    }
+
+    /**
+     * Sends the connections taken by the current thread to the given shard (0 = primary).
+     *
+     * @param shard The shard index, or null to go back to the primary
+     */
+    public static void setShard(Integer shard) {
+        if (shard == null || shard == 0) {
+            SHARD.remove();
+        } else {
+            SHARD.set(shard);
+        }
+    }
+
+    /**
+     * @return The shard index bound to the current thread (0 = primary)
+     */
+    public static int currentShard() {
+        Integer shard = SHARD.get();
+        return shard != null ? shard : 0;
+    }
+}
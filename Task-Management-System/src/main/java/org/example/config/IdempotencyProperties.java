@@ -0,0 +1,27 @@
+package org.example.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/**
+ * Configuration for Idempotency-Key handling on create endpoints.
+ * Bound from the "idempotency.*" properties in application.properties.
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "idempotency")
+public class IdempotencyProperties {
+
+    /**
+     * How long a key is remembered (in memory and in the idempotency_keys table)
+     */
+    private Duration ttl = Duration.ofHours(24);
+
+    /**
+     * Maximum number of keys kept in the in-memory cache
+     */
+    private int maxEntries = 10_000;
+}
@@ -0,0 +1,76 @@
+package org.example.config;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Configuration for per-client admission control.
+ * Bound from the "ratelimit.*" properties in application.properties.
+ * Every client gets its own token bucket per route, so one noisy caller
+ * cannot use up the capacity of the others.
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "ratelimit")
+public class RateLimitProperties {
+
+    /**
+     * Turns the rate limit filter on or off
+     */
+    private boolean enabled = true;
+
+    /**
+     * Header naming the calling client; only read on requests coming from a trusted proxy
+     */
+    private String clientHeader = "X-Client-Id";
+
+    /**
+     * Remote addresses of the reverse proxies allowed to name the client in the client header.
+     * Requests from any other address are identified by their remote address.
+     */
+    private List<String> trustedProxies = new ArrayList<>();
+
+    /**
+     * Hard upper bound on the number of tracked (client, route) buckets.
+     * Once reached, idle buckets are evicted; if none is idle, new clients are rejected.
+     */
+    private int maxBuckets = 100_000;
+
+    /**
+     * Limit applied to API paths that have no route-specific limit
+     */
+    private Limit defaults = new Limit(200, 100);
+
+    /**
+     * Route-specific limits keyed by controller path prefix (e.g., /api/tasks), matched on whole
+     * path segments. The longest matching prefix wins.
+     */
+    private Map<String, Limit> routes = new LinkedHashMap<>();
+
+    /**
+     * Token bucket settings for one route.
+     */
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Limit {
+
+        /**
+         * Maximum burst size (bucket capacity)
+         */
+        private int capacity;
+
+        /**
+         * Sustained rate: tokens added back per second
+         */
+        private double refillPerSecond;
+    }
+}
@@ -0,0 +1,50 @@
+package org.example.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Configuration for read replicas.
+ * Bound from the "datasource.replicas.*" properties in application.properties.
+ * Without replica URLs all queries use the primary datasource (spring.datasource.*).
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "datasource.replicas")
+public class ReplicaProperties {
+
+    /**
+     * JDBC URLs of the read replicas (one connection pool per URL)
+     */
+    private List<String> urls = new ArrayList<>();
+
+    /**
+     * Database username for the replicas
+     */
+    private String username;
+
+    /**
+     * Database password for the replicas
+     */
+    private String password;
+
+    /**
+     * Maximum connections per replica pool
+     */
+    private int maximumPoolSize = 10;
+
+    /**
+     * After a write, reads of the same client go to the primary for this long (read-your-writes)
+     */
+    private Duration stickyWindow = Duration.ofSeconds(2);
+
+    /**
+     * Maximum number of clients whose last write is tracked for read-your-writes
+     */
+    private int maxTrackedClients = 10_000;
+}
@@ -0,0 +1,45 @@
+package org.example.config;
+
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * DataSource that picks the target pool per connection:
+ * - Threads bound to a task shard (other than shard 0) use that shard's pool
+ * - Otherwise, read-only transactions use the replica pools (round robin)
+ * - Everything else uses the primary
+ * Must be wrapped in a LazyConnectionDataSourceProxy, so the connection is only taken
+ * once the transaction's read-only flag is known.
+ */
+public class RoutingDataSource extends AbstractRoutingDataSource {
+
+    public static final String PRIMARY = "primary";
+    public static final String REPLICA_PREFIX = "replica-";
+    public static final String SHARD_PREFIX = "shard-";
+
+    private final int replicaCount;
+    private final AtomicInteger nextReplica = new AtomicInteger();
+
+    /**
+     * @param replicaCount Number of replica pools registered as "replica-0" ... "replica-(n-1)"
+     */
+    public RoutingDataSource(int replicaCount) {
+        this.replicaCount = replicaCount;
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        int shard = DataSourceRouting.currentShard();
+        if (shard > 0) {
+            return SHARD_PREFIX + shard;
+        }
+        if (replicaCount == 0
+                || !TransactionSynchronizationManager.isCurrentTransactionReadOnly()
+                || DataSourceRouting.isPinnedToPrimary()) {
+            return PRIMARY;
+        }
+        return REPLICA_PREFIX + Math.floorMod(nextReplica.getAndIncrement(), replicaCount);
+    }
+}
@@ -0,0 +1,69 @@
+package org.example.config;
+
+import org.ehcache.config.builders.CacheConfigurationBuilder;
+import org.ehcache.config.builders.ConfigurationBuilder;
+import org.ehcache.config.builders.ExpiryPolicyBuilder;
+import org.ehcache.config.builders.ResourcePoolsBuilder;
+import org.ehcache.jsr107.EhcacheCachingProvider;
+import org.hibernate.cache.jcache.ConfigSettings;
+import org.hibernate.cache.spi.RegionFactory;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.cache.CacheManager;
+import javax.cache.Caching;
+import java.net.URI;
+import java.util.UUID;
+
+/**
+ * Cache manager of the Hibernate second-level cache: JCache, with Ehcache 3 as the provider.
+ *
+ * Every region configured under "second-level-cache.regions.*" becomes an on-heap cache with
+ * its own size limit and time to live. Hibernate is set to fail at startup if a cached entity
+ * or query uses a region without configuration, so no region grows without bound by accident.
+ * The timestamps region of the query cache is created here: it holds one entry per table and
+ * must not expire, or cached query results could outlive a change to their tables.
+ */
+@Configuration
+public class SecondLevelCacheConfig {
+
+    /**
+     * Upper bound of the timestamps region (one entry per table)
+     */
+    private static final long UPDATE_TIMESTAMPS_MAX_ENTRIES = 1000;
+
+    /**
+     * The JCache manager holding all second-level cache regions.
+     * Managers are shared per URI within the JVM, so every application context gets its own URI:
+     * a second context (e.g., in tests) must not see the entities cached by the first.
+     */
+    @Bean(destroyMethod = "close")
+    public CacheManager secondLevelCacheManager(SecondLevelCacheProperties properties) {
+        ConfigurationBuilder configuration = ConfigurationBuilder.newConfigurationBuilder();
+        for (var entry : properties.getRegions().entrySet()) {
+            SecondLevelCacheProperties.Region region = entry.getValue();
+            configuration = configuration.withCache(entry.getKey(), CacheConfigurationBuilder
+                    .newCacheConfigurationBuilder(Object.class, Object.class,
+                            ResourcePoolsBuilder.heap(region.getMaxEntries()))
+                    .withExpiry(ExpiryPolicyBuilder.timeToLiveExpiration(region.getTtl())));
+        }
+        configuration = configuration.withCache(RegionFactory.DEFAULT_UPDATE_TIMESTAMPS_REGION_UNQUALIFIED_NAME,
+                CacheConfigurationBuilder.newCacheConfigurationBuilder(Object.class, Object.class,
+                        ResourcePoolsBuilder.heap(UPDATE_TIMESTAMPS_MAX_ENTRIES)));
+
+        EhcacheCachingProvider provider =
+                (EhcacheCachingProvider) Caching.getCachingProvider(EhcacheCachingProvider.class.getName());
+        return provider.getCacheManager(
+                URI.create("urn:task-management-system:second-level-cache:" + UUID.randomUUID()),
+                configuration.build());
+    }
+
+    /**
+     * Hands the cache manager to Hibernate instead of letting it create one from a configuration file.
+     */
+    @Bean
+    public HibernatePropertiesCustomizer secondLevelCacheCustomizer(CacheManager secondLevelCacheManager) {
+        return hibernateProperties -> hibernateProperties.put(ConfigSettings.CACHE_MANAGER, secondLevelCacheManager);
+    }
+}
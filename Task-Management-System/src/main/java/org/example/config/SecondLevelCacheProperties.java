@@ -0,0 +1,45 @@
+package org.example.config;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Configuration for the regions of the Hibernate second-level cache (SecondLevelCacheConfig).
+ * Bound from the "second-level-cache.*" properties in application.properties.
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "second-level-cache")
+public class SecondLevelCacheProperties {
+
+    /**
+     * Settings per cache region, keyed by region name (e.g., users)
+     */
+    private Map<String, Region> regions = new LinkedHashMap<>();
+
+    /**
+     * Size limit and expiry of one cache region.
+     */
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Region {
+
+        /**
+         * Maximum number of entries kept on the heap; the least recently used ones are evicted first
+         */
+        private long maxEntries = 1000;
+
+        /**
+         * How long an entry stays cached after it was written
+         */
+        private Duration ttl = Duration.ofMinutes(10);
+    }
+}
@@ -0,0 +1,37 @@
+package org.example.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Configuration for user-sharded task storage.
+ * Bound from the "task.shards.*" properties in application.properties.
+ * Shard 0 is the primary datasource (spring.datasource.*); every URL listed here adds one shard.
+ * Without URLs there is a single shard and nothing is partitioned.
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "task.shards")
+public class ShardProperties {
+
+    /**
+     * JDBC URLs of the additional shards (shard 1, 2, ...)
+     */
+    private List<String> urls = new ArrayList<>();
+
+    /**
+     * Maximum connections per shard pool
+     */
+    private int maximumPoolSize = 10;
+
+    /**
+     * Total number of shards, including the primary
+     */
+    public int getCount() {
+        return urls.size() + 1;
+    }
+}
@@ -0,0 +1,38 @@
+package org.example.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/**
+ * Configuration for the asynchronous (write-behind) task status update mode.
+ * Bound from the "task.status.write-behind.*" properties in application.properties.
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "task.status.write-behind")
+public class StatusWriteBehindProperties {
+
+    /**
+     * Allows clients to request asynchronous status updates (?async=true)
+     */
+    private boolean enabled = false;
+
+    /**
+     * Maximum number of distinct tasks waiting to be flushed.
+     * When full, callers fall back to a synchronous update.
+     */
+    private int capacity = 10_000;
+
+    /**
+     * Delay between two flushes of the buffer
+     */
+    private Duration flushInterval = Duration.ofMillis(5);
+
+    /**
+     * Longest pause before a flush to a failing shard is tried again (the pause doubles from 1 second)
+     */
+    private Duration maxRetryDelay = Duration.ofSeconds(30);
+}
@@ -0,0 +1,32 @@
+package org.example.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/**
+ * Configuration for the background archiver that moves old DONE tasks to tasks_archive.
+ * Bound from the "task.archive.*" properties in application.properties.
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "task.archive")
+public class TaskArchiveProperties {
+
+    /**
+     * Turns the background archiver on or off
+     */
+    private boolean enabled = true;
+
+    /**
+     * DONE tasks not updated for at least this long are archived
+     */
+    private Duration minAge = Duration.ofDays(30);
+
+    /**
+     * Maximum number of tasks moved per transaction
+     */
+    private int batchSize = 500;
+}
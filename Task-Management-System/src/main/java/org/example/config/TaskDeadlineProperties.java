@@ -0,0 +1,37 @@
+package org.example.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/**
+ * Configuration for the overdue detection of task deadlines (TaskDeadlineScheduler).
+ * Bound from the "task.deadlines.*" properties in application.properties.
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "task.deadlines")
+public class TaskDeadlineProperties {
+
+    /**
+     * Resolution of the timing wheel: tasks are flagged overdue at most this long after their deadline
+     */
+    private Duration tick = Duration.ofSeconds(1);
+
+    /**
+     * Slots per level of the timing wheel
+     */
+    private int wheelSize = 64;
+
+    /**
+     * Maximum number of tasks flagged overdue per UPDATE
+     */
+    private int batchSize = 1000;
+
+    /**
+     * Longest pause before flagging on a failing shard is tried again (the pause doubles from one tick)
+     */
+    private Duration maxRetryDelay = Duration.ofSeconds(30);
+}
@@ -0,0 +1,30 @@
+package org.example.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * Configuration for the CSV task import (POST /api/tasks/import).
+ * Bound from the "task.import.*" properties in application.properties.
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "task.import")
+public class TaskImportProperties {
+
+    /**
+     * Rows sent to the database per JDBC batch
+     */
+    private int batchSize = 500;
+
+    /**
+     * Rows written per transaction (a multiple of the batch size works best)
+     */
+    private int commitInterval = 5000;
+
+    /**
+     * Maximum number of invalid rows listed in the import report (all are counted)
+     */
+    private int maxReportedErrors = 1000;
+}
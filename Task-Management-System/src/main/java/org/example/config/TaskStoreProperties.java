@@ -0,0 +1,27 @@
+package org.example.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * Configuration for the in-memory task store ("memory" profile).
+ * Bound from the "task.store.*" properties in application.properties.
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "task.store")
+public class TaskStoreProperties {
+
+    /**
+     * Keep tasks in the compact layout (status as a byte, timestamps as epoch microseconds,
+     * texts as encoded bytes) instead of one record with object fields per task
+     */
+    private boolean compact = true;
+
+    /**
+     * Descriptions at least this long are stored deflate-compressed in the compact layout,
+     * if that makes them smaller
+     */
+    private int compressMinLength = 256;
+}
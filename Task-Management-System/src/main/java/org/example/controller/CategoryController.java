@@ -1,7 +1,10 @@
 package org.example.controller;
 
 import org.example.model.dto.request.CategoryRequest;
+import org.example.model.dto.response.BatchResponse;
 import org.example.model.dto.response.CategoryResponse;
+import org.example.model.enums.TaskDeleteMode;
+import org.example.service.IdempotencyService;
 import org.example.service.CategoryService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
@@ -23,18 +26,23 @@ import java.util.List;
 public class CategoryController {
 
     private final CategoryService categoryService;
+    private final IdempotencyService idempotencyService;
 
     /**
      * Creates a new category.
      * Endpoint: POST /api/categories
      *
      * @param request CategoryRequest containing category name and description
+     * @param idempotencyKey Optional key; a retry with the same key returns the original response
      * @return ResponseEntity with CategoryResponse and HTTP 201 (CREATED) status
      */
     @PostMapping
     @Operation(summary = "Create a new category", description = "Creates a new category for organizing tasks")
-    public ResponseEntity<CategoryResponse> createCategory(@RequestBody CategoryRequest request) {
-        CategoryResponse response= categoryService.createCategory(request);
+    public ResponseEntity<CategoryResponse> createCategory(
+            @RequestBody CategoryRequest request,
+            @RequestHeader(value = "Idempotency-Key", required = false) String idempotencyKey) {
+        CategoryResponse response= idempotencyService.execute("categories", idempotencyKey, request,
+                CategoryResponse.class, () -> categoryService.createCategory(request));
         return new ResponseEntity<>(response, HttpStatus.CREATED);
     }
 
@@ -51,6 +59,20 @@ public class CategoryController {
         return ResponseEntity.ok(categories);
     }
 
+    /**
+     * Retrieves several categories by ID in one request.
+     * Endpoint: GET /api/categories?ids=1,2,3
+     * The categories are returned in the order of the IDs; unknown IDs are listed as missing.
+     *
+     * @param ids The IDs of the categories (at most 10000 distinct IDs)
+     * @return ResponseEntity with BatchResponse of CategoryResponse and HTTP 200 (OK) status
+     */
+    @GetMapping(params = "ids")
+    @Operation(summary = "Get categories by IDs", description = "Retrieves several categories by ID in request order and lists the IDs not found")
+    public ResponseEntity<BatchResponse<CategoryResponse>> getCategoriesByIds(@RequestParam List<Long> ids) {
+        return ResponseEntity.ok(categoryService.getCategoriesByIds(ids));
+    }
+
     /**
      * Retrieves a specific category by ID.
      * Endpoint: GET /api/categories/{categoryId}
@@ -86,13 +108,21 @@ public class CategoryController {
      * Deletes a category.
      * Endpoint: DELETE /api/categories/{categoryId}
      *
+     * With tasks=CASCADE the category's tasks are deleted first, with tasks=REASSIGN they are
+     * moved to the category given by reassignTo first; both run in bounded chunks.
+     *
      * @param categoryId The ID of the category to delete
+     * @param tasks What to do with tasks that still reference the category (default RESTRICT)
+     * @param reassignTo The ID of the category receiving the tasks (REASSIGN only)
      * @return ResponseEntity with HTTP 204 (NO_CONTENT) status
      */
     @DeleteMapping("/{categoryId}")
     @Operation(summary = "Delete category", description = "Removes a category from the system")
-    public ResponseEntity<Void> deleteCategory(@PathVariable Long categoryId) {
-        categoryService.deleteCategory(categoryId);
+    public ResponseEntity<Void> deleteCategory(
+            @PathVariable Long categoryId,
+            @RequestParam(defaultValue = "RESTRICT") TaskDeleteMode tasks,
+            @RequestParam(required = false) Long reassignTo) {
+        categoryService.deleteCategory(categoryId, tasks, reassignTo);
         return ResponseEntity.noContent().build();
     }
 }
@@ -1,7 +1,10 @@
 package org.example.controller;
 
 import org.example.model.dto.request.PriorityRequest;
+import org.example.model.dto.response.BatchResponse;
 import org.example.model.dto.response.PriorityResponse;
+import org.example.model.enums.TaskDeleteMode;
+import org.example.service.IdempotencyService;
 import org.example.service.PriorityService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
@@ -23,18 +26,23 @@ import java.util.List;
 public class PriorityController {
 
     private final PriorityService priorityService;
+    private final IdempotencyService idempotencyService;
 
     /**
      * Creates a new priority level.
      * Endpoint: POST /api/priorities
      *
      * @param request PriorityRequest containing priority name and level
+     * @param idempotencyKey Optional key; a retry with the same key returns the original response
      * @return ResponseEntity with PriorityResponse and HTTP 201 (CREATED) status
      */
     @PostMapping
     @Operation(summary = "Create a new priority", description = "Creates a new priority level for tasks")
-    public ResponseEntity<PriorityResponse> createPriority(@RequestBody PriorityRequest request) {
-        PriorityResponse response= priorityService.createPriority(request);
+    public ResponseEntity<PriorityResponse> createPriority(
+            @RequestBody PriorityRequest request,
+            @RequestHeader(value = "Idempotency-Key", required = false) String idempotencyKey) {
+        PriorityResponse response= idempotencyService.execute("priorities", idempotencyKey, request,
+                PriorityResponse.class, () -> priorityService.createPriority(request));
         return new ResponseEntity<>(response, HttpStatus.CREATED);
     }
 
@@ -51,6 +59,20 @@ public class PriorityController {
         return ResponseEntity.ok(priorities);
     }
 
+    /**
+     * Retrieves several priorities by ID in one request.
+     * Endpoint: GET /api/priorities?ids=1,2,3
+     * The priorities are returned in the order of the IDs; unknown IDs are listed as missing.
+     *
+     * @param ids The IDs of the priorities (at most 10000 distinct IDs)
+     * @return ResponseEntity with BatchResponse of PriorityResponse and HTTP 200 (OK) status
+     */
+    @GetMapping(params = "ids")
+    @Operation(summary = "Get priorities by IDs", description = "Retrieves several priorities by ID in request order and lists the IDs not found")
+    public ResponseEntity<BatchResponse<PriorityResponse>> getPrioritiesByIds(@RequestParam List<Long> ids) {
+        return ResponseEntity.ok(priorityService.getPrioritiesByIds(ids));
+    }
+
     /**
      * Retrieves a specific priority by ID.
      * Endpoint: GET /api/priorities/{priorityId}
@@ -86,13 +108,21 @@ public class PriorityController {
      * Deletes a priority.
      * Endpoint: DELETE /api/priorities/{priorityId}
      *
+     * With tasks=CASCADE the priority's tasks are deleted first, with tasks=REASSIGN they are
+     * moved to the priority given by reassignTo first; both run in bounded chunks.
+     *
      * @param priorityId The ID of the priority to delete
+     * @param tasks What to do with tasks that still reference the priority (default RESTRICT)
+     * @param reassignTo The ID of the priority receiving the tasks (REASSIGN only)
      * @return ResponseEntity with HTTP 204 (NO_CONTENT) status
      */
     @DeleteMapping("/{priorityId}")
     @Operation(summary = "Delete priority", description = "Removes a priority from the system")
-    public ResponseEntity<Void> deletePriority(@PathVariable Long priorityId) {
-        priorityService.deletePriority(priorityId);
+    public ResponseEntity<Void> deletePriority(
+            @PathVariable Long priorityId,
+            @RequestParam(defaultValue = "RESTRICT") TaskDeleteMode tasks,
+            @RequestParam(required = false) Long reassignTo) {
+        priorityService.deletePriority(priorityId, tasks, reassignTo);
         return ResponseEntity.noContent().build();
     }
 }
@@ -0,0 +1,93 @@
+package org.example.controller;
+
+import org.example.model.dto.response.CacheStatisticsResponse;
+import org.example.model.dto.response.FlowTimeReportResponse;
+import org.example.model.dto.response.PivotReportResponse;
+import org.example.model.enums.FlowTimeGroup;
+import org.example.model.enums.PivotDimension;
+import org.example.model.enums.TaskStatus;
+import org.example.service.CacheStatisticsService;
+import org.example.service.TaskFlowTimeService;
+import org.example.service.TaskReportService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * REST Controller for reporting endpoints.
+ * Pivot reports are computed from an in-memory columnar snapshot of the live tasks,
+ * flow times from quantile sketches fed by the task status history, cache statistics from
+ * the Hibernate statistics of the second-level cache.
+ */
+@RestController
+@RequestMapping("/api/reports")
+@RequiredArgsConstructor
+@Tag(name = "Reports", description = "APIs for aggregated task reports")
+public class ReportController {
+
+    private final TaskReportService taskReportService;
+    private final TaskFlowTimeService taskFlowTimeService;
+    private final CacheStatisticsService cacheStatisticsService;
+
+    /**
+     * Counts tasks grouped by one or more dimensions.
+     * Endpoint: GET /api/reports/pivot
+     *
+     * @param groupBy Dimensions to group by, e.g. groupBy=STATUS&groupBy=CREATED_WEEK
+     * @param status Optional statuses to filter by
+     * @param categoryId Optional category IDs to filter by
+     * @param priorityLevel Optional priority levels to filter by
+     * @param createdFrom Optional first creation day (inclusive, yyyy-MM-dd)
+     * @param createdTo Optional last creation day (inclusive, yyyy-MM-dd)
+     * @return ResponseEntity with PivotReportResponse and HTTP 200 (OK) status
+     */
+    @GetMapping("/pivot")
+    @Operation(summary = "Pivot report", description = "Counts tasks per combination of status, priority level, category and creation week")
+    public ResponseEntity<PivotReportResponse> pivot(
+            @RequestParam(defaultValue = "STATUS") List<PivotDimension> groupBy,
+            @RequestParam(required = false) Set<TaskStatus> status,
+            @RequestParam(required = false) Set<Long> categoryId,
+            @RequestParam(required = false) Set<Integer> priorityLevel,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate createdFrom,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate createdTo) {
+        PivotReportResponse report = taskReportService.pivot(groupBy,
+                status == null ? Set.of() : status,
+                categoryId == null ? Set.of() : categoryId,
+                priorityLevel == null ? Set.of() : priorityLevel,
+                createdFrom, createdTo);
+        return ResponseEntity.ok(report);
+    }
+
+    /**
+     * Reports lead-time and cycle-time percentiles per user or per category.
+     * Endpoint: GET /api/reports/flow-times
+     *
+     * @param groupBy USER or CATEGORY
+     * @return ResponseEntity with FlowTimeReportResponse and HTTP 200 (OK) status
+     */
+    @GetMapping("/flow-times")
+    @Operation(summary = "Flow time report", description = "Lead-time and cycle-time percentiles (p50 to p99) of completed tasks per user or category")
+    public ResponseEntity<FlowTimeReportResponse> flowTimes(
+            @RequestParam(defaultValue = "USER") FlowTimeGroup groupBy) {
+        return ResponseEntity.ok(taskFlowTimeService.report(groupBy));
+    }
+
+    /**
+     * Reports the hit, miss and put counts of every second-level cache region.
+     * Endpoint: GET /api/reports/cache
+     *
+     * @return ResponseEntity with CacheStatisticsResponse and HTTP 200 (OK) status
+     */
+    @GetMapping("/cache")
+    @Operation(summary = "Cache statistics", description = "Hit ratio, hits, misses and puts per second-level cache region since startup")
+    public ResponseEntity<CacheStatisticsResponse> cache() {
+        return ResponseEntity.ok(cacheStatisticsService.report());
+    }
+}
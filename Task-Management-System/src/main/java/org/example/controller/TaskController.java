@@ -1,16 +1,35 @@
 package org.example.controller;
 
+import org.example.exception.TaskNotFoundException;
+import org.example.model.dto.request.TaskDependencyRequest;
 import org.example.model.dto.request.TaskRequest;
 import org.example.model.dto.request.TaskStatusUpdateRequest;
+import org.example.model.dto.response.BatchResponse;
+import org.example.model.dto.response.TaskDependencyResponse;
+import org.example.model.dto.response.TaskImportResponse;
 import org.example.model.dto.response.TaskResponse;
+import org.example.model.dto.response.TaskStatusHistoryResponse;
+import org.example.model.dto.response.TaskSubtasksResponse;
+import org.example.service.EntityExistenceIndex;
+import org.example.service.IdempotencyService;
+import org.example.service.TaskDependencyService;
+import org.example.service.TaskImportService;
 import org.example.service.TaskService;
+import org.example.service.TaskShardRouter;
+import org.example.service.TaskStatusHistoryService;
+import org.example.service.TaskStatusWriteBehindBuffer;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
 import java.util.List;
 
 /**
@@ -25,6 +44,13 @@ import java.util.List;
 public class TaskController {
 
     private final TaskService taskService;
+    private final IdempotencyService idempotencyService;
+    private final TaskStatusWriteBehindBuffer statusWriteBehindBuffer;
+    private final TaskImportService taskImportService;
+    private final TaskStatusHistoryService statusHistoryService;
+    private final TaskDependencyService dependencyService;
+    private final TaskShardRouter shardRouter;
+    private final EntityExistenceIndex existenceIndex;
 
     /**
      * Creates a new task.
@@ -32,46 +58,191 @@ public class TaskController {
      * Requires valid user, category, and priority IDs.
      *
      * @param request TaskRequest containing task details and related entity IDs
+     * @param idempotencyKey Optional key; a retry with the same key returns the original response
      * @return ResponseEntity with TaskResponse and HTTP 201 (CREATED) status
      */
     @PostMapping
     @Operation(summary = "Create a new task",
             description = "Creates a new task with associated user, category, and priority")
-    public ResponseEntity<TaskResponse> createTask(@RequestBody TaskRequest request) {
-        TaskResponse response= taskService.createTask(request);
+    public ResponseEntity<TaskResponse> createTask(
+            @RequestBody TaskRequest request,
+            @RequestHeader(value = "Idempotency-Key", required = false) String idempotencyKey) {
+        // The key is stored with the task, on the shard of its user
+        int shard = request.getUserId() != null ? shardRouter.shardOfUser(request.getUserId()) : 0;
+        TaskResponse response= idempotencyService.execute("tasks", idempotencyKey, request, shard,
+                TaskResponse.class, () -> taskService.createTask(request));
         return new ResponseEntity<>(response, HttpStatus.CREATED);
     }
 
+    /**
+     * Imports tasks from a CSV body.
+     * Endpoint: POST /api/tasks/import
+     * The body is read as a stream, so files of any size can be imported.
+     * Header: title,description,status,user,category,priority (user by email or name,
+     * category and priority by name). Invalid rows are skipped and listed in the report.
+     *
+     * @param body The CSV request body (UTF-8)
+     * @return ResponseEntity with TaskImportResponse and HTTP 200 (OK) status
+     */
+    @PostMapping(value = "/import", consumes = {"text/csv", MediaType.TEXT_PLAIN_VALUE})
+    @Operation(summary = "Import tasks from CSV",
+            description = "Creates tasks from CSV rows and reports the rows that could not be imported")
+    public ResponseEntity<TaskImportResponse> importTasks(InputStream body) throws IOException {
+        TaskImportResponse response= taskImportService.importTasks(
+                new InputStreamReader(body, StandardCharsets.UTF_8));
+        return ResponseEntity.ok(response);
+    }
+
     /**
      * Retrieves all tasks with complete information.
      * Endpoint: GET /api/tasks
      * Returns tasks with nested user, category, and priority details.
+     * Archived (old DONE) tasks are only included with includeArchived=true.
      *
+     * @param includeArchived Whether archived tasks are included as well
      * @return ResponseEntity with List of TaskResponse and HTTP 200 (OK) status
      */
     @GetMapping
     @Operation(summary = "Get all tasks",
             description = "Retrieves a list of all tasks with complete details")
-    public ResponseEntity<List<TaskResponse>> getAllTasks() {
-        List<TaskResponse> tasks = taskService.getAllTasks();
+    public ResponseEntity<List<TaskResponse>> getAllTasks(
+            @RequestParam(defaultValue = "false") boolean includeArchived) {
+        List<TaskResponse> tasks = taskService.getAllTasks(includeArchived);
         return ResponseEntity.ok(tasks);
     }
 
+    /**
+     * Retrieves several tasks by ID in one request.
+     * Endpoint: GET /api/tasks?ids=1,2,3
+     * Returns the tasks in the order of the IDs, with nested user, category, and priority
+     * details; unknown IDs are listed as missing instead of failing with 404.
+     *
+     * @param ids The IDs of the tasks (at most 10000 distinct IDs)
+     * @param includeArchived Whether to look in the archive for IDs that are not live
+     * @return ResponseEntity with BatchResponse of TaskResponse and HTTP 200 (OK) status
+     */
+    @GetMapping(params = "ids")
+    @Operation(summary = "Get tasks by IDs",
+            description = "Retrieves several tasks by ID in request order and lists the IDs not found")
+    public ResponseEntity<BatchResponse<TaskResponse>> getTasksByIds(
+            @RequestParam List<Long> ids,
+            @RequestParam(defaultValue = "false") boolean includeArchived) {
+        return ResponseEntity.ok(taskService.getTasksByIds(ids, includeArchived));
+    }
+
+    /**
+     * Retrieves the tasks that are ready to be worked on.
+     * Endpoint: GET /api/tasks/ready
+     * A task is ready when it is not DONE and all tasks it depends on are DONE.
+     *
+     * @return ResponseEntity with List of TaskResponse sorted by ID and HTTP 200 (OK) status
+     */
+    @GetMapping("/ready")
+    @Operation(summary = "Get ready tasks",
+            description = "Retrieves the open tasks whose dependencies are all DONE")
+    public ResponseEntity<List<TaskResponse>> getReadyTasks() {
+        return ResponseEntity.ok(taskService.getReadyTasks());
+    }
+
     /**
      * Retrieves a specific task by ID.
      * Endpoint: GET /api/tasks/{taskId}
      *
      * @param taskId The unique identifier of the task
+     * @param includeArchived Whether to look in the archive if the task is not live
      * @return ResponseEntity with TaskResponse and HTTP 200 (OK) status
      */
     @GetMapping("/{taskId}")
     @Operation(summary = "Get task by ID",
             description = "Retrieves a specific task by its unique identifier")
-    public ResponseEntity<TaskResponse> getTaskById(@PathVariable Long taskId) {
-        TaskResponse response= taskService.getTaskById(taskId);
+    public ResponseEntity<TaskResponse> getTaskById(
+            @PathVariable Long taskId,
+            @RequestParam(defaultValue = "false") boolean includeArchived) {
+        TaskResponse response= taskService.getTaskById(taskId, includeArchived);
         return ResponseEntity.ok(response);
     }
 
+    /**
+     * Retrieves the status history of a live or archived task.
+     * Endpoint: GET /api/tasks/{taskId}/history
+     *
+     * @param taskId The unique identifier of the task
+     * @return ResponseEntity with the status changes, oldest first, and HTTP 200 (OK) status
+     */
+    @GetMapping("/{taskId}/history")
+    @Operation(summary = "Get task status history",
+            description = "Retrieves every recorded status change of a task, starting with its creation")
+    public ResponseEntity<List<TaskStatusHistoryResponse>> getTaskHistory(@PathVariable Long taskId) {
+        // Unknown tasks are reported as not found rather than as an empty history
+        taskService.getTaskById(taskId, true);
+        return ResponseEntity.ok(statusHistoryService.getHistory(taskId));
+    }
+
+    /**
+     * Retrieves the subtasks of a task with its rolled-up progress.
+     * Endpoint: GET /api/tasks/{taskId}/subtasks
+     *
+     * @param taskId The unique identifier of the task
+     * @param maxDepth Optional depth limit (1 for the direct subtasks); all levels by default
+     * @return ResponseEntity with TaskSubtasksResponse and HTTP 200 (OK) status
+     */
+    @GetMapping("/{taskId}/subtasks")
+    @Operation(summary = "Get subtasks",
+            description = "Retrieves the subtasks of a task at any depth, with the number of subtasks and DONE subtasks")
+    public ResponseEntity<TaskSubtasksResponse> getSubtasks(
+            @PathVariable Long taskId,
+            @RequestParam(required = false) Integer maxDepth) {
+        return ResponseEntity.ok(taskService.getSubtasks(taskId, maxDepth));
+    }
+
+    /**
+     * Retrieves the dependencies of a task.
+     * Endpoint: GET /api/tasks/{taskId}/dependencies
+     *
+     * @param taskId The unique identifier of the task
+     * @return ResponseEntity with TaskDependencyResponse and HTTP 200 (OK) status
+     */
+    @GetMapping("/{taskId}/dependencies")
+    @Operation(summary = "Get task dependencies",
+            description = "Retrieves the tasks a task depends on, the tasks depending on it, and whether it is ready")
+    public ResponseEntity<TaskDependencyResponse> getDependencies(@PathVariable Long taskId) {
+        return ResponseEntity.ok(dependencyService.getDependencies(taskId));
+    }
+
+    /**
+     * Makes a task depend on another task.
+     * Endpoint: POST /api/tasks/{taskId}/dependencies
+     * A dependency that would close a cycle is rejected with HTTP 409 (CONFLICT).
+     *
+     * @param taskId The ID of the task that depends on the other one
+     * @param request TaskDependencyRequest with the ID of the task it depends on
+     * @return ResponseEntity with TaskDependencyResponse and HTTP 201 (CREATED) status
+     */
+    @PostMapping("/{taskId}/dependencies")
+    @Operation(summary = "Add task dependency",
+            description = "Makes a task wait for another task to be DONE")
+    public ResponseEntity<TaskDependencyResponse> addDependency(
+            @PathVariable Long taskId,
+            @RequestBody TaskDependencyRequest request) {
+        TaskDependencyResponse response= dependencyService.addDependency(taskId, request);
+        return new ResponseEntity<>(response, HttpStatus.CREATED);
+    }
+
+    /**
+     * Removes a dependency of a task.
+     * Endpoint: DELETE /api/tasks/{taskId}/dependencies/{dependsOnId}
+     *
+     * @param taskId The ID of the task that depends on the other one
+     * @param dependsOnId The ID of the task it depends on
+     * @return ResponseEntity with HTTP 204 (NO_CONTENT) status
+     */
+    @DeleteMapping("/{taskId}/dependencies/{dependsOnId}")
+    @Operation(summary = "Remove task dependency", description = "Stops a task from waiting for another task")
+    public ResponseEntity<Void> removeDependency(@PathVariable Long taskId, @PathVariable Long dependsOnId) {
+        dependencyService.removeDependency(taskId, dependsOnId);
+        return ResponseEntity.noContent().build();
+    }
+
     /**
      * Updates an existing task completely.
      * Endpoint: PUT /api/tasks/{taskId}
@@ -97,16 +268,31 @@ public class TaskController {
      * This is a lighter operation for changing task status without modifying other fields.
      * Common use case: Moving task from PENDING → IN_PROGRESS → DONE
      *
+     * With async=true (and write-behind enabled) the change is queued, coalesced with other
+     * changes to the same task and flushed in a batch; the response is then HTTP 202 without a body.
+     * If the queue is full the update falls back to the synchronous path.
+     * An unknown task ID is rejected with HTTP 404 (NOT_FOUND) before anything is queued.
+     *
      * @param taskId The ID of the task to update
      * @param request TaskStatusUpdateRequest containing the new status
-     * @return ResponseEntity with updated TaskResponse and HTTP 200 (OK) status
+     * @param async Whether the update may be applied asynchronously
+     * @return ResponseEntity with updated TaskResponse and HTTP 200 (OK) status, or HTTP 202 (ACCEPTED) if queued
      */
     @PutMapping("/{taskId}/status")
     @Operation(summary = "Update task status",
             description = "Updates only the status of a task (PENDING, IN_PROGRESS, DONE)")
     public ResponseEntity<TaskResponse> updateTaskStatus(
             @PathVariable Long taskId,
-            @RequestBody TaskStatusUpdateRequest request) {
+            @RequestBody TaskStatusUpdateRequest request,
+            @RequestParam(defaultValue = "false") boolean async) {
+        if (async && request.getStatus() != null && statusWriteBehindBuffer.isEnabled()) {
+            if (!existenceIndex.mightContainTask(taskId)) {
+                throw new TaskNotFoundException(taskId);
+            }
+            if (statusWriteBehindBuffer.enqueue(taskId, request.getStatus())) {
+                return ResponseEntity.accepted().build();
+            }
+        }
         TaskResponse response= taskService.updateTaskStatus(taskId, request);
         return ResponseEntity.ok(response);
     }
@@ -1,7 +1,13 @@
 package org.example.controller;
 
 import org.example.model.dto.request.UserRequest;
+import org.example.model.dto.response.BatchResponse;
+import org.example.model.dto.response.TaskResponse;
+import org.example.model.dto.response.UserDashboardResponse;
 import org.example.model.dto.response.UserResponse;
+import org.example.model.enums.TaskDeleteMode;
+import org.example.service.IdempotencyService;
+import org.example.service.TaskService;
 import org.example.service.UserService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
@@ -24,18 +30,24 @@ import java.util.List;
 public class UserController {
 
     private final UserService userService;
+    private final IdempotencyService idempotencyService;
+    private final TaskService taskService;
 
     /**
      * Creates a new user.
      * Endpoint: POST /api/users
      *
      * @param request UserRequest containing user details (name and email)
+     * @param idempotencyKey Optional key; a retry with the same key returns the original response
      * @return ResponseEntity with UserResponse and HTTP 201 (CREATED) status
      */
     @PostMapping
     @Operation(summary = "Create a new user", description = "Creates a new user with the provided name and email")
-    public ResponseEntity<UserResponse> createUser(@RequestBody UserRequest request) {
-        UserResponse response= userService.createUser(request);
+    public ResponseEntity<UserResponse> createUser(
+            @RequestBody UserRequest request,
+            @RequestHeader(value = "Idempotency-Key", required = false) String idempotencyKey) {
+        UserResponse response= idempotencyService.execute("users", idempotencyKey, request,
+                UserResponse.class, () -> userService.createUser(request));
         return new ResponseEntity<>(response, HttpStatus.CREATED);
     }
 
@@ -52,6 +64,20 @@ public class UserController {
         return ResponseEntity.ok(users);
     }
 
+    /**
+     * Retrieves several users by ID in one request.
+     * Endpoint: GET /api/users?ids=1,2,3
+     * The users are returned in the order of the IDs; unknown IDs are listed as missing.
+     *
+     * @param ids The IDs of the users (at most 10000 distinct IDs)
+     * @return ResponseEntity with BatchResponse of UserResponse and HTTP 200 (OK) status
+     */
+    @GetMapping(params = "ids")
+    @Operation(summary = "Get users by IDs", description = "Retrieves several users by ID in request order and lists the IDs not found")
+    public ResponseEntity<BatchResponse<UserResponse>> getUsersByIds(@RequestParam List<Long> ids) {
+        return ResponseEntity.ok(userService.getUsersByIds(ids));
+    }
+
     /**
      * Retrieves a specific user by their ID.
      * Endpoint: GET /api/users/{userId}
@@ -66,6 +92,40 @@ public class UserController {
         return ResponseEntity.ok(response);
     }
 
+    /**
+     * Retrieves the dashboard of a user.
+     * Endpoint: GET /api/users/{userId}/dashboard
+     * Returns the user, the number of tasks per status, the open tasks grouped by status and
+     * the categories and priorities they reference, instead of four requests and a full task list.
+     *
+     * @param userId The ID of the user
+     * @return ResponseEntity with UserDashboardResponse and HTTP 200 (OK) status
+     */
+    @GetMapping("/{userId}/dashboard")
+    @Operation(summary = "Get user dashboard",
+            description = "Retrieves a user with task counts per status, open tasks grouped by status, and their categories and priorities")
+    public ResponseEntity<UserDashboardResponse> getUserDashboard(@PathVariable Long userId) {
+        return ResponseEntity.ok(taskService.getUserDashboard(userId));
+    }
+
+    /**
+     * Claims the next task of a user.
+     * Endpoint: GET /api/users/{userId}/tasks/next
+     * Moves the user's PENDING task with the highest priority (oldest first) to IN_PROGRESS.
+     * Concurrent callers never receive the same task.
+     *
+     * @param userId The ID of the user
+     * @return ResponseEntity with the claimed TaskResponse and HTTP 200 (OK), or HTTP 204 (NO_CONTENT) if nothing is pending
+     */
+    @GetMapping("/{userId}/tasks/next")
+    @Operation(summary = "Claim next task",
+            description = "Claims the highest-priority PENDING task of a user and moves it to IN_PROGRESS")
+    public ResponseEntity<TaskResponse> claimNextTask(@PathVariable Long userId) {
+        return taskService.claimNextTask(userId)
+                .map(ResponseEntity::ok)
+                .orElseGet(() -> ResponseEntity.noContent().build());
+    }
+
     /**
      * Updates an existing user's information.
      * Endpoint: PUT /api/users/{userId}
@@ -87,13 +147,21 @@ public class UserController {
      * Deletes a user from the system.
      * Endpoint: DELETE /api/users/{userId}
      *
+     * With tasks=CASCADE the user's tasks are deleted first, with tasks=REASSIGN they are
+     * moved to the user given by reassignTo first; both run in bounded chunks.
+     *
      * @param userId The ID of the user to delete
+     * @param tasks What to do with tasks that still reference the user (default RESTRICT)
+     * @param reassignTo The ID of the user receiving the tasks (REASSIGN only)
      * @return ResponseEntity with HTTP 204 (NO_CONTENT) status
      */
     @DeleteMapping("/{userId}")
     @Operation(summary = "Delete user", description = "Removes a user from the system")
-    public ResponseEntity<Void> deleteUser(@PathVariable Long userId) {
-        userService.deleteUser(userId);
+    public ResponseEntity<Void> deleteUser(
+            @PathVariable Long userId,
+            @RequestParam(defaultValue = "RESTRICT") TaskDeleteMode tasks,
+            @RequestParam(required = false) Long reassignTo) {
+        userService.deleteUser(userId, tasks, reassignTo);
         return ResponseEntity.noContent().build();
     }
 }
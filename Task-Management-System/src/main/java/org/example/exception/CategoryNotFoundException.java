@@ -3,17 +3,16 @@ package org.example.exception;
 
 /**
  * Custom exception thrown when a requested category cannot be found.
- * Results in an HTTP 404 response to the client.
+ * Stackless like all {@link ResourceNotFoundException}s; results in an HTTP 404 response.
  */
-public class CategoryNotFoundException extends RuntimeException {
+public class CategoryNotFoundException extends ResourceNotFoundException {
 
     /**
-     * Creates a new CategoryNotFoundException with the specified error message.
+     * Creates a new CategoryNotFoundException for the given ID.
      *
-     * @param message Detailed message about the missing category
+     * @param id The ID of the missing category
      */
-    public CategoryNotFoundException(String message) {
-        super(message);
+    public CategoryNotFoundException(Long id) {
+        super("Category", id);
     }
 }
-
@@ -1,12 +1,17 @@
 package org.example.exception;
 
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.RestControllerAdvice;
 import org.springframework.web.context.request.WebRequest;
 
+import java.nio.charset.StandardCharsets;
 import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
 
 /**
  * Global exception handler for the entire application.
@@ -19,96 +24,161 @@ import java.time.LocalDateTime;
 public class GlobalExceptionHandler {
 
     /**
-     * Handles UserNotFoundException.
-     * Called automatically when a UserNotFoundException is thrown anywhere in the application.
+     * Constant parts of the 404 response body, built once.
+     * Only the timestamp, ID and path differ between two not-found responses.
+     */
+    private static final String NOT_FOUND_BODY_START = "{\"timestamp\":\"";
+    private static final String NOT_FOUND_BODY_MIDDLE = "\",\"status\":404,\"error\":\"Not Found\",\"message\":\"";
+    private static final String NOT_FOUND_BODY_PATH = "\",\"path\":\"";
+    private static final String NOT_FOUND_BODY_END = "\"}";
+
+    /**
+     * Headers shared by all 404 responses
+     */
+    private static final HttpHeaders NOT_FOUND_HEADERS = HttpHeaders.readOnlyHttpHeaders(jsonHeaders());
+
+    /**
+     * Handles UserNotFoundException, CategoryNotFoundException, PriorityNotFoundException
+     * and TaskNotFoundException.
+     * Not-found lookups are frequent, so this path is kept cheap: the exceptions carry no
+     * stack trace, and the JSON body (same fields as ErrorResponse) is written directly
+     * from preallocated fragments instead of building and serializing an ErrorResponse.
+     *
+     * @param ex The ResourceNotFoundException that was thrown
+     * @param request The HTTP request that caused the exception
+     * @return ResponseEntity with the JSON error body and HTTP 404 (NOT_FOUND) status
+     */
+    @ExceptionHandler(ResourceNotFoundException.class)
+    public ResponseEntity<byte[]> handleResourceNotFoundException(
+            ResourceNotFoundException ex, HttpServletRequest request) {
+
+        String path = request.getRequestURI();
+        StringBuilder body = new StringBuilder(160 + path.length())
+                .append(NOT_FOUND_BODY_START);
+        DateTimeFormatter.ISO_LOCAL_DATE_TIME.formatTo(LocalDateTime.now(), body);
+        body.append(NOT_FOUND_BODY_MIDDLE)
+                .append(ex.getResourceName()).append(" not found with id: ").append(ex.getId())
+                .append(NOT_FOUND_BODY_PATH);
+        appendJsonEscaped(body, path);
+        body.append(NOT_FOUND_BODY_END);
+
+        return new ResponseEntity<>(body.toString().getBytes(StandardCharsets.UTF_8),
+                NOT_FOUND_HEADERS, HttpStatus.NOT_FOUND);
+    }
+
+    /**
+     * Handles IdempotencyKeyReusedException.
+     * Returns HTTP 422 when an Idempotency-Key is sent again with a different request body.
+     *
+     * @param ex The IdempotencyKeyReusedException that was thrown
+     * @param request The web request that caused the exception
+     * @return ResponseEntity with ErrorResponse and HTTP 422 status
+     */
+    @ExceptionHandler(IdempotencyKeyReusedException.class)
+    public ResponseEntity<ErrorResponse> handleIdempotencyKeyReusedException(
+            IdempotencyKeyReusedException ex, WebRequest request) {
+
+        ErrorResponse errorResponse= new ErrorResponse(
+                LocalDateTime.now(),
+                HttpStatus.UNPROCESSABLE_ENTITY.value(),
+                "Unprocessable Entity",
+                ex.getMessage(),
+                request.getDescription(false).replace("uri=", "")
+        );
+
+        return new ResponseEntity<>(errorResponse, HttpStatus.UNPROCESSABLE_ENTITY);
+    }
+
+    /**
+     * Handles TaskDependencyCycleException.
+     * Returns HTTP 409 when a new task dependency would close a cycle.
      *
-     * @param ex The UserNotFoundException that was thrown
+     * @param ex The TaskDependencyCycleException that was thrown
      * @param request The web request that caused the exception
-     * @return ResponseEntity with ErrorResponse and HTTP 404 (NOT_FOUND) status
+     * @return ResponseEntity with ErrorResponse and HTTP 409 status
      */
-    @ExceptionHandler(UserNotFoundException.class)
-    public ResponseEntity<ErrorResponse> handleUserNotFoundException(
-            UserNotFoundException ex, WebRequest request) {
+    @ExceptionHandler(TaskDependencyCycleException.class)
+    public ResponseEntity<ErrorResponse> handleTaskDependencyCycleException(
+            TaskDependencyCycleException ex, WebRequest request) {
 
-        // Build structured error response
         ErrorResponse errorResponse= new ErrorResponse(
                 LocalDateTime.now(),
-                HttpStatus.NOT_FOUND.value(),
-                "Not Found",
+                HttpStatus.CONFLICT.value(),
+                "Conflict",
                 ex.getMessage(),
                 request.getDescription(false).replace("uri=", "")
         );
 
-        return new ResponseEntity<>(errorResponse, HttpStatus.NOT_FOUND);
+        return new ResponseEntity<>(errorResponse, HttpStatus.CONFLICT);
     }
 
     /**
-     * Handles CategoryNotFoundException.
-     * Returns HTTP 404 with detailed error information.
+     * Handles TaskHierarchyCycleException.
+     * Returns HTTP 409 when a task would become a subtask of itself or of one of its subtasks.
      *
-     * @param ex The CategoryNotFoundException that was thrown
+     * @param ex The TaskHierarchyCycleException that was thrown
      * @param request The web request that caused the exception
-     * @return ResponseEntity with ErrorResponse and HTTP 404 status
+     * @return ResponseEntity with ErrorResponse and HTTP 409 status
      */
-    @ExceptionHandler(CategoryNotFoundException.class)
-    public ResponseEntity<ErrorResponse> handleCategoryNotFoundException(
-            CategoryNotFoundException ex, WebRequest request) {
+    @ExceptionHandler(TaskHierarchyCycleException.class)
+    public ResponseEntity<ErrorResponse> handleTaskHierarchyCycleException(
+            TaskHierarchyCycleException ex, WebRequest request) {
 
         ErrorResponse errorResponse= new ErrorResponse(
                 LocalDateTime.now(),
-                HttpStatus.NOT_FOUND.value(),
-                "Not Found",
+                HttpStatus.CONFLICT.value(),
+                "Conflict",
                 ex.getMessage(),
                 request.getDescription(false).replace("uri=", "")
         );
 
-        return new ResponseEntity<>(errorResponse, HttpStatus.NOT_FOUND);
+        return new ResponseEntity<>(errorResponse, HttpStatus.CONFLICT);
     }
 
     /**
-     * Handles PriorityNotFoundException.
-     * Returns HTTP 404 when a priority cannot be found.
+     * Handles ResourceInUseException.
+     * Returns HTTP 409 when a user, category or priority is deleted while tasks still reference it.
      *
-     * @param ex The PriorityNotFoundException that was thrown
+     * @param ex The ResourceInUseException that was thrown
      * @param request The web request that caused the exception
-     * @return ResponseEntity with ErrorResponse and HTTP 404 status
+     * @return ResponseEntity with ErrorResponse and HTTP 409 status
      */
-    @ExceptionHandler(PriorityNotFoundException.class)
-    public ResponseEntity<ErrorResponse> handlePriorityNotFoundException(
-            PriorityNotFoundException ex, WebRequest request) {
+    @ExceptionHandler(ResourceInUseException.class)
+    public ResponseEntity<ErrorResponse> handleResourceInUseException(
+            ResourceInUseException ex, WebRequest request) {
 
         ErrorResponse errorResponse= new ErrorResponse(
                 LocalDateTime.now(),
-                HttpStatus.NOT_FOUND.value(),
-                "Not Found",
+                HttpStatus.CONFLICT.value(),
+                "Conflict",
                 ex.getMessage(),
                 request.getDescription(false).replace("uri=", "")
         );
 
-        return new ResponseEntity<>(errorResponse, HttpStatus.NOT_FOUND);
+        return new ResponseEntity<>(errorResponse, HttpStatus.CONFLICT);
     }
 
     /**
-     * Handles TaskNotFoundException.
-     * Returns HTTP 404 when a task cannot be found.
+     * Handles InvalidRequestException.
+     * Returns HTTP 400 when a request contains invalid or inconsistent parameters.
      *
-     * @param ex The TaskNotFoundException that was thrown
+     * @param ex The InvalidRequestException that was thrown
      * @param request The web request that caused the exception
-     * @return ResponseEntity with ErrorResponse and HTTP 404 status
+     * @return ResponseEntity with ErrorResponse and HTTP 400 status
      */
-    @ExceptionHandler(TaskNotFoundException.class)
-    public ResponseEntity<ErrorResponse> handleTaskNotFoundException(
-            TaskNotFoundException ex, WebRequest request) {
+    @ExceptionHandler(InvalidRequestException.class)
+    public ResponseEntity<ErrorResponse> handleInvalidRequestException(
+            InvalidRequestException ex, WebRequest request) {
 
         ErrorResponse errorResponse= new ErrorResponse(
                 LocalDateTime.now(),
-                HttpStatus.NOT_FOUND.value(),
-                "Not Found",
+                HttpStatus.BAD_REQUEST.value(),
+                "Bad Request",
                 ex.getMessage(),
                 request.getDescription(false).replace("uri=", "")
         );
 
-        return new ResponseEntity<>(errorResponse, HttpStatus.NOT_FOUND);
+        return new ResponseEntity<>(errorResponse, HttpStatus.BAD_REQUEST);
     }
 
     /**
@@ -134,5 +204,27 @@ public class GlobalExceptionHandler {
 
         return new ResponseEntity<>(errorResponse, HttpStatus.INTERNAL_SERVER_ERROR);
     }
+
+    private static HttpHeaders jsonHeaders() {
+        HttpHeaders headers = new HttpHeaders();
+        headers.setContentType(MediaType.APPLICATION_JSON);
+        return headers;
+    }
+
+    /**
+     * Appends a value as the content of a JSON string (quotes, backslashes and control characters escaped).
+     */
+    private static void appendJsonEscaped(StringBuilder target, String value) {
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c == '"' || c == '\\') {
+                target.append('\\').append(c);
+            } else if (c < 0x20) {
+                target.append(String.format("\\u%04x", (int) c));
+            } else {
+                target.append(c);
+            }
+        }
+    }
 }
 
@@ -0,0 +1,18 @@
+package org.example.exception;
+
+
+/**
+ * Custom exception thrown when an Idempotency-Key is sent again with a different request body.
+ * Results in an HTTP 422 response.
+ */
+public class IdempotencyKeyReusedException extends RuntimeException {
+
+    /**
+     * Creates a new IdempotencyKeyReusedException with the specified error message.
+     *
+     * @param message Detailed message about the reused key
+     */
+    public IdempotencyKeyReusedException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,19 @@
+package org.example.exception;
+
+
+/**
+ * Custom exception thrown when a request contains invalid or inconsistent parameters
+ * that bean validation cannot catch (e.g., a REASSIGN delete without a target, too many IDs).
+ * Results in an HTTP 400 response.
+ */
+public class InvalidRequestException extends RuntimeException {
+
+    /**
+     * Creates a new InvalidRequestException with the specified error message.
+     *
+     * @param message Detailed message about what is wrong with the request
+     */
+    public InvalidRequestException(String message) {
+        super(message);
+    }
+}
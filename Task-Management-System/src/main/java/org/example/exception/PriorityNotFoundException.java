@@ -3,17 +3,16 @@ package org.example.exception;
 
 /**
  * Custom exception thrown when a requested priority level cannot be found.
- * Converted to HTTP 404 by the global exception handler.
+ * Stackless like all {@link ResourceNotFoundException}s; results in an HTTP 404 response.
  */
-public class PriorityNotFoundException extends RuntimeException {
+public class PriorityNotFoundException extends ResourceNotFoundException {
 
     /**
-     * Creates a new PriorityNotFoundException with the specified error message.
+     * Creates a new PriorityNotFoundException for the given ID.
      *
-     * @param message Detailed message about the missing priority
+     * @param id The ID of the missing priority
      */
-    public PriorityNotFoundException(String message) {
-        super(message);
+    public PriorityNotFoundException(Long id) {
+        super("Priority", id);
     }
 }
-
@@ -0,0 +1,21 @@
+package org.example.exception;
+
+
+/**
+ * Custom exception thrown when a user, category or priority cannot be deleted
+ * because tasks still reference it (delete mode RESTRICT).
+ * Results in an HTTP 409 response.
+ */
+public class ResourceInUseException extends RuntimeException {
+
+    /**
+     * Creates a new ResourceInUseException for the refused delete.
+     *
+     * @param resourceName Entity name used in the message (e.g., "user")
+     * @param id The ID of the entity that was to be deleted
+     * @param tasks The number of tasks that still reference it
+     */
+    public ResourceInUseException(String resourceName, Long id, long tasks) {
+        super("Cannot delete " + resourceName + " " + id + ": still referenced by " + tasks + " tasks");
+    }
+}
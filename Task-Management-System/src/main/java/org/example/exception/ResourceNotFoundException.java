@@ -0,0 +1,51 @@
+package org.example.exception;
+
+
+/**
+ * Base class for the "not found" exceptions of all entities.
+ * Results in an HTTP 404 response.
+ *
+ * Missing IDs are a normal, frequent outcome (clients probe IDs constantly), so these
+ * exceptions are cheap: no stack trace is captured, and the message is only built
+ * when someone actually asks for it.
+ */
+public class ResourceNotFoundException extends RuntimeException {
+
+    /**
+     * Entity name used in the message (e.g., "Task")
+     */
+    private final String resourceName;
+
+    /**
+     * The ID that was not found
+     */
+    private final Long id;
+
+    /**
+     * Creates a new stackless ResourceNotFoundException.
+     *
+     * @param resourceName Entity name used in the message (e.g., "Task")
+     * @param id The ID that was not found
+     */
+    protected ResourceNotFoundException(String resourceName, Long id) {
+        super(null, null, false, false);
+        this.resourceName = resourceName;
+        this.id = id;
+    }
+
+    public String getResourceName() {
+        return resourceName;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    /**
+     * Builds the message on demand, e.g., "Task not found with id: 42".
+     */
+    @Override
+    public String getMessage() {
+        return resourceName + " not found with id: " + id;
+    }
+}
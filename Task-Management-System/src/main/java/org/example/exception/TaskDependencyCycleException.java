@@ -0,0 +1,21 @@
+package org.example.exception;
+
+
+/**
+ * Custom exception thrown when a new task dependency would close a cycle,
+ * i.e., the tasks involved could never become ready.
+ * Results in an HTTP 409 response.
+ */
+public class TaskDependencyCycleException extends RuntimeException {
+
+    /**
+     * Creates a new TaskDependencyCycleException for the rejected dependency.
+     *
+     * @param taskId The ID of the task that was to depend on another one
+     * @param dependsOnId The ID of the task it was to depend on
+     */
+    public TaskDependencyCycleException(Long taskId, Long dependsOnId) {
+        super("Task " + taskId + " cannot depend on task " + dependsOnId
+                + ": task " + dependsOnId + " already depends on task " + taskId + " (directly or indirectly)");
+    }
+}
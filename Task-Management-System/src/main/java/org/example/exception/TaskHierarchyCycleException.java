@@ -0,0 +1,21 @@
+package org.example.exception;
+
+
+/**
+ * Custom exception thrown when a task would become a subtask of itself or of one of its
+ * own subtasks, which would turn the hierarchy into a cycle.
+ * Results in an HTTP 409 response.
+ */
+public class TaskHierarchyCycleException extends RuntimeException {
+
+    /**
+     * Creates a new TaskHierarchyCycleException for the rejected move.
+     *
+     * @param taskId The ID of the task that was to be moved
+     * @param parentId The ID of the task that was to become its parent
+     */
+    public TaskHierarchyCycleException(Long taskId, Long parentId) {
+        super("Task " + taskId + " cannot become a subtask of task " + parentId
+                + ": task " + parentId + " is task " + taskId + " or one of its subtasks");
+    }
+}
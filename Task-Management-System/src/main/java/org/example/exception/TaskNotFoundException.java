@@ -3,17 +3,16 @@ package org.example.exception;
 
 /**
  * Custom exception thrown when a requested task cannot be found.
- * Results in an HTTP 404 response.
+ * Stackless like all {@link ResourceNotFoundException}s; results in an HTTP 404 response.
  */
-public class TaskNotFoundException extends RuntimeException {
+public class TaskNotFoundException extends ResourceNotFoundException {
 
     /**
-     * Creates a new TaskNotFoundException with the specified error message.
+     * Creates a new TaskNotFoundException for the given ID.
      *
-     * @param message Detailed message about the missing task
+     * @param id The ID of the missing task
      */
-    public TaskNotFoundException(String message) {
-        super(message);
+    public TaskNotFoundException(Long id) {
+        super("Task", id);
     }
 }
-
@@ -1,18 +1,18 @@
 package org.example.exception;
 
+
 /**
  * Custom exception thrown when a requested user cannot be found in the database.
- * This exception is caught by the GlobalExceptionHandler and converted to an HTTP 404 response.
+ * Stackless like all {@link ResourceNotFoundException}s; results in an HTTP 404 response.
  */
-public class UserNotFoundException extends RuntimeException {
+public class UserNotFoundException extends ResourceNotFoundException {
 
     /**
-     * Creates a new UserNotFoundException with the specified error message.
+     * Creates a new UserNotFoundException for the given ID.
      *
-     * @param message Detailed message explaining why the user was not found
+     * @param id The ID of the missing user
      */
-    public UserNotFoundException(String message) {
-        super(message);
+    public UserNotFoundException(Long id) {
+        super("User", id);
     }
 }
-
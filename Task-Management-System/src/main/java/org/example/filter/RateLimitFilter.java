@@ -0,0 +1,206 @@
+package org.example.filter;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import org.example.config.RateLimitProperties;
+import org.example.exception.ErrorResponse;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Per-client, per-route admission control for the REST API.
+ * Each (client, route) pair has its own lock-free {@link TokenBucket}; a caller that
+ * runs out of tokens gets HTTP 429 with a Retry-After header before the request
+ * reaches a controller or borrows a database connection.
+ *
+ * The number of buckets is strictly bounded: when the map is full, buckets that have fully
+ * refilled are evicted (at most once per second), and a new client that still finds no room
+ * is rejected with HTTP 429 as well.
+ */
+@Component
+@RequiredArgsConstructor
+public class RateLimitFilter extends OncePerRequestFilter {
+
+    /**
+     * Minimum time between two sweeps for idle buckets
+     */
+    private static final long SWEEP_INTERVAL_NANOS = TimeUnit.SECONDS.toNanos(1);
+
+    private final RateLimitProperties properties;
+    private final ObjectMapper objectMapper;
+
+    /**
+     * Buckets keyed by "route|client"
+     */
+    private final Map<String, TokenBucket> buckets = new ConcurrentHashMap<>();
+
+    /**
+     * Number of buckets, reserved before a bucket is added so the map never exceeds its bound
+     */
+    private final AtomicInteger bucketCount = new AtomicInteger();
+
+    /**
+     * Earliest time (System.nanoTime) of the next sweep for idle buckets
+     */
+    private final AtomicLong nextSweepNanos = new AtomicLong(System.nanoTime());
+
+    /**
+     * Configured route prefixes, longest first, resolved on first use
+     */
+    private volatile List<String> routePrefixes;
+
+    /**
+     * Only the REST API is rate limited (not Swagger UI or the H2 console).
+     */
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !properties.isEnabled() || !request.getRequestURI().startsWith("/api/");
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response,
+                                    FilterChain filterChain) throws ServletException, IOException {
+        String route = resolveRoute(request.getRequestURI());
+        String key = route + '|' + resolveClient(request, properties);
+        long now = System.nanoTime();
+
+        // Fast path is a plain lock-free map read; the bucket is only created on a client's first call
+        TokenBucket bucket = buckets.get(key);
+        if (bucket == null) {
+            bucket = addBucket(key, route, now);
+        }
+
+        long waitNanos = bucket != null ? bucket.tryAcquire(now) : SWEEP_INTERVAL_NANOS;
+        if (waitNanos == 0) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+
+        rejectTooManyRequests(request, response, waitNanos);
+    }
+
+    /**
+     * Finds the longest configured route prefix for the path, matched on whole path segments
+     * (/api/tasks covers /api/tasks and /api/tasks/1, not /api/tasksfoo).
+     * Paths without a configured route share the "*" route (with the default limit).
+     *
+     * @param path The request URI
+     * @return The route key
+     */
+    private String resolveRoute(String path) {
+        List<String> prefixes = routePrefixes;
+        if (prefixes == null) {
+            prefixes = properties.getRoutes().keySet().stream()
+                    .sorted(Comparator.comparingInt(String::length).reversed())
+                    .toList();
+            routePrefixes = prefixes;
+        }
+        for (String prefix : prefixes) {
+            if (path.startsWith(prefix) && (path.length() == prefix.length() || prefix.endsWith("/")
+                    || path.charAt(prefix.length()) == '/')) {
+                return prefix;
+            }
+        }
+        return "*";
+    }
+
+    /**
+     * Identifies the caller by remote address. Only a trusted proxy may name the client
+     * in the client header; any other caller could otherwise pick a fresh identity per request.
+     * Also used by ReadYourWritesFilter.
+     */
+    static String resolveClient(HttpServletRequest request, RateLimitProperties properties) {
+        String remoteAddress = request.getRemoteAddr();
+        if (!properties.getTrustedProxies().contains(remoteAddress)) {
+            return remoteAddress;
+        }
+        String client = request.getHeader(properties.getClientHeader());
+        return client != null && !client.isBlank() ? client : remoteAddress;
+    }
+
+    /**
+     * Adds the bucket of a new (client, route) pair if the map has room for it.
+     *
+     * @return The bucket of the pair, or null if the map is full
+     */
+    private TokenBucket addBucket(String key, String route, long now) {
+        if (!reserveBucket()) {
+            evictIdleBuckets(now);
+            if (!reserveBucket()) {
+                return buckets.get(key);
+            }
+        }
+        RateLimitProperties.Limit limit = properties.getRoutes().getOrDefault(route, properties.getDefaults());
+        TokenBucket bucket = new TokenBucket(limit.getCapacity(), limit.getRefillPerSecond());
+        TokenBucket existing = buckets.putIfAbsent(key, bucket);
+        if (existing != null) {
+            // Another request of the same client added it first
+            bucketCount.decrementAndGet();
+            return existing;
+        }
+        return bucket;
+    }
+
+    private boolean reserveBucket() {
+        if (bucketCount.incrementAndGet() > properties.getMaxBuckets()) {
+            bucketCount.decrementAndGet();
+            return false;
+        }
+        return true;
+    }
+
+    /**
+     * Drops buckets that have fully refilled; removing a full bucket is harmless, a new one starts
+     * full as well. Runs at most once per sweep interval, so a flood of new clients does not
+     * turn every request into a scan of the whole map.
+     */
+    private void evictIdleBuckets(long now) {
+        long due = nextSweepNanos.get();
+        if (now - due < 0 || !nextSweepNanos.compareAndSet(due, now + SWEEP_INTERVAL_NANOS)) {
+            return;
+        }
+        buckets.forEach((key, bucket) -> {
+            if (bucket.isIdle(now) && buckets.remove(key, bucket)) {
+                bucketCount.decrementAndGet();
+            }
+        });
+    }
+
+    /**
+     * Writes the HTTP 429 response in the same ErrorResponse format the GlobalExceptionHandler uses.
+     */
+    private void rejectTooManyRequests(HttpServletRequest request, HttpServletResponse response,
+                                       long waitNanos) throws IOException {
+        long retryAfterSeconds = Math.max(1, TimeUnit.NANOSECONDS.toSeconds(waitNanos + 999_999_999L));
+
+        ErrorResponse errorResponse= new ErrorResponse(
+                LocalDateTime.now(),
+                HttpStatus.TOO_MANY_REQUESTS.value(),
+                "Too Many Requests",
+                "Rate limit exceeded, retry after " + retryAfterSeconds + " second(s)",
+                request.getRequestURI()
+        );
+
+        response.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
+        response.setHeader(HttpHeaders.RETRY_AFTER, String.valueOf(retryAfterSeconds));
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        objectMapper.writeValue(response.getOutputStream(), errorResponse);
+    }
+}
@@ -0,0 +1,147 @@
+package org.example.filter;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import org.example.config.DataSourceRouting;
+import org.example.config.RateLimitProperties;
+import org.example.config.ReplicaProperties;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Read-your-writes guarantee on top of the replica routing.
+ * Reads of a client that wrote within the sticky window (or that sends "X-Read-Your-Writes: true")
+ * are pinned to the primary, so they never see a replica that has not caught up yet.
+ * Clients are identified like in the rate limit filter, and tracked only for the sticky window.
+ */
+@Component
+@RequiredArgsConstructor
+public class ReadYourWritesFilter extends OncePerRequestFilter {
+
+    private static final String READ_YOUR_WRITES_HEADER = "X-Read-Your-Writes";
+
+    private static final long SWEEP_INTERVAL_NANOS = TimeUnit.SECONDS.toNanos(1);
+
+    private final ReplicaProperties replicaProperties;
+    private final RateLimitProperties rateLimitProperties;
+
+    /**
+     * Time (System.nanoTime) of the last write per client
+     */
+    private final Map<String, Long> lastWriteByClient = new ConcurrentHashMap<>();
+
+    /**
+     * Number of entries in lastWriteByClient, reserved before an insert so the map never exceeds the limit
+     */
+    private final AtomicInteger trackedClients = new AtomicInteger();
+
+    /**
+     * Earliest time (System.nanoTime) of the next sweep for expired entries
+     */
+    private final AtomicLong nextSweepNanos = new AtomicLong(System.nanoTime());
+
+    /**
+     * Until this time (System.nanoTime) the reads of every client go to the primary;
+     * set when a write could not be tracked because the map was full
+     */
+    private volatile long pinAllUntilNanos = System.nanoTime();
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return replicaProperties.getUrls().isEmpty() || !request.getRequestURI().startsWith("/api/");
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response,
+                                    FilterChain filterChain) throws ServletException, IOException {
+        String client = RateLimitFilter.resolveClient(request, rateLimitProperties);
+        boolean write = !"GET".equals(request.getMethod()) && !"HEAD".equals(request.getMethod());
+        long now = System.nanoTime();
+        evictExpiredWrites(now);
+
+        if (write || "true".equalsIgnoreCase(request.getHeader(READ_YOUR_WRITES_HEADER)) || wroteRecently(client, now)) {
+            DataSourceRouting.pinToPrimary();
+        }
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            DataSourceRouting.clear();
+            if (write) {
+                recordWrite(client, System.nanoTime());
+            }
+        }
+    }
+
+    private boolean wroteRecently(String client, long now) {
+        if (now - pinAllUntilNanos < 0) {
+            return true;
+        }
+        Long lastWrite = lastWriteByClient.get(client);
+        if (lastWrite == null) {
+            return false;
+        }
+        if (now - lastWrite < replicaProperties.getStickyWindow().toNanos()) {
+            return true;
+        }
+        if (lastWriteByClient.remove(client, lastWrite)) {
+            trackedClients.decrementAndGet();
+        }
+        return false;
+    }
+
+    /**
+     * Remembers the time of a write of the client. If the map is full of clients that are still
+     * inside their window, every client is pinned to the primary for one window instead.
+     */
+    private void recordWrite(String client, long now) {
+        if (lastWriteByClient.replace(client, now) != null) {
+            return;
+        }
+        if (!reserveClient()) {
+            evictExpiredWrites(now);
+            if (!reserveClient()) {
+                pinAllUntilNanos = now + replicaProperties.getStickyWindow().toNanos();
+                return;
+            }
+        }
+        if (lastWriteByClient.put(client, now) != null) {
+            // Another request of the same client added it first
+            trackedClients.decrementAndGet();
+        }
+    }
+
+    private boolean reserveClient() {
+        if (trackedClients.incrementAndGet() > replicaProperties.getMaxTrackedClients()) {
+            trackedClients.decrementAndGet();
+            return false;
+        }
+        return true;
+    }
+
+    /**
+     * Removes the entries whose sticky window has passed.
+     * Runs at most once per sweep interval, in whichever request gets there first.
+     */
+    private void evictExpiredWrites(long now) {
+        long due = nextSweepNanos.get();
+        if (now - due < 0 || !nextSweepNanos.compareAndSet(due, now + SWEEP_INTERVAL_NANOS)) {
+            return;
+        }
+        long window = replicaProperties.getStickyWindow().toNanos();
+        lastWriteByClient.forEach((client, lastWrite) -> {
+            if (now - lastWrite >= window && lastWriteByClient.remove(client, lastWrite)) {
+                trackedClients.decrementAndGet();
+            }
+        });
+    }
+}
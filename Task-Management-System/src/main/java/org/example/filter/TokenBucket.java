@@ -0,0 +1,69 @@
+package org.example.filter;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Lock-free token bucket.
+ * Implemented as a GCRA (generic cell rate algorithm): the whole bucket state is
+ * a single "theoretical arrival time" kept in an AtomicLong, so taking a token is
+ * one compare-and-set without any locking or allocation.
+ */
+public class TokenBucket {
+
+    /**
+     * Nanoseconds between two tokens (1 / refill rate)
+     */
+    private final long intervalNanos;
+
+    /**
+     * How far the arrival time may run ahead of "now" (capacity * interval)
+     */
+    private final long burstNanos;
+
+    /**
+     * Time at which the bucket would be completely full again
+     */
+    private final AtomicLong theoreticalArrival;
+
+    /**
+     * Creates a full bucket.
+     *
+     * @param capacity Maximum number of tokens (burst size)
+     * @param refillPerSecond Number of tokens added back per second
+     */
+    public TokenBucket(int capacity, double refillPerSecond) {
+        this.intervalNanos = Math.max(1L, (long) (1_000_000_000L / refillPerSecond));
+        this.burstNanos = intervalNanos * Math.max(1, capacity);
+        this.theoreticalArrival = new AtomicLong(System.nanoTime());
+    }
+
+    /**
+     * Tries to take one token.
+     *
+     * @param now Current time from System.nanoTime()
+     * @return 0 if a token was taken, otherwise the nanoseconds to wait before retrying
+     */
+    public long tryAcquire(long now) {
+        while (true) {
+            long current = theoreticalArrival.get();
+            long next = Math.max(current, now) + intervalNanos;
+            long ahead = next - now;
+            if (ahead > burstNanos) {
+                return ahead - burstNanos;
+            }
+            if (theoreticalArrival.compareAndSet(current, next)) {
+                return 0;
+            }
+        }
+    }
+
+    /**
+     * A bucket is idle when it has refilled completely, so dropping it loses no state.
+     *
+     * @param now Current time from System.nanoTime()
+     * @return true if the bucket is full
+     */
+    public boolean isIdle(long now) {
+        return theoreticalArrival.get() <= now;
+    }
+}
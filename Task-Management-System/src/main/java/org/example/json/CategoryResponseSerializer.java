@@ -0,0 +1,44 @@
+package org.example.json;
+
+import org.example.model.dto.response.CategoryResponse;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.io.SerializedString;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+
+import java.io.IOException;
+
+/**
+ * Writes CategoryResponse field by field, with pre-encoded field names.
+ */
+public class CategoryResponseSerializer extends StdSerializer<CategoryResponse> {
+
+    private static final SerializedString ID = new SerializedString("id");
+    private static final SerializedString NAME = new SerializedString("name");
+    private static final SerializedString DESCRIPTION = new SerializedString("description");
+
+    public CategoryResponseSerializer() {
+        super(CategoryResponse.class);
+    }
+
+    @Override
+    public void serialize(CategoryResponse category, JsonGenerator gen, SerializerProvider provider)
+            throws IOException {
+        write(category, gen);
+    }
+
+    static void write(CategoryResponse category, JsonGenerator gen) throws IOException {
+        if (category == null) {
+            gen.writeNull();
+            return;
+        }
+        gen.writeStartObject();
+        gen.writeFieldName(ID);
+        JsonWriting.writeNumber(gen, category.getId());
+        gen.writeFieldName(NAME);
+        gen.writeString(category.getName());
+        gen.writeFieldName(DESCRIPTION);
+        gen.writeString(category.getDescription());
+        gen.writeEndObject();
+    }
+}
@@ -0,0 +1,88 @@
+package org.example.json;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+
+/**
+ * Value writers shared by the response serializers.
+ */
+final class JsonWriting {
+
+    /**
+     * Per-thread buffer a timestamp is formatted into; the generator copies it right away
+     */
+    private static final ThreadLocal<char[]> TIMESTAMP_BUFFER = ThreadLocal.withInitial(() -> new char[29]);
+
+    private JsonWriting() {
+    }
+
+    static void writeNumber(JsonGenerator gen, Long value) throws IOException {
+        if (value == null) {
+            gen.writeNull();
+        } else {
+            gen.writeNumber(value.longValue());
+        }
+    }
+
+    static void writeNumber(JsonGenerator gen, Integer value) throws IOException {
+        if (value == null) {
+            gen.writeNull();
+        } else {
+            gen.writeNumber(value.intValue());
+        }
+    }
+
+    /**
+     * Writes a timestamp exactly as the default serializer does (ISO_LOCAL_DATE_TIME: seconds
+     * always, fraction without trailing zeros), formatted into a reused buffer instead of a String.
+     */
+    static void writeTimestamp(JsonGenerator gen, LocalDateTime time) throws IOException {
+        if (time == null) {
+            gen.writeNull();
+            return;
+        }
+        int year = time.getYear();
+        if (year < 0 || year > 9999) {
+            // Signed or more than four digits: rare enough for the formatter
+            gen.writeString(time.format(DateTimeFormatter.ISO_LOCAL_DATE_TIME));
+            return;
+        }
+
+        char[] buffer = TIMESTAMP_BUFFER.get();
+        putDigits(buffer, 0, year, 4);
+        buffer[4] = '-';
+        putDigits(buffer, 5, time.getMonthValue(), 2);
+        buffer[7] = '-';
+        putDigits(buffer, 8, time.getDayOfMonth(), 2);
+        buffer[10] = 'T';
+        putDigits(buffer, 11, time.getHour(), 2);
+        buffer[13] = ':';
+        putDigits(buffer, 14, time.getMinute(), 2);
+        buffer[16] = ':';
+        putDigits(buffer, 17, time.getSecond(), 2);
+        int length = 19;
+        int nano = time.getNano();
+        if (nano > 0) {
+            buffer[19] = '.';
+            putDigits(buffer, 20, nano, 9);
+            length = 29;
+            while (buffer[length - 1] == '0') {
+                length--;
+            }
+        }
+        gen.writeString(buffer, 0, length);
+    }
+
+    /**
+     * Writes a non-negative value as exactly the given number of digits, zero-padded.
+     */
+    private static void putDigits(char[] buffer, int offset, int value, int digits) {
+        for (int i = offset + digits - 1; i >= offset; i--) {
+            buffer[i] = (char) ('0' + value % 10);
+            value /= 10;
+        }
+    }
+}
@@ -0,0 +1,44 @@
+package org.example.json;
+
+import org.example.model.dto.response.PriorityResponse;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.io.SerializedString;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+
+import java.io.IOException;
+
+/**
+ * Writes PriorityResponse field by field, with pre-encoded field names.
+ */
+public class PriorityResponseSerializer extends StdSerializer<PriorityResponse> {
+
+    private static final SerializedString ID = new SerializedString("id");
+    private static final SerializedString NAME = new SerializedString("name");
+    private static final SerializedString LEVEL = new SerializedString("level");
+
+    public PriorityResponseSerializer() {
+        super(PriorityResponse.class);
+    }
+
+    @Override
+    public void serialize(PriorityResponse priority, JsonGenerator gen, SerializerProvider provider)
+            throws IOException {
+        write(priority, gen);
+    }
+
+    static void write(PriorityResponse priority, JsonGenerator gen) throws IOException {
+        if (priority == null) {
+            gen.writeNull();
+            return;
+        }
+        gen.writeStartObject();
+        gen.writeFieldName(ID);
+        JsonWriting.writeNumber(gen, priority.getId());
+        gen.writeFieldName(NAME);
+        gen.writeString(priority.getName());
+        gen.writeFieldName(LEVEL);
+        JsonWriting.writeNumber(gen, priority.getLevel());
+        gen.writeEndObject();
+    }
+}
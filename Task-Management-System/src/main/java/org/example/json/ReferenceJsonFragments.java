@@ -0,0 +1,133 @@
+package org.example.json;
+
+import org.example.model.dto.response.CategoryResponse;
+import org.example.model.dto.response.PriorityResponse;
+import org.example.model.dto.response.UserResponse;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.SerializableString;
+import com.fasterxml.jackson.core.io.SerializedString;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.UnaryOperator;
+
+/**
+ * Pre-encoded JSON of the users, categories and priorities nested in task responses.
+ * A list of tasks references few distinct users, categories and priorities, so
+ * TaskResponseSerializer splices their cached UTF-8 bytes into the output instead of
+ * writing the same objects field by field for every task.
+ *
+ * Fragments are keyed by entity ID. The entities have no version column, so each fragment
+ * keeps the values it was encoded from and is only used for a response with equal values;
+ * a task read from a stale read-model row therefore still shows its own values. Updates and
+ * deletes evict the fragment of the entity once their transaction has committed, so the
+ * next task response encodes it again.
+ */
+@Component
+public class ReferenceJsonFragments {
+
+    private static final JsonFactory JSON_FACTORY = new JsonFactory();
+
+    /**
+     * Writes one reference DTO as a JSON object.
+     */
+    @FunctionalInterface
+    private interface ObjectWriter<T> {
+        void write(T value, JsonGenerator gen) throws IOException;
+    }
+
+    /**
+     * The encoded JSON of a DTO, with a copy of the DTO it was encoded from.
+     */
+    private record Fragment<T>(T source, SerializedString json) {
+    }
+
+    /**
+     * Largest number of cached fragments per entity type (0 disables the cache)
+     */
+    private final int maxEntries;
+
+    private final Map<Long, Fragment<UserResponse>> users = new ConcurrentHashMap<>();
+    private final Map<Long, Fragment<CategoryResponse>> categories = new ConcurrentHashMap<>();
+    private final Map<Long, Fragment<PriorityResponse>> priorities = new ConcurrentHashMap<>();
+
+    public ReferenceJsonFragments(@Value("${json.fragments.max-entries:10000}") int maxEntries) {
+        this.maxEntries = maxEntries;
+    }
+
+    /**
+     * @return The JSON of the user, or null if it is to be written field by field
+     */
+    SerializableString user(UserResponse user) throws IOException {
+        return fragment(users, user.getId(), user,
+                value -> new UserResponse(value.getId(), value.getName(), value.getEmail(), value.getCreatedAt()),
+                UserResponseSerializer::write);
+    }
+
+    /**
+     * @return The JSON of the category, or null if it is to be written field by field
+     */
+    SerializableString category(CategoryResponse category) throws IOException {
+        return fragment(categories, category.getId(), category,
+                value -> new CategoryResponse(value.getId(), value.getName(), value.getDescription()),
+                CategoryResponseSerializer::write);
+    }
+
+    /**
+     * @return The JSON of the priority, or null if it is to be written field by field
+     */
+    SerializableString priority(PriorityResponse priority) throws IOException {
+        return fragment(priorities, priority.getId(), priority,
+                value -> new PriorityResponse(value.getId(), value.getName(), value.getLevel()),
+                PriorityResponseSerializer::write);
+    }
+
+    public void evictUser(Long id) {
+        users.remove(id);
+    }
+
+    public void evictCategory(Long id) {
+        categories.remove(id);
+    }
+
+    public void evictPriority(Long id) {
+        priorities.remove(id);
+    }
+
+    /**
+     * Returns the cached fragment of a DTO if it was encoded from equal values, otherwise
+     * encodes the DTO and caches the result.
+     *
+     * @return The fragment, or null if the DTO cannot be cached (no ID, or the cache is full);
+     *         the caller then writes it field by field
+     */
+    private <T> SerializableString fragment(Map<Long, Fragment<T>> cache, Long id, T value, UnaryOperator<T> copy,
+                                            ObjectWriter<T> writer) throws IOException {
+        if (id == null) {
+            return null;
+        }
+        Fragment<T> cached = cache.get(id);
+        if (cached != null && cached.source().equals(value)) {
+            return cached.json();
+        }
+        if (cached == null && cache.size() >= maxEntries) {
+            return null;
+        }
+
+        StringWriter out = new StringWriter(128);
+        try (JsonGenerator gen = JSON_FACTORY.createGenerator(out)) {
+            writer.write(value, gen);
+        }
+        SerializedString json = new SerializedString(out.toString());
+        // Encode the UTF-8 bytes once, up front, instead of on the first splice
+        json.asUnquotedUTF8();
+        // The copy keeps the fragment valid if the caller changes its DTO later
+        cache.put(id, new Fragment<>(copy.apply(value), json));
+        return json;
+    }
+}
@@ -0,0 +1,30 @@
+package org.example.json;
+
+import org.example.model.dto.response.CategoryResponse;
+import org.example.model.dto.response.PriorityResponse;
+import org.example.model.dto.response.TaskResponse;
+import org.example.model.dto.response.UserResponse;
+import com.fasterxml.jackson.databind.module.SimpleModule;
+import org.springframework.stereotype.Component;
+
+/**
+ * Jackson module with hand-written serializers for the task response DTOs, the bulk of every
+ * list endpoint. Instead of reflective property access and one formatted String per timestamp,
+ * they write each field straight to the generator: field names are encoded once, timestamps
+ * are formatted into a reused buffer, and the nested user, category and priority are spliced
+ * in from ReferenceJsonFragments. The output is identical to the default serialization.
+ *
+ * Spring Boot registers every Module bean with the application's ObjectMapper.
+ * Benchmark: scripts/TaskJsonBenchmark.java.
+ */
+@Component
+public class ResponseJsonModule extends SimpleModule {
+
+    public ResponseJsonModule(ReferenceJsonFragments fragments) {
+        super("ResponseJsonModule");
+        addSerializer(TaskResponse.class, new TaskResponseSerializer(fragments));
+        addSerializer(UserResponse.class, new UserResponseSerializer());
+        addSerializer(CategoryResponse.class, new CategoryResponseSerializer());
+        addSerializer(PriorityResponse.class, new PriorityResponseSerializer());
+    }
+}
@@ -0,0 +1,87 @@
+package org.example.json;
+
+import org.example.model.dto.response.TaskResponse;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.SerializableString;
+import com.fasterxml.jackson.core.io.SerializedString;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+
+import java.io.IOException;
+
+/**
+ * Writes TaskResponse field by field, with pre-encoded field names; the nested user,
+ * category and priority are spliced in as pre-encoded fragments (ReferenceJsonFragments),
+ * or written inline if they have none.
+ */
+public class TaskResponseSerializer extends StdSerializer<TaskResponse> {
+
+    private static final SerializedString ID = new SerializedString("id");
+    private static final SerializedString TITLE = new SerializedString("title");
+    private static final SerializedString DESCRIPTION = new SerializedString("description");
+    private static final SerializedString STATUS = new SerializedString("status");
+    private static final SerializedString DUE_AT = new SerializedString("dueAt");
+    private static final SerializedString OVERDUE = new SerializedString("overdue");
+    private static final SerializedString PARENT_ID = new SerializedString("parentId");
+    private static final SerializedString USER = new SerializedString("user");
+    private static final SerializedString CATEGORY = new SerializedString("category");
+    private static final SerializedString PRIORITY = new SerializedString("priority");
+    private static final SerializedString CREATED_AT = new SerializedString("createdAt");
+    private static final SerializedString UPDATED_AT = new SerializedString("updatedAt");
+
+    private final ReferenceJsonFragments fragments;
+
+    public TaskResponseSerializer(ReferenceJsonFragments fragments) {
+        super(TaskResponse.class);
+        this.fragments = fragments;
+    }
+
+    @Override
+    public void serialize(TaskResponse task, JsonGenerator gen, SerializerProvider provider) throws IOException {
+        gen.writeStartObject();
+        gen.writeFieldName(ID);
+        JsonWriting.writeNumber(gen, task.getId());
+        gen.writeFieldName(TITLE);
+        gen.writeString(task.getTitle());
+        gen.writeFieldName(DESCRIPTION);
+        gen.writeString(task.getDescription());
+        gen.writeFieldName(STATUS);
+        if (task.getStatus() == null) {
+            gen.writeNull();
+        } else {
+            gen.writeString(task.getStatus().name());
+        }
+        gen.writeFieldName(DUE_AT);
+        JsonWriting.writeTimestamp(gen, task.getDueAt());
+        gen.writeFieldName(OVERDUE);
+        gen.writeBoolean(task.isOverdue());
+        gen.writeFieldName(PARENT_ID);
+        JsonWriting.writeNumber(gen, task.getParentId());
+        gen.writeFieldName(USER);
+        SerializableString user = task.getUser() != null ? fragments.user(task.getUser()) : null;
+        if (user != null) {
+            gen.writeRawValue(user);
+        } else {
+            UserResponseSerializer.write(task.getUser(), gen);
+        }
+        gen.writeFieldName(CATEGORY);
+        SerializableString category = task.getCategory() != null ? fragments.category(task.getCategory()) : null;
+        if (category != null) {
+            gen.writeRawValue(category);
+        } else {
+            CategoryResponseSerializer.write(task.getCategory(), gen);
+        }
+        gen.writeFieldName(PRIORITY);
+        SerializableString priority = task.getPriority() != null ? fragments.priority(task.getPriority()) : null;
+        if (priority != null) {
+            gen.writeRawValue(priority);
+        } else {
+            PriorityResponseSerializer.write(task.getPriority(), gen);
+        }
+        gen.writeFieldName(CREATED_AT);
+        JsonWriting.writeTimestamp(gen, task.getCreatedAt());
+        gen.writeFieldName(UPDATED_AT);
+        JsonWriting.writeTimestamp(gen, task.getUpdatedAt());
+        gen.writeEndObject();
+    }
+}
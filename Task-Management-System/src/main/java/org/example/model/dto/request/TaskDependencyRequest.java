@@ -0,0 +1,19 @@
+package org.example.model.dto.request;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * DTO for adding a dependency to a task.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class TaskDependencyRequest {
+
+    /**
+     * ID of the task that must be DONE before the task can be worked on
+     */
+    private Long dependsOnId;
+}
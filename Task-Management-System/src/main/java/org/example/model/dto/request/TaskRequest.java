@@ -4,6 +4,8 @@ import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 
+import java.time.LocalDateTime;
+
 /**
  * DTO for creating or updating a Task.
  * Contains all necessary information to create a new task including
@@ -24,6 +26,17 @@ public class TaskRequest {
      */
     private String description;
 
+    /**
+     * Deadline of the task (optional); setting a new one clears the overdue flag
+     */
+    private LocalDateTime dueAt;
+
+    /**
+     * ID of the task this task is a subtask of (optional); changing it moves the task
+     * with all its subtasks
+     */
+    private Long parentId;
+
     /**
      * ID of the user to whom this task is assigned
      */
@@ -0,0 +1,31 @@
+package org.example.model.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * DTO for returning the entities of a batch lookup by ID (GET ...?ids=).
+ * Items follow the order of the requested IDs (each ID once); IDs without an entity
+ * are listed instead of failing the whole request.
+ *
+ * @param <T> The response type of one entity
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BatchResponse<T> {
+
+    /**
+     * The found entities, in request order
+     */
+    private List<T> items = new ArrayList<>();
+
+    /**
+     * Requested IDs without an entity, in request order
+     */
+    private List<Long> missingIds = new ArrayList<>();
+}
@@ -0,0 +1,48 @@
+package org.example.model.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * DTO for returning the hit ratios of the second-level cache regions.
+ * Counts are cumulative since the application started.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class CacheStatisticsResponse {
+
+    /**
+     * One entry per configured region, in configuration order
+     */
+    private List<Region> regions = new ArrayList<>();
+
+    /**
+     * Configuration and counters of one cache region.
+     */
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Region {
+        private String name;
+        private long maxEntries;
+
+        /**
+         * Time to live of an entry (ISO-8601 duration, e.g. PT10M)
+         */
+        private String ttl;
+
+        private long hitCount;
+        private long missCount;
+        private long putCount;
+
+        /**
+         * Hits per lookup, null before the first lookup
+         */
+        private Double hitRatio;
+    }
+}
@@ -0,0 +1,66 @@
+package org.example.model.dto.response;
+
+import org.example.model.enums.FlowTimeGroup;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * DTO for returning lead-time and cycle-time percentiles per user or category.
+ * Lead time runs from the creation of a task to its completion (DONE), cycle time from
+ * the first move to IN_PROGRESS to the completion. Percentiles are estimates within the
+ * configured relative accuracy (1% by default) of the exact value, in milliseconds.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class FlowTimeReportResponse {
+
+    private FlowTimeGroup groupBy;
+
+    /**
+     * One entry per user or category with at least one completed task, sorted by ID
+     */
+    private List<Group> groups = new ArrayList<>();
+
+    /**
+     * Flow times of one user or category.
+     */
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Group {
+        private Long id;
+
+        /**
+         * Current name of the user or category, null if it has been deleted
+         */
+        private String name;
+
+        private Percentiles leadTime;
+        private Percentiles cycleTime;
+    }
+
+    /**
+     * Percentiles of one kind of flow time, in milliseconds (null if nothing was measured).
+     */
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Percentiles {
+
+        /**
+         * Number of measured completions
+         */
+        private long count;
+
+        private Long p50Millis;
+        private Long p75Millis;
+        private Long p90Millis;
+        private Long p95Millis;
+        private Long p99Millis;
+    }
+}
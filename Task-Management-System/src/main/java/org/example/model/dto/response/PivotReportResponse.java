@@ -0,0 +1,53 @@
+package org.example.model.dto.response;
+
+import org.example.model.enums.PivotDimension;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * DTO for returning a pivot report: task counts per combination of the grouped dimensions.
+ * Only combinations with at least one task are listed.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class PivotReportResponse {
+
+    /**
+     * The dimensions the tasks are grouped by, in the order of the keys of each row
+     */
+    private List<PivotDimension> dimensions = new ArrayList<>();
+
+    /**
+     * One row per combination of dimension values
+     */
+    private List<Row> rows = new ArrayList<>();
+
+    /**
+     * Number of tasks matching the filters
+     */
+    private long total;
+
+    /**
+     * Task count of one combination of dimension values.
+     */
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Row {
+
+        /**
+         * Value of each grouped dimension (status name, priority level, category name or ISO week)
+         */
+        private List<String> keys;
+
+        /**
+         * Number of tasks with these values
+         */
+        private long count;
+    }
+}
@@ -0,0 +1,32 @@
+package org.example.model.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * DTO for returning the dependencies of a task.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class TaskDependencyResponse {
+    private Long taskId;
+
+    /**
+     * IDs of the tasks this task depends on, sorted
+     */
+    private List<Long> dependsOn;
+
+    /**
+     * IDs of the tasks depending on this task, sorted
+     */
+    private List<Long> dependents;
+
+    /**
+     * Whether the task is open (not DONE) and all tasks it depends on are DONE
+     */
+    private boolean ready;
+}
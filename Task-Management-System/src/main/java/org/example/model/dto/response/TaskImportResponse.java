@@ -0,0 +1,57 @@
+package org.example.model.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * DTO for returning the result of a CSV task import.
+ * Invalid rows are skipped and reported; they do not abort the import.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class TaskImportResponse {
+
+    /**
+     * Number of tasks created
+     */
+    private long imported;
+
+    /**
+     * Number of rows that were skipped because they are invalid
+     */
+    private long failed;
+
+    /**
+     * The invalid rows (up to the configured maximum)
+     */
+    private List<RowError> errors = new ArrayList<>();
+
+    /**
+     * Whether more rows failed than are listed in errors
+     */
+    private boolean errorsTruncated;
+
+    /**
+     * One invalid row of the CSV input.
+     */
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class RowError {
+
+        /**
+         * Line number of the row in the CSV input (the header is line 1)
+         */
+        private long line;
+
+        /**
+         * Why the row was skipped
+         */
+        private String message;
+    }
+}
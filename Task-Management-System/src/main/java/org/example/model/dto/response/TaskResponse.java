@@ -36,6 +36,21 @@ public class TaskResponse {
      */
     private TaskStatus status;
 
+    /**
+     * Deadline of the task, null if it has none
+     */
+    private LocalDateTime dueAt;
+
+    /**
+     * Whether the deadline has passed and the task is not DONE yet
+     */
+    private boolean overdue;
+
+    /**
+     * ID of the task this task is a subtask of, null for a top-level task
+     */
+    private Long parentId;
+
     /**
      * Complete user information for the assigned user
      */
@@ -0,0 +1,29 @@
+package org.example.model.dto.response;
+
+import org.example.model.enums.TaskStatus;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * DTO for returning one status change of a task.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class TaskStatusHistoryResponse {
+    private Long id;
+    private Long taskId;
+    private Long userId;
+    private Long categoryId;
+
+    /**
+     * Status before the change, null for the creation of the task
+     */
+    private TaskStatus fromStatus;
+
+    private TaskStatus toStatus;
+    private LocalDateTime changedAt;
+}
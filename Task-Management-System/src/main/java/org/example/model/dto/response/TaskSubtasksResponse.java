@@ -0,0 +1,32 @@
+package org.example.model.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * DTO for returning the subtasks of a task with its rolled-up progress.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class TaskSubtasksResponse {
+    private Long taskId;
+
+    /**
+     * Number of subtasks at any depth, archived ones included
+     */
+    private long descendantCount;
+
+    /**
+     * Number of DONE subtasks at any depth, archived ones included
+     */
+    private long doneDescendantCount;
+
+    /**
+     * The live subtasks down to the requested depth, nearest first, then by ID
+     */
+    private List<TaskResponse> subtasks;
+}
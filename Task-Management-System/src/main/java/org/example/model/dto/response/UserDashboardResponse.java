@@ -0,0 +1,61 @@
+package org.example.model.dto.response;
+
+import org.example.model.enums.TaskStatus;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * DTO for returning everything the home screen of a user shows, in one response:
+ * the user, the number of tasks per status, the open tasks grouped by status, and the
+ * categories and priorities those tasks reference (once each, instead of nested per task).
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class UserDashboardResponse {
+    private UserResponse user;
+
+    /**
+     * Number of live tasks per status, every status included; archived tasks are not counted
+     */
+    private Map<TaskStatus, Long> statusCounts;
+
+    /**
+     * The open (not DONE) tasks per status, every open status included, each list sorted by ID
+     */
+    private Map<TaskStatus, List<Task>> openTasks;
+
+    /**
+     * The categories referenced by the open tasks, sorted by ID
+     */
+    private List<CategoryResponse> categories;
+
+    /**
+     * The priorities referenced by the open tasks, sorted by ID
+     */
+    private List<PriorityResponse> priorities;
+
+    /**
+     * An open task; its category and priority are referenced by ID.
+     */
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Task {
+        private Long id;
+        private String title;
+        private String description;
+        private LocalDateTime dueAt;
+        private boolean overdue;
+        private Long parentId;
+        private Long categoryId;
+        private Long priorityId;
+        private LocalDateTime createdAt;
+        private LocalDateTime updatedAt;
+    }
+}
@@ -0,0 +1,99 @@
+package org.example.model.entity;
+
+import org.example.model.enums.TaskStatus;
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Entity class representing a completed Task that was moved out of the hot "tasks" table.
+ * DONE tasks older than the configured age are archived in batches so that the live table
+ * (and its indexes) only holds tasks that are still being read and written.
+ * The task keeps its original ID.
+ */
+@Entity
+@Table(name = "tasks_archive")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ArchivedTask {
+
+    /**
+     * Original ID of the task in the "tasks" table
+     */
+    @Id
+    private Long id;
+
+    /**
+     * Short title describing the task
+     */
+    @Column(nullable = false)
+    private String title;
+
+    /**
+     * Detailed description of what needed to be done
+     */
+    @Column(length = 1000)
+    private String description;
+
+    /**
+     * Status of the task when it was archived (always DONE)
+     */
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private TaskStatus status;
+
+    /**
+     * Deadline the task had (optional); archived tasks are DONE and therefore never overdue
+     */
+    @Column(name = "due_at")
+    private LocalDateTime dueAt;
+
+    /**
+     * The task this task was a subtask of (optional)
+     */
+    @Column(name = "parent_id")
+    private Long parentId;
+
+    /**
+     * The user the task was assigned to
+     */
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "user_id", nullable = false)
+    private User user;
+
+    /**
+     * The category the task belonged to
+     */
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "category_id", nullable = false)
+    private Category category;
+
+    /**
+     * The priority level of the task
+     */
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "priority_id", nullable = false)
+    private Priority priority;
+
+    /**
+     * Timestamp when the task was created
+     */
+    @Column(name = "created_at")
+    private LocalDateTime createdAt;
+
+    /**
+     * Timestamp when the task was last updated
+     */
+    @Column(name = "updated_at")
+    private LocalDateTime updatedAt;
+
+    /**
+     * Timestamp when the task was moved to the archive
+     */
+    @Column(name = "archived_at")
+    private LocalDateTime archivedAt;
+}
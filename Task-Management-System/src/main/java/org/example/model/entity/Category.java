@@ -1,6 +1,8 @@
 package org.example.model.entity;
 
 import jakarta.persistence.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
@@ -8,9 +10,14 @@ import lombok.NoArgsConstructor;
 /**
  * Entity class representing a Category for organizing tasks.
  * Categories help in grouping similar tasks together (e.g., Development, Testing, Documentation).
+ *
+ * Cached in the "categories" region of the second-level cache. Categories rarely change, so
+ * the cheaper NONSTRICT_READ_WRITE strategy is used: the entry is dropped once an update commits.
  */
 @Entity
 @Table(name = "categories")
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.NONSTRICT_READ_WRITE, region = "categories")
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
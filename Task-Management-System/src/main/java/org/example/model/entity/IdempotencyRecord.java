@@ -0,0 +1,47 @@
+package org.example.model.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Entity storing the response of a create request made with an Idempotency-Key header.
+ * A retried request with the same key gets this stored response instead of creating a duplicate.
+ */
+@Entity
+@Table(name = "idempotency_keys")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class IdempotencyRecord {
+
+    /**
+     * Endpoint scope plus the client-supplied key (e.g., "tasks:3f2a...")
+     */
+    @Id
+    @Column(name = "idempotency_key", length = 300)
+    private String key;
+
+    /**
+     * SHA-256 (hex) of the canonical JSON of the original request body,
+     * used to detect a key reused for a different request
+     */
+    @Column(name = "request_hash", nullable = false, length = 64)
+    private String requestHash;
+
+    /**
+     * JSON body of the original response
+     */
+    @Lob
+    @Column(name = "response_body", nullable = false)
+    private String responseBody;
+
+    /**
+     * Timestamp when the original request was executed
+     */
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt;
+}
@@ -1,6 +1,8 @@
 package org.example.model.entity;
 
 import jakarta.persistence.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
@@ -8,9 +10,14 @@ import lombok.NoArgsConstructor;
 /**
  * Entity class representing the Priority level of tasks.
  * Priorities help in determining which tasks should be completed first.
+ *
+ * Cached in the "priorities" region of the second-level cache. Priorities rarely change, so
+ * the cheaper NONSTRICT_READ_WRITE strategy is used: the entry is dropped once an update commits.
  */
 @Entity
 @Table(name = "priorities")
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.NONSTRICT_READ_WRITE, region = "priorities")
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
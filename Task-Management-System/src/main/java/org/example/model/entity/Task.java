@@ -46,6 +46,27 @@ public class Task {
     @Column(nullable = false)
     private TaskStatus status;
 
+    /**
+     * Deadline of the task (optional)
+     */
+    @Column(name = "due_at")
+    private LocalDateTime dueAt;
+
+    /**
+     * Whether the deadline passed before the task was DONE.
+     * Set by the TaskDeadlineScheduler; cleared when the deadline moves or the task is completed.
+     */
+    @Column(nullable = false)
+    private boolean overdue;
+
+    /**
+     * The task this task is a subtask of (optional).
+     * A plain ID without foreign key, since the parent may be stored on another shard;
+     * the whole hierarchy is kept in the closure table by TaskHierarchyService.
+     */
+    @Column(name = "parent_id")
+    private Long parentId;
+
     /**
      * The user assigned to this task.
      * Many tasks can be assigned to one user (ManyToOne relationship).
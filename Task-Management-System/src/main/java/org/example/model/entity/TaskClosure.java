@@ -0,0 +1,41 @@
+package org.example.model.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * One ancestor-descendant pair of the subtask hierarchy, stored in "task_closure".
+ * The closure table holds a row for every task and each of its ancestors (the path, not
+ * only the direct parent), plus a row at depth 0 linking every task of a hierarchy to itself,
+ * so all descendants or all ancestors of a task are one indexed query.
+ *
+ * Hierarchies may span users and therefore shards, so all rows are stored on shard 0,
+ * without foreign keys; they are maintained by TaskHierarchyService.
+ */
+@Entity
+@Table(name = "task_closure",
+        uniqueConstraints = @UniqueConstraint(name = "uk_task_closure", columnNames = {"ancestor_id", "descendant_id"}),
+        indexes = @Index(name = "idx_task_closure_descendant", columnList = "descendant_id"))
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class TaskClosure {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "ancestor_id", nullable = false)
+    private Long ancestorId;
+
+    @Column(name = "descendant_id", nullable = false)
+    private Long descendantId;
+
+    /**
+     * Number of parent links between the two tasks (1 for a direct subtask)
+     */
+    @Column(nullable = false)
+    private int depth;
+}
@@ -0,0 +1,40 @@
+package org.example.model.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * A task depending on (blocked by) another task, stored in "task_dependencies".
+ * A task is ready to be worked on only once all tasks it depends on are DONE.
+ *
+ * Dependencies may link tasks of different users and therefore of different shards, so all
+ * of them are stored on shard 0. The task IDs carry no foreign keys for the same reason;
+ * the rows of a task are removed when the task is deleted, and stay when it is archived.
+ */
+@Entity
+@Table(name = "task_dependencies",
+        uniqueConstraints = @UniqueConstraint(name = "uk_task_dependencies", columnNames = {"task_id", "depends_on_id"}),
+        indexes = @Index(name = "idx_task_dependencies_depends_on", columnList = "depends_on_id"))
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class TaskDependency {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    /**
+     * The blocked task
+     */
+    @Column(name = "task_id", nullable = false)
+    private Long taskId;
+
+    /**
+     * The task that must be DONE first
+     */
+    @Column(name = "depends_on_id", nullable = false)
+    private Long dependsOnId;
+}
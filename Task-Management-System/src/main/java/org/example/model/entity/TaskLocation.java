@@ -0,0 +1,30 @@
+package org.example.model.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Shard of a (live or archived) task that is not stored on the shard its ID was generated on,
+ * stored in "task_locations" on shard 0. Written by TaskShardRouter when a task moves to the shard
+ * of its new user, so every instance routes the task to the same shard.
+ * Tasks on the shard of their ID have no row.
+ */
+@Entity
+@Table(name = "task_locations")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class TaskLocation {
+
+    @Id
+    @Column(name = "task_id")
+    private Long taskId;
+
+    /**
+     * Index of the shard holding the task
+     */
+    @Column(nullable = false)
+    private int shard;
+}
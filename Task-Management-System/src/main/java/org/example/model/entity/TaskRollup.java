@@ -0,0 +1,42 @@
+package org.example.model.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Roll-up counters of a task in the subtask hierarchy, stored in "task_rollups" on shard 0.
+ * The counters are maintained incrementally by TaskHierarchyService on every move, status
+ * change and deletion, so the progress of a whole tree is read without visiting it.
+ * Only tasks that are or were part of a hierarchy have a row.
+ */
+@Entity
+@Table(name = "task_rollups")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class TaskRollup {
+
+    @Id
+    @Column(name = "task_id")
+    private Long taskId;
+
+    /**
+     * Whether the task itself is DONE (archived tasks stay DONE)
+     */
+    @Column(nullable = false)
+    private boolean done;
+
+    /**
+     * Number of subtasks at any depth
+     */
+    @Column(nullable = false)
+    private long descendants;
+
+    /**
+     * Number of DONE subtasks at any depth
+     */
+    @Column(name = "done_descendants", nullable = false)
+    private long doneDescendants;
+}
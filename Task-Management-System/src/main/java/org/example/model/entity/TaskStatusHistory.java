@@ -0,0 +1,58 @@
+package org.example.model.entity;
+
+import org.example.model.enums.TaskStatus;
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * One status change of a task, appended to "task_status_history" in the same transaction
+ * as the change. The first entry of a task records its creation (no previous status).
+ * Entries are never updated; they are stored on the shard of their task and stay when
+ * the task is archived or deleted.
+ *
+ * The user and category are those of the task at the time of the change, so flow times
+ * are attributed to whoever held the task when it was completed.
+ */
+@Entity
+@Table(name = "task_status_history", indexes = {
+        @Index(name = "idx_task_status_history_task", columnList = "task_id, id")
+})
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class TaskStatusHistory {
+
+    /**
+     * Unique identifier of the entry, increasing in the order the entries were written
+     */
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "task_id", nullable = false)
+    private Long taskId;
+
+    @Column(name = "user_id", nullable = false)
+    private Long userId;
+
+    @Column(name = "category_id", nullable = false)
+    private Long categoryId;
+
+    /**
+     * Status before the change, null for the entry recording the creation of the task
+     */
+    @Enumerated(EnumType.STRING)
+    @Column(name = "from_status")
+    private TaskStatus fromStatus;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "to_status", nullable = false)
+    private TaskStatus toStatus;
+
+    @Column(name = "changed_at", nullable = false)
+    private LocalDateTime changedAt;
+}
@@ -0,0 +1,91 @@
+package org.example.model.entity;
+
+import org.example.model.enums.TaskStatus;
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.Immutable;
+
+import java.time.LocalDateTime;
+
+/**
+ * Read model of a live task (CQRS): the task columns plus the names of its user, category
+ * and priority, flattened into one row of "task_view".
+ * Task reads come from this table without joins; the rows are rewritten by the
+ * TaskViewProjector in the same transaction as every task write and reference rename.
+ * Never modified through JPA.
+ */
+@Entity
+@Immutable
+@Table(name = "task_view", indexes = {
+        @Index(name = "idx_task_view_user", columnList = "user_id"),
+        @Index(name = "idx_task_view_category", columnList = "category_id"),
+        @Index(name = "idx_task_view_priority", columnList = "priority_id")
+})
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class TaskView {
+
+    /**
+     * ID of the task
+     */
+    @Id
+    private Long id;
+
+    @Column(nullable = false)
+    private String title;
+
+    @Column(length = 1000)
+    private String description;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private TaskStatus status;
+
+    @Column(name = "due_at")
+    private LocalDateTime dueAt;
+
+    @Column(nullable = false)
+    private boolean overdue;
+
+    @Column(name = "parent_id")
+    private Long parentId;
+
+    @Column(name = "user_id", nullable = false)
+    private Long userId;
+
+    @Column(name = "user_name")
+    private String userName;
+
+    @Column(name = "user_email")
+    private String userEmail;
+
+    @Column(name = "user_created_at")
+    private LocalDateTime userCreatedAt;
+
+    @Column(name = "category_id", nullable = false)
+    private Long categoryId;
+
+    @Column(name = "category_name")
+    private String categoryName;
+
+    @Column(name = "category_description", length = 500)
+    private String categoryDescription;
+
+    @Column(name = "priority_id", nullable = false)
+    private Long priorityId;
+
+    @Column(name = "priority_name")
+    private String priorityName;
+
+    @Column(name = "priority_level")
+    private Integer priorityLevel;
+
+    @Column(name = "created_at")
+    private LocalDateTime createdAt;
+
+    @Column(name = "updated_at")
+    private LocalDateTime updatedAt;
+}
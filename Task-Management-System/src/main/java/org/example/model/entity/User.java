@@ -1,6 +1,8 @@
 package org.example.model.entity;
 
 import jakarta.persistence.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
@@ -10,9 +12,15 @@ import java.time.LocalDateTime;
 /**
  * Entity class representing a User in the system.
  * Users can be assigned to tasks and are responsible for completing them.
+ *
+ * Cached in the "users" region of the second-level cache. Users change more often than the
+ * other reference data, so updates go through the cache under a soft lock (READ_WRITE) and
+ * no transaction ever reads a user older than its own change.
  */
 @Entity
 @Table(name = "users")
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "users")
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
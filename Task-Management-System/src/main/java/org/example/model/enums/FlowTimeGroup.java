@@ -0,0 +1,16 @@
+package org.example.model.enums;
+
+/**
+ * What flow times are grouped by in the flow time report (GET /api/reports/flow-times).
+ */
+public enum FlowTimeGroup {
+    /**
+     * The user the task was assigned to when it was completed
+     */
+    USER,
+
+    /**
+     * The category the task was in when it was completed
+     */
+    CATEGORY
+}
@@ -0,0 +1,26 @@
+package org.example.model.enums;
+
+/**
+ * Dimensions tasks can be grouped by in the pivot report (GET /api/reports/pivot).
+ */
+public enum PivotDimension {
+    /**
+     * Current status of the task
+     */
+    STATUS,
+
+    /**
+     * Level of the task's priority
+     */
+    PRIORITY_LEVEL,
+
+    /**
+     * Category of the task (by name)
+     */
+    CATEGORY,
+
+    /**
+     * ISO week the task was created in, e.g. 2024-W07
+     */
+    CREATED_WEEK
+}
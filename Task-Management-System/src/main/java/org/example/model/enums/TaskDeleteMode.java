@@ -0,0 +1,21 @@
+package org.example.model.enums;
+
+/**
+ * What happens to the tasks of a user, category or priority that is being deleted.
+ */
+public enum TaskDeleteMode {
+    /**
+     * Refuse the delete while tasks still reference the entity (default)
+     */
+    RESTRICT,
+
+    /**
+     * Delete the referencing tasks first, in chunks
+     */
+    CASCADE,
+
+    /**
+     * Move the referencing tasks to another entity first, in chunks
+     */
+    REASSIGN
+}
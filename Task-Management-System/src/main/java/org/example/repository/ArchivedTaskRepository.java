@@ -0,0 +1,107 @@
+package org.example.repository;
+
+import org.example.model.entity.ArchivedTask;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Repository interface for ArchivedTask entity.
+ * Provides access to the cold "tasks_archive" table.
+ */
+@Repository
+public interface ArchivedTaskRepository extends JpaRepository<ArchivedTask, Long> {
+
+    /**
+     * Copies a batch of tasks from the hot table into the archive in one INSERT ... SELECT.
+     *
+     * @param ids IDs of the tasks to copy
+     * @param archivedAt Value for archived_at
+     * @return Number of copied tasks
+     */
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "tasks_archive"))
+    @Query(value = "INSERT INTO tasks_archive (id, title, description, status, due_at, parent_id, user_id, " +
+            "category_id, priority_id, created_at, updated_at, archived_at) " +
+            "SELECT id, title, description, status, due_at, parent_id, user_id, category_id, priority_id, " +
+            "created_at, updated_at, :archivedAt " +
+            "FROM tasks WHERE id IN :ids", nativeQuery = true)
+    int copyFromTasks(@Param("ids") Collection<Long> ids, @Param("archivedAt") LocalDateTime archivedAt);
+
+    // ---- Chunked delete / reassign of the archived tasks of a user, category or priority ----
+
+    @Query("SELECT COUNT(a) FROM ArchivedTask a WHERE a.user.id = :userId")
+    long countByUserId(@Param("userId") Long userId);
+
+    @Query("SELECT COUNT(a) FROM ArchivedTask a WHERE a.category.id = :categoryId")
+    long countByCategoryId(@Param("categoryId") Long categoryId);
+
+    @Query("SELECT COUNT(a) FROM ArchivedTask a WHERE a.priority.id = :priorityId")
+    long countByPriorityId(@Param("priorityId") Long priorityId);
+
+    @Query("SELECT a.id FROM ArchivedTask a WHERE a.user.id = :userId ORDER BY a.id")
+    List<Long> findIdsByUserId(@Param("userId") Long userId, Pageable chunk);
+
+    @Query("SELECT a.id FROM ArchivedTask a WHERE a.category.id = :categoryId ORDER BY a.id")
+    List<Long> findIdsByCategoryId(@Param("categoryId") Long categoryId, Pageable chunk);
+
+    @Query("SELECT a.id FROM ArchivedTask a WHERE a.priority.id = :priorityId ORDER BY a.id")
+    List<Long> findIdsByPriorityId(@Param("priorityId") Long priorityId, Pageable chunk);
+
+    @Modifying
+    @Query("UPDATE ArchivedTask a SET a.user.id = :userId WHERE a.id IN :ids")
+    int reassignUser(@Param("ids") Collection<Long> ids, @Param("userId") Long userId);
+
+    @Modifying
+    @Query("UPDATE ArchivedTask a SET a.category.id = :categoryId WHERE a.id IN :ids")
+    int reassignCategory(@Param("ids") Collection<Long> ids, @Param("categoryId") Long categoryId);
+
+    @Modifying
+    @Query("UPDATE ArchivedTask a SET a.priority.id = :priorityId WHERE a.id IN :ids")
+    int reassignPriority(@Param("ids") Collection<Long> ids, @Param("priorityId") Long priorityId);
+
+    /**
+     * Moves archived subtasks of deleted tasks to the parent of their deleted parent (or to the top level).
+     */
+    @Modifying
+    @Query("UPDATE ArchivedTask a SET a.parentId = :parentId WHERE a.id IN :ids")
+    int updateParent(@Param("ids") Collection<Long> ids, @Param("parentId") Long parentId);
+
+    /**
+     * Loads the IDs of archived tasks stored on a shard other than the one their ID was generated on.
+     *
+     * @param shardCount Total number of shards
+     * @param shard The shard queried
+     * @return IDs of the relocated archived tasks on this shard
+     */
+    @Query("SELECT a.id FROM ArchivedTask a WHERE MOD(a.id - 1, :shardCount) <> :shard")
+    List<Long> findRelocatedIds(@Param("shardCount") int shardCount, @Param("shard") int shard);
+
+    /**
+     * Loads the archived tasks stored on a shard other than the shard of their user, left behind
+     * by a move to the user's shard that did not finish.
+     *
+     * @param shardCount Total number of shards
+     * @param shard The shard queried
+     * @return Rows of [task id, user id]
+     */
+    @Query("SELECT a.id, a.user.id FROM ArchivedTask a WHERE MOD(a.user.id, :shardCount) <> :shard")
+    List<Object[]> findMisplacedRows(@Param("shardCount") int shardCount, @Param("shard") int shard);
+
+    /**
+     * @param ids IDs of archived tasks
+     * @return The given IDs of the archived tasks stored on this shard
+     */
+    @Query("SELECT a.id FROM ArchivedTask a WHERE a.id IN :ids")
+    List<Long> findExistingIds(@Param("ids") Collection<Long> ids);
+}
@@ -1,9 +1,17 @@
 package org.example.repository;
 
 import org.example.model.entity.Category;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.List;
+
 /**
  * Repository interface for Category entity.
  * Handles all database operations related to categories.
@@ -11,5 +19,42 @@ import org.springframework.stereotype.Repository;
 @Repository
 public interface CategoryRepository extends JpaRepository<Category, Long> {
     // Inherits standard CRUD methods from JpaRepository
-}
 
+    /**
+     * Loads only the IDs of all category rows, used to build the in-memory existence index.
+     *
+     * @return IDs of all categories
+     */
+    @Query("SELECT e.id FROM Category e")
+    List<Long> findAllIds();
+
+    /**
+     * Checks whether a category exists; the answer is kept in the query cache until categories changes.
+     */
+    @Override
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
+    boolean existsById(Long id);
+
+    /**
+     * Loads all categories; the result is kept in the query cache until categories changes,
+     * and the entities themselves come from the second-level cache.
+     */
+    @Override
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
+    List<Category> findAll();
+
+    /**
+     * Inserts or overwrites a category row with the given ID.
+     * Used to replicate reference data from the primary to the task shards.
+     * Declares the table it writes, so only cached queries on categories are invalidated.
+     *
+     * @return Number of written rows
+     */
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "categories"))
+    @Query(value = "MERGE INTO categories (id, name, description) KEY (id) " +
+            "VALUES (:id, :name, :description)", nativeQuery = true)
+    int replicate(@Param("id") Long id,
+                  @Param("name") String name,
+                  @Param("description") String description);
+}
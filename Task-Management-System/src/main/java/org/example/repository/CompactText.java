@@ -0,0 +1,98 @@
+package org.example.repository;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+/**
+ * Encodes texts of the compact task layout as a single byte array:
+ * one format byte (RAW or DEFLATED) followed by the UTF-8 bytes, deflated if that is smaller.
+ * A byte array saves the String object per text, deflate shrinks long, repetitive descriptions.
+ */
+final class CompactText {
+
+    private static final byte RAW = 0;
+    private static final byte DEFLATED = 1;
+
+    private CompactText() {
+    }
+
+    /**
+     * @param text The text, or null
+     * @param compressMinLength Texts at least this long are tried with deflate
+     * @return The encoded text, or null for null
+     */
+    static byte[] encode(String text, int compressMinLength) {
+        if (text == null) {
+            return null;
+        }
+        byte[] utf8 = text.getBytes(StandardCharsets.UTF_8);
+        if (text.length() >= compressMinLength) {
+            byte[] deflated = deflate(utf8);
+            if (deflated.length < utf8.length) {
+                return withFormat(DEFLATED, deflated);
+            }
+        }
+        return withFormat(RAW, utf8);
+    }
+
+    static String decode(byte[] encoded) {
+        if (encoded == null) {
+            return null;
+        }
+        if (encoded[0] == RAW) {
+            return new String(encoded, 1, encoded.length - 1, StandardCharsets.UTF_8);
+        }
+        return new String(inflate(encoded), StandardCharsets.UTF_8);
+    }
+
+    private static byte[] withFormat(byte format, byte[] bytes) {
+        byte[] encoded = new byte[bytes.length + 1];
+        encoded[0] = format;
+        System.arraycopy(bytes, 0, encoded, 1, bytes.length);
+        return encoded;
+    }
+
+    private static byte[] deflate(byte[] input) {
+        Deflater deflater = new Deflater(Deflater.BEST_SPEED);
+        try {
+            deflater.setInput(input);
+            deflater.finish();
+            ByteArrayOutputStream output = new ByteArrayOutputStream(input.length);
+            byte[] buffer = new byte[Math.max(64, input.length)];
+            while (!deflater.finished()) {
+                output.write(buffer, 0, deflater.deflate(buffer));
+            }
+            return output.toByteArray();
+        } finally {
+            deflater.end();
+        }
+    }
+
+    private static byte[] inflate(byte[] encoded) {
+        Inflater inflater = new Inflater();
+        try {
+            inflater.setInput(encoded, 1, encoded.length - 1);
+            byte[] output = new byte[Math.max(64, encoded.length * 4)];
+            int length = 0;
+            while (!inflater.finished()) {
+                if (length == output.length) {
+                    output = Arrays.copyOf(output, output.length * 2);
+                }
+                int inflated = inflater.inflate(output, length, output.length - length);
+                if (inflated == 0 && (inflater.needsInput() || inflater.needsDictionary())) {
+                    throw new IllegalStateException("Truncated compressed text");
+                }
+                length += inflated;
+            }
+            return Arrays.copyOf(output, length);
+        } catch (DataFormatException e) {
+            throw new IllegalStateException("Corrupt compressed text", e);
+        } finally {
+            inflater.end();
+        }
+    }
+}
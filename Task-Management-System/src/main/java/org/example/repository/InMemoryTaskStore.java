@@ -0,0 +1,433 @@
+package org.example.repository;
+
+import org.example.config.TaskStoreProperties;
+import org.example.model.enums.TaskStatus;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.LongConsumer;
+
+/**
+ * Task storage engine of the "memory" profile: tasks are held in primitive long-keyed hash maps,
+ * with secondary indexes per user, category, priority and status.
+ * No persistence context, no dirty checking, no SQL; every change replaces the stored task.
+ *
+ * Two layouts are available (task.store.compact):
+ * - compact (default): one CompactTask per task with the status as a byte, the timestamps
+ *   as epoch microseconds and title and description as encoded bytes (long descriptions
+ *   deflate-compressed); StoredTask records are only built when tasks are read
+ * - records: the StoredTask records themselves, with their LocalDateTime and String objects
+ *
+ * A read-write lock keeps the primary map and the indexes consistent with each other.
+ * Change listeners are told the ID of every saved, replaced or removed task.
+ * The data lives only as long as the process.
+ */
+@Repository
+@Profile("memory")
+public class InMemoryTaskStore {
+
+    private static final Comparator<StoredTask> BY_ID = Comparator.comparingLong(StoredTask::id);
+    private static final TaskStatus[] STATUSES = TaskStatus.values();
+
+    /**
+     * Parent ID of a compact task without parent (task IDs are positive)
+     */
+    private static final long NO_PARENT = 0;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final AtomicLong sequence = new AtomicLong();
+    private final boolean compact;
+    private final int compressMinLength;
+
+    /**
+     * Values of all maps: a CompactTask or a StoredTask, depending on the layout
+     */
+    private final LongHashMap<Object> tasks = new LongHashMap<>();
+    private final LongHashMap<LongHashMap<Object>> byUser = new LongHashMap<>();
+    private final LongHashMap<LongHashMap<Object>> byCategory = new LongHashMap<>();
+    private final LongHashMap<LongHashMap<Object>> byPriority = new LongHashMap<>();
+    private final Map<TaskStatus, LongHashMap<Object>> byStatus = new EnumMap<>(TaskStatus.class);
+    private final List<LongConsumer> changeListeners = new CopyOnWriteArrayList<>();
+
+    public InMemoryTaskStore(TaskStoreProperties properties) {
+        this.compact = properties.isCompact();
+        this.compressMinLength = properties.getCompressMinLength();
+        for (TaskStatus status : STATUSES) {
+            byStatus.put(status, new LongHashMap<>());
+        }
+    }
+
+    /**
+     * Registers a listener called with the task ID after each change.
+     */
+    public void addChangeListener(LongConsumer listener) {
+        changeListeners.add(listener);
+    }
+
+    /**
+     * Generates the ID of a new task.
+     */
+    public long nextId() {
+        return sequence.incrementAndGet();
+    }
+
+    /**
+     * Inserts a task or replaces the task with the same ID, keeping the indexes in line.
+     *
+     * @return The task as stored (timestamps at the precision of the layout)
+     */
+    public StoredTask save(StoredTask task) {
+        Object packed = pack(task);
+        lock.writeLock().lock();
+        try {
+            Object previous = tasks.put(task.id(), packed);
+            if (previous != null) {
+                unindex(previous);
+            }
+            index(packed);
+        } finally {
+            lock.writeLock().unlock();
+        }
+        changed(task.id());
+        return unpack(packed);
+    }
+
+    /**
+     * Replaces a task only if it still has the values of the expected record (compare-and-set).
+     *
+     * @param expected The task as read before (from this store)
+     * @return The replacement as stored, or empty if the task was changed or removed in the meantime
+     */
+    public Optional<StoredTask> replace(StoredTask expected, StoredTask replacement) {
+        Object packed = pack(replacement);
+        lock.writeLock().lock();
+        try {
+            Object current = tasks.get(expected.id());
+            if (current == null || !unpack(current).equals(expected)) {
+                return Optional.empty();
+            }
+            tasks.put(replacement.id(), packed);
+            unindex(current);
+            index(packed);
+        } finally {
+            lock.writeLock().unlock();
+        }
+        changed(replacement.id());
+        return Optional.of(unpack(packed));
+    }
+
+    /**
+     * @return The removed task, or empty if it did not exist
+     */
+    public Optional<StoredTask> remove(long id) {
+        Object removed;
+        lock.writeLock().lock();
+        try {
+            removed = tasks.remove(id);
+            if (removed != null) {
+                unindex(removed);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+        if (removed == null) {
+            return Optional.empty();
+        }
+        changed(id);
+        return Optional.of(unpack(removed));
+    }
+
+    public Optional<StoredTask> findById(long id) {
+        lock.readLock().lock();
+        try {
+            return Optional.ofNullable(tasks.get(id)).map(this::unpack);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * @return All tasks, sorted by ID
+     */
+    public List<StoredTask> findAll() {
+        return sorted(tasks);
+    }
+
+    public List<StoredTask> findByUser(long userId) {
+        return findIn(byUser, userId);
+    }
+
+    public List<StoredTask> findByCategory(long categoryId) {
+        return findIn(byCategory, categoryId);
+    }
+
+    public List<StoredTask> findByPriority(long priorityId) {
+        return findIn(byPriority, priorityId);
+    }
+
+    public List<StoredTask> findByStatus(TaskStatus status) {
+        return sorted(byStatus.get(status));
+    }
+
+    /**
+     * Tasks of a user in one status; walks the smaller of the two index entries.
+     */
+    public List<StoredTask> findByUserAndStatus(long userId, TaskStatus status) {
+        lock.readLock().lock();
+        try {
+            LongHashMap<Object> ofUser = byUser.get(userId);
+            if (ofUser == null) {
+                return List.of();
+            }
+            LongHashMap<Object> ofStatus = byStatus.get(status);
+            return (ofUser.size() <= ofStatus.size() ? ofUser.values() : ofStatus.values()).stream()
+                    .filter(task -> userIdOf(task) == userId && statusOf(task) == status)
+                    .map(this::unpack)
+                    .sorted(BY_ID)
+                    .toList();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public long count() {
+        lock.readLock().lock();
+        try {
+            return tasks.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Removes the given tasks (those still present).
+     *
+     * @return Number of removed tasks
+     */
+    public int removeAll(Collection<StoredTask> toRemove) {
+        int removed = 0;
+        lock.writeLock().lock();
+        try {
+            for (StoredTask task : toRemove) {
+                Object current = tasks.remove(task.id());
+                if (current != null) {
+                    unindex(current);
+                    removed++;
+                }
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+        toRemove.forEach(task -> changed(task.id()));
+        return removed;
+    }
+
+    private void changed(long id) {
+        for (LongConsumer listener : changeListeners) {
+            listener.accept(id);
+        }
+    }
+
+    private List<StoredTask> findIn(LongHashMap<LongHashMap<Object>> index, long key) {
+        lock.readLock().lock();
+        try {
+            LongHashMap<Object> entry = index.get(key);
+            return entry != null ? sortedUnlocked(entry) : List.of();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private List<StoredTask> sorted(LongHashMap<Object> map) {
+        lock.readLock().lock();
+        try {
+            return sortedUnlocked(map);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private List<StoredTask> sortedUnlocked(LongHashMap<Object> map) {
+        List<StoredTask> result = new ArrayList<>(map.size());
+        map.forEachValue(task -> result.add(unpack(task)));
+        result.sort(BY_ID);
+        return result;
+    }
+
+    private void index(Object task) {
+        long id = idOf(task);
+        add(byUser, userIdOf(task), id, task);
+        add(byCategory, categoryIdOf(task), id, task);
+        add(byPriority, priorityIdOf(task), id, task);
+        byStatus.get(statusOf(task)).put(id, task);
+    }
+
+    private void unindex(Object task) {
+        long id = idOf(task);
+        remove(byUser, userIdOf(task), id);
+        remove(byCategory, categoryIdOf(task), id);
+        remove(byPriority, priorityIdOf(task), id);
+        byStatus.get(statusOf(task)).remove(id);
+    }
+
+    private static void add(LongHashMap<LongHashMap<Object>> index, long key, long taskId, Object task) {
+        LongHashMap<Object> entry = index.get(key);
+        if (entry == null) {
+            entry = new LongHashMap<>();
+            index.put(key, entry);
+        }
+        entry.put(taskId, task);
+    }
+
+    private static void remove(LongHashMap<LongHashMap<Object>> index, long key, long taskId) {
+        LongHashMap<Object> entry = index.get(key);
+        if (entry != null) {
+            entry.remove(taskId);
+            if (entry.isEmpty()) {
+                index.remove(key);
+            }
+        }
+    }
+
+    // ---- Layouts ----
+
+    private Object pack(StoredTask task) {
+        if (!compact) {
+            return task;
+        }
+        return new CompactTask(task.id(), task.userId(), task.categoryId(), task.priorityId(),
+                task.parentId() != null ? task.parentId() : NO_PARENT,
+                toEpochMicros(task.createdAt()), toEpochMicros(task.updatedAt()), toEpochMicros(task.dueAt()),
+                (byte) task.status().ordinal(), task.overdue(), CompactText.encode(task.title(), Integer.MAX_VALUE),
+                CompactText.encode(task.description(), compressMinLength));
+    }
+
+    private StoredTask unpack(Object task) {
+        if (!(task instanceof CompactTask packed)) {
+            return (StoredTask) task;
+        }
+        return new StoredTask(packed.id, CompactText.decode(packed.title), CompactText.decode(packed.description),
+                STATUSES[packed.status], fromEpochMicros(packed.dueAt), packed.overdue,
+                packed.parentId != NO_PARENT ? packed.parentId : null, packed.userId,
+                packed.categoryId, packed.priorityId, fromEpochMicros(packed.createdAt),
+                fromEpochMicros(packed.updatedAt));
+    }
+
+    private static long idOf(Object task) {
+        return task instanceof CompactTask packed ? packed.id : ((StoredTask) task).id();
+    }
+
+    private static long userIdOf(Object task) {
+        return task instanceof CompactTask packed ? packed.userId : ((StoredTask) task).userId();
+    }
+
+    private static long categoryIdOf(Object task) {
+        return task instanceof CompactTask packed ? packed.categoryId : ((StoredTask) task).categoryId();
+    }
+
+    private static long priorityIdOf(Object task) {
+        return task instanceof CompactTask packed ? packed.priorityId : ((StoredTask) task).priorityId();
+    }
+
+    private static TaskStatus statusOf(Object task) {
+        return task instanceof CompactTask packed ? STATUSES[packed.status] : ((StoredTask) task).status();
+    }
+
+    /**
+     * Microseconds keep the precision of the TIMESTAMP columns of the JPA engine.
+     * The conversion uses UTC only as a fixed reference, LocalDateTime values carry no zone.
+     */
+    private static long toEpochMicros(LocalDateTime time) {
+        if (time == null) {
+            return Long.MIN_VALUE;
+        }
+        return time.toEpochSecond(ZoneOffset.UTC) * 1_000_000L + time.getNano() / 1_000;
+    }
+
+    private static LocalDateTime fromEpochMicros(long micros) {
+        if (micros == Long.MIN_VALUE) {
+            return null;
+        }
+        return LocalDateTime.ofEpochSecond(Math.floorDiv(micros, 1_000_000L),
+                (int) Math.floorMod(micros, 1_000_000L) * 1_000, ZoneOffset.UTC);
+    }
+
+    /**
+     * Compact layout of a task: primitives and two byte arrays, no other objects.
+     */
+    private static final class CompactTask {
+        final long id;
+        final long userId;
+        final long categoryId;
+        final long priorityId;
+        final long parentId;
+        final long createdAt;
+        final long updatedAt;
+        final long dueAt;
+        final byte status;
+        final boolean overdue;
+        final byte[] title;
+        final byte[] description;
+
+        CompactTask(long id, long userId, long categoryId, long priorityId, long parentId, long createdAt,
+                    long updatedAt, long dueAt, byte status, boolean overdue, byte[] title, byte[] description) {
+            this.id = id;
+            this.userId = userId;
+            this.categoryId = categoryId;
+            this.priorityId = priorityId;
+            this.parentId = parentId;
+            this.createdAt = createdAt;
+            this.updatedAt = updatedAt;
+            this.dueAt = dueAt;
+            this.status = status;
+            this.overdue = overdue;
+            this.title = title;
+            this.description = description;
+        }
+    }
+
+    /**
+     * A task as held by the store: its own columns and the IDs of the entities it references.
+     */
+    public record StoredTask(long id, String title, String description, TaskStatus status,
+                             LocalDateTime dueAt, boolean overdue, Long parentId, long userId, long categoryId,
+                             long priorityId, LocalDateTime createdAt, LocalDateTime updatedAt) {
+
+        /**
+         * Copy with another status; completing the task clears its overdue flag.
+         */
+        public StoredTask withStatus(TaskStatus newStatus, LocalDateTime now) {
+            return new StoredTask(id, title, description, newStatus, dueAt,
+                    overdue && newStatus != TaskStatus.DONE, parentId, userId, categoryId, priorityId, createdAt, now);
+        }
+
+        /**
+         * Copy flagged as overdue (a system change: the updated time stays).
+         */
+        public StoredTask asOverdue() {
+            return new StoredTask(id, title, description, status, dueAt, true, parentId, userId, categoryId,
+                    priorityId, createdAt, updatedAt);
+        }
+
+        /**
+         * Copy under another parent (a consequence of deleting the old one: the updated time stays).
+         */
+        public StoredTask withParent(Long newParentId) {
+            return new StoredTask(id, title, description, status, dueAt, overdue, newParentId, userId, categoryId,
+                    priorityId, createdAt, updatedAt);
+        }
+    }
+}
@@ -1,9 +1,17 @@
 package org.example.repository;
 
 import org.example.model.entity.Priority;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.List;
+
 /**
  * Repository interface for Priority entity.
  * Manages database access for priority levels.
@@ -11,5 +19,42 @@ import org.springframework.stereotype.Repository;
 @Repository
 public interface PriorityRepository extends JpaRepository<Priority, Long> {
     // Uses JpaRepository's built-in methods for data access
-}
 
+    /**
+     * Loads only the IDs of all priority rows, used to build the in-memory existence index.
+     *
+     * @return IDs of all priorities
+     */
+    @Query("SELECT e.id FROM Priority e")
+    List<Long> findAllIds();
+
+    /**
+     * Checks whether a priority exists; the answer is kept in the query cache until priorities changes.
+     */
+    @Override
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
+    boolean existsById(Long id);
+
+    /**
+     * Loads all priorities; the result is kept in the query cache until priorities changes,
+     * and the entities themselves come from the second-level cache.
+     */
+    @Override
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
+    List<Priority> findAll();
+
+    /**
+     * Inserts or overwrites a priority row with the given ID.
+     * Used to replicate reference data from the primary to the task shards.
+     * Declares the table it writes, so only cached queries on priorities are invalidated.
+     *
+     * @return Number of written rows
+     */
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "priorities"))
+    @Query(value = "MERGE INTO priorities (id, name, level) KEY (id) " +
+            "VALUES (:id, :name, :level)", nativeQuery = true)
+    int replicate(@Param("id") Long id,
+                  @Param("name") String name,
+                  @Param("level") Integer level);
+}
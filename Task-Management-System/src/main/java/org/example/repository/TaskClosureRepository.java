@@ -0,0 +1,92 @@
+package org.example.repository;
+
+import org.example.model.entity.TaskClosure;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Repository interface for the closure table of the subtask hierarchy. All rows are stored on shard 0.
+ */
+@Repository
+public interface TaskClosureRepository extends JpaRepository<TaskClosure, Long> {
+
+    boolean existsByAncestorIdAndDescendantId(Long ancestorId, Long descendantId);
+
+    /**
+     * IDs of the descendants of a task down to a depth, nearest first.
+     *
+     * @param ancestorId The ID of the task
+     * @param minDepth Highest level returned (0 includes the task itself)
+     * @param maxDepth Deepest level returned (1 for the direct subtasks)
+     * @return Descendant IDs ordered by depth, then ID
+     */
+    @Query("SELECT c.descendantId FROM TaskClosure c WHERE c.ancestorId = :ancestorId " +
+            "AND c.depth BETWEEN :minDepth AND :maxDepth ORDER BY c.depth, c.descendantId")
+    List<Long> findDescendantIds(@Param("ancestorId") Long ancestorId, @Param("minDepth") int minDepth,
+                                 @Param("maxDepth") int maxDepth);
+
+    /**
+     * IDs of the ancestors of a task, the parent first.
+     */
+    @Query("SELECT c.ancestorId FROM TaskClosure c WHERE c.descendantId = :descendantId AND c.depth > 0 " +
+            "ORDER BY c.depth")
+    List<Long> findAncestorIds(@Param("descendantId") Long descendantId);
+
+    /**
+     * Removes the links between two sets of tasks, e.g., from the ancestors of a subtree to its tasks.
+     *
+     * @param ancestorIds IDs of the ancestors
+     * @param descendantIds IDs of the descendants
+     * @return Number of removed rows
+     */
+    @Modifying
+    @Query("DELETE FROM TaskClosure c WHERE c.ancestorId IN :ancestorIds AND c.descendantId IN :descendantIds")
+    int deleteLinks(@Param("ancestorIds") Collection<Long> ancestorIds,
+                    @Param("descendantIds") Collection<Long> descendantIds);
+
+    /**
+     * Attaches a detached subtree below a parent: links the parent and each of its ancestors
+     * to every task of the subtree, in one statement.
+     *
+     * @param rootId The ID of the subtree root
+     * @param parentId The ID of the new parent, which must have its depth-0 row
+     * @return Number of inserted rows
+     */
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "task_closure"))
+    @Query(value = "INSERT INTO task_closure (ancestor_id, descendant_id, depth) " +
+            "SELECT a.ancestor_id, s.descendant_id, a.depth + s.depth + 1 " +
+            "FROM task_closure a, task_closure s WHERE a.descendant_id = :parentId AND s.ancestor_id = :rootId",
+            nativeQuery = true)
+    int attachSubtree(@Param("rootId") Long rootId, @Param("parentId") Long parentId);
+
+    /**
+     * Shortens the links between two sets of tasks by one level, e.g., when the task between
+     * them is removed and its descendants move up below its parent.
+     *
+     * @param ancestorIds IDs of the ancestors
+     * @param descendantIds IDs of the descendants
+     * @return Number of updated rows
+     */
+    @Modifying
+    @Query("UPDATE TaskClosure c SET c.depth = c.depth - 1 " +
+            "WHERE c.ancestorId IN :ancestorIds AND c.descendantId IN :descendantIds")
+    int shortenLinks(@Param("ancestorIds") Collection<Long> ancestorIds,
+                     @Param("descendantIds") Collection<Long> descendantIds);
+
+    /**
+     * Removes all rows of a task, as ancestor and as descendant.
+     */
+    @Modifying
+    @Query("DELETE FROM TaskClosure c WHERE c.ancestorId = :taskId OR c.descendantId = :taskId")
+    int deleteByTaskId(@Param("taskId") Long taskId);
+}
@@ -0,0 +1,38 @@
+package org.example.repository;
+
+import org.example.model.entity.TaskDependency;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+
+/**
+ * Repository interface for task dependencies. All dependencies are stored on shard 0.
+ */
+@Repository
+public interface TaskDependencyRepository extends JpaRepository<TaskDependency, Long> {
+
+    /**
+     * Removes one dependency.
+     *
+     * @param taskId The ID of the blocked task
+     * @param dependsOnId The ID of the task it depends on
+     * @return Number of removed rows (0 or 1)
+     */
+    @Modifying
+    @Query("DELETE FROM TaskDependency d WHERE d.taskId = :taskId AND d.dependsOnId = :dependsOnId")
+    int deleteDependency(@Param("taskId") Long taskId, @Param("dependsOnId") Long dependsOnId);
+
+    /**
+     * Removes all dependencies from and to deleted tasks.
+     *
+     * @param taskIds IDs of the deleted tasks
+     * @return Number of removed rows
+     */
+    @Modifying
+    @Query("DELETE FROM TaskDependency d WHERE d.taskId IN :taskIds OR d.dependsOnId IN :taskIds")
+    int deleteByTaskIds(@Param("taskIds") Collection<Long> taskIds);
+}
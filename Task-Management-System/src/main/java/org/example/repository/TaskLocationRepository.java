@@ -0,0 +1,27 @@
+package org.example.repository;
+
+import org.example.model.entity.TaskLocation;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+
+/**
+ * Repository interface for the shards of relocated tasks. All rows are stored on shard 0.
+ */
+@Repository
+public interface TaskLocationRepository extends JpaRepository<TaskLocation, Long> {
+
+    /**
+     * Removes the rows of tasks that are back on their home shard or deleted.
+     *
+     * @param taskIds IDs of the tasks
+     * @return Number of deleted rows
+     */
+    @Modifying
+    @Query("DELETE FROM TaskLocation l WHERE l.taskId IN :taskIds")
+    int deleteByTaskIds(@Param("taskIds") Collection<Long> taskIds);
+}
@@ -1,9 +1,24 @@
 package org.example.repository;
 
 import org.example.model.entity.Task;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.example.model.enums.TaskStatus;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
 /**
  * Repository interface for Task entity.
  * Provides database access methods for task operations.
@@ -11,5 +26,268 @@ import org.springframework.stereotype.Repository;
 @Repository
 public interface TaskRepository extends JpaRepository<Task, Long> {
     // JpaRepository automatically provides methods for CRUD operations
+
+    /**
+     * Sets the same status on many tasks in a single UPDATE statement.
+     * Used by the write-behind buffer to flush coalesced status changes.
+     *
+     * @param ids IDs of the tasks to update
+     * @param status The new status
+     * @param updatedAt New value for updated_at (bulk updates skip @PreUpdate)
+     * @return Number of updated tasks
+     */
+    @Modifying
+    @Query("UPDATE Task t SET t.status = :status, t.updatedAt = :updatedAt WHERE t.id IN :ids")
+    int updateStatusForIds(@Param("ids") Collection<Long> ids,
+                           @Param("status") TaskStatus status,
+                           @Param("updatedAt") LocalDateTime updatedAt);
+
+    /**
+     * Clears the overdue flag of tasks, e.g., because they were completed.
+     *
+     * @param ids IDs of the tasks
+     * @return Number of updated tasks
+     */
+    @Modifying
+    @Query("UPDATE Task t SET t.overdue = false WHERE t.id IN :ids AND t.overdue = true")
+    int clearOverdue(@Param("ids") Collection<Long> ids);
+
+    /**
+     * Loads a task and locks its row until the transaction ends (FOR UPDATE).
+     * Used by synchronous status changes, so they serialize with the write-behind flush.
+     *
+     * @param id The ID of the task
+     * @return The task, if it exists
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT t FROM Task t WHERE t.id = :id")
+    Optional<Task> findByIdForUpdate(@Param("id") Long id);
+
+    /**
+     * Loads and locks the current status, user, category, deadline and parent of tasks, to record
+     * their status changes without loading the Task entities. The rows stay locked (FOR UPDATE)
+     * until the transaction ends, so no other status change can slip in before they are updated.
+     *
+     * @param ids IDs of the tasks
+     * @return Rows of [task id, status, user id, category id, due at, parent id]
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT t.id, t.status, t.user.id, t.category.id, t.dueAt, t.parentId FROM Task t WHERE t.id IN :ids")
+    List<Object[]> findStatusRowsByIds(@Param("ids") Collection<Long> ids);
+
+    // ---- Deadlines (TaskDeadlineScheduler) ----
+
+    /**
+     * Loads the deadlines still to watch: tasks with a deadline that are neither done nor overdue.
+     *
+     * @param done The DONE status
+     * @return Rows of [task id, due at]
+     */
+    @Query("SELECT t.id, t.dueAt FROM Task t WHERE t.dueAt IS NOT NULL AND t.overdue = false AND t.status <> :done")
+    List<Object[]> findOpenDeadlines(@Param("done") TaskStatus done);
+
+    /**
+     * Flags tasks as overdue if their deadline has passed and they are not done.
+     * The conditions are checked again here, so outdated timer entries change nothing.
+     * The updated time stays: the flag is a system change, not an edit.
+     *
+     * @param ids IDs of the tasks whose timer expired
+     * @param done The DONE status
+     * @param now The current time
+     * @return Number of flagged tasks
+     */
+    @Modifying
+    @Query("UPDATE Task t SET t.overdue = true WHERE t.id IN :ids AND t.overdue = false " +
+            "AND t.status <> :done AND t.dueAt <= :now")
+    int markOverdue(@Param("ids") Collection<Long> ids, @Param("done") TaskStatus done,
+                    @Param("now") LocalDateTime now);
+
+    /**
+     * Loads the data needed by the next-task queue for all tasks with the given status,
+     * without loading the Task entities themselves.
+     *
+     * @param status The status to filter by
+     * @return Rows of [task id, user id, priority level, created at]
+     */
+    @Query("SELECT t.id, t.user.id, t.priority.level, t.createdAt FROM Task t WHERE t.status = :status")
+    List<Object[]> findQueueEntriesByStatus(@Param("status") TaskStatus status);
+
+    /**
+     * Atomically moves a PENDING task of the given user to IN_PROGRESS.
+     * Because of the status condition, two claims of the same task can never both succeed.
+     *
+     * @param id The ID of the task
+     * @param userId The ID of the user the task must belong to
+     * @param updatedAt New value for updated_at (bulk updates skip @PreUpdate)
+     * @return 1 if the task was claimed, 0 otherwise
+     */
+    @Modifying(clearAutomatically = true)
+    @Query("UPDATE Task t SET t.status = org.example.model.enums.TaskStatus.IN_PROGRESS, t.updatedAt = :updatedAt " +
+            "WHERE t.id = :id AND t.user.id = :userId AND t.status = org.example.model.enums.TaskStatus.PENDING")
+    int claimPending(@Param("id") Long id, @Param("userId") Long userId, @Param("updatedAt") LocalDateTime updatedAt);
+
+    /**
+     * Selects and locks the next PENDING task of a user in next-task order (priority level, then age),
+     * skipping rows another transaction has locked.
+     * Used when the in-memory next-task queue of this instance has nothing for the user.
+     * Native, because Hibernate's H2 dialect renders the SKIP LOCKED lock timeout as a plain FOR UPDATE.
+     *
+     * @param userId The ID of the user
+     * @return ID of the locked task, or empty if the user has no unlocked PENDING task
+     */
+    @Query(value = "SELECT t.id FROM tasks t WHERE t.user_id = :userId AND t.status = 'PENDING' " +
+            "ORDER BY (SELECT COALESCE(p.level, 0) FROM priorities p WHERE p.id = t.priority_id) DESC, " +
+            "t.created_at, t.id FETCH FIRST 1 ROWS ONLY FOR UPDATE SKIP LOCKED", nativeQuery = true)
+    Optional<Long> findNextPendingIdForUpdate(@Param("userId") Long userId);
+
+    /**
+     * Loads only the IDs of all task rows, used to build the in-memory existence index.
+     *
+     * @return IDs of all tasks
+     */
+    @Query("SELECT e.id FROM Task e")
+    List<Long> findAllIds();
+
+    /**
+     * Loads the IDs of all open tasks, used to build the ready set of the dependency graph.
+     *
+     * @param done The DONE status
+     * @return IDs of all tasks that are not done
+     */
+    @Query("SELECT t.id FROM Task t WHERE t.status <> :done")
+    List<Long> findOpenIds(@Param("done") TaskStatus done);
+
+    // ---- Chunked delete / reassign of the tasks of a user, category or priority ----
+
+    @Query("SELECT COUNT(t) FROM Task t WHERE t.user.id = :userId")
+    long countByUserId(@Param("userId") Long userId);
+
+    @Query("SELECT COUNT(t) FROM Task t WHERE t.category.id = :categoryId")
+    long countByCategoryId(@Param("categoryId") Long categoryId);
+
+    @Query("SELECT COUNT(t) FROM Task t WHERE t.priority.id = :priorityId")
+    long countByPriorityId(@Param("priorityId") Long priorityId);
+
+    /**
+     * Loads the next chunk of task IDs of a user (the page size bounds the chunk).
+     *
+     * @param userId The ID of the user
+     * @param chunk Page request limiting the number of IDs
+     * @return Up to chunk-size task IDs
+     */
+    @Query("SELECT t.id FROM Task t WHERE t.user.id = :userId ORDER BY t.id")
+    List<Long> findIdsByUserId(@Param("userId") Long userId, Pageable chunk);
+
+    @Query("SELECT t.id FROM Task t WHERE t.category.id = :categoryId ORDER BY t.id")
+    List<Long> findIdsByCategoryId(@Param("categoryId") Long categoryId, Pageable chunk);
+
+    @Query("SELECT t.id FROM Task t WHERE t.priority.id = :priorityId ORDER BY t.id")
+    List<Long> findIdsByPriorityId(@Param("priorityId") Long priorityId, Pageable chunk);
+
+    /**
+     * Moves a chunk of tasks to another user in a single UPDATE statement.
+     *
+     * @param ids IDs of the tasks to move
+     * @param userId The ID of the new user
+     * @param updatedAt New value for updated_at (bulk updates skip @PreUpdate)
+     * @return Number of updated tasks
+     */
+    @Modifying
+    @Query("UPDATE Task t SET t.user.id = :userId, t.updatedAt = :updatedAt WHERE t.id IN :ids")
+    int reassignUser(@Param("ids") Collection<Long> ids, @Param("userId") Long userId,
+                     @Param("updatedAt") LocalDateTime updatedAt);
+
+    @Modifying
+    @Query("UPDATE Task t SET t.category.id = :categoryId, t.updatedAt = :updatedAt WHERE t.id IN :ids")
+    int reassignCategory(@Param("ids") Collection<Long> ids, @Param("categoryId") Long categoryId,
+                         @Param("updatedAt") LocalDateTime updatedAt);
+
+    @Modifying
+    @Query("UPDATE Task t SET t.priority.id = :priorityId, t.updatedAt = :updatedAt WHERE t.id IN :ids")
+    int reassignPriority(@Param("ids") Collection<Long> ids, @Param("priorityId") Long priorityId,
+                         @Param("updatedAt") LocalDateTime updatedAt);
+
+    /**
+     * Loads the next-task queue data of the given tasks if they have the given status.
+     *
+     * @param ids IDs of the tasks
+     * @param status The status to filter by
+     * @return Rows of [task id, user id, priority level, created at]
+     */
+    @Query("SELECT t.id, t.user.id, t.priority.level, t.createdAt FROM Task t WHERE t.id IN :ids AND t.status = :status")
+    List<Object[]> findQueueEntriesByIdsAndStatus(@Param("ids") Collection<Long> ids, @Param("status") TaskStatus status);
+
+    /**
+     * Loads and locks the next batch of task IDs to archive: tasks with the given status
+     * that have not been updated since the cutoff. The rows stay locked (FOR UPDATE) until the
+     * transaction ends, so a task cannot be reopened or changed between selecting and archiving it.
+     *
+     * @param status The status to filter by (DONE)
+     * @param cutoff Only tasks last updated before this time
+     * @param batch Page request limiting the number of IDs
+     * @return Up to batch-size task IDs
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT t.id FROM Task t WHERE t.status = :status AND t.updatedAt < :cutoff ORDER BY t.id")
+    List<Long> findIdsToArchive(@Param("status") TaskStatus status, @Param("cutoff") LocalDateTime cutoff,
+                                Pageable batch);
+
+    /**
+     * Moves the subtasks of deleted tasks to the parent of their deleted parent (or to the top level).
+     * The updated time stays: the change follows from the deletion, not from an edit.
+     *
+     * @param ids IDs of the subtasks
+     * @param parentId The new parent, may be null
+     * @return Number of updated tasks
+     */
+    @Modifying
+    @Query("UPDATE Task t SET t.parentId = :parentId WHERE t.id IN :ids")
+    int updateParent(@Param("ids") Collection<Long> ids, @Param("parentId") Long parentId);
+
+    // ---- Task shards ----
+
+    /**
+     * Loads the IDs of tasks stored on a shard other than the one their ID was generated on
+     * (tasks moved because their user changed). Shard k generates the IDs k+1, k+1+n, k+1+2n, ...
+     *
+     * @param shardCount Total number of shards (n)
+     * @param shard The shard queried
+     * @return IDs of the relocated tasks on this shard
+     */
+    @Query("SELECT t.id FROM Task t WHERE MOD(t.id - 1, :shardCount) <> :shard")
+    List<Long> findRelocatedIds(@Param("shardCount") int shardCount, @Param("shard") int shard);
+
+    /**
+     * Loads the tasks stored on a shard other than the shard of their user, left behind by a move
+     * to the user's shard that did not finish.
+     *
+     * @param shardCount Total number of shards
+     * @param shard The shard queried
+     * @return Rows of [task id, user id]
+     */
+    @Query("SELECT t.id, t.user.id FROM Task t WHERE MOD(t.user.id, :shardCount) <> :shard")
+    List<Object[]> findMisplacedRows(@Param("shardCount") int shardCount, @Param("shard") int shard);
+
+    /**
+     * @param ids IDs of tasks
+     * @return The given IDs of the tasks stored on this shard
+     */
+    @Query("SELECT t.id FROM Task t WHERE t.id IN :ids")
+    List<Long> findExistingIds(@Param("ids") Collection<Long> ids);
+
+    /**
+     * Inserts a copy of a task with its existing ID, used to move a task to another shard.
+     * The copy keeps all values, including the timestamps.
+     */
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "tasks"))
+    @Query(value = "INSERT INTO tasks (id, title, description, status, due_at, overdue, parent_id, user_id, " +
+            "category_id, priority_id, created_at, updated_at) VALUES (:id, :title, :description, :status, :dueAt, " +
+            ":overdue, :parentId, :userId, :categoryId, :priorityId, :createdAt, :updatedAt)", nativeQuery = true)
+    int insertCopy(@Param("id") Long id, @Param("title") String title, @Param("description") String description,
+                   @Param("status") String status, @Param("dueAt") LocalDateTime dueAt,
+                   @Param("overdue") boolean overdue, @Param("parentId") Long parentId, @Param("userId") Long userId,
+                   @Param("categoryId") Long categoryId, @Param("priorityId") Long priorityId,
+                   @Param("createdAt") LocalDateTime createdAt, @Param("updatedAt") LocalDateTime updatedAt);
 }
 
@@ -0,0 +1,46 @@
+package org.example.repository;
+
+import org.example.model.entity.TaskRollup;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Repository interface for the roll-up counters of the subtask hierarchy. All rows are stored on shard 0.
+ */
+@Repository
+public interface TaskRollupRepository extends JpaRepository<TaskRollup, Long> {
+
+    @Query("SELECT r.taskId FROM TaskRollup r")
+    List<Long> findAllTaskIds();
+
+    /**
+     * Sets whether a task is DONE, if it changes.
+     *
+     * @param taskId The ID of the task
+     * @param done Whether the task is DONE
+     * @return Number of updated rows: 0 if the task has no row or already had the value
+     */
+    @Modifying
+    @Query("UPDATE TaskRollup r SET r.done = :done WHERE r.taskId = :taskId AND r.done <> :done")
+    int updateDone(@Param("taskId") Long taskId, @Param("done") boolean done);
+
+    /**
+     * Adds to the counters of several tasks, e.g., all ancestors of a moved subtree, in one statement.
+     *
+     * @param taskIds IDs of the tasks
+     * @param descendants Change of the descendant count
+     * @param doneDescendants Change of the DONE descendant count
+     * @return Number of updated rows
+     */
+    @Modifying
+    @Query("UPDATE TaskRollup r SET r.descendants = r.descendants + :descendants, " +
+            "r.doneDescendants = r.doneDescendants + :doneDescendants WHERE r.taskId IN :taskIds")
+    int addToCounts(@Param("taskIds") Collection<Long> taskIds, @Param("descendants") long descendants,
+                    @Param("doneDescendants") long doneDescendants);
+}
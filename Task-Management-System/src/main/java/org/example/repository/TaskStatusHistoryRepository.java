@@ -0,0 +1,57 @@
+package org.example.repository;
+
+import org.example.model.entity.TaskStatusHistory;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Repository interface for the append-only task status history.
+ */
+@Repository
+public interface TaskStatusHistoryRepository extends JpaRepository<TaskStatusHistory, Long> {
+
+    /**
+     * Loads the history of one task in the order it was written.
+     *
+     * @param taskId The ID of the task
+     * @return The entries of the task, oldest first
+     */
+    List<TaskStatusHistory> findByTaskIdOrderById(Long taskId);
+
+    /**
+     * Loads the histories of several tasks, each in the order it was written.
+     *
+     * @param taskIds IDs of the tasks
+     * @return The entries of the tasks, grouped by task ID, oldest first
+     */
+    List<TaskStatusHistory> findByTaskIdInOrderByTaskIdAscIdAsc(Collection<Long> taskIds);
+
+    /**
+     * Loads the entries after a position in (task ID, ID) order, so whole histories
+     * can be streamed task by task (keyset paging on the task index).
+     *
+     * @param taskId Task ID of the last entry read
+     * @param id ID of the last entry read
+     * @param page Page size (the page number must be 0)
+     * @return The next entries, grouped by task ID, oldest first
+     */
+    @Query("SELECT h FROM TaskStatusHistory h WHERE h.taskId > :taskId OR (h.taskId = :taskId AND h.id > :id) " +
+            "ORDER BY h.taskId, h.id")
+    List<TaskStatusHistory> findPageAfter(@Param("taskId") Long taskId, @Param("id") Long id, Pageable page);
+
+    /**
+     * Removes the histories of tasks moved to another shard (after they were copied there).
+     *
+     * @param taskIds IDs of the tasks
+     */
+    @Modifying
+    @Query("DELETE FROM TaskStatusHistory h WHERE h.taskId IN :taskIds")
+    void deleteByTaskIds(@Param("taskIds") Collection<Long> taskIds);
+}
@@ -0,0 +1,140 @@
+package org.example.repository;
+
+import org.example.model.entity.TaskView;
+import org.example.model.enums.TaskStatus;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Repository interface for the TaskView read model.
+ * Reads go through the JpaRepository methods; all writes are set-based native statements.
+ * Each write names task_view as its query space, so it leaves the second-level cache untouched.
+ */
+@Repository
+public interface TaskViewRepository extends JpaRepository<TaskView, Long> {
+
+    String VIEW_COLUMNS = "id, title, description, status, due_at, overdue, parent_id, user_id, user_name, user_email, " +
+            "user_created_at, category_id, category_name, category_description, priority_id, priority_name, " +
+            "priority_level, created_at, updated_at";
+
+    String SELECT_FROM_TASKS = "SELECT t.id, t.title, t.description, t.status, t.due_at, t.overdue, t.parent_id, " +
+            "u.id, u.name, u.email, u.created_at, " +
+            "c.id, c.name, c.description, p.id, p.name, p.level, t.created_at, t.updated_at " +
+            "FROM tasks t JOIN users u ON u.id = t.user_id JOIN categories c ON c.id = t.category_id " +
+            "JOIN priorities p ON p.id = t.priority_id";
+
+    /**
+     * Rewrites the view rows of the given tasks from the current "tasks" rows.
+     * Pending entity changes are flushed first, so the rows reflect the current transaction.
+     *
+     * @param ids IDs of the created or changed tasks
+     * @return Number of written rows
+     */
+    @Modifying(flushAutomatically = true)
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "task_view"))
+    @Query(value = "MERGE INTO task_view (" + VIEW_COLUMNS + ") KEY (id) " + SELECT_FROM_TASKS +
+            " WHERE t.id IN :ids", nativeQuery = true)
+    int refresh(@Param("ids") Collection<Long> ids);
+
+    /**
+     * Removes the view rows of deleted or archived tasks.
+     *
+     * @param ids IDs of the tasks
+     * @return Number of removed rows
+     */
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "task_view"))
+    @Query(value = "DELETE FROM task_view WHERE id IN :ids", nativeQuery = true)
+    int deleteByIds(@Param("ids") Collection<Long> ids);
+
+    /**
+     * Rebuilds the whole view from the "tasks" table (used at startup).
+     */
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "task_view"))
+    @Query(value = "MERGE INTO task_view (" + VIEW_COLUMNS + ") KEY (id) " + SELECT_FROM_TASKS, nativeQuery = true)
+    int refreshAll();
+
+    /**
+     * Removes view rows whose task no longer exists (used at startup).
+     */
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "task_view"))
+    @Query(value = "DELETE FROM task_view v WHERE NOT EXISTS (SELECT 1 FROM tasks t WHERE t.id = v.id)",
+            nativeQuery = true)
+    int deleteOrphans();
+
+    // ---- User dashboard ----
+
+    /**
+     * Loads the tasks of a user that are not in the given status, in ID order.
+     *
+     * @param userId The ID of the user
+     * @param status The excluded status (DONE for the open tasks)
+     * @return The matching view rows
+     */
+    List<TaskView> findByUserIdAndStatusNotOrderById(Long userId, TaskStatus status);
+
+    /**
+     * Counts the tasks of a user per status.
+     *
+     * @param userId The ID of the user
+     * @return Rows of [status, count], one per status the user has tasks in
+     */
+    @Query("SELECT v.status, COUNT(v) FROM TaskView v WHERE v.userId = :userId GROUP BY v.status")
+    List<Object[]> countByStatusOfUser(@Param("userId") Long userId);
+
+    // ---- Report snapshot (TaskReportService) ----
+
+    /**
+     * Loads the reported columns of the tasks after an ID, in ID order (keyset paging).
+     *
+     * @param afterId Only tasks with a greater ID are returned
+     * @param page Page size (the page number must be 0)
+     * @return Rows of [id, status, categoryId, priorityId, createdAt]
+     */
+    @Query("SELECT v.id, v.status, v.categoryId, v.priorityId, v.createdAt FROM TaskView v " +
+            "WHERE v.id > :afterId ORDER BY v.id")
+    List<Object[]> findReportRowsAfter(@Param("afterId") Long afterId, Pageable page);
+
+    /**
+     * Loads the reported columns of the given tasks.
+     *
+     * @param ids IDs of the tasks
+     * @return Rows of [id, status, categoryId, priorityId, createdAt] of the tasks that exist
+     */
+    @Query("SELECT v.id, v.status, v.categoryId, v.priorityId, v.createdAt FROM TaskView v WHERE v.id IN :ids")
+    List<Object[]> findReportRowsByIds(@Param("ids") Collection<Long> ids);
+
+    // ---- Renames of the referenced entities ----
+
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "task_view"))
+    @Query(value = "UPDATE task_view SET user_name = :name, user_email = :email WHERE user_id = :userId",
+            nativeQuery = true)
+    int updateUser(@Param("userId") Long userId, @Param("name") String name, @Param("email") String email);
+
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "task_view"))
+    @Query(value = "UPDATE task_view SET category_name = :name, category_description = :description " +
+            "WHERE category_id = :categoryId", nativeQuery = true)
+    int updateCategory(@Param("categoryId") Long categoryId, @Param("name") String name,
+                       @Param("description") String description);
+
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "task_view"))
+    @Query(value = "UPDATE task_view SET priority_name = :name, priority_level = :level " +
+            "WHERE priority_id = :priorityId", nativeQuery = true)
+    int updatePriority(@Param("priorityId") Long priorityId, @Param("name") String name,
+                       @Param("level") Integer level);
+}
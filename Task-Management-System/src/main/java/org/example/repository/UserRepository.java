@@ -1,9 +1,18 @@
 package org.example.repository;
 
 import org.example.model.entity.User;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.List;
+
 /**
  * Repository interface for User entity.
  * Provides CRUD operations and database access for User entities.
@@ -12,6 +21,35 @@ import org.springframework.stereotype.Repository;
 @Repository
 public interface UserRepository extends JpaRepository<User, Long> {
     // JpaRepository provides all basic CRUD operations
-    // No custom queries needed at this stage
-}
 
+    /**
+     * Loads only the IDs of all user rows, used to build the in-memory existence index.
+     *
+     * @return IDs of all users
+     */
+    @Query("SELECT e.id FROM User e")
+    List<Long> findAllIds();
+
+    /**
+     * Checks whether a user exists; the answer is kept in the query cache until users changes.
+     */
+    @Override
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
+    boolean existsById(Long id);
+
+    /**
+     * Inserts or overwrites a user row with the given ID.
+     * Used to replicate reference data from the primary to the task shards.
+     * Declares the table it writes, so only cached queries on users are invalidated.
+     *
+     * @return Number of written rows
+     */
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "users"))
+    @Query(value = "MERGE INTO users (id, name, email, created_at) KEY (id) " +
+            "VALUES (:id, :name, :email, :createdAt)", nativeQuery = true)
+    int replicate(@Param("id") Long id,
+                  @Param("name") String name,
+                  @Param("email") String email,
+                  @Param("createdAt") LocalDateTime createdAt);
+}
@@ -0,0 +1,77 @@
+package org.example.service;
+
+import org.example.exception.InvalidRequestException;
+import org.example.model.dto.response.BatchResponse;
+
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * Helpers for looking up many entities by ID at once, in bounded IN lists.
+ */
+final class BatchLookup {
+
+    /**
+     * Largest number of IDs in one IN list
+     */
+    static final int CHUNK_SIZE = 1000;
+
+    /**
+     * Largest number of distinct IDs in one batch request
+     */
+    static final int MAX_IDS = 10_000;
+
+    private BatchLookup() {
+    }
+
+    /**
+     * Removes duplicate IDs, keeping the first occurrence of each.
+     *
+     * @throws InvalidRequestException if an ID is null or there are more than MAX_IDS distinct IDs
+     */
+    static List<Long> distinct(List<Long> ids) {
+        LinkedHashSet<Long> distinct = new LinkedHashSet<>(ids);
+        if (distinct.contains(null)) {
+            throw new InvalidRequestException("ids must not contain empty values");
+        }
+        if (distinct.size() > MAX_IDS) {
+            throw new InvalidRequestException("At most " + MAX_IDS + " ids can be requested at once");
+        }
+        return new ArrayList<>(distinct);
+    }
+
+    /**
+     * Runs a finder over the IDs in chunks of at most CHUNK_SIZE, one IN-list query per chunk.
+     *
+     * @return The found entities of all chunks, in no particular order
+     */
+    static <E> List<E> findInChunks(List<Long> ids, Function<List<Long>, ? extends Iterable<E>> finder) {
+        List<E> found = new ArrayList<>(ids.size());
+        for (int from = 0; from < ids.size(); from += CHUNK_SIZE) {
+            finder.apply(ids.subList(from, Math.min(ids.size(), from + CHUNK_SIZE))).forEach(found::add);
+        }
+        return found;
+    }
+
+    /**
+     * Puts found entities in the order of the requested IDs and lists the IDs without one.
+     *
+     * @param ids The distinct requested IDs, in request order
+     * @param found The found entities by ID
+     */
+    static <T> BatchResponse<T> inOrder(List<Long> ids, Map<Long, T> found) {
+        BatchResponse<T> response = new BatchResponse<>();
+        for (Long id : ids) {
+            T item = found.get(id);
+            if (item != null) {
+                response.getItems().add(item);
+            } else {
+                response.getMissingIds().add(id);
+            }
+        }
+        return response;
+    }
+}
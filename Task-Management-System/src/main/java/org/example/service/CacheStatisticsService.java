@@ -0,0 +1,43 @@
+package org.example.service;
+
+import org.example.config.SecondLevelCacheProperties;
+import org.example.model.dto.response.CacheStatisticsResponse;
+import jakarta.persistence.EntityManagerFactory;
+import lombok.RequiredArgsConstructor;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.CacheRegionStatistics;
+import org.hibernate.stat.Statistics;
+import org.springframework.stereotype.Service;
+
+/**
+ * Hit ratios of the second-level cache regions, read from the Hibernate statistics
+ * (hibernate.generate_statistics must be enabled, otherwise all counts stay 0).
+ */
+@Service
+@RequiredArgsConstructor
+public class CacheStatisticsService {
+
+    private final EntityManagerFactory entityManagerFactory;
+    private final SecondLevelCacheProperties properties;
+
+    /**
+     * Reports the counters of every configured region.
+     * A region no entity or query has used yet is reported with zero counts.
+     *
+     * @return The statistics per region
+     */
+    public CacheStatisticsResponse report() {
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        CacheStatisticsResponse report = new CacheStatisticsResponse();
+        properties.getRegions().forEach((name, region) -> {
+            CacheRegionStatistics counters = statistics.getCacheRegionStatistics(name);
+            long hits = counters == null ? 0 : counters.getHitCount();
+            long misses = counters == null ? 0 : counters.getMissCount();
+            long puts = counters == null ? 0 : counters.getPutCount();
+            report.getRegions().add(new CacheStatisticsResponse.Region(name, region.getMaxEntries(),
+                    region.getTtl().toString(), hits, misses, puts,
+                    hits + misses == 0 ? null : (double) hits / (hits + misses)));
+        });
+        return report;
+    }
+}
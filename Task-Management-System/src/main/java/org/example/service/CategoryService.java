@@ -1,15 +1,22 @@
 package org.example.service;
 
 import org.example.exception.CategoryNotFoundException;
+import org.example.exception.InvalidRequestException;
+import org.example.exception.ResourceInUseException;
+import org.example.json.ReferenceJsonFragments;
 import org.example.model.dto.request.CategoryRequest;
+import org.example.model.dto.response.BatchResponse;
 import org.example.model.dto.response.CategoryResponse;
 import org.example.model.entity.Category;
+import org.example.model.enums.TaskDeleteMode;
 import org.example.repository.CategoryRepository;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.util.List;
+import java.util.Map;
 import java.util.stream.Collectors;
 
 /**
@@ -21,6 +28,12 @@ import java.util.stream.Collectors;
 public class CategoryService {
 
     private final CategoryRepository categoryRepository;
+    private final EntityExistenceIndex existenceIndex;
+    private final TaskBulkService taskBulkService;
+    private final TransactionTemplate transactionTemplate;
+    private final TaskShardRouter shardRouter;
+    private final TaskViewProjector taskViewProjector;
+    private final ReferenceJsonFragments jsonFragments;
 
     /**
      * Creates a new category in the system.
@@ -37,6 +50,8 @@ public class CategoryService {
 
         // Save to database and return response
         Category savedCategory = categoryRepository.save(category);
+        existenceIndex.addCategory(savedCategory.getId());
+        replicateToShards(savedCategory);
         return mapToResponse(savedCategory);
     }
 
@@ -45,6 +60,7 @@ public class CategoryService {
      *
      * @return List of CategoryResponse containing all categories
      */
+    @Transactional(readOnly = true)
     public List<CategoryResponse> getAllCategories() {
         // Fetch all categories and convert to response DTOs
         return categoryRepository.findAll().stream()
@@ -59,14 +75,37 @@ public class CategoryService {
      * @return CategoryResponse with the category's information
      * @throws CategoryNotFoundException if no category exists with the given ID
      */
+    @Transactional(readOnly = true)
     public CategoryResponse getCategoryById(Long id) {
+        // Miss in the existence index (confirmed in the database unless a single instance writes)
+        if (!existenceIndex.mightContainCategory(id)) {
+            throw new CategoryNotFoundException(id);
+        }
+
         // Find category or throw exception if not found
         Category category = categoryRepository.findById(id)
-                .orElseThrow(() -> new CategoryNotFoundException("Category not found with id: " + id));
+                .orElseThrow(() -> new CategoryNotFoundException(id));
 
         return mapToResponse(category);
     }
 
+    /**
+     * Retrieves categories by their IDs, with one IN-list query per chunk of IDs.
+     * Only IDs the existence index considers candidates are queried.
+     *
+     * @param ids The IDs of the categories; a repeated ID is returned once
+     * @return BatchResponse with the categories in request order and the IDs without a category
+     * @throws InvalidRequestException if too many IDs are requested
+     */
+    @Transactional(readOnly = true)
+    public BatchResponse<CategoryResponse> getCategoriesByIds(List<Long> ids) {
+        List<Long> requested = BatchLookup.distinct(ids);
+        List<Long> candidates = existenceIndex.candidateCategories(requested);
+        Map<Long, CategoryResponse> found = BatchLookup.findInChunks(candidates, categoryRepository::findAllById).stream()
+                .collect(Collectors.toMap(Category::getId, this::mapToResponse));
+        return BatchLookup.inOrder(requested, found);
+    }
+
     /**
      * Updates an existing category's information.
      *
@@ -77,9 +116,14 @@ public class CategoryService {
      */
     @Transactional
     public CategoryResponse updateCategory(Long id, CategoryRequest request) {
+        // Miss in the existence index (confirmed in the database unless a single instance writes)
+        if (!existenceIndex.mightContainCategory(id)) {
+            throw new CategoryNotFoundException(id);
+        }
+
         // Find existing category
         Category category = categoryRepository.findById(id)
-                .orElseThrow(() -> new CategoryNotFoundException("Category not found with id: " + id));
+                .orElseThrow(() -> new CategoryNotFoundException(id));
 
         // Update fields
         category.setName(request.getName());
@@ -87,6 +131,9 @@ public class CategoryService {
 
         // Save and return updated category
         Category updatedCategory = categoryRepository.save(category);
+        replicateToShards(updatedCategory);
+        updateTaskViews(updatedCategory);
+        TransactionCallbacks.afterCommit(() -> jsonFragments.evictCategory(id));
         return mapToResponse(updatedCategory);
     }
 
@@ -95,15 +142,85 @@ public class CategoryService {
      *
      * @param id The ID of the category to delete
      * @throws CategoryNotFoundException if no category exists with the given ID
+     * @throws ResourceInUseException if tasks still reference the category
      */
     @Transactional
     public void deleteCategory(Long id) {
         // Verify category exists before deletion
-        if (!categoryRepository.existsById(id)) {
-            throw new CategoryNotFoundException("Category not found with id: " + id);
+        if (!existenceIndex.mightContainCategory(id) || !categoryRepository.existsById(id)) {
+            throw new CategoryNotFoundException(id);
         }
 
+        // Refused with 409 while tasks on any shard still reference it
+        taskBulkService.checkNotReferencedByTasks(TaskBulkService.TaskOwner.CATEGORY, id);
+
         categoryRepository.deleteById(id);
+        TransactionCallbacks.afterCommit(() -> jsonFragments.evictCategory(id));
+        existenceIndex.removeCategory(id);
+        shardRouter.replicate(() -> categoryRepository.deleteAllByIdInBatch(List.of(id)));
+    }
+
+    /**
+     * Deletes a category and handles the tasks that still reference it.
+     * - RESTRICT: same as a plain delete (fails while tasks reference the category)
+     * - CASCADE: deletes the category's tasks first
+     * - REASSIGN: moves the category's tasks to the category given by reassignTo first
+     * Tasks are processed in bounded chunks, each in its own short transaction,
+     * so the delete never holds locks on all tasks at once.
+     *
+     * @param id The ID of the category to delete
+     * @param mode What to do with the category's tasks
+     * @param reassignTo The ID of the category receiving the tasks (REASSIGN only)
+     * @throws CategoryNotFoundException if the category or the reassign target doesn't exist
+     * @throws InvalidRequestException if REASSIGN is requested without a valid target
+     * @throws ResourceInUseException if RESTRICT is requested while tasks still reference the category
+     */
+    public void deleteCategory(Long id, TaskDeleteMode mode, Long reassignTo) {
+        if (!existenceIndex.mightContainCategory(id) || !categoryRepository.existsById(id)) {
+            throw new CategoryNotFoundException(id);
+        }
+
+        if (mode == TaskDeleteMode.CASCADE) {
+            taskBulkService.deleteTasks(TaskBulkService.TaskOwner.CATEGORY, id);
+        } else if (mode == TaskDeleteMode.REASSIGN) {
+            if (reassignTo == null || reassignTo.equals(id)) {
+                throw new InvalidRequestException("REASSIGN requires reassignTo with the ID of another category");
+            }
+            if (!existenceIndex.mightContainCategory(reassignTo) || !categoryRepository.existsById(reassignTo)) {
+                throw new CategoryNotFoundException(reassignTo);
+            }
+            taskBulkService.reassignTasks(TaskBulkService.TaskOwner.CATEGORY, id, reassignTo);
+        }
+
+        // The category itself is removed in a last short transaction
+        transactionTemplate.executeWithoutResult(status -> deleteCategory(id));
+    }
+
+    /**
+     * Applies the new name and description to the task read model: on this shard in the current
+     * transaction, on the other shards once it has committed.
+     *
+     * @param category The updated Category
+     */
+    private void updateTaskViews(Category category) {
+        Long id = category.getId();
+        String name = category.getName();
+        String description = category.getDescription();
+        taskViewProjector.renameCategory(id, name, description);
+        shardRouter.replicate(() -> taskViewProjector.renameCategory(id, name, description));
+    }
+
+    /**
+     * Copies the category to the other task shards once the transaction has committed,
+     * so tasks on every shard can reference it.
+     *
+     * @param category The saved Category
+     */
+    private void replicateToShards(Category category) {
+        Long id = category.getId();
+        String name = category.getName();
+        String description = category.getDescription();
+        shardRouter.replicate(() -> categoryRepository.replicate(id, name, description));
     }
 
     /**
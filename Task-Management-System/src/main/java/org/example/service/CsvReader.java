@@ -0,0 +1,215 @@
+package org.example.service;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Minimal streaming CSV reader (RFC 4180): comma separated, fields optionally quoted with
+ * double quotes, "" for a quote inside a quoted field, line breaks allowed inside quotes.
+ * Reads one record at a time, so memory use does not depend on the size of the input.
+ * A malformed record is returned flagged (see getRecordError()) instead of failing the input,
+ * and the reader resynchronizes so the following records are read normally:
+ * - text after a closing quote (e.g. "ab"c): the record is read to its end
+ * - a row that is too long or has too many fields: the rest of its line is skipped
+ * - an unterminated quote, or a quoted field running past the maximum length: reading resumes
+ *   at the line after the start of the record, as if the quote had been closed there
+ */
+final class CsvReader {
+
+    /**
+     * Upper bound for one record in characters (quotes, commas and line breaks included),
+     * so a broken quote cannot swallow the whole input
+     */
+    private static final int MAX_RECORD_LENGTH = 64 * 1024;
+
+    /**
+     * Upper bound for the number of fields of one record
+     */
+    private static final int MAX_FIELDS = 1024;
+
+    private final Reader reader;
+    private final StringBuilder field = new StringBuilder();
+
+    /**
+     * Characters of the current record as read, to resume after its first line
+     */
+    private final StringBuilder raw = new StringBuilder();
+
+    /**
+     * Characters read again before the rest of the input, after a resynchronization
+     */
+    private StringBuilder replay = new StringBuilder();
+    private int replayPosition;
+
+    private long line = 1;
+    private long recordLine;
+    private String recordError;
+    private boolean recording;
+    private int lookahead = -2;
+
+    CsvReader(Reader reader) {
+        this.reader = reader;
+    }
+
+    /**
+     * Reads the next record.
+     *
+     * @return The fields of the record, or null at the end of the input
+     */
+    List<String> next() throws IOException {
+        raw.setLength(0);
+        recording = true;
+        int c = read();
+        if (c == -1) {
+            return null;
+        }
+        recordLine = line;
+        recordError = null;
+        List<String> fields = new ArrayList<>();
+        boolean quoted = false;
+        field.setLength(0);
+        while (true) {
+            if (raw.length() > MAX_RECORD_LENGTH) {
+                return malformed(fields, quoted, "The row is longer than " + MAX_RECORD_LENGTH + " characters");
+            }
+            if (quoted) {
+                if (c == -1) {
+                    return malformed(fields, true, "Unterminated quoted field " + (fields.size() + 1));
+                }
+                if (c == '"') {
+                    int following = read();
+                    if (following == '"') {
+                        field.append('"');
+                    } else {
+                        quoted = false;
+                        c = following;
+                        if (c != ',' && c != '\n' && c != '\r' && c != -1 && recordError == null) {
+                            recordError = "Unexpected character '" + (char) c + "' after the closing quote of field "
+                                    + (fields.size() + 1);
+                        }
+                        continue;
+                    }
+                } else {
+                    field.append((char) c);
+                }
+            } else if (c == ',') {
+                if (fields.size() + 1 >= MAX_FIELDS) {
+                    return malformed(fields, false, "The row has more than " + MAX_FIELDS + " fields");
+                }
+                fields.add(field.toString());
+                field.setLength(0);
+            } else if (c == '\n' || c == '\r' || c == -1) {
+                if (c == '\r') {
+                    int following = read();
+                    if (following != '\n') {
+                        unread(following);
+                    }
+                }
+                fields.add(field.toString());
+                return fields;
+            } else if (c == '"' && field.isEmpty()) {
+                quoted = true;
+            } else {
+                field.append((char) c);
+            }
+            c = read();
+        }
+    }
+
+    /**
+     * @return Line number where the record returned last by {@link #next()} starts
+     */
+    long getRecordLine() {
+        return recordLine;
+    }
+
+    /**
+     * @return Why the record returned last by {@link #next()} is malformed, or null if it is well-formed
+     */
+    String getRecordError() {
+        return recordError;
+    }
+
+    /**
+     * Flags the current record and moves to where the next one starts.
+     * Inside a quote, the line breaks read so far may belong to the following records:
+     * reading resumes at the line after the start of the record. Otherwise the rest of the
+     * current line is skipped.
+     *
+     * @return The fields read so far
+     */
+    private List<String> malformed(List<String> fields, boolean quoted, String error) throws IOException {
+        recordError = error;
+        recording = false;
+        int lineBreak = quoted ? indexOfLineBreak(raw) : -1;
+        if (lineBreak >= 0) {
+            int resume = lineBreak + 1;
+            if (raw.charAt(lineBreak) == '\r' && resume < raw.length() && raw.charAt(resume) == '\n') {
+                resume++;
+            }
+            StringBuilder unreadInput = new StringBuilder(raw.length() - resume + replay.length() - replayPosition)
+                    .append(raw, resume, raw.length())
+                    .append(replay, replayPosition, replay.length());
+            replay = unreadInput;
+            replayPosition = 0;
+            line = recordLine + (raw.charAt(resume - 1) == '\n' ? 1 : 0);
+        } else {
+            int c;
+            do {
+                c = read();
+            } while (c != '\n' && c != '\r' && c != -1);
+            if (c == '\r') {
+                int following = read();
+                if (following != '\n') {
+                    unread(following);
+                }
+            }
+        }
+        fields.add(field.toString());
+        return fields;
+    }
+
+    private static int indexOfLineBreak(CharSequence text) {
+        for (int i = 0; i < text.length(); i++) {
+            if (text.charAt(i) == '\n' || text.charAt(i) == '\r') {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private int read() throws IOException {
+        int c;
+        if (lookahead != -2) {
+            c = lookahead;
+            lookahead = -2;
+        } else if (replayPosition < replay.length()) {
+            c = replay.charAt(replayPosition++);
+        } else {
+            if (replayPosition > 0) {
+                replay.setLength(0);
+                replayPosition = 0;
+            }
+            c = reader.read();
+        }
+        if (c == '\n') {
+            line++;
+        }
+        if (recording && c != -1) {
+            raw.append((char) c);
+        }
+        return c;
+    }
+
+    private void unread(int c) {
+        lookahead = c;
+        if (c == '\n') {
+            line--;
+        }
+        if (recording && c != -1) {
+            raw.setLength(raw.length() - 1);
+        }
+    }
+}
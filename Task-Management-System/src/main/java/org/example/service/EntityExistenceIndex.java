@@ -0,0 +1,152 @@
+package org.example.service;
+
+import org.example.repository.CategoryRepository;
+import org.example.repository.PriorityRepository;
+import org.example.repository.TaskRepository;
+import org.example.repository.UserRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.function.BooleanSupplier;
+
+/**
+ * In-memory existence check for user, category, priority and task IDs.
+ * Lets the services reject unknown IDs cheaply:
+ * - A hit (ID in the set) still goes to the database as before
+ * - A miss is confirmed with a primary-key lookup, because another instance may have created
+ *   the entity; a confirmed ID is added to the set. Only a single-instance deployment may skip
+ *   the lookup (existence-index.confirm-misses=false), then a miss is a definite not-found.
+ *
+ * To never turn an existing ID into a 404, IDs are added as soon as the entity is saved
+ * (a rolled back create only leaves a harmless false positive) and removed only after
+ * a delete has committed. Deletes through another instance also only leave false positives.
+ */
+@Component
+@RequiredArgsConstructor
+public class EntityExistenceIndex implements SmartInitializingSingleton {
+
+    private final UserRepository userRepository;
+    private final CategoryRepository categoryRepository;
+    private final PriorityRepository priorityRepository;
+    private final TaskRepository taskRepository;
+    private final TaskShardRouter shardRouter;
+
+    private final IdBitSet userIds = new IdBitSet();
+    private final IdBitSet categoryIds = new IdBitSet();
+    private final IdBitSet priorityIds = new IdBitSet();
+    private final IdBitSet taskIds = new IdBitSet();
+
+    /**
+     * Whether IDs missing from the sets are looked up in the database (see class comment)
+     */
+    @Value("${existence-index.confirm-misses:true}")
+    private boolean confirmMisses;
+
+    /**
+     * Loads all existing IDs at startup, before the web server accepts requests.
+     */
+    @Override
+    public void afterSingletonsInstantiated() {
+        load(userIds, userRepository.findAllIds());
+        load(categoryIds, categoryRepository.findAllIds());
+        load(priorityIds, priorityRepository.findAllIds());
+        // Tasks are spread over the shards
+        taskIds.clear();
+        shardRouter.onAllShards(true, shard -> taskRepository.findAllIds())
+                .forEach(ids -> ids.forEach(taskIds::add));
+    }
+
+    public boolean mightContainUser(Long id) {
+        return userIds.contains(id) || confirm(userIds, id, () -> userRepository.existsById(id));
+    }
+
+    public boolean mightContainCategory(Long id) {
+        return categoryIds.contains(id) || confirm(categoryIds, id, () -> categoryRepository.existsById(id));
+    }
+
+    public boolean mightContainPriority(Long id) {
+        return priorityIds.contains(id) || confirm(priorityIds, id, () -> priorityRepository.existsById(id));
+    }
+
+    public boolean mightContainTask(Long id) {
+        return taskIds.contains(id) || confirm(taskIds, id, () ->
+                shardRouter.inShard(shardRouter.shardOfTask(id), true, () -> taskRepository.existsById(id)));
+    }
+
+    /**
+     * IDs of a batch lookup that are worth querying. When misses are confirmed, that is all of them:
+     * the batch query confirms them at once instead of one lookup per ID.
+     */
+    public List<Long> candidateUsers(List<Long> ids) {
+        return candidates(userIds, ids);
+    }
+
+    public List<Long> candidateCategories(List<Long> ids) {
+        return candidates(categoryIds, ids);
+    }
+
+    public List<Long> candidatePriorities(List<Long> ids) {
+        return candidates(priorityIds, ids);
+    }
+
+    public List<Long> candidateTasks(List<Long> ids) {
+        return candidates(taskIds, ids);
+    }
+
+    public void addUser(Long id) {
+        userIds.add(id);
+    }
+
+    public void addCategory(Long id) {
+        categoryIds.add(id);
+    }
+
+    public void addPriority(Long id) {
+        priorityIds.add(id);
+    }
+
+    public void addTask(Long id) {
+        taskIds.add(id);
+    }
+
+    public void removeUser(Long id) {
+        TransactionCallbacks.afterCommit(() -> userIds.remove(id));
+    }
+
+    public void removeCategory(Long id) {
+        TransactionCallbacks.afterCommit(() -> categoryIds.remove(id));
+    }
+
+    public void removePriority(Long id) {
+        TransactionCallbacks.afterCommit(() -> priorityIds.remove(id));
+    }
+
+    public void removeTask(Long id) {
+        TransactionCallbacks.afterCommit(() -> taskIds.remove(id));
+    }
+
+    /**
+     * Looks up an ID missing from the set in the database and adds it if it exists.
+     *
+     * @return true if the entity exists
+     */
+    private boolean confirm(IdBitSet ids, Long id, BooleanSupplier exists) {
+        if (!confirmMisses || id == null || id < 0 || !exists.getAsBoolean()) {
+            return false;
+        }
+        ids.add(id);
+        return true;
+    }
+
+    private List<Long> candidates(IdBitSet ids, List<Long> requested) {
+        return confirmMisses ? requested : requested.stream().filter(ids::contains).toList();
+    }
+
+    private void load(IdBitSet ids, Iterable<Long> existing) {
+        ids.clear();
+        existing.forEach(ids::add);
+    }
+}
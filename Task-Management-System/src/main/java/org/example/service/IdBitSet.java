@@ -0,0 +1,94 @@
+package org.example.service;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.function.LongConsumer;
+
+/**
+ * Compact, thread-safe set of entity IDs.
+ * IDs are generated by IDENTITY columns and therefore dense positive longs,
+ * so one bit per ID is enough (1 million IDs take about 122 KB).
+ *
+ * Reads are lock-free; writes (creates and deletes) are rare and synchronized,
+ * which keeps growing the bit array simple.
+ */
+public class IdBitSet {
+
+    private volatile AtomicLongArray words = new AtomicLongArray(16);
+
+    /**
+     * Checks whether the ID is in the set.
+     *
+     * @param id The ID to check, may be null
+     * @return true if the ID has been added and not removed since
+     */
+    public boolean contains(Long id) {
+        if (id == null || id < 0) {
+            return false;
+        }
+        AtomicLongArray current = words;
+        long wordIndex = id >>> 6;
+        return wordIndex < current.length() && (current.get((int) wordIndex) & (1L << id)) != 0;
+    }
+
+    /**
+     * Adds an ID to the set.
+     *
+     * @param id The ID to add
+     */
+    public synchronized void add(Long id) {
+        if (id == null || id < 0) {
+            return;
+        }
+        int wordIndex = Math.toIntExact(id >>> 6);
+        if (wordIndex >= words.length()) {
+            grow(wordIndex);
+        }
+        words.set(wordIndex, words.get(wordIndex) | (1L << id));
+    }
+
+    /**
+     * Removes an ID from the set.
+     *
+     * @param id The ID to remove
+     */
+    public synchronized void remove(Long id) {
+        if (id == null || id < 0 || (id >>> 6) >= words.length()) {
+            return;
+        }
+        int wordIndex = (int) (id >>> 6);
+        words.set(wordIndex, words.get(wordIndex) & ~(1L << id));
+    }
+
+    /**
+     * Calls the action for every ID in the set, in ascending order.
+     * IDs added or removed while the iteration runs may or may not be seen.
+     *
+     * @param action The action to call
+     */
+    public void forEach(LongConsumer action) {
+        AtomicLongArray current = words;
+        for (int wordIndex = 0; wordIndex < current.length(); wordIndex++) {
+            long word = current.get(wordIndex);
+            while (word != 0) {
+                action.accept(((long) wordIndex << 6) + Long.numberOfTrailingZeros(word));
+                word &= word - 1;
+            }
+        }
+    }
+
+    /**
+     * Removes all IDs.
+     */
+    public synchronized void clear() {
+        words = new AtomicLongArray(16);
+    }
+
+    private void grow(int wordIndex) {
+        int newLength = Math.max(wordIndex + 1, words.length() * 2);
+        AtomicLongArray grown = new AtomicLongArray(newLength);
+        for (int i = 0; i < words.length(); i++) {
+            grown.set(i, words.get(i));
+        }
+        words = grown;
+    }
+}
@@ -0,0 +1,252 @@
+package org.example.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.example.config.IdempotencyProperties;
+import org.example.exception.IdempotencyKeyReusedException;
+import org.example.model.entity.IdempotencyRecord;
+import org.example.repository.IdempotencyRecordRepository;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.LocalDateTime;
+import java.util.HexFormat;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.function.Supplier;
+
+/**
+ * Service that makes create operations idempotent based on a client-supplied Idempotency-Key.
+ * Keys are kept in a bounded, time-expiring in-memory cache backed by the idempotency_keys table:
+ * - A repeated key returns the response of the first request instead of creating a duplicate
+ * - Concurrent requests with the same key wait for the first one instead of executing twice
+ * - The table lets keys survive restarts
+ *
+ * The key is stored in the same transaction as the created entity, on the shard the entity
+ * is written to (shard 0 for reference data, the shard of the user for tasks).
+ */
+@Service
+public class IdempotencyService {
+
+    private final IdempotencyRecordRepository idempotencyRecordRepository;
+    private final IdempotencyProperties properties;
+    private final TaskShardRouter shardRouter;
+    private final ObjectMapper objectMapper;
+
+    /**
+     * Writes request bodies as canonical JSON for hashing (bean properties in declaration order, map entries sorted)
+     */
+    private final ObjectMapper canonicalMapper;
+
+    /**
+     * In-memory cache of finished and in-flight requests, keyed by scope and key.
+     * Kept in access order, so the least recently used keys are evicted first; guarded by itself.
+     */
+    private final LinkedHashMap<String, CachedResponse> cache = new LinkedHashMap<>(16, 0.75f, true);
+
+    public IdempotencyService(IdempotencyRecordRepository idempotencyRecordRepository,
+                              IdempotencyProperties properties,
+                              TaskShardRouter shardRouter,
+                              ObjectMapper objectMapper) {
+        this.idempotencyRecordRepository = idempotencyRecordRepository;
+        this.properties = properties;
+        this.shardRouter = shardRouter;
+        this.objectMapper = objectMapper;
+        this.canonicalMapper = objectMapper.copy().enable(SerializationFeature.ORDER_MAP_ENTRIES_BY_KEYS);
+    }
+
+    /**
+     * Executes a create operation on shard 0 at most once per idempotency key.
+     * Without a key the operation simply runs.
+     *
+     * @param scope Name of the endpoint (keys are only unique within a scope)
+     * @param key The Idempotency-Key header value, may be null
+     * @param request The request body, used to detect a key reused for a different request
+     * @param responseType Type of the response, needed to read stored responses back
+     * @param operation The create operation to run
+     * @return The response of the first request made with this key
+     * @throws IdempotencyKeyReusedException if the key was already used with a different request
+     */
+    public <T> T execute(String scope, String key, Object request, Class<T> responseType, Supplier<T> operation) {
+        return execute(scope, key, request, 0, responseType, operation);
+    }
+
+    /**
+     * Executes a create operation at most once per idempotency key.
+     * Without a key the operation simply runs.
+     *
+     * @param scope Name of the endpoint (keys are only unique within a scope)
+     * @param key The Idempotency-Key header value, may be null
+     * @param request The request body, used to detect a key reused for a different request
+     * @param shard The shard the operation writes to; the key is stored there in the same transaction
+     * @param responseType Type of the response, needed to read stored responses back
+     * @param operation The create operation to run
+     * @return The response of the first request made with this key
+     * @throws IdempotencyKeyReusedException if the key was already used with a different request
+     */
+    public <T> T execute(String scope, String key, Object request, int shard, Class<T> responseType,
+                         Supplier<T> operation) {
+        if (key == null || key.isBlank()) {
+            return operation.get();
+        }
+
+        String cacheKey = scope + ":" + key;
+        String requestHash = hashRequest(request);
+        CachedResponse mine = new CachedResponse(requestHash, System.currentTimeMillis());
+
+        // Register this request, or find the one that came first
+        CachedResponse existing;
+        synchronized (cache) {
+            existing = cache.get(cacheKey);
+            if (existing == null || isExpired(existing)) {
+                cache.put(cacheKey, mine);
+                evictIfFull();
+                existing = null;
+            }
+        }
+        if (existing != null) {
+            return awaitExisting(existing, key, requestHash, responseType);
+        }
+
+        try {
+            T response = executeOnce(cacheKey, key, requestHash, shard, responseType, operation);
+            mine.result.complete(response);
+            return response;
+        } catch (RuntimeException ex) {
+            // Failed requests are not remembered, so the client can retry them
+            synchronized (cache) {
+                cache.remove(cacheKey, mine);
+            }
+            mine.result.completeExceptionally(ex);
+            throw ex;
+        }
+    }
+
+    /**
+     * Deletes expired keys from the idempotency_keys table of every shard.
+     * Runs periodically in the background.
+     */
+    @Scheduled(fixedDelayString = "${idempotency.purge-interval:PT1H}")
+    public void purgeExpiredKeys() {
+        LocalDateTime cutoff = LocalDateTime.now().minus(properties.getTtl());
+        shardRouter.onAllShards(false, shard -> idempotencyRecordRepository.deleteOlderThan(cutoff));
+    }
+
+    /**
+     * Returns the stored response if the key is already in the table of any shard (e.g., from before
+     * a restart), otherwise runs the operation and stores its response.
+     * The operation joins the transaction on the shard (see TaskShardRouter.inShard()), so the entity
+     * and the key commit together: if the key cannot be stored, the entity is not created either.
+     */
+    private <T> T executeOnce(String cacheKey, String key, String requestHash, int shard,
+                              Class<T> responseType, Supplier<T> operation) {
+        LocalDateTime validFrom = LocalDateTime.now().minus(properties.getTtl());
+        IdempotencyRecord stored = shardRouter.onAllShards(true, s -> idempotencyRecordRepository.findById(cacheKey))
+                .stream()
+                .flatMap(Optional::stream)
+                .filter(record -> record.getCreatedAt().isAfter(validFrom))
+                .findFirst()
+                .orElse(null);
+        if (stored != null) {
+            checkSameRequest(stored.getRequestHash(), requestHash, key);
+            return readJson(stored.getResponseBody(), responseType);
+        }
+
+        return shardRouter.inShard(shard, false, () -> {
+            T response = operation.get();
+            idempotencyRecordRepository.save(
+                    new IdempotencyRecord(cacheKey, requestHash, writeJson(response), LocalDateTime.now()));
+            return response;
+        });
+    }
+
+    /**
+     * Waits for the first request with the same key to finish and returns its response.
+     */
+    private <T> T awaitExisting(CachedResponse existing, String key, String requestHash, Class<T> responseType) {
+        checkSameRequest(existing.requestHash, requestHash, key);
+        try {
+            return responseType.cast(existing.result.join());
+        } catch (CompletionException ex) {
+            if (ex.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw ex;
+        }
+    }
+
+    private void checkSameRequest(String storedHash, String requestHash, String key) {
+        if (!storedHash.equals(requestHash)) {
+            throw new IdempotencyKeyReusedException(
+                    "Idempotency-Key " + key + " was already used for a different request");
+        }
+    }
+
+    private boolean isExpired(CachedResponse cached) {
+        return System.currentTimeMillis() - cached.createdAtMillis > properties.getTtl().toMillis();
+    }
+
+    /**
+     * Evicts the least recently used keys once the cache exceeds its size limit.
+     * Evicted keys are still found in the table. Called while holding the cache lock.
+     */
+    private void evictIfFull() {
+        Iterator<CachedResponse> eldestFirst = cache.values().iterator();
+        while (cache.size() > properties.getMaxEntries() && eldestFirst.hasNext()) {
+            // In-flight requests stay, otherwise their waiters could execute a duplicate
+            if (eldestFirst.next().result.isDone()) {
+                eldestFirst.remove();
+            }
+        }
+    }
+
+    /**
+     * SHA-256 (hex) of the request body as canonical JSON, so equal requests hash alike
+     * however the client ordered its JSON.
+     */
+    private String hashRequest(Object request) {
+        try {
+            byte[] json = canonicalMapper.writeValueAsBytes(request);
+            return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(json));
+        } catch (JsonProcessingException | NoSuchAlgorithmException ex) {
+            throw new IllegalStateException("Could not hash request for idempotency key", ex);
+        }
+    }
+
+    private String writeJson(Object response) {
+        try {
+            return objectMapper.writeValueAsString(response);
+        } catch (JsonProcessingException ex) {
+            throw new IllegalStateException("Could not serialize response for idempotency key", ex);
+        }
+    }
+
+    private <T> T readJson(String json, Class<T> responseType) {
+        try {
+            return objectMapper.readValue(json, responseType);
+        } catch (JsonProcessingException ex) {
+            throw new IllegalStateException("Could not read stored response for idempotency key", ex);
+        }
+    }
+
+    /**
+     * Cache entry: completes when the first request with the key finishes.
+     */
+    private static class CachedResponse {
+        private final String requestHash;
+        private final long createdAtMillis;
+        private final CompletableFuture<Object> result = new CompletableFuture<>();
+
+        private CachedResponse(String requestHash, long createdAtMillis) {
+            this.requestHash = requestHash;
+            this.createdAtMillis = createdAtMillis;
+        }
+    }
+}
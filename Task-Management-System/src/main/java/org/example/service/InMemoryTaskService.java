@@ -0,0 +1,456 @@
+package org.example.service;
+
+import org.example.exception.*;
+import org.example.model.dto.request.TaskRequest;
+import org.example.model.dto.request.TaskStatusUpdateRequest;
+import org.example.model.dto.response.*;
+import org.example.model.entity.Category;
+import org.example.model.entity.Priority;
+import org.example.model.entity.TaskStatusHistory;
+import org.example.model.entity.User;
+import org.example.model.enums.TaskStatus;
+import org.example.repository.CategoryRepository;
+import org.example.repository.InMemoryTaskStore;
+import org.example.repository.InMemoryTaskStore.StoredTask;
+import org.example.repository.PriorityRepository;
+import org.example.repository.UserRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.annotation.Profile;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * TaskService backed by the in-memory task store ("memory" profile).
+ * Tasks never touch JPA or SQL; only the referenced users, categories and priorities are
+ * still read through their repositories to validate requests and build responses, and
+ * creations and status changes are appended to the task_status_history table as under
+ * JpaTaskService, so flow times are measured the same way with both engines.
+ *
+ * The column rules of the tasks table (required title, maximum lengths, required status)
+ * are checked here, and violations raise the same DataIntegrityViolationException as the
+ * database does under JpaTaskService. There is no archive, so includeArchived changes nothing.
+ */
+@Service
+@Profile("memory")
+@RequiredArgsConstructor
+public class InMemoryTaskService implements TaskService {
+
+    private static final int MAX_TITLE_LENGTH = 255;
+    private static final int MAX_DESCRIPTION_LENGTH = 1000;
+
+    private final InMemoryTaskStore taskStore;
+    private final UserRepository userRepository;
+    private final CategoryRepository categoryRepository;
+    private final PriorityRepository priorityRepository;
+    private final EntityExistenceIndex existenceIndex;
+    private final TaskStatusHistoryService statusHistoryService;
+    private final TaskDeadlineScheduler deadlineScheduler;
+    private final TaskDependencyGraph dependencyGraph;
+    private final TaskHierarchyService hierarchyService;
+
+    /**
+     * Creates a new task with PENDING status.
+     *
+     * @param request TaskRequest containing task details and related entity IDs
+     * @return TaskResponse with complete task information including user, category, and priority
+     */
+    @Override
+    @Transactional
+    public TaskResponse createTask(TaskRequest request) {
+        References references = loadReferences(request);
+        checkColumns(request.getTitle(), request.getDescription());
+        StoredTask parent = request.getParentId() != null ? findTask(request.getParentId()) : null;
+
+        LocalDateTime now = LocalDateTime.now();
+        StoredTask task = new StoredTask(taskStore.nextId(), request.getTitle(), request.getDescription(),
+                TaskStatus.PENDING, request.getDueAt(), false, request.getParentId(), references.user().getId(),
+                references.category().getId(), references.priority().getId(), now, now);
+        if (parent != null) {
+            hierarchyService.move(task.id(), task.status(), parent.id(), parent.status());
+        }
+        StoredTask saved = taskStore.save(task);
+        statusHistoryService.record(List.of(new TaskStatusHistory(null, saved.id(), saved.userId(),
+                saved.categoryId(), null, saved.status(), saved.createdAt())));
+        deadlineScheduler.track(saved.id(), saved.dueAt(), saved.status(), saved.overdue());
+        dependencyGraph.track(saved.id(), saved.status());
+        return mapToResponse(saved, references.user(), references.category(), references.priority());
+    }
+
+    /**
+     * Retrieves all tasks sorted by ID. The referenced entities are loaded once per distinct ID.
+     *
+     * @param includeArchived Ignored: the in-memory engine keeps no archive
+     * @return List of TaskResponse containing all tasks with full details
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public List<TaskResponse> getAllTasks(boolean includeArchived) {
+        return mapToResponses(taskStore.findAll());
+    }
+
+    /**
+     * Retrieves a specific task by its ID.
+     *
+     * @param id The unique identifier of the task
+     * @param includeArchived Ignored: the in-memory engine keeps no archive
+     * @return TaskResponse with complete task information
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public TaskResponse getTaskById(Long id, boolean includeArchived) {
+        return mapToResponse(findTask(id));
+    }
+
+    /**
+     * Retrieves tasks by their IDs from the store. The referenced entities are loaded
+     * with one query per entity type for the whole batch.
+     *
+     * @param ids The IDs of the tasks; a repeated ID is returned once
+     * @param includeArchived Ignored: the in-memory engine keeps no archive
+     * @return BatchResponse with the tasks in request order and the IDs without a task
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public BatchResponse<TaskResponse> getTasksByIds(List<Long> ids, boolean includeArchived) {
+        List<Long> requested = BatchLookup.distinct(ids);
+        Map<Long, TaskResponse> found = mapToResponses(requested.stream()
+                .map(taskStore::findById)
+                .flatMap(Optional::stream)
+                .toList()).stream()
+                .collect(Collectors.toMap(TaskResponse::getId, Function.identity()));
+        return BatchLookup.inOrder(requested, found);
+    }
+
+    /**
+     * Retrieves the ready tasks sorted by ID.
+     *
+     * @return List of TaskResponse containing the ready tasks with full details
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public List<TaskResponse> getReadyTasks() {
+        return mapToResponses(dependencyGraph.readyTaskIds().stream()
+                .map(taskStore::findById)
+                .flatMap(Optional::stream)
+                .toList());
+    }
+
+    /**
+     * Retrieves the subtasks of a task with its roll-up counters.
+     *
+     * @param id The ID of the task
+     * @param maxDepth Deepest level returned (1 for the direct subtasks), null for all levels
+     * @return TaskSubtasksResponse with the counters and the subtasks, nearest first
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public TaskSubtasksResponse getSubtasks(Long id, Integer maxDepth) {
+        findTask(id);
+        TaskHierarchyService.Subtree subtree = hierarchyService.subtree(id, maxDepth);
+        return new TaskSubtasksResponse(id, subtree.descendants(), subtree.doneDescendants(),
+                mapToResponses(subtree.subtaskIds().stream()
+                        .map(taskStore::findById)
+                        .flatMap(Optional::stream)
+                        .toList()));
+    }
+
+    /**
+     * Updates an existing task's information. The updated time only changes if a value does,
+     * a moved deadline clears the overdue flag, and a new parent moves the task with all its subtasks.
+     *
+     * @param id The ID of the task to update
+     * @param request TaskRequest containing updated task details
+     * @return TaskResponse with updated task information
+     */
+    @Override
+    @Transactional
+    public TaskResponse updateTask(Long id, TaskRequest request) {
+        StoredTask task = findTask(id);
+        References references = loadReferences(request);
+        checkColumns(request.getTitle(), request.getDescription());
+        if (!Objects.equals(task.parentId(), request.getParentId())) {
+            TaskStatus parentStatus = request.getParentId() != null ? findTask(request.getParentId()).status() : null;
+            hierarchyService.move(id, task.status(), request.getParentId(), parentStatus);
+        }
+
+        boolean overdue = task.overdue() && Objects.equals(task.dueAt(), request.getDueAt());
+        StoredTask updated = new StoredTask(id, request.getTitle(), request.getDescription(), task.status(),
+                request.getDueAt(), overdue, request.getParentId(), references.user().getId(),
+                references.category().getId(), references.priority().getId(), task.createdAt(), task.updatedAt());
+        if (!updated.equals(task)) {
+            updated = new StoredTask(id, updated.title(), updated.description(), updated.status(), updated.dueAt(),
+                    updated.overdue(), updated.parentId(), updated.userId(), updated.categoryId(),
+                    updated.priorityId(), updated.createdAt(), LocalDateTime.now());
+        }
+        StoredTask saved = taskStore.save(updated);
+        deadlineScheduler.track(saved.id(), saved.dueAt(), saved.status(), saved.overdue());
+        return mapToResponse(saved, references.user(), references.category(), references.priority());
+    }
+
+    /**
+     * Updates only the status of a task.
+     *
+     * @param id The ID of the task to update
+     * @param request TaskStatusUpdateRequest containing the new status
+     * @return TaskResponse with updated task information
+     */
+    @Override
+    @Transactional
+    public TaskResponse updateTaskStatus(Long id, TaskStatusUpdateRequest request) {
+        StoredTask task = findTask(id);
+        if (request.getStatus() == null) {
+            throw new DataIntegrityViolationException("Task status must not be null");
+        }
+        if (task.status() != request.getStatus()) {
+            TaskStatus previousStatus = task.status();
+            task = taskStore.save(task.withStatus(request.getStatus(), LocalDateTime.now()));
+            statusHistoryService.record(List.of(new TaskStatusHistory(null, id, task.userId(), task.categoryId(),
+                    previousStatus, task.status(), task.updatedAt())));
+            deadlineScheduler.track(task.id(), task.dueAt(), task.status(), task.overdue());
+            dependencyGraph.track(id, task.status());
+            hierarchyService.track(id, task.status());
+        }
+        return mapToResponse(task);
+    }
+
+    /**
+     * Retrieves the dashboard of a user from one walk over the user's index entry in the
+     * store; the user and the referenced categories and priorities take one query each.
+     *
+     * @param userId The ID of the user
+     * @return UserDashboardResponse of the user
+     * @throws UserNotFoundException if no user exists with the given ID
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public UserDashboardResponse getUserDashboard(Long userId) {
+        if (!existenceIndex.mightContainUser(userId)) {
+            throw new UserNotFoundException(userId);
+        }
+        User user = userRepository.findById(userId).orElseThrow(() -> new UserNotFoundException(userId));
+
+        List<StoredTask> tasks = taskStore.findByUser(userId);
+        Map<TaskStatus, Long> statusCounts = tasks.stream()
+                .collect(Collectors.groupingBy(StoredTask::status, Collectors.counting()));
+        return UserDashboards.assemble(
+                new UserResponse(user.getId(), user.getName(), user.getEmail(), user.getCreatedAt()),
+                statusCounts,
+                mapToResponses(tasks.stream().filter(task -> task.status() != TaskStatus.DONE).toList()));
+    }
+
+    /**
+     * Claims the next task of a user. The candidates are the user's PENDING tasks from the
+     * user and status indexes; a claim is a compare-and-set on the task record, so a task
+     * changed concurrently is skipped and the next candidate is tried.
+     *
+     * @param userId The ID of the user whose next task is claimed
+     * @return TaskResponse of the claimed task, or empty if the user has no PENDING tasks
+     */
+    @Override
+    @Transactional
+    public Optional<TaskResponse> claimNextTask(Long userId) {
+        if (!existenceIndex.mightContainUser(userId) || !userRepository.existsById(userId)) {
+            throw new UserNotFoundException(userId);
+        }
+
+        List<StoredTask> pending = taskStore.findByUserAndStatus(userId, TaskStatus.PENDING);
+        if (pending.isEmpty()) {
+            return Optional.empty();
+        }
+        Map<Long, Priority> priorities = loadAll(priorityRepository::findAllById, pending, StoredTask::priorityId,
+                Priority::getId);
+        Comparator<StoredTask> nextTaskOrder = Comparator
+                .comparingInt((StoredTask task) -> levelOf(priorities.get(task.priorityId()))).reversed()
+                .thenComparing(StoredTask::createdAt)
+                .thenComparingLong(StoredTask::id);
+
+        for (StoredTask candidate : pending.stream().sorted(nextTaskOrder).toList()) {
+            Optional<StoredTask> claimed = taskStore.replace(candidate,
+                    candidate.withStatus(TaskStatus.IN_PROGRESS, LocalDateTime.now()));
+            if (claimed.isPresent()) {
+                StoredTask task = claimed.get();
+                statusHistoryService.record(List.of(new TaskStatusHistory(null, task.id(), task.userId(),
+                        task.categoryId(), TaskStatus.PENDING, task.status(), task.updatedAt())));
+                return claimed.map(this::mapToResponse);
+            }
+        }
+        return Optional.empty();
+    }
+
+    /**
+     * Deletes a task from the system.
+     *
+     * @param id The ID of the task to delete
+     */
+    @Override
+    @Transactional
+    public void deleteTask(Long id) {
+        if (id == null || taskStore.remove(id).isEmpty()) {
+            throw new TaskNotFoundException(id);
+        }
+        deadlineScheduler.untrack(id);
+        dependencyGraph.untrack(List.of(id));
+        hierarchyService.untrack(List.of(id));
+        statusHistoryService.deleteHistory(List.of(id));
+    }
+
+    /**
+     * Number of tasks referencing a user, category or priority.
+     */
+    public long countTasks(TaskBulkService.TaskOwner owner, Long ownerId) {
+        return findByOwner(owner, ownerId).size();
+    }
+
+    /**
+     * Deletes all tasks of a user, category or priority.
+     *
+     * @return Number of deleted tasks
+     */
+    @Transactional
+    public long deleteTasks(TaskBulkService.TaskOwner owner, Long ownerId) {
+        List<StoredTask> tasks = findByOwner(owner, ownerId);
+        tasks.forEach(task -> deadlineScheduler.untrack(task.id()));
+        List<Long> ids = tasks.stream().map(StoredTask::id).toList();
+        dependencyGraph.untrack(ids);
+        long deleted = taskStore.removeAll(tasks);
+        hierarchyService.untrack(ids);
+        statusHistoryService.deleteHistory(ids);
+        return deleted;
+    }
+
+    /**
+     * Moves all tasks of a user, category or priority to another one.
+     *
+     * @return Number of reassigned tasks
+     */
+    public long reassignTasks(TaskBulkService.TaskOwner owner, Long ownerId, Long targetId) {
+        long reassigned = 0;
+        LocalDateTime now = LocalDateTime.now();
+        for (StoredTask task : findByOwner(owner, ownerId)) {
+            StoredTask moved = new StoredTask(task.id(), task.title(), task.description(), task.status(),
+                    task.dueAt(), task.overdue(), task.parentId(),
+                    owner == TaskBulkService.TaskOwner.USER ? targetId : task.userId(),
+                    owner == TaskBulkService.TaskOwner.CATEGORY ? targetId : task.categoryId(),
+                    owner == TaskBulkService.TaskOwner.PRIORITY ? targetId : task.priorityId(),
+                    task.createdAt(), now);
+            if (taskStore.replace(task, moved).isPresent()) {
+                reassigned++;
+            }
+        }
+        return reassigned;
+    }
+
+    private List<StoredTask> findByOwner(TaskBulkService.TaskOwner owner, Long ownerId) {
+        return switch (owner) {
+            case USER -> taskStore.findByUser(ownerId);
+            case CATEGORY -> taskStore.findByCategory(ownerId);
+            case PRIORITY -> taskStore.findByPriority(ownerId);
+        };
+    }
+
+    private StoredTask findTask(Long id) {
+        if (id == null) {
+            throw new TaskNotFoundException(id);
+        }
+        return taskStore.findById(id).orElseThrow(() -> new TaskNotFoundException(id));
+    }
+
+    /**
+     * Validates the user, category and priority of a request, in that order.
+     */
+    private References loadReferences(TaskRequest request) {
+        if (!existenceIndex.mightContainUser(request.getUserId())) {
+            throw new UserNotFoundException(request.getUserId());
+        }
+        if (!existenceIndex.mightContainCategory(request.getCategoryId())) {
+            throw new CategoryNotFoundException(request.getCategoryId());
+        }
+        if (!existenceIndex.mightContainPriority(request.getPriorityId())) {
+            throw new PriorityNotFoundException(request.getPriorityId());
+        }
+        User user = userRepository.findById(request.getUserId())
+                .orElseThrow(() -> new UserNotFoundException(request.getUserId()));
+        Category category = categoryRepository.findById(request.getCategoryId())
+                .orElseThrow(() -> new CategoryNotFoundException(request.getCategoryId()));
+        Priority priority = priorityRepository.findById(request.getPriorityId())
+                .orElseThrow(() -> new PriorityNotFoundException(request.getPriorityId()));
+        return new References(user, category, priority);
+    }
+
+    /**
+     * Applies the constraints of the tasks table columns.
+     */
+    private void checkColumns(String title, String description) {
+        if (title == null) {
+            throw new DataIntegrityViolationException("Task title must not be null");
+        }
+        if (title.length() > MAX_TITLE_LENGTH) {
+            throw new DataIntegrityViolationException("Task title is longer than " + MAX_TITLE_LENGTH + " characters");
+        }
+        if (description != null && description.length() > MAX_DESCRIPTION_LENGTH) {
+            throw new DataIntegrityViolationException(
+                    "Task description is longer than " + MAX_DESCRIPTION_LENGTH + " characters");
+        }
+    }
+
+    private static int levelOf(Priority priority) {
+        return priority != null && priority.getLevel() != null ? priority.getLevel() : 0;
+    }
+
+    /**
+     * Loads the entities referenced by a list of tasks with one query per entity type.
+     */
+    private static <E> Map<Long, E> loadAll(Function<Set<Long>, List<E>> finder, List<StoredTask> tasks,
+                                            Function<StoredTask, Long> reference, Function<E, Long> id) {
+        Set<Long> ids = tasks.stream().map(reference).collect(Collectors.toSet());
+        return finder.apply(ids).stream().collect(Collectors.toMap(id, Function.identity()));
+    }
+
+    private List<TaskResponse> mapToResponses(List<StoredTask> tasks) {
+        Map<Long, User> users = loadAll(userRepository::findAllById, tasks, StoredTask::userId, User::getId);
+        Map<Long, Category> categories = loadAll(categoryRepository::findAllById, tasks, StoredTask::categoryId,
+                Category::getId);
+        Map<Long, Priority> priorities = loadAll(priorityRepository::findAllById, tasks, StoredTask::priorityId,
+                Priority::getId);
+        return tasks.stream()
+                .map(task -> mapToResponse(task, users.get(task.userId()), categories.get(task.categoryId()),
+                        priorities.get(task.priorityId())))
+                .collect(Collectors.toList());
+    }
+
+    private TaskResponse mapToResponse(StoredTask task) {
+        return mapToResponse(task,
+                userRepository.findById(task.userId()).orElse(null),
+                categoryRepository.findById(task.categoryId()).orElse(null),
+                priorityRepository.findById(task.priorityId()).orElse(null));
+    }
+
+    /**
+     * Converts a stored task and its referenced entities to a TaskResponse DTO.
+     */
+    private TaskResponse mapToResponse(StoredTask task, User user, Category category, Priority priority) {
+        Objects.requireNonNull(user, "user of task " + task.id());
+        Objects.requireNonNull(category, "category of task " + task.id());
+        Objects.requireNonNull(priority, "priority of task " + task.id());
+        return new TaskResponse(task.id(), task.title(), task.description(), task.status(),
+                task.dueAt(), task.overdue(), task.parentId(),
+                new UserResponse(user.getId(), user.getName(), user.getEmail(), user.getCreatedAt()),
+                new CategoryResponse(category.getId(), category.getName(), category.getDescription()),
+                new PriorityResponse(priority.getId(), priority.getName(), priority.getLevel()),
+                task.createdAt(), task.updatedAt());
+    }
+
+    private record References(User user, Category category, Priority priority) {
+    }
+}
@@ -0,0 +1,642 @@
+package org.example.service;
+
+import org.example.exception.*;
+import org.example.model.dto.request.TaskRequest;
+import org.example.model.dto.request.TaskStatusUpdateRequest;
+import org.example.model.dto.response.*;
+import org.example.model.entity.*;
+import org.example.model.enums.TaskStatus;
+import org.example.repository.*;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.annotation.Profile;
+import org.springframework.data.domain.Sort;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.TreeMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * TaskService backed by JPA (the default task store engine).
+ * Contains the core business logic for task management including validation
+ * of related entities (User, Category, Priority) before task operations.
+ *
+ * Tasks are stored on the shard of their user (see TaskShardRouter): every operation
+ * runs in a transaction on the shard of the task or user, and listing all tasks
+ * queries all shards in parallel.
+ *
+ * Reads of live tasks come from the denormalized task_view read model (no joins);
+ * every write refreshes the view rows of the tasks it changes in the same transaction.
+ * Creations and status changes are appended to the task status history in that transaction too.
+ */
+@Service
+@Profile("!memory")
+@RequiredArgsConstructor
+public class JpaTaskService implements TaskService {
+
+    private final TaskRepository taskRepository;
+    private final ArchivedTaskRepository archivedTaskRepository;
+    private final UserRepository userRepository;
+    private final CategoryRepository categoryRepository;
+    private final PriorityRepository priorityRepository;
+    private final TaskStatusWriteBehindBuffer statusWriteBehindBuffer;
+    private final TaskPriorityQueue taskPriorityQueue;
+    private final EntityExistenceIndex existenceIndex;
+    private final TaskShardRouter shardRouter;
+    private final TaskViewRepository taskViewRepository;
+    private final TaskViewProjector taskViewProjector;
+    private final TaskStatusHistoryService statusHistoryService;
+    private final TaskDeadlineScheduler deadlineScheduler;
+    private final TaskDependencyGraph dependencyGraph;
+    private final TaskHierarchyService hierarchyService;
+
+    /**
+     * Creates a new task in the system.
+     * This method performs several validation steps:
+     * 1. Validates that the assigned user exists
+     * 2. Validates that the category exists
+     * 3. Validates that the priority exists
+     * 4. Validates that the parent task exists, if one is given
+     * 5. Creates and saves the task with PENDING status
+     *
+     * @param request TaskRequest containing task details and related entity IDs
+     * @return TaskResponse with complete task information including user, category, and priority
+     * @throws UserNotFoundException if the specified user doesn't exist
+     * @throws CategoryNotFoundException if the specified category doesn't exist
+     * @throws PriorityNotFoundException if the specified priority doesn't exist
+     * @throws TaskNotFoundException if the specified parent task doesn't exist
+     */
+    @Override
+    public TaskResponse createTask(TaskRequest request) {
+        // Reject unknown user, category or priority IDs without a database round trip
+        rejectUnknownReferences(request);
+
+        // The parent may be on any shard, so it is validated before the transaction
+        TaskStatus parentStatus = request.getParentId() != null
+                ? getTaskById(request.getParentId(), false).getStatus()
+                : null;
+
+        // The task is stored on the shard of its user
+        return shardRouter.inShard(shardRouter.shardOfUser(request.getUserId()), false,
+                () -> createTaskOnShard(request, parentStatus));
+    }
+
+    /**
+     * Creates the task inside the transaction on the shard of its user.
+     */
+    private TaskResponse createTaskOnShard(TaskRequest request, TaskStatus parentStatus) {
+        // Step 1: Validate user exists
+        User user = userRepository.findById(request.getUserId())
+                .orElseThrow(() -> new UserNotFoundException(request.getUserId()));
+
+        // Step 2: Validate category exists
+        Category category = categoryRepository.findById(request.getCategoryId())
+                .orElseThrow(() -> new CategoryNotFoundException(request.getCategoryId()));
+
+        // Step 3: Validate priority exists
+        Priority priority = priorityRepository.findById(request.getPriorityId())
+                .orElseThrow(() -> new PriorityNotFoundException(request.getPriorityId()));
+
+        // Step 4: Create new task with validated entities
+        Task task = new Task();
+        task.setTitle(request.getTitle());
+        task.setDescription(request.getDescription());
+        task.setDueAt(request.getDueAt());
+        task.setParentId(request.getParentId());
+        task.setUser(user);
+        task.setCategory(category);
+        task.setPriority(priority);
+        task.setStatus(TaskStatus.PENDING); // Default status
+
+        // Save task, queue it for its user and return response
+        Task savedTask = taskRepository.save(task);
+        taskViewProjector.refresh(List.of(savedTask.getId()));
+        statusHistoryService.record(List.of(new TaskStatusHistory(null, savedTask.getId(), user.getId(),
+                category.getId(), null, savedTask.getStatus(), savedTask.getCreatedAt())));
+        existenceIndex.addTask(savedTask.getId());
+        taskPriorityQueue.track(savedTask);
+        deadlineScheduler.track(savedTask);
+        dependencyGraph.track(savedTask.getId(), savedTask.getStatus());
+        if (savedTask.getParentId() != null) {
+            hierarchyService.move(savedTask.getId(), savedTask.getStatus(), savedTask.getParentId(), parentStatus);
+            TransactionCallbacks.afterRollback(() -> hierarchyService.remove(List.of(savedTask.getId())));
+        }
+        return mapToResponse(savedTask);
+    }
+
+    /**
+     * Retrieves all tasks from the database.
+     * Each task includes complete information about its user, category, and priority.
+     * Only live tasks are returned unless archived ones are explicitly requested.
+     *
+     * @param includeArchived Whether tasks moved to tasks_archive are included as well
+     * @return List of TaskResponse containing all tasks with full details
+     */
+    @Override
+    public List<TaskResponse> getAllTasks(boolean includeArchived) {
+        // Fetch the tasks of every shard in parallel, each sorted by ID, and merge them in ID order
+        List<List<TaskResponse>> tasksByShard = shardRouter.onAllShards(true, shard -> {
+            // Live tasks come from the flattened read model, without joins
+            Stream<TaskResponse> tasks = taskViewRepository.findAll(Sort.by("id")).stream()
+                    .map(this::mapToResponse);
+            if (includeArchived) {
+                tasks = Stream.concat(tasks, archivedTaskRepository.findAll(Sort.by("id")).stream()
+                                .map(this::toTask)
+                                .map(this::mapToResponse))
+                        .sorted(Comparator.comparing(TaskResponse::getId));
+            }
+            return tasks.collect(Collectors.toList());
+        });
+        return TaskShardRouter.mergeSorted(tasksByShard, Comparator.comparing(TaskResponse::getId));
+    }
+
+    /**
+     * Retrieves a specific task by its ID.
+     *
+     * @param id The unique identifier of the task
+     * @param includeArchived Whether to look in tasks_archive if the task is not live
+     * @return TaskResponse with complete task information
+     * @throws TaskNotFoundException if no task exists with the given ID
+     */
+    @Override
+    public TaskResponse getTaskById(Long id, boolean includeArchived) {
+        if (includeArchived) {
+            // The existence index only covers live tasks, so check both tables
+            return shardRouter.inShard(shardRouter.shardOfTask(id), true, () -> taskViewRepository.findById(id)
+                    .map(this::mapToResponse)
+                    .or(() -> archivedTaskRepository.findById(id).map(this::toTask).map(this::mapToResponse))
+                    .orElseThrow(() -> new TaskNotFoundException(id)));
+        }
+
+        // Miss in the existence index (confirmed in the database unless a single instance writes)
+        if (!existenceIndex.mightContainTask(id)) {
+            throw new TaskNotFoundException(id);
+        }
+
+        return shardRouter.inShard(shardRouter.shardOfTask(id), true, () -> {
+            // Find task in the read model or throw exception
+            TaskView task = taskViewRepository.findById(id)
+                    .orElseThrow(() -> new TaskNotFoundException(id));
+
+            return mapToResponse(task);
+        });
+    }
+
+    /**
+     * Retrieves tasks by their IDs, chunk by chunk on the shard of each task.
+     * Live tasks come from the read model, so each chunk is one query without joins;
+     * only IDs the existence index considers candidates are queried.
+     *
+     * @param ids The IDs of the tasks; a repeated ID is returned once
+     * @param includeArchived Whether to look in tasks_archive for IDs that are not live
+     * @return BatchResponse with the tasks in request order and the IDs without a task
+     */
+    @Override
+    public BatchResponse<TaskResponse> getTasksByIds(List<Long> ids, boolean includeArchived) {
+        List<Long> requested = BatchLookup.distinct(ids);
+        if (!includeArchived) {
+            return BatchLookup.inOrder(requested,
+                    findLiveTasksById(existenceIndex.candidateTasks(requested)));
+        }
+
+        // The existence index only covers live tasks, so every ID not found live is looked up in the archive
+        Map<Long, TaskResponse> tasksById = findLiveTasksById(requested);
+        tasksById.putAll(findOnShards(requested.stream().filter(id -> !tasksById.containsKey(id)).toList(),
+                chunk -> archivedTaskRepository.findAllById(chunk).stream()
+                        .map(this::toTask)
+                        .map(this::mapToResponse)
+                        .toList()));
+        return BatchLookup.inOrder(requested, tasksById);
+    }
+
+    /**
+     * Retrieves the ready tasks from the read model, chunk by chunk on the shard of each task.
+     *
+     * @return List of TaskResponse containing the ready tasks with full details
+     */
+    @Override
+    public List<TaskResponse> getReadyTasks() {
+        return findLiveTasks(dependencyGraph.readyTaskIds());
+    }
+
+    /**
+     * Retrieves the live subtasks of a task with its roll-up counters.
+     * The descendant IDs come from the closure table in one query, the tasks from the read model.
+     *
+     * @param id The ID of the task
+     * @param maxDepth Deepest level returned (1 for the direct subtasks), null for all levels
+     * @return TaskSubtasksResponse with the counters and the subtasks, nearest first
+     * @throws TaskNotFoundException if no live task exists with the given ID
+     */
+    @Override
+    public TaskSubtasksResponse getSubtasks(Long id, Integer maxDepth) {
+        getTaskById(id, false);
+        TaskHierarchyService.Subtree subtree = hierarchyService.subtree(id, maxDepth);
+        return new TaskSubtasksResponse(id, subtree.descendants(), subtree.doneDescendants(),
+                findLiveTasks(subtree.subtaskIds()));
+    }
+
+    /**
+     * Reads live tasks from the read model, chunk by chunk on the shard of each task.
+     *
+     * @param ids IDs of the tasks
+     * @return The tasks in the order of the IDs; IDs without a live task are skipped
+     */
+    private List<TaskResponse> findLiveTasks(List<Long> ids) {
+        Map<Long, TaskResponse> tasksById = findLiveTasksById(ids);
+        return ids.stream()
+                .map(tasksById::get)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * Reads live tasks from the read model, chunk by chunk on the shard of each task.
+     *
+     * @return The found tasks by ID
+     */
+    private Map<Long, TaskResponse> findLiveTasksById(List<Long> ids) {
+        return findOnShards(ids, chunk -> taskViewRepository.findAllById(chunk).stream()
+                .map(this::mapToResponse)
+                .toList());
+    }
+
+    /**
+     * Groups IDs by the shard of their task and runs a finder on every shard in parallel,
+     * with at most BatchLookup.CHUNK_SIZE IDs per call.
+     *
+     * @return The found tasks of all shards by ID
+     */
+    private Map<Long, TaskResponse> findOnShards(List<Long> ids, Function<List<Long>, List<TaskResponse>> finder) {
+        Map<Long, TaskResponse> tasksById = new HashMap<>(ids.size() * 2);
+        if (ids.isEmpty()) {
+            return tasksById;
+        }
+        Map<Long, Integer> shards = shardRouter.shardsOfTasks(ids);
+        Map<Integer, List<Long>> idsByShard = new TreeMap<>();
+        ids.forEach(id -> idsByShard
+                .computeIfAbsent(shards.get(id), shard -> new ArrayList<>())
+                .add(id));
+        shardRouter.onAllShards(true, shard -> BatchLookup.findInChunks(idsByShard.getOrDefault(shard, List.of()), finder))
+                .forEach(tasks -> tasks.forEach(task -> tasksById.put(task.getId(), task)));
+        return tasksById;
+    }
+
+    /**
+     * Updates an existing task's information.
+     * All related entities (user, category, priority) are validated before update.
+     *
+     * @param id The ID of the task to update
+     * @param request TaskRequest containing updated task details
+     * @return TaskResponse with updated task information
+     * @throws TaskNotFoundException if the task doesn't exist
+     * @throws UserNotFoundException if the new user doesn't exist
+     * @throws CategoryNotFoundException if the new category doesn't exist
+     * @throws PriorityNotFoundException if the new priority doesn't exist
+     * @throws TaskHierarchyCycleException if the new parent is the task itself or one of its subtasks
+     */
+    @Override
+    public TaskResponse updateTask(Long id, TaskRequest request) {
+        // Reject unknown task, user, category or priority IDs without a database round trip
+        if (!existenceIndex.mightContainTask(id)) {
+            throw new TaskNotFoundException(id);
+        }
+        rejectUnknownReferences(request);
+
+        int shard = shardRouter.shardOfTask(id);
+        TaskResponse response = shardRouter.inShard(shard, false, () -> updateTaskOnShard(id, request));
+
+        // A new user on another shard takes the task along
+        shardRouter.moveTasks(List.of(id), shard, shardRouter.shardOfUser(request.getUserId()));
+        return response;
+    }
+
+    /**
+     * Updates the task inside the transaction on the shard currently holding it.
+     */
+    private TaskResponse updateTaskOnShard(Long id, TaskRequest request) {
+        // Step 1: Validate task exists
+        Task task = taskRepository.findById(id)
+                .orElseThrow(() -> new TaskNotFoundException(id));
+
+        // Step 2: Validate new user exists
+        User user = userRepository.findById(request.getUserId())
+                .orElseThrow(() -> new UserNotFoundException(request.getUserId()));
+
+        // Step 3: Validate new category exists
+        Category category = categoryRepository.findById(request.getCategoryId())
+                .orElseThrow(() -> new CategoryNotFoundException(request.getCategoryId()));
+
+        // Step 4: Validate new priority exists
+        Priority priority = priorityRepository.findById(request.getPriorityId())
+                .orElseThrow(() -> new PriorityNotFoundException(request.getPriorityId()));
+
+        // Step 5: Update task fields
+        task.setTitle(request.getTitle());
+        task.setDescription(request.getDescription());
+        task.setUser(user);
+        task.setCategory(category);
+        task.setPriority(priority);
+
+        // A moved deadline is watched from scratch
+        if (!Objects.equals(task.getDueAt(), request.getDueAt())) {
+            task.setDueAt(request.getDueAt());
+            task.setOverdue(false);
+        }
+
+        // A new parent takes the task along with all its subtasks; moved back if this transaction rolls back
+        Long previousParentId = task.getParentId();
+        if (!Objects.equals(previousParentId, request.getParentId())) {
+            TaskStatus parentStatus = request.getParentId() != null
+                    ? getTaskById(request.getParentId(), false).getStatus()
+                    : null;
+            hierarchyService.move(id, task.getStatus(), request.getParentId(), parentStatus);
+            TaskStatus status = task.getStatus();
+            TransactionCallbacks.afterRollback(() -> hierarchyService.move(id, status, previousParentId, null));
+            task.setParentId(request.getParentId());
+        }
+
+        // Save, re-queue with the new user and priority, and return updated task
+        Task updatedTask = taskRepository.save(task);
+        taskViewProjector.refresh(List.of(id));
+        taskPriorityQueue.track(updatedTask);
+        deadlineScheduler.track(updatedTask);
+        return mapToResponse(updatedTask);
+    }
+
+    /**
+     * Updates only the status of a task.
+     * This is a lighter operation than full task update, used when only
+     * the status needs to change (e.g., moving from PENDING to IN_PROGRESS).
+     *
+     * @param id The ID of the task to update
+     * @param request TaskStatusUpdateRequest containing the new status
+     * @return TaskResponse with updated task information
+     * @throws TaskNotFoundException if the task doesn't exist
+     */
+    @Override
+    public TaskResponse updateTaskStatus(Long id, TaskStatusUpdateRequest request) {
+        // Miss in the existence index (confirmed in the database unless a single instance writes)
+        if (!existenceIndex.mightContainTask(id)) {
+            throw new TaskNotFoundException(id);
+        }
+
+        return shardRouter.inShard(shardRouter.shardOfTask(id), false, () -> {
+            // Step 1: Validate task exists, locking the row so a buffered flush of an older
+            // asynchronous change either commits before this update or sees it discarded
+            Task task = taskRepository.findByIdForUpdate(id)
+                    .orElseThrow(() -> new TaskNotFoundException(id));
+
+            // Step 2: Update status only (supersedes any buffered asynchronous update)
+            statusWriteBehindBuffer.discard(id);
+            TaskStatus previousStatus = task.getStatus();
+            task.setStatus(request.getStatus());
+            if (task.getStatus() == TaskStatus.DONE) {
+                // A completed task is no longer overdue
+                task.setOverdue(false);
+            }
+
+            // Save, record the change, sync the next-task queue and return updated task
+            Task updatedTask = taskRepository.save(task);
+            taskViewProjector.refresh(List.of(id));
+            if (previousStatus != updatedTask.getStatus()) {
+                statusHistoryService.record(List.of(new TaskStatusHistory(null, id, updatedTask.getUser().getId(),
+                        updatedTask.getCategory().getId(), previousStatus, updatedTask.getStatus(),
+                        LocalDateTime.now())));
+            }
+            taskPriorityQueue.track(updatedTask);
+            deadlineScheduler.track(updatedTask);
+            dependencyGraph.track(id, updatedTask.getStatus());
+            hierarchyService.track(id, updatedTask.getStatus());
+            return mapToResponse(updatedTask);
+        });
+    }
+
+    /**
+     * Retrieves the dashboard of a user with three queries: the user on shard 0 (usually
+     * answered by the second-level cache) runs in parallel with the open tasks and the
+     * status counts, both read from the read model on the shard of the user.
+     *
+     * @param userId The ID of the user
+     * @return UserDashboardResponse of the user
+     * @throws UserNotFoundException if no user exists with the given ID
+     */
+    @Override
+    public UserDashboardResponse getUserDashboard(Long userId) {
+        // Miss in the existence index (confirmed in the database unless a single instance writes)
+        if (!existenceIndex.mightContainUser(userId)) {
+            throw new UserNotFoundException(userId);
+        }
+
+        CompletableFuture<Optional<User>> user = shardRouter.inShardAsync(0, true,
+                () -> userRepository.findById(userId));
+        Map<TaskStatus, Long> statusCounts = new HashMap<>();
+        List<TaskResponse> openTasks = shardRouter.inShard(shardRouter.shardOfUser(userId), true, () -> {
+            taskViewRepository.countByStatusOfUser(userId)
+                    .forEach(row -> statusCounts.put((TaskStatus) row[0], (Long) row[1]));
+            return taskViewRepository.findByUserIdAndStatusNotOrderById(userId, TaskStatus.DONE).stream()
+                    .map(this::mapToResponse)
+                    .toList();
+        });
+
+        User found = TaskShardRouter.join(user).orElseThrow(() -> new UserNotFoundException(userId));
+        return UserDashboards.assemble(
+                new UserResponse(found.getId(), found.getName(), found.getEmail(), found.getCreatedAt()),
+                statusCounts, openTasks);
+    }
+
+    /**
+     * Claims the next task of a user: the PENDING task with the highest priority level,
+     * oldest first among equal levels, which is moved to IN_PROGRESS.
+     * Served from the in-memory next-task queue; the conditional UPDATE guarantees that
+     * concurrent workers never claim the same task. The queue only holds tasks written through
+     * this instance (or loaded at startup), so when it has nothing for the user the next PENDING
+     * task is locked in the database instead, skipping tasks other instances are claiming.
+     *
+     * @param userId The ID of the user whose next task is claimed
+     * @return TaskResponse of the claimed task, or empty if the user has no PENDING tasks
+     * @throws UserNotFoundException if no user exists with the given ID
+     */
+    @Override
+    public Optional<TaskResponse> claimNextTask(Long userId) {
+        if (!existenceIndex.mightContainUser(userId)) {
+            throw new UserNotFoundException(userId);
+        }
+
+        // All tasks of the user are on the user's shard
+        return shardRouter.inShard(shardRouter.shardOfUser(userId), false, () -> {
+            if (!userRepository.existsById(userId)) {
+                throw new UserNotFoundException(userId);
+            }
+
+            Optional<Long> next;
+            while ((next = taskPriorityQueue.pollNext(userId)).isPresent()) {
+                // A queue entry can be outdated (e.g., changed by another instance); then try the next one
+                Optional<TaskResponse> claimed = claim(next.get(), userId);
+                if (claimed.isPresent()) {
+                    return claimed;
+                }
+            }
+
+            // Tasks created or reopened through another instance are not in this instance's queue
+            return taskRepository.findNextPendingIdForUpdate(userId).flatMap(taskId -> claim(taskId, userId));
+        });
+    }
+
+    /**
+     * Moves a PENDING task of the user to IN_PROGRESS, if it still is PENDING.
+     * Must run in the transaction on the shard of the user.
+     *
+     * @return TaskResponse of the claimed task, or empty if the task is no longer PENDING
+     */
+    private Optional<TaskResponse> claim(Long taskId, Long userId) {
+        LocalDateTime now = LocalDateTime.now();
+        if (taskRepository.claimPending(taskId, userId, now) != 1) {
+            return Optional.empty();
+        }
+        // The claim holds the row lock now and supersedes any buffered asynchronous update
+        statusWriteBehindBuffer.discard(taskId);
+        taskViewProjector.refresh(List.of(taskId));
+        Optional<Task> claimed = taskRepository.findById(taskId);
+        claimed.ifPresent(task -> statusHistoryService.record(List.of(new TaskStatusHistory(null, taskId,
+                userId, task.getCategory().getId(), TaskStatus.PENDING, TaskStatus.IN_PROGRESS, now))));
+        return claimed.map(this::mapToResponse);
+    }
+
+    /**
+     * Deletes a task from the system.
+     *
+     * @param id The ID of the task to delete
+     * @throws TaskNotFoundException if no task exists with the given ID
+     */
+    @Override
+    public void deleteTask(Long id) {
+        // Verify task exists before deletion
+        if (!existenceIndex.mightContainTask(id)) {
+            throw new TaskNotFoundException(id);
+        }
+
+        shardRouter.runInShard(shardRouter.shardOfTask(id), () -> {
+            if (!taskRepository.existsById(id)) {
+                throw new TaskNotFoundException(id);
+            }
+
+            taskRepository.deleteById(id);
+            taskViewProjector.remove(List.of(id));
+            existenceIndex.removeTask(id);
+            taskPriorityQueue.untrack(id);
+            deadlineScheduler.untrack(id);
+            dependencyGraph.untrack(List.of(id));
+            hierarchyService.untrack(List.of(id));
+            statusHistoryService.deleteHistory(List.of(id));
+            shardRouter.forgetTasks(List.of(id));
+        });
+    }
+
+    /**
+     * Throws the matching not-found exception if the existence index knows for sure
+     * that the user, category or priority of the request does not exist.
+     * IDs that might exist are still validated against the database by the caller.
+     *
+     * @param request TaskRequest with the referenced IDs
+     */
+    private void rejectUnknownReferences(TaskRequest request) {
+        if (!existenceIndex.mightContainUser(request.getUserId())) {
+            throw new UserNotFoundException(request.getUserId());
+        }
+        if (!existenceIndex.mightContainCategory(request.getCategoryId())) {
+            throw new CategoryNotFoundException(request.getCategoryId());
+        }
+        if (!existenceIndex.mightContainPriority(request.getPriorityId())) {
+            throw new PriorityNotFoundException(request.getPriorityId());
+        }
+    }
+
+    /**
+     * Turns an archived task back into a (detached) Task so it maps to the same TaskResponse.
+     *
+     * @param archivedTask The ArchivedTask entity to convert
+     * @return Task with the same field values
+     */
+    private Task toTask(ArchivedTask archivedTask) {
+        return new Task(archivedTask.getId(), archivedTask.getTitle(), archivedTask.getDescription(),
+                archivedTask.getStatus(), archivedTask.getDueAt(), false, archivedTask.getParentId(),
+                archivedTask.getUser(), archivedTask.getCategory(),
+                archivedTask.getPriority(), archivedTask.getCreatedAt(), archivedTask.getUpdatedAt());
+    }
+
+    /**
+     * Converts a TaskView read model row to a TaskResponse DTO.
+     * All nested information is already in the row, so no related entity is loaded.
+     *
+     * @param view The TaskView row to convert
+     * @return TaskResponse DTO with all nested information
+     */
+    private TaskResponse mapToResponse(TaskView view) {
+        return new TaskResponse(view.getId(), view.getTitle(), view.getDescription(), view.getStatus(),
+                view.getDueAt(), view.isOverdue(), view.getParentId(),
+                new UserResponse(view.getUserId(), view.getUserName(), view.getUserEmail(), view.getUserCreatedAt()),
+                new CategoryResponse(view.getCategoryId(), view.getCategoryName(), view.getCategoryDescription()),
+                new PriorityResponse(view.getPriorityId(), view.getPriorityName(), view.getPriorityLevel()),
+                view.getCreatedAt(), view.getUpdatedAt());
+    }
+
+    /**
+     * Converts Task entity to TaskResponse DTO with complete nested information.
+     * This method builds a complete response including:
+     * - Task details
+     * - Complete user information
+     * - Complete category information
+     * - Complete priority information
+     *
+     * @param task The Task entity to convert
+     * @return TaskResponse DTO with all nested information
+     */
+    private TaskResponse mapToResponse(Task task) {
+        TaskResponse response= new TaskResponse();
+        response.setId(task.getId());
+        response.setTitle(task.getTitle());
+        response.setDescription(task.getDescription());
+        response.setStatus(task.getStatus());
+        response.setDueAt(task.getDueAt());
+        response.setOverdue(task.isOverdue());
+        response.setParentId(task.getParentId());
+        response.setCreatedAt(task.getCreatedAt());
+        response.setUpdatedAt(task.getUpdatedAt());
+
+        // Map nested user information
+        UserResponse userResponse= new UserResponse();
+        userResponse.setId(task.getUser().getId());
+        userResponse.setName(task.getUser().getName());
+        userResponse.setEmail(task.getUser().getEmail());
+        userResponse.setCreatedAt(task.getUser().getCreatedAt());
+        response.setUser(userResponse);
+
+        // Map nested category information
+        CategoryResponse categoryResponse= new CategoryResponse();
+        categoryResponse.setId(task.getCategory().getId());
+        categoryResponse.setName(task.getCategory().getName());
+        categoryResponse.setDescription(task.getCategory().getDescription());
+        response.setCategory(categoryResponse);
+
+        // Map nested priority information
+        PriorityResponse priorityResponse= new PriorityResponse();
+        priorityResponse.setId(task.getPriority().getId());
+        priorityResponse.setName(task.getPriority().getName());
+        priorityResponse.setLevel(task.getPriority().getLevel());
+        response.setPriority(priorityResponse);
+
+        return response;
+    }
+}
+
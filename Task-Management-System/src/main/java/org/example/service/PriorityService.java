@@ -1,15 +1,22 @@
 package org.example.service;
 
+import org.example.exception.InvalidRequestException;
+import org.example.exception.ResourceInUseException;
 import org.example.exception.PriorityNotFoundException;
+import org.example.json.ReferenceJsonFragments;
 import org.example.model.dto.request.PriorityRequest;
+import org.example.model.dto.response.BatchResponse;
 import org.example.model.dto.response.PriorityResponse;
 import org.example.model.entity.Priority;
+import org.example.model.enums.TaskDeleteMode;
 import org.example.repository.PriorityRepository;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.util.List;
+import java.util.Map;
 import java.util.stream.Collectors;
 
 /**
@@ -21,6 +28,12 @@ import java.util.stream.Collectors;
 public class PriorityService {
 
     private final PriorityRepository priorityRepository;
+    private final EntityExistenceIndex existenceIndex;
+    private final TaskBulkService taskBulkService;
+    private final TransactionTemplate transactionTemplate;
+    private final TaskShardRouter shardRouter;
+    private final TaskViewProjector taskViewProjector;
+    private final ReferenceJsonFragments jsonFragments;
 
     /**
      * Creates a new priority level in the system.
@@ -37,6 +50,8 @@ public class PriorityService {
 
         // Save and return response
         Priority savedPriority = priorityRepository.save(priority);
+        existenceIndex.addPriority(savedPriority.getId());
+        replicateToShards(savedPriority);
         return mapToResponse(savedPriority);
     }
 
@@ -45,6 +60,7 @@ public class PriorityService {
      *
      * @return List of PriorityResponse containing all priorities
      */
+    @Transactional(readOnly = true)
     public List<PriorityResponse> getAllPriorities() {
         // Fetch all priorities and convert to response DTOs
         return priorityRepository.findAll().stream()
@@ -59,14 +75,37 @@ public class PriorityService {
      * @return PriorityResponse with the priority's information
      * @throws PriorityNotFoundException if no priority exists with the given ID
      */
+    @Transactional(readOnly = true)
     public PriorityResponse getPriorityById(Long id) {
+        // Miss in the existence index (confirmed in the database unless a single instance writes)
+        if (!existenceIndex.mightContainPriority(id)) {
+            throw new PriorityNotFoundException(id);
+        }
+
         // Find priority or throw exception
         Priority priority = priorityRepository.findById(id)
-                .orElseThrow(() -> new PriorityNotFoundException("Priority not found with id: " + id));
+                .orElseThrow(() -> new PriorityNotFoundException(id));
 
         return mapToResponse(priority);
     }
 
+    /**
+     * Retrieves priorities by their IDs, with one IN-list query per chunk of IDs.
+     * Only IDs the existence index considers candidates are queried.
+     *
+     * @param ids The IDs of the priorities; a repeated ID is returned once
+     * @return BatchResponse with the priorities in request order and the IDs without a priority
+     * @throws InvalidRequestException if too many IDs are requested
+     */
+    @Transactional(readOnly = true)
+    public BatchResponse<PriorityResponse> getPrioritiesByIds(List<Long> ids) {
+        List<Long> requested = BatchLookup.distinct(ids);
+        List<Long> candidates = existenceIndex.candidatePriorities(requested);
+        Map<Long, PriorityResponse> found = BatchLookup.findInChunks(candidates, priorityRepository::findAllById).stream()
+                .collect(Collectors.toMap(Priority::getId, this::mapToResponse));
+        return BatchLookup.inOrder(requested, found);
+    }
+
     /**
      * Updates an existing priority's information.
      *
@@ -77,9 +116,14 @@ public class PriorityService {
      */
     @Transactional
     public PriorityResponse updatePriority(Long id, PriorityRequest request) {
+        // Miss in the existence index (confirmed in the database unless a single instance writes)
+        if (!existenceIndex.mightContainPriority(id)) {
+            throw new PriorityNotFoundException(id);
+        }
+
         // Find existing priority
         Priority priority = priorityRepository.findById(id)
-                .orElseThrow(() -> new PriorityNotFoundException("Priority not found with id: " + id));
+                .orElseThrow(() -> new PriorityNotFoundException(id));
 
         // Update fields
         priority.setName(request.getName());
@@ -87,6 +131,9 @@ public class PriorityService {
 
         // Save and return updated priority
         Priority updatedPriority = priorityRepository.save(priority);
+        replicateToShards(updatedPriority);
+        updateTaskViews(updatedPriority);
+        TransactionCallbacks.afterCommit(() -> jsonFragments.evictPriority(id));
         return mapToResponse(updatedPriority);
     }
 
@@ -95,15 +142,85 @@ public class PriorityService {
      *
      * @param id The ID of the priority to delete
      * @throws PriorityNotFoundException if no priority exists with the given ID
+     * @throws ResourceInUseException if tasks still reference the priority
      */
     @Transactional
     public void deletePriority(Long id) {
         // Verify priority exists before deletion
-        if (!priorityRepository.existsById(id)) {
-            throw new PriorityNotFoundException("Priority not found with id: " + id);
+        if (!existenceIndex.mightContainPriority(id) || !priorityRepository.existsById(id)) {
+            throw new PriorityNotFoundException(id);
         }
 
+        // Refused with 409 while tasks on any shard still reference it
+        taskBulkService.checkNotReferencedByTasks(TaskBulkService.TaskOwner.PRIORITY, id);
+
         priorityRepository.deleteById(id);
+        TransactionCallbacks.afterCommit(() -> jsonFragments.evictPriority(id));
+        existenceIndex.removePriority(id);
+        shardRouter.replicate(() -> priorityRepository.deleteAllByIdInBatch(List.of(id)));
+    }
+
+    /**
+     * Deletes a priority and handles the tasks that still reference it.
+     * - RESTRICT: same as a plain delete (fails while tasks reference the priority)
+     * - CASCADE: deletes the priority's tasks first
+     * - REASSIGN: moves the priority's tasks to the priority given by reassignTo first
+     * Tasks are processed in bounded chunks, each in its own short transaction,
+     * so the delete never holds locks on all tasks at once.
+     *
+     * @param id The ID of the priority to delete
+     * @param mode What to do with the priority's tasks
+     * @param reassignTo The ID of the priority receiving the tasks (REASSIGN only)
+     * @throws PriorityNotFoundException if the priority or the reassign target doesn't exist
+     * @throws InvalidRequestException if REASSIGN is requested without a valid target
+     * @throws ResourceInUseException if RESTRICT is requested while tasks still reference the priority
+     */
+    public void deletePriority(Long id, TaskDeleteMode mode, Long reassignTo) {
+        if (!existenceIndex.mightContainPriority(id) || !priorityRepository.existsById(id)) {
+            throw new PriorityNotFoundException(id);
+        }
+
+        if (mode == TaskDeleteMode.CASCADE) {
+            taskBulkService.deleteTasks(TaskBulkService.TaskOwner.PRIORITY, id);
+        } else if (mode == TaskDeleteMode.REASSIGN) {
+            if (reassignTo == null || reassignTo.equals(id)) {
+                throw new InvalidRequestException("REASSIGN requires reassignTo with the ID of another priority");
+            }
+            if (!existenceIndex.mightContainPriority(reassignTo) || !priorityRepository.existsById(reassignTo)) {
+                throw new PriorityNotFoundException(reassignTo);
+            }
+            taskBulkService.reassignTasks(TaskBulkService.TaskOwner.PRIORITY, id, reassignTo);
+        }
+
+        // The priority itself is removed in a last short transaction
+        transactionTemplate.executeWithoutResult(status -> deletePriority(id));
+    }
+
+    /**
+     * Applies the new name and level to the task read model: on this shard in the current
+     * transaction, on the other shards once it has committed.
+     *
+     * @param priority The updated Priority
+     */
+    private void updateTaskViews(Priority priority) {
+        Long id = priority.getId();
+        String name = priority.getName();
+        Integer level = priority.getLevel();
+        taskViewProjector.renamePriority(id, name, level);
+        shardRouter.replicate(() -> taskViewProjector.renamePriority(id, name, level));
+    }
+
+    /**
+     * Copies the priority to the other task shards once the transaction has committed,
+     * so tasks on every shard can reference it.
+     *
+     * @param priority The saved Priority
+     */
+    private void replicateToShards(Priority priority) {
+        Long id = priority.getId();
+        String name = priority.getName();
+        Integer level = priority.getLevel();
+        shardRouter.replicate(() -> priorityRepository.replicate(id, name, level));
     }
 
     /**
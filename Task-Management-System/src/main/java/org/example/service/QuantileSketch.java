@@ -0,0 +1,107 @@
+package org.example.service;
+
+import java.util.Arrays;
+
+/**
+ * Streaming quantile sketch with a relative error guarantee (the DDSketch scheme).
+ * Each value v > 0 is counted in the logarithmic bucket ceil(log_gamma(v)), with
+ * gamma = (1 + a) / (1 - a); every value of a bucket is within a relative error a of the
+ * bucket's representative, so quantiles are estimated within a of the exact value.
+ *
+ * Memory depends only on the spread of the values, not their number: at a = 1%, durations
+ * from 1 ms to 10 years take under 1,300 buckets. Values are never stored or sorted.
+ */
+final class QuantileSketch {
+
+    private final double gamma;
+    private final double logGamma;
+
+    /**
+     * Counts of the buckets offset, offset + 1, ...
+     */
+    private long[] buckets = new long[0];
+    private int offset;
+
+    /**
+     * Count of values ≤ 0 (not representable by a logarithmic bucket)
+     */
+    private long zeroCount;
+    private long count;
+
+    /**
+     * @param relativeAccuracy Largest relative error of a quantile, between 0 and 1 (exclusive)
+     */
+    QuantileSketch(double relativeAccuracy) {
+        this.gamma = (1 + relativeAccuracy) / (1 - relativeAccuracy);
+        this.logGamma = Math.log(gamma);
+    }
+
+    synchronized void add(long value) {
+        count++;
+        if (value <= 0) {
+            zeroCount++;
+            return;
+        }
+        int index = (int) Math.ceil(Math.log(value) / logGamma);
+        if (buckets.length == 0) {
+            buckets = new long[16];
+            offset = index;
+        } else if (index < offset) {
+            int shift = offset - index;
+            long[] grown = new long[buckets.length + shift];
+            System.arraycopy(buckets, 0, grown, shift, buckets.length);
+            buckets = grown;
+            offset = index;
+        } else if (index - offset >= buckets.length) {
+            buckets = Arrays.copyOf(buckets, Math.max(index - offset + 1, buckets.length * 2));
+        }
+        buckets[index - offset]++;
+    }
+
+    /**
+     * Takes back a value added before, e.g., because its source was deleted.
+     */
+    synchronized void remove(long value) {
+        if (value <= 0) {
+            if (zeroCount > 0) {
+                zeroCount--;
+                count--;
+            }
+            return;
+        }
+        int index = (int) Math.ceil(Math.log(value) / logGamma) - offset;
+        if (index >= 0 && index < buckets.length && buckets[index] > 0) {
+            buckets[index]--;
+            count--;
+        }
+    }
+
+    synchronized long count() {
+        return count;
+    }
+
+    /**
+     * Estimates the value at the given quantile.
+     *
+     * @param quantile Between 0 and 1, e.g. 0.99 for the 99th percentile
+     * @return The estimate, or null if the sketch is empty
+     */
+    synchronized Long quantile(double quantile) {
+        if (count == 0) {
+            return null;
+        }
+        long rank = (long) (quantile * (count - 1));
+        long seen = zeroCount;
+        if (seen > rank) {
+            return 0L;
+        }
+        for (int i = 0; i < buckets.length; i++) {
+            seen += buckets[i];
+            if (seen > rank) {
+                // Representative with equal relative distance to both bucket bounds
+                return Math.round(2 * Math.pow(gamma, offset + i) / (gamma + 1));
+            }
+        }
+        return Math.round(2 * Math.pow(gamma, offset + buckets.length - 1) / (gamma + 1));
+    }
+}
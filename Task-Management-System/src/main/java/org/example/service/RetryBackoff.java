@@ -0,0 +1,83 @@
+package org.example.service;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Exponential backoff per shard for background work that keeps failing there (e.g., a shard that
+ * is down). After a failure the shard is skipped until its delay has passed; the delay doubles with
+ * every consecutive failure up to a maximum and is reset by the first success. So a broken shard
+ * is neither retried nor logged every few milliseconds, while the other shards carry on.
+ */
+final class RetryBackoff {
+
+    private final long firstDelayNanos;
+    private final long maxDelayNanos;
+
+    /**
+     * Consecutive failures and next allowed attempt of every shard that failed last time
+     */
+    private final Map<Integer, Failures> failuresByShard = new ConcurrentHashMap<>();
+
+    /**
+     * @param firstDelay Delay after the first failure
+     * @param maxDelay Upper bound for the delay
+     */
+    RetryBackoff(Duration firstDelay, Duration maxDelay) {
+        this.firstDelayNanos = firstDelay.toNanos();
+        this.maxDelayNanos = Math.max(firstDelayNanos, maxDelay.toNanos());
+    }
+
+    /**
+     * @param shard The shard index
+     * @return Whether work may be tried on the shard now (it did not fail, or its delay has passed)
+     */
+    boolean isDue(int shard) {
+        return remainingMillis(shard) == 0;
+    }
+
+    /**
+     * @param shard The shard index
+     * @return Milliseconds until work may be tried on the shard again, 0 if it is due
+     */
+    long remainingMillis(int shard) {
+        Failures failures = failuresByShard.get(shard);
+        if (failures == null) {
+            return 0;
+        }
+        long remaining = failures.retryAtNanos() - System.nanoTime();
+        return remaining <= 0 ? 0 : Math.max(1, Duration.ofNanos(remaining).toMillis());
+    }
+
+    /**
+     * Records a failure and delays the next attempt on the shard.
+     *
+     * @param shard The shard index
+     * @return Number of consecutive failures on the shard, including this one
+     */
+    int failed(int shard) {
+        Failures previous = failuresByShard.get(shard);
+        int count = previous == null ? 1 : previous.count() + 1;
+        long delay = firstDelayNanos;
+        for (int i = 1; i < count && delay < maxDelayNanos; i++) {
+            delay *= 2;
+        }
+        failuresByShard.put(shard, new Failures(count, System.nanoTime() + Math.min(delay, maxDelayNanos)));
+        return count;
+    }
+
+    /**
+     * Records a success, so the next failure on the shard starts with the first delay again.
+     *
+     * @param shard The shard index
+     * @return Number of consecutive failures before this success (0 if the last attempt worked)
+     */
+    int succeeded(int shard) {
+        Failures previous = failuresByShard.remove(shard);
+        return previous == null ? 0 : previous.count();
+    }
+
+    private record Failures(int count, long retryAtNanos) {
+    }
+}
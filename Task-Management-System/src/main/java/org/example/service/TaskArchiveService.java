@@ -0,0 +1,80 @@
+package org.example.service;
+
+import org.example.config.TaskArchiveProperties;
+import org.example.model.enums.TaskStatus;
+import org.example.repository.ArchivedTaskRepository;
+import org.example.repository.TaskRepository;
+import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Background archiver that keeps the hot "tasks" table small.
+ * DONE tasks older than the configured age are moved to "tasks_archive" in bounded batches:
+ * each batch is one INSERT ... SELECT plus one DELETE, in its own short transaction.
+ * Every shard archives into its own tasks_archive, so archived tasks stay on their user's shard.
+ */
+@Service
+@RequiredArgsConstructor
+public class TaskArchiveService {
+
+    private static final Logger log = LoggerFactory.getLogger(TaskArchiveService.class);
+
+    private final TaskRepository taskRepository;
+    private final ArchivedTaskRepository archivedTaskRepository;
+    private final TaskShardRouter shardRouter;
+    private final EntityExistenceIndex existenceIndex;
+    private final TaskViewProjector taskViewProjector;
+    private final TaskArchiveProperties properties;
+
+    /**
+     * Moves all DONE tasks that are old enough to the archive, batch by batch.
+     * Runs periodically in the background.
+     *
+     * @return Number of archived tasks
+     */
+    @Scheduled(fixedDelayString = "${task.archive.interval:PT10M}")
+    public long archiveCompletedTasks() {
+        if (!properties.isEnabled()) {
+            return 0;
+        }
+        LocalDateTime cutoff = LocalDateTime.now().minus(properties.getMinAge());
+        long archived = 0;
+        for (int shard = 0; shard < shardRouter.getShardCount(); shard++) {
+            while (true) {
+                Integer moved = shardRouter.inShard(shard, false, () -> archiveBatch(cutoff));
+                if (moved == null || moved == 0) {
+                    break;
+                }
+                archived += moved;
+            }
+        }
+        if (archived > 0) {
+            log.info("Archived {} DONE tasks last updated before {}", archived, cutoff);
+        }
+        return archived;
+    }
+
+    /**
+     * Moves one batch of tasks. Runs inside a transaction on one shard.
+     */
+    private int archiveBatch(LocalDateTime cutoff) {
+        List<Long> ids = taskRepository.findIdsToArchive(TaskStatus.DONE, cutoff,
+                PageRequest.of(0, properties.getBatchSize()));
+        if (ids.isEmpty()) {
+            return 0;
+        }
+        archivedTaskRepository.copyFromTasks(ids, LocalDateTime.now());
+        taskRepository.deleteAllByIdInBatch(ids);
+        taskViewProjector.remove(ids);
+        // Archived tasks are no longer found by the live endpoints
+        ids.forEach(existenceIndex::removeTask);
+        return ids.size();
+    }
+}
@@ -0,0 +1,256 @@
+package org.example.service;
+
+import org.example.exception.ResourceInUseException;
+import org.example.repository.ArchivedTaskRepository;
+import org.example.repository.TaskRepository;
+import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.function.Supplier;
+import java.util.stream.IntStream;
+
+/**
+ * Removes or reassigns all tasks of a user, category or priority before that entity is deleted,
+ * both live tasks and archived ones (tasks_archive references the same entities).
+ * Tasks are processed in bounded, set-based chunks (one SELECT of IDs plus one DELETE or UPDATE
+ * per chunk), and every chunk runs in its own short transaction so locks are held only briefly.
+ * Progress is logged for entities with more tasks than fit in one chunk.
+ *
+ * The tasks of a user are all on the user's shard; the tasks of a category or priority are
+ * processed shard by shard. Tasks reassigned to a user on another shard are moved there.
+ *
+ * With the in-memory task store ("memory" profile) the tasks are handled by InMemoryTaskService instead.
+ */
+@Service
+@RequiredArgsConstructor
+public class TaskBulkService {
+
+    private static final Logger log = LoggerFactory.getLogger(TaskBulkService.class);
+
+    private final TaskRepository taskRepository;
+    private final ArchivedTaskRepository archivedTaskRepository;
+    private final TaskShardRouter shardRouter;
+    private final EntityExistenceIndex existenceIndex;
+    private final TaskPriorityQueue taskPriorityQueue;
+    private final TaskDeadlineScheduler deadlineScheduler;
+    private final TaskDependencyGraph dependencyGraph;
+    private final TaskHierarchyService hierarchyService;
+    private final TaskViewProjector taskViewProjector;
+    private final TaskStatusHistoryService statusHistoryService;
+    private final Optional<InMemoryTaskService> inMemoryTaskService;
+
+    /**
+     * Maximum number of tasks deleted or updated per transaction
+     */
+    @Value("${task.bulk.chunk-size:500}")
+    private int chunkSize;
+
+    /**
+     * Entity whose tasks are processed
+     */
+    public enum TaskOwner {
+        USER, CATEGORY, PRIORITY
+    }
+
+    /**
+     * Deletes all tasks of an owner, chunk by chunk.
+     *
+     * @param owner Which reference the tasks are selected by
+     * @param ownerId The ID of the user, category or priority
+     * @return Number of deleted tasks
+     */
+    public long deleteTasks(TaskOwner owner, Long ownerId) {
+        if (inMemoryTaskService.isPresent()) {
+            return inMemoryTaskService.get().deleteTasks(owner, ownerId);
+        }
+        long deleted = 0;
+        for (int shard : shardsOf(owner, ownerId)) {
+            deleted += processInChunks(shard, owner, ownerId, "Deleted", () -> count(owner, ownerId),
+                    () -> findChunk(owner, ownerId), ids -> {
+                        taskRepository.deleteAllByIdInBatch(ids);
+                        taskViewProjector.remove(ids);
+                        ids.forEach(id -> {
+                            existenceIndex.removeTask(id);
+                            taskPriorityQueue.untrack(id);
+                            deadlineScheduler.untrack(id);
+                        });
+                        dependencyGraph.untrack(ids);
+                        hierarchyService.untrack(ids);
+                        statusHistoryService.deleteHistory(ids);
+                        shardRouter.forgetTasks(ids);
+                    }, null);
+            deleted += processInChunks(shard, owner, ownerId, "Deleted archived", () -> countArchived(owner, ownerId),
+                    () -> findArchivedChunk(owner, ownerId), ids -> {
+                        archivedTaskRepository.deleteAllByIdInBatch(ids);
+                        dependencyGraph.untrack(ids);
+                        hierarchyService.untrack(ids);
+                        statusHistoryService.deleteHistory(ids);
+                        shardRouter.forgetTasks(ids);
+                    }, null);
+        }
+        return deleted;
+    }
+
+    /**
+     * Moves all tasks of an owner to another user, category or priority, chunk by chunk.
+     *
+     * @param owner Which reference the tasks are selected by and moved on
+     * @param ownerId The ID of the current user, category or priority
+     * @param targetId The ID of the new user, category or priority
+     * @return Number of reassigned tasks
+     */
+    public long reassignTasks(TaskOwner owner, Long ownerId, Long targetId) {
+        if (inMemoryTaskService.isPresent()) {
+            return inMemoryTaskService.get().reassignTasks(owner, ownerId, targetId);
+        }
+        long reassigned = 0;
+        for (int shard : shardsOf(owner, ownerId)) {
+            // Tasks given to a user on another shard follow the user once their chunk has committed
+            int targetShard = owner == TaskOwner.USER ? shardRouter.shardOfUser(targetId) : shard;
+
+            reassigned += processInChunks(shard, owner, ownerId, "Reassigned", () -> count(owner, ownerId),
+                    () -> findChunk(owner, ownerId), ids -> {
+                        LocalDateTime now = LocalDateTime.now();
+                        switch (owner) {
+                            case USER -> taskRepository.reassignUser(ids, targetId, now);
+                            case CATEGORY -> taskRepository.reassignCategory(ids, targetId, now);
+                            case PRIORITY -> taskRepository.reassignPriority(ids, targetId, now);
+                        }
+                        taskViewProjector.refresh(ids);
+                        // User and priority drive the next-task queue
+                        if (owner != TaskOwner.CATEGORY) {
+                            taskPriorityQueue.refresh(ids);
+                        }
+                    }, ids -> shardRouter.moveTasks(ids, shard, targetShard));
+            reassigned += processInChunks(shard, owner, ownerId, "Reassigned archived",
+                    () -> countArchived(owner, ownerId), () -> findArchivedChunk(owner, ownerId), ids -> {
+                        switch (owner) {
+                            case USER -> archivedTaskRepository.reassignUser(ids, targetId);
+                            case CATEGORY -> archivedTaskRepository.reassignCategory(ids, targetId);
+                            case PRIORITY -> archivedTaskRepository.reassignPriority(ids, targetId);
+                        }
+                    }, ids -> shardRouter.moveArchivedTasks(ids, shard, targetShard));
+        }
+        return reassigned;
+    }
+
+    /**
+     * Fails if live or archived tasks on any shard still reference the owner.
+     * Shard 0, where the owner itself is deleted, is counted in the caller's transaction; its foreign
+     * keys would refuse the delete as well, but only with a database error at commit.
+     * The in-memory task store has no foreign keys, so all of its tasks are checked.
+     *
+     * @param owner Which reference the tasks are selected by
+     * @param ownerId The ID of the user, category or priority
+     * @throws ResourceInUseException if tasks still reference the owner
+     */
+    public void checkNotReferencedByTasks(TaskOwner owner, Long ownerId) {
+        if (inMemoryTaskService.isPresent()) {
+            failIfReferenced(owner, ownerId, inMemoryTaskService.get().countTasks(owner, ownerId));
+            return;
+        }
+        for (int shard : shardsOf(owner, ownerId)) {
+            long tasks = shard == 0
+                    ? count(owner, ownerId) + countArchived(owner, ownerId)
+                    : shardRouter.inShard(shard, false, () -> count(owner, ownerId) + countArchived(owner, ownerId));
+            failIfReferenced(owner, ownerId, tasks);
+        }
+    }
+
+    private static void failIfReferenced(TaskOwner owner, Long ownerId, long tasks) {
+        if (tasks > 0) {
+            throw new ResourceInUseException(owner.name().toLowerCase(), ownerId, tasks);
+        }
+    }
+
+    /**
+     * Shards that can hold tasks of the owner.
+     */
+    private int[] shardsOf(TaskOwner owner, Long ownerId) {
+        if (owner == TaskOwner.USER) {
+            return new int[]{shardRouter.shardOfUser(ownerId)};
+        }
+        return IntStream.range(0, shardRouter.getShardCount()).toArray();
+    }
+
+    /**
+     * Repeatedly selects the next chunk of task IDs of the owner and applies the action to it,
+     * each chunk in its own transaction on the shard, until the owner has no tasks left there.
+     * The action must remove the tasks from the owner, otherwise the loop would not end.
+     * The optional afterCommit action runs on each chunk once its transaction has committed.
+     */
+    private long processInChunks(int shard, TaskOwner owner, Long ownerId, String verb, Supplier<Long> count,
+                                 Supplier<List<Long>> nextChunk, ChunkAction action, ChunkAction afterCommit) {
+        long total = shardRouter.inShard(shard, true, count);
+        long done = 0;
+        while (true) {
+            List<Long> ids = shardRouter.inShard(shard, false, () -> {
+                List<Long> chunk = nextChunk.get();
+                if (!chunk.isEmpty()) {
+                    action.apply(chunk);
+                }
+                return chunk;
+            });
+            if (ids == null || ids.isEmpty()) {
+                break;
+            }
+            if (afterCommit != null) {
+                afterCommit.apply(ids);
+            }
+            done += ids.size();
+            if (total > chunkSize) {
+                log.info("{} {}/{} tasks of {} {}", verb, done, total, owner.name().toLowerCase(), ownerId);
+            }
+        }
+        return done;
+    }
+
+    private long count(TaskOwner owner, Long ownerId) {
+        return switch (owner) {
+            case USER -> taskRepository.countByUserId(ownerId);
+            case CATEGORY -> taskRepository.countByCategoryId(ownerId);
+            case PRIORITY -> taskRepository.countByPriorityId(ownerId);
+        };
+    }
+
+    private List<Long> findChunk(TaskOwner owner, Long ownerId) {
+        PageRequest chunk = PageRequest.of(0, chunkSize);
+        return switch (owner) {
+            case USER -> taskRepository.findIdsByUserId(ownerId, chunk);
+            case CATEGORY -> taskRepository.findIdsByCategoryId(ownerId, chunk);
+            case PRIORITY -> taskRepository.findIdsByPriorityId(ownerId, chunk);
+        };
+    }
+
+    private long countArchived(TaskOwner owner, Long ownerId) {
+        return switch (owner) {
+            case USER -> archivedTaskRepository.countByUserId(ownerId);
+            case CATEGORY -> archivedTaskRepository.countByCategoryId(ownerId);
+            case PRIORITY -> archivedTaskRepository.countByPriorityId(ownerId);
+        };
+    }
+
+    private List<Long> findArchivedChunk(TaskOwner owner, Long ownerId) {
+        PageRequest chunk = PageRequest.of(0, chunkSize);
+        return switch (owner) {
+            case USER -> archivedTaskRepository.findIdsByUserId(ownerId, chunk);
+            case CATEGORY -> archivedTaskRepository.findIdsByCategoryId(ownerId, chunk);
+            case PRIORITY -> archivedTaskRepository.findIdsByPriorityId(ownerId, chunk);
+        };
+    }
+
+    /**
+     * Work done on one chunk of task IDs.
+     */
+    @FunctionalInterface
+    private interface ChunkAction {
+        void apply(List<Long> ids);
+    }
+}
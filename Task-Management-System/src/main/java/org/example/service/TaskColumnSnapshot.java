@@ -0,0 +1,240 @@
+package org.example.service;
+
+import org.example.model.enums.TaskStatus;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Columnar copy of the live tasks for reporting.
+ * Every column is a primitive array indexed by task ID (IDs are dense), holding only what
+ * reports group and filter by: status ordinal, category ID, priority ID and creation day
+ * (days since 1970-01-01). Slots of IDs without a live task have the status ABSENT.
+ *
+ * Scans split the ID range into slices that are counted in parallel on the common
+ * fork-join pool. Every thread adds the slices it counts into its own array of counters, so a
+ * scan allocates one array per participating thread (not one per slice); they are summed at the end.
+ */
+final class TaskColumnSnapshot {
+
+    private static final Logger log = LoggerFactory.getLogger(TaskColumnSnapshot.class);
+
+    static final byte ABSENT = -1;
+
+    private static final int MAX_SLOTS = Integer.MAX_VALUE - 8;
+    private static final int MIN_SLICE = 1 << 15;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    private byte[] status = new byte[0];
+    private int[] categoryId = new int[0];
+    private int[] priorityId = new int[0];
+    private int[] createdDay = new int[0];
+
+    /**
+     * Highest used slot + 1
+     */
+    private int size;
+
+    private int minDay = Integer.MAX_VALUE;
+    private int maxDay = Integer.MIN_VALUE;
+
+    /**
+     * Column values of one task.
+     */
+    record Row(long id, TaskStatus status, long categoryId, long priorityId, LocalDateTime createdAt) {
+    }
+
+    /**
+     * What a scan counts: a code per status ordinal, priority ID and category ID (-1 = filtered out),
+     * the creation day range [fromDay, toDay) and, if weeks are grouped, the first week and the
+     * number of weeks. A task is counted in the cell (statusCode, priorityCode, categoryCode, week).
+     */
+    record Scan(int[] statusCodes, int[] priorityCodes, int[] categoryCodes, int fromDay, int toDay,
+                boolean groupByWeek, int firstWeek, int statusCount, int priorityCount, int categoryCount,
+                int weekCount) {
+
+        long cellCount() {
+            return (long) statusCount * priorityCount * categoryCount * weekCount;
+        }
+    }
+
+    /**
+     * Applies changed and removed tasks in one step.
+     */
+    void apply(Collection<Row> changed, Collection<Long> removed) {
+        lock.writeLock().lock();
+        try {
+            for (Row row : changed) {
+                put(row);
+            }
+            for (Long id : removed) {
+                if (id > 0 && id < size) {
+                    status[id.intValue()] = ABSENT;
+                }
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Smallest and largest creation day ever stored, or null if the snapshot is empty.
+     */
+    int[] dayRange() {
+        lock.readLock().lock();
+        try {
+            return minDay <= maxDay ? new int[]{minDay, maxDay} : null;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Counts the tasks per cell of the scan.
+     *
+     * @return One counter per cell, indexed ((status * priorities + priority) * categories + category) * weeks + week
+     */
+    long[] count(Scan scan) {
+        lock.readLock().lock();
+        try {
+            int parallelism = ForkJoinPool.getCommonPoolParallelism();
+            int slice = Math.max(MIN_SLICE, size / Math.max(1, parallelism * 4));
+            Map<Thread, long[]> countsByThread = new ConcurrentHashMap<>();
+            ForkJoinPool.commonPool().invoke(new CountTask(scan, countsByThread, status, categoryId, priorityId,
+                    createdDay, 0, size, slice));
+            long[] counts = null;
+            for (long[] threadCounts : countsByThread.values()) {
+                if (counts == null) {
+                    counts = threadCounts;
+                } else {
+                    for (int i = 0; i < counts.length; i++) {
+                        counts[i] += threadCounts[i];
+                    }
+                }
+            }
+            return counts != null ? counts : new long[(int) scan.cellCount()];
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    static int weekOf(int day) {
+        // Weeks start on Monday; 1970-01-01 was a Thursday
+        return Math.floorDiv(day + 3, 7);
+    }
+
+    private void put(Row row) {
+        if (row.id() <= 0 || row.id() >= MAX_SLOTS) {
+            log.warn("Task {} is outside the ID range of the report snapshot and is not counted", row.id());
+            return;
+        }
+        int slot = (int) row.id();
+        ensureCapacity(slot);
+        int day = (int) row.createdAt().toLocalDate().toEpochDay();
+        status[slot] = (byte) row.status().ordinal();
+        categoryId[slot] = (int) row.categoryId();
+        priorityId[slot] = (int) row.priorityId();
+        createdDay[slot] = day;
+        size = Math.max(size, slot + 1);
+        minDay = Math.min(minDay, day);
+        maxDay = Math.max(maxDay, day);
+    }
+
+    private void ensureCapacity(int slot) {
+        if (slot < status.length) {
+            return;
+        }
+        int length = (int) Math.min(MAX_SLOTS, Math.max(slot + 1L, Math.max(1024, status.length * 2L)));
+        int oldLength = status.length;
+        status = Arrays.copyOf(status, length);
+        Arrays.fill(status, oldLength, length, ABSENT);
+        categoryId = Arrays.copyOf(categoryId, length);
+        priorityId = Arrays.copyOf(priorityId, length);
+        createdDay = Arrays.copyOf(createdDay, length);
+    }
+
+    /**
+     * Counts one slice of slots, splitting it while it is larger than the slice size.
+     * A thread counts one slice at a time, so its array in countsByThread is never shared.
+     */
+    private static final class CountTask extends RecursiveAction {
+
+        private final Scan scan;
+        private final Map<Thread, long[]> countsByThread;
+        private final byte[] status;
+        private final int[] categoryId;
+        private final int[] priorityId;
+        private final int[] createdDay;
+        private final int from;
+        private final int to;
+        private final int slice;
+
+        CountTask(Scan scan, Map<Thread, long[]> countsByThread, byte[] status, int[] categoryId,
+                  int[] priorityId, int[] createdDay, int from, int to, int slice) {
+            this.scan = scan;
+            this.countsByThread = countsByThread;
+            this.status = status;
+            this.categoryId = categoryId;
+            this.priorityId = priorityId;
+            this.createdDay = createdDay;
+            this.from = from;
+            this.to = to;
+            this.slice = slice;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from > slice) {
+                int middle = (from + to) >>> 1;
+                CountTask left = new CountTask(scan, countsByThread, status, categoryId, priorityId, createdDay,
+                        from, middle, slice);
+                left.fork();
+                new CountTask(scan, countsByThread, status, categoryId, priorityId, createdDay, middle, to, slice)
+                        .compute();
+                left.join();
+                return;
+            }
+            scanSlice(countsByThread.computeIfAbsent(Thread.currentThread(),
+                    thread -> new long[(int) scan.cellCount()]));
+        }
+
+        private void scanSlice(long[] counts) {
+            int[] statusCodes = scan.statusCodes();
+            int[] priorityCodes = scan.priorityCodes();
+            int[] categoryCodes = scan.categoryCodes();
+            int priorityCount = scan.priorityCount();
+            int categoryCount = scan.categoryCount();
+            int weekCount = scan.weekCount();
+            for (int i = from; i < to; i++) {
+                byte s = status[i];
+                if (s == ABSENT) {
+                    continue;
+                }
+                int statusCode = statusCodes[s];
+                int day = createdDay[i];
+                if (statusCode < 0 || day < scan.fromDay() || day >= scan.toDay()) {
+                    continue;
+                }
+                int priority = priorityId[i];
+                int priorityCode = priority < priorityCodes.length ? priorityCodes[priority] : -1;
+                int category = categoryId[i];
+                int categoryCode = category < categoryCodes.length ? categoryCodes[category] : -1;
+                if (priorityCode < 0 || categoryCode < 0) {
+                    continue;
+                }
+                int week = scan.groupByWeek() ? weekOf(day) - scan.firstWeek() : 0;
+                counts[((statusCode * priorityCount + priorityCode) * categoryCount + categoryCode) * weekCount + week]++;
+            }
+        }
+    }
+}
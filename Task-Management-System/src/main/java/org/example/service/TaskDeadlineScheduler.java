@@ -0,0 +1,231 @@
+package org.example.service;
+
+import org.example.config.TaskDeadlineProperties;
+import org.example.model.entity.Task;
+import org.example.model.enums.TaskStatus;
+import org.example.repository.InMemoryTaskStore;
+import org.example.repository.TaskRepository;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.TreeMap;
+
+/**
+ * Overdue detection for task deadlines without polling the tasks table.
+ * The deadlines of all open tasks (not DONE, not yet overdue) are held in a hierarchical
+ * TimingWheel; every tick the wheel hands out the tasks whose deadline has passed, and they
+ * are flagged overdue in one UPDATE per shard and batch. The UPDATE re-checks status and
+ * deadline, so a task changed since it was scheduled is never flagged by mistake.
+ *
+ * The wheel is rebuilt from the database at startup and kept in line with every write that
+ * sets a deadline or changes a status, once its transaction has committed: a new deadline
+ * clears the overdue flag and is scheduled (a past one is flagged at the next tick), and
+ * DONE tasks are removed from the wheel.
+ *
+ * Tasks of a shard where flagging fails go back on the wheel and are retried with a growing
+ * delay (see RetryBackoff), so a broken shard is not hit, and logged, at every tick.
+ */
+@Service
+public class TaskDeadlineScheduler {
+
+    private static final Logger log = LoggerFactory.getLogger(TaskDeadlineScheduler.class);
+
+    /**
+     * How far ahead the wheel reaches; later deadlines wait on its last level
+     */
+    private static final Duration HORIZON = Duration.ofDays(365L * 100);
+
+    private final TaskRepository taskRepository;
+    private final TaskShardRouter shardRouter;
+    private final TaskViewProjector taskViewProjector;
+    private final TaskDeadlineProperties properties;
+    private final Optional<InMemoryTaskStore> inMemoryTaskStore;
+    private final TimingWheel wheel;
+
+    /**
+     * Delays flagging on shards where it failed last time
+     */
+    private final RetryBackoff retryBackoff;
+
+    /**
+     * Delays the next tick after the shards of the due tasks could not be looked up (key 0)
+     */
+    private final RetryBackoff lookupBackoff;
+
+    public TaskDeadlineScheduler(TaskRepository taskRepository, TaskShardRouter shardRouter,
+                                 TaskViewProjector taskViewProjector, TaskDeadlineProperties properties,
+                                 Optional<InMemoryTaskStore> inMemoryTaskStore) {
+        this.taskRepository = taskRepository;
+        this.shardRouter = shardRouter;
+        this.taskViewProjector = taskViewProjector;
+        this.properties = properties;
+        this.inMemoryTaskStore = inMemoryTaskStore;
+        this.wheel = new TimingWheel(properties.getTick().toMillis(), properties.getWheelSize(),
+                HORIZON.toMillis(), System.currentTimeMillis());
+        this.retryBackoff = new RetryBackoff(properties.getTick(), properties.getMaxRetryDelay());
+        this.lookupBackoff = new RetryBackoff(properties.getTick(), properties.getMaxRetryDelay());
+    }
+
+    /**
+     * Schedules the deadlines of all open tasks. Runs while the application context starts,
+     * before requests can change deadlines, so no newer deadline is overwritten.
+     * The in-memory task store starts empty, so there is nothing to load for it.
+     */
+    @PostConstruct
+    public void rebuild() {
+        if (inMemoryTaskStore.isPresent()) {
+            return;
+        }
+        shardRouter.onAllShards(false, shard -> taskRepository.findOpenDeadlines(TaskStatus.DONE))
+                .forEach(rows -> rows.forEach(row ->
+                        wheel.schedule((Long) row[0], toMillis((LocalDateTime) row[1]))));
+        log.info("Scheduled {} task deadlines", wheel.size());
+    }
+
+    /**
+     * Brings the wheel in line with a created or modified task once the transaction commits.
+     *
+     * @param task The task after the change
+     */
+    public void track(Task task) {
+        track(task.getId(), task.getDueAt(), task.getStatus(), task.isOverdue());
+    }
+
+    /**
+     * Brings the wheel in line with a created or modified task once the transaction commits.
+     * Only tasks with a deadline that are neither DONE nor already overdue stay scheduled.
+     *
+     * @param taskId The ID of the task
+     * @param dueAt The deadline of the task, may be null
+     * @param status The status of the task
+     * @param overdue Whether the task is already flagged overdue
+     */
+    public void track(Long taskId, LocalDateTime dueAt, TaskStatus status, boolean overdue) {
+        if (dueAt == null || status == TaskStatus.DONE || overdue) {
+            untrack(taskId);
+            return;
+        }
+        long deadline = toMillis(dueAt);
+        TransactionCallbacks.afterCommit(() -> wheel.schedule(taskId, deadline));
+    }
+
+    /**
+     * Removes the deadline of a task from the wheel once the transaction commits.
+     *
+     * @param taskId The ID of the task
+     */
+    public void untrack(Long taskId) {
+        TransactionCallbacks.afterCommit(() -> wheel.cancel(taskId));
+    }
+
+    /**
+     * Flags the tasks whose deadline has passed. Runs every tick.
+     * When a batch fails, it and the rest of its shard go back on the wheel until the retry delay
+     * of the shard has passed, unless their tasks got a new deadline meanwhile.
+     */
+    @Scheduled(fixedDelayString = "${task.deadlines.tick:PT1S}")
+    public void flagOverdueTasks() {
+        List<Long> due = wheel.advance(System.currentTimeMillis());
+        if (due.isEmpty()) {
+            return;
+        }
+        LocalDateTime now = LocalDateTime.now();
+        if (inMemoryTaskStore.isPresent()) {
+            flagInMemory(inMemoryTaskStore.get(), due, now);
+            return;
+        }
+
+        // The shards are looked up on shard 0
+        if (!lookupBackoff.isDue(0)) {
+            retryLater(due, lookupBackoff, 0);
+            return;
+        }
+        Map<Long, Integer> shards;
+        try {
+            shards = shardRouter.shardsOfTasks(due);
+        } catch (RuntimeException ex) {
+            logFailure(lookupBackoff.failed(0), due.size(), 0, ex);
+            retryLater(due, lookupBackoff, 0);
+            return;
+        }
+        lookupBackoff.succeeded(0);
+        Map<Integer, List<Long>> dueByShard = new TreeMap<>();
+        due.forEach(id -> dueByShard
+                .computeIfAbsent(shards.get(id), shard -> new ArrayList<>())
+                .add(id));
+        dueByShard.forEach((shard, ids) -> {
+            if (!retryBackoff.isDue(shard)) {
+                retryLater(ids, retryBackoff, shard);
+                return;
+            }
+            for (int from = 0; from < ids.size(); from += properties.getBatchSize()) {
+                List<Long> batch = ids.subList(from, Math.min(ids.size(), from + properties.getBatchSize()));
+                try {
+                    int flagged = shardRouter.inShard(shard, false, () -> {
+                        int updated = taskRepository.markOverdue(batch, TaskStatus.DONE, now);
+                        if (updated > 0) {
+                            taskViewProjector.refresh(batch);
+                        }
+                        return updated;
+                    });
+                    log.debug("Flagged {} of {} tasks overdue on shard {}", flagged, batch.size(), shard);
+                } catch (RuntimeException ex) {
+                    logFailure(retryBackoff.failed(shard), ids.size() - from, shard, ex);
+                    retryLater(ids.subList(from, ids.size()), retryBackoff, shard);
+                    return;
+                }
+            }
+            int failures = retryBackoff.succeeded(shard);
+            if (failures > 0) {
+                log.info("Flagged overdue tasks on shard {} again after {} failed attempts", shard, failures);
+            }
+        });
+    }
+
+    /**
+     * Puts tasks back on the wheel for when the retry delay of the shard has passed.
+     */
+    private void retryLater(List<Long> ids, RetryBackoff backoff, int shard) {
+        long retryAt = System.currentTimeMillis() + backoff.remainingMillis(shard);
+        ids.forEach(id -> wheel.scheduleIfAbsent(id, retryAt));
+    }
+
+    /**
+     * Logs the first failure in a row with its stack trace and the following ones as one line,
+     * at most once per retry delay.
+     */
+    private void logFailure(int failures, int count, int shard, RuntimeException ex) {
+        if (failures == 1) {
+            log.error("Failed to flag {} tasks overdue on shard {}, retrying later", count, shard, ex);
+        } else {
+            log.warn("Failed to flag {} tasks overdue on shard {} again ({} attempts): {}",
+                    count, shard, failures, ex.toString());
+        }
+    }
+
+    /**
+     * Flags overdue tasks of the in-memory store, each with a compare-and-set on the task record.
+     */
+    private void flagInMemory(InMemoryTaskStore store, List<Long> due, LocalDateTime now) {
+        for (Long id : due) {
+            store.findById(id)
+                    .filter(task -> task.dueAt() != null && !task.dueAt().isAfter(now))
+                    .filter(task -> task.status() != TaskStatus.DONE && !task.overdue())
+                    .ifPresent(task -> store.replace(task, task.asOverdue()));
+        }
+    }
+
+    private static long toMillis(LocalDateTime time) {
+        return time.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+    }
+}
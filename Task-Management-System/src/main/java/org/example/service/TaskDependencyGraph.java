@@ -0,0 +1,421 @@
+package org.example.service;
+
+import org.example.exception.TaskDependencyCycleException;
+import org.example.model.entity.TaskDependency;
+import org.example.model.enums.TaskStatus;
+import org.example.repository.InMemoryTaskStore;
+import org.example.repository.TaskDependencyRepository;
+import org.example.repository.TaskRepository;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.function.Predicate;
+
+/**
+ * In-memory index of the task dependencies and of the ready set: the open (not DONE) tasks
+ * whose dependencies are all DONE, i.e., the tasks that can be worked on right now.
+ *
+ * Only tasks with a dependency or a dependent are graph nodes; every other task is ready
+ * exactly when it is open. Each node counts its open dependencies, so a status change only
+ * visits the dependents of the task (O(out-degree)) and the ready set is never recomputed.
+ *
+ * Cycles are rejected when a dependency is added, without searching the whole graph: the
+ * nodes keep a topological order (every task after the tasks it depends on), and only a new
+ * dependency against that order is checked, by searching the nodes between its two ends
+ * and reordering them (Pearce-Kelly dynamic topological sort).
+ *
+ * The index is rebuilt from the database at startup and kept in line with every write that
+ * creates, completes, reopens or deletes a task, once its transaction has committed.
+ */
+@Component
+@RequiredArgsConstructor
+public class TaskDependencyGraph {
+
+    private static final Logger log = LoggerFactory.getLogger(TaskDependencyGraph.class);
+
+    private final TaskRepository taskRepository;
+    private final TaskDependencyRepository dependencyRepository;
+    private final TaskShardRouter shardRouter;
+    private final Optional<InMemoryTaskStore> inMemoryTaskStore;
+
+    /**
+     * IDs of the ready tasks; lock-free to read, changed under the lock of the graph
+     */
+    private final IdBitSet ready = new IdBitSet();
+
+    /**
+     * Tasks with at least one dependency or dependent, by ID
+     */
+    private final Map<Long, Node> nodes = new HashMap<>();
+
+    /**
+     * Smallest and largest position handed out in the topological order
+     */
+    private long firstPosition;
+    private long lastPosition;
+
+    /**
+     * A task with dependencies or dependents.
+     */
+    private static final class Node {
+        private final Long id;
+        private final Set<Long> dependsOn = new HashSet<>(4);
+        private final Set<Long> dependents = new HashSet<>(4);
+        private boolean done;
+        private int openDependencies;
+
+        /**
+         * Position in the topological order, smaller than the positions of all dependents
+         */
+        private long position;
+
+        private Node(Long id, boolean done, long position) {
+            this.id = id;
+            this.done = done;
+            this.position = position;
+        }
+    }
+
+    /**
+     * Loads the open tasks of all shards and the dependencies.
+     * Runs while the application context starts, before requests can change tasks or dependencies.
+     * The in-memory task store starts empty, so there is nothing to load for it.
+     */
+    @PostConstruct
+    public synchronized void rebuild() {
+        ready.clear();
+        nodes.clear();
+        firstPosition = 0;
+        lastPosition = 0;
+        if (inMemoryTaskStore.isPresent()) {
+            return;
+        }
+        shardRouter.onAllShards(false, shard -> taskRepository.findOpenIds(TaskStatus.DONE))
+                .forEach(ids -> ids.forEach(ready::add));
+
+        // All nodes first: until the ready set changes below, a task is done exactly when it is not in it
+        List<TaskDependency> dependencies = shardRouter.inShard(0, false, dependencyRepository::findAll);
+        for (TaskDependency dependency : dependencies) {
+            nodes.computeIfAbsent(dependency.getTaskId(), id -> new Node(id, !ready.contains(id), 0));
+            nodes.computeIfAbsent(dependency.getDependsOnId(), id -> new Node(id, !ready.contains(id), 0));
+        }
+        for (TaskDependency dependency : dependencies) {
+            link(nodes.get(dependency.getTaskId()), nodes.get(dependency.getDependsOnId()));
+        }
+        nodes.values().forEach(this::updateReady);
+        sortTopologically();
+        log.info("Loaded {} task dependencies between {} tasks", dependencies.size(), nodes.size());
+    }
+
+    /**
+     * Brings the ready set in line with a created or changed task once the transaction commits.
+     *
+     * @param taskId The ID of the task
+     * @param status The status of the task after the change
+     */
+    public void track(Long taskId, TaskStatus status) {
+        track(Map.of(taskId, status));
+    }
+
+    /**
+     * Brings the ready set in line with created or changed tasks once the transaction commits.
+     *
+     * @param statuses The status of every task after the change, by task ID
+     */
+    public void track(Map<Long, TaskStatus> statuses) {
+        if (!statuses.isEmpty()) {
+            TransactionCallbacks.afterCommit(() -> applyStatuses(statuses));
+        }
+    }
+
+    /**
+     * Removes deleted tasks and their dependencies once the transaction commits,
+     * from the graph and from the task_dependencies table.
+     *
+     * @param taskIds IDs of the deleted tasks
+     */
+    public void untrack(Collection<Long> taskIds) {
+        if (taskIds.isEmpty()) {
+            return;
+        }
+        List<Long> ids = List.copyOf(taskIds);
+        TransactionCallbacks.afterCommit(() -> {
+            List<Long> linked = remove(ids);
+            if (!linked.isEmpty()) {
+                shardRouter.runInShard(0, () -> dependencyRepository.deleteByTaskIds(linked));
+            }
+        });
+    }
+
+    /**
+     * Adds a dependency to the graph, unless it would close a cycle.
+     * A task not yet in the graph counts as DONE if it is not in the ready set, so both
+     * tasks must exist and their status changes must have been tracked.
+     *
+     * @param taskId The ID of the task that depends on the other one
+     * @param dependsOnId The ID of the task it depends on
+     * @return true if the dependency was added, false if it already existed
+     * @throws TaskDependencyCycleException if the other task already depends on the task
+     */
+    synchronized boolean addDependency(Long taskId, Long dependsOnId) {
+        if (taskId.equals(dependsOnId)) {
+            throw new TaskDependencyCycleException(taskId, dependsOnId);
+        }
+        Node task = nodes.get(taskId);
+        Node dependsOn = nodes.get(dependsOnId);
+        if (task != null && task.dependsOn.contains(dependsOnId)) {
+            return false;
+        }
+        if (task != null && dependsOn != null && dependsOn.position > task.position) {
+            reorder(task, dependsOn);
+        }
+        // New nodes go where they cannot break the order: a new dependency first, a new dependent last
+        if (dependsOn == null) {
+            dependsOn = addNode(dependsOnId, --firstPosition);
+        }
+        if (task == null) {
+            task = addNode(taskId, ++lastPosition);
+        }
+        link(task, dependsOn);
+        updateReady(task);
+        return true;
+    }
+
+    /**
+     * Removes a dependency from the graph.
+     *
+     * @param taskId The ID of the task that depends on the other one
+     * @param dependsOnId The ID of the task it depends on
+     * @return true if the dependency existed
+     */
+    synchronized boolean removeDependency(Long taskId, Long dependsOnId) {
+        Node task = nodes.get(taskId);
+        if (task == null || !task.dependsOn.remove(dependsOnId)) {
+            return false;
+        }
+        Node dependsOn = nodes.get(dependsOnId);
+        dependsOn.dependents.remove(taskId);
+        if (!dependsOn.done) {
+            task.openDependencies--;
+        }
+        updateReady(task);
+        removeIfUnlinked(task);
+        removeIfUnlinked(dependsOn);
+        return true;
+    }
+
+    /**
+     * @return IDs of the tasks the task depends on, sorted
+     */
+    synchronized List<Long> dependenciesOf(Long taskId) {
+        Node node = nodes.get(taskId);
+        return node == null ? List.of() : node.dependsOn.stream().sorted().toList();
+    }
+
+    /**
+     * @return IDs of the tasks depending on the task, sorted
+     */
+    synchronized List<Long> dependentsOf(Long taskId) {
+        Node node = nodes.get(taskId);
+        return node == null ? List.of() : node.dependents.stream().sorted().toList();
+    }
+
+    /**
+     * @param taskId The ID of the task
+     * @return Whether the task is open and all its dependencies are DONE
+     */
+    public boolean isReady(Long taskId) {
+        return ready.contains(taskId);
+    }
+
+    /**
+     * @return IDs of all ready tasks, sorted
+     */
+    public List<Long> readyTaskIds() {
+        List<Long> ids = new ArrayList<>();
+        ready.forEach(ids::add);
+        return ids;
+    }
+
+    private synchronized void applyStatuses(Map<Long, TaskStatus> statuses) {
+        statuses.forEach((taskId, status) -> {
+            boolean done = status == TaskStatus.DONE;
+            Node node = nodes.get(taskId);
+            if (node == null) {
+                if (done) {
+                    ready.remove(taskId);
+                } else {
+                    ready.add(taskId);
+                }
+                return;
+            }
+            if (node.done != done) {
+                node.done = done;
+                for (Long dependentId : node.dependents) {
+                    Node dependent = nodes.get(dependentId);
+                    dependent.openDependencies += done ? -1 : 1;
+                    updateReady(dependent);
+                }
+            }
+            updateReady(node);
+        });
+    }
+
+    /**
+     * Removes tasks and all their dependencies from the graph.
+     *
+     * @return IDs of the removed tasks that had dependencies or dependents
+     */
+    private synchronized List<Long> remove(List<Long> taskIds) {
+        List<Long> linked = new ArrayList<>();
+        for (Long taskId : taskIds) {
+            ready.remove(taskId);
+            Node node = nodes.remove(taskId);
+            if (node == null) {
+                continue;
+            }
+            linked.add(taskId);
+            for (Long dependsOnId : node.dependsOn) {
+                Node dependsOn = nodes.get(dependsOnId);
+                dependsOn.dependents.remove(taskId);
+                removeIfUnlinked(dependsOn);
+            }
+            for (Long dependentId : node.dependents) {
+                Node dependent = nodes.get(dependentId);
+                dependent.dependsOn.remove(taskId);
+                if (!node.done) {
+                    dependent.openDependencies--;
+                }
+                updateReady(dependent);
+                removeIfUnlinked(dependent);
+            }
+        }
+        return linked;
+    }
+
+    /**
+     * Restores the topological order before the dependency of the task on another task that
+     * comes later in the order is added. Only the nodes between the two positions can be out
+     * of order afterwards: the dependents of the task up to the other task's position, and
+     * the dependencies of the other task down to the task's position. The other task is
+     * among the former exactly when it already depends on the task.
+     */
+    private void reorder(Node task, Node dependsOn) {
+        long lower = task.position;
+        long upper = dependsOn.position;
+        List<Node> moveUp = reachable(task, node -> node.dependents, node -> node.position <= upper);
+        if (moveUp.contains(dependsOn)) {
+            throw new TaskDependencyCycleException(task.id, dependsOn.id);
+        }
+        List<Node> moveDown = reachable(dependsOn, node -> node.dependsOn, node -> node.position >= lower);
+
+        // Hand the same positions out again: first the dependencies, then the dependents
+        Comparator<Node> byPosition = Comparator.comparingLong(node -> node.position);
+        moveDown.sort(byPosition);
+        moveUp.sort(byPosition);
+        List<Node> moved = new ArrayList<>(moveDown);
+        moved.addAll(moveUp);
+        long[] positions = moved.stream().mapToLong(node -> node.position).sorted().toArray();
+        for (int i = 0; i < positions.length; i++) {
+            moved.get(i).position = positions[i];
+        }
+    }
+
+    /**
+     * Collects the nodes reachable from a start node (itself included) over the given edges,
+     * only passing through nodes accepted by the filter (iterative depth-first search).
+     */
+    private List<Node> reachable(Node start, Function<Node, Set<Long>> edges, Predicate<Node> filter) {
+        List<Node> found = new ArrayList<>();
+        Set<Long> visited = new HashSet<>();
+        Deque<Node> stack = new ArrayDeque<>();
+        stack.push(start);
+        visited.add(start.id);
+        while (!stack.isEmpty()) {
+            Node node = stack.pop();
+            found.add(node);
+            for (Long nextId : edges.apply(node)) {
+                Node next = nodes.get(nextId);
+                if (filter.test(next) && visited.add(nextId)) {
+                    stack.push(next);
+                }
+            }
+        }
+        return found;
+    }
+
+    /**
+     * Numbers the nodes in topological order (Kahn's algorithm), dependencies first.
+     */
+    private void sortTopologically() {
+        Map<Long, Integer> waitingFor = new HashMap<>();
+        Deque<Node> next = new ArrayDeque<>();
+        for (Node node : nodes.values()) {
+            waitingFor.put(node.id, node.dependsOn.size());
+            if (node.dependsOn.isEmpty()) {
+                next.add(node);
+            }
+        }
+        int sorted = 0;
+        while (!next.isEmpty()) {
+            Node node = next.poll();
+            node.position = ++lastPosition;
+            sorted++;
+            for (Long dependentId : node.dependents) {
+                if (waitingFor.merge(dependentId, -1, Integer::sum) == 0) {
+                    next.add(nodes.get(dependentId));
+                }
+            }
+        }
+        if (sorted < nodes.size()) {
+            log.warn("The stored task dependencies contain a cycle; {} tasks are left unordered",
+                    nodes.size() - sorted);
+        }
+    }
+
+    private Node addNode(Long taskId, long position) {
+        Node node = new Node(taskId, !ready.contains(taskId), position);
+        nodes.put(taskId, node);
+        return node;
+    }
+
+    private void link(Node task, Node dependsOn) {
+        task.dependsOn.add(dependsOn.id);
+        dependsOn.dependents.add(task.id);
+        if (!dependsOn.done) {
+            task.openDependencies++;
+        }
+    }
+
+    private void updateReady(Node node) {
+        if (!node.done && node.openDependencies == 0) {
+            ready.add(node.id);
+        } else {
+            ready.remove(node.id);
+        }
+    }
+
+    /**
+     * Drops a node without dependencies and dependents; the ready set alone then tells its status.
+     */
+    private void removeIfUnlinked(Node node) {
+        if (node.dependsOn.isEmpty() && node.dependents.isEmpty()) {
+            nodes.remove(node.id);
+        }
+    }
+}
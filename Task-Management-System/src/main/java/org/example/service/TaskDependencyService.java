@@ -0,0 +1,87 @@
+package org.example.service;
+
+import org.example.exception.InvalidRequestException;
+import org.example.exception.TaskDependencyCycleException;
+import org.example.exception.TaskNotFoundException;
+import org.example.model.dto.request.TaskDependencyRequest;
+import org.example.model.dto.response.TaskDependencyResponse;
+import org.example.model.entity.TaskDependency;
+import org.example.repository.TaskDependencyRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+
+/**
+ * Business logic for task dependencies: a task depends on (is blocked by) other tasks and
+ * is ready to be worked on once all of them are DONE.
+ * Dependencies are checked and answered by the in-memory TaskDependencyGraph and stored in
+ * task_dependencies on shard 0, since they may link tasks of different shards.
+ */
+@Service
+@RequiredArgsConstructor
+public class TaskDependencyService {
+
+    private final TaskService taskService;
+    private final TaskDependencyGraph dependencyGraph;
+    private final TaskDependencyRepository dependencyRepository;
+    private final TaskShardRouter shardRouter;
+
+    /**
+     * Makes a live task depend on another live or archived task. Adding an existing dependency changes nothing.
+     *
+     * @param taskId The ID of the task that depends on the other one
+     * @param request TaskDependencyRequest with the ID of the task it depends on
+     * @return TaskDependencyResponse with all dependencies of the task
+     * @throws TaskNotFoundException if either task doesn't exist
+     * @throws TaskDependencyCycleException if the other task already depends on the task
+     */
+    public TaskDependencyResponse addDependency(Long taskId, TaskDependencyRequest request) {
+        Long dependsOnId = request.getDependsOnId();
+        if (dependsOnId == null) {
+            throw new InvalidRequestException("The ID of the task to depend on is required");
+        }
+        taskService.getTaskById(taskId, false);
+        taskService.getTaskById(dependsOnId, true);
+
+        // The graph checks for cycles and takes the dependency at once, so concurrent additions see each other
+        if (dependencyGraph.addDependency(taskId, dependsOnId)) {
+            try {
+                shardRouter.runInShard(0, () -> dependencyRepository.save(new TaskDependency(null, taskId, dependsOnId)));
+            } catch (RuntimeException ex) {
+                dependencyGraph.removeDependency(taskId, dependsOnId);
+                throw ex;
+            }
+        }
+        return mapToResponse(taskId);
+    }
+
+    /**
+     * Removes a dependency of a task. Removing a dependency that does not exist changes nothing.
+     *
+     * @param taskId The ID of the task that depends on the other one
+     * @param dependsOnId The ID of the task it depends on
+     * @throws TaskNotFoundException if the task doesn't exist
+     */
+    public void removeDependency(Long taskId, Long dependsOnId) {
+        taskService.getTaskById(taskId, true);
+        if (dependencyGraph.removeDependency(taskId, dependsOnId)) {
+            shardRouter.runInShard(0, () -> dependencyRepository.deleteDependency(taskId, dependsOnId));
+        }
+    }
+
+    /**
+     * Retrieves the dependencies and dependents of a live or archived task.
+     *
+     * @param taskId The ID of the task
+     * @return TaskDependencyResponse with the dependencies of the task
+     * @throws TaskNotFoundException if the task doesn't exist
+     */
+    public TaskDependencyResponse getDependencies(Long taskId) {
+        taskService.getTaskById(taskId, true);
+        return mapToResponse(taskId);
+    }
+
+    private TaskDependencyResponse mapToResponse(Long taskId) {
+        return new TaskDependencyResponse(taskId, dependencyGraph.dependenciesOf(taskId),
+                dependencyGraph.dependentsOf(taskId), dependencyGraph.isReady(taskId));
+    }
+}
@@ -0,0 +1,234 @@
+package org.example.service;
+
+import org.example.model.dto.response.FlowTimeReportResponse;
+import org.example.model.entity.Category;
+import org.example.model.entity.TaskStatusHistory;
+import org.example.model.entity.User;
+import org.example.model.enums.FlowTimeGroup;
+import org.example.model.enums.TaskStatus;
+import org.example.repository.CategoryRepository;
+import org.example.repository.TaskStatusHistoryRepository;
+import org.example.repository.UserRepository;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+
+/**
+ * Lead-time and cycle-time percentiles per user and per category, served from streaming
+ * quantile sketches (QuantileSketch) instead of sorting the status history on every request.
+ *
+ * Lead time runs from the creation of a task to its completion (a change to DONE), cycle
+ * time from the first change to IN_PROGRESS to the completion. A task completed again after
+ * being reopened is measured again: its lead time still starts at its creation, its cycle
+ * time at the first change to IN_PROGRESS after the previous completion.
+ *
+ * The sketches are filled from the whole task_status_history at startup, streamed task by
+ * task, and then receive every new completion once its transaction has committed
+ * (see TaskStatusHistoryService). Deleting a task deletes its history and takes its
+ * completions out of the sketches again.
+ *
+ * A completion counts for the user and category the task had when it was completed, also after
+ * the task is reassigned. Users and categories deleted since are left out of the report.
+ */
+@Service
+@RequiredArgsConstructor
+public class TaskFlowTimeService {
+
+    private static final int PAGE_SIZE = 10_000;
+
+    private final TaskStatusHistoryRepository historyRepository;
+    private final UserRepository userRepository;
+    private final CategoryRepository categoryRepository;
+    private final TaskShardRouter shardRouter;
+
+    /**
+     * Largest relative error of the reported percentiles
+     */
+    @Value("${task.flow-times.relative-accuracy:0.01}")
+    private double relativeAccuracy;
+
+    private final Map<Long, FlowTimes> byUser = new ConcurrentHashMap<>();
+    private final Map<Long, FlowTimes> byCategory = new ConcurrentHashMap<>();
+
+    /**
+     * Lead and cycle time of one completion; a time is null if its start was not recorded.
+     */
+    record Completion(long userId, long categoryId, Duration leadTime, Duration cycleTime) {
+    }
+
+    /**
+     * Follows the history of one task entry by entry (oldest first) and reports its completions.
+     */
+    static final class TaskFlow {
+
+        private LocalDateTime createdAt;
+        private LocalDateTime cycleStart;
+
+        /**
+         * Applies the next entry of the task.
+         *
+         * @return The completion if the entry completes the task, otherwise null
+         */
+        Completion next(TaskStatusHistory entry) {
+            LocalDateTime at = entry.getChangedAt();
+            if (entry.getFromStatus() == null) {
+                // Created (or imported) with this status: nothing to measure yet
+                createdAt = at;
+                cycleStart = entry.getToStatus() == TaskStatus.IN_PROGRESS ? at : null;
+                return null;
+            }
+            if (entry.getToStatus() == TaskStatus.IN_PROGRESS && cycleStart == null) {
+                cycleStart = at;
+            }
+            if (entry.getToStatus() != TaskStatus.DONE) {
+                return null;
+            }
+            Completion completion = new Completion(entry.getUserId(), entry.getCategoryId(),
+                    createdAt == null ? null : Duration.between(createdAt, at),
+                    cycleStart == null ? null : Duration.between(cycleStart, at));
+            cycleStart = null;
+            return completion;
+        }
+    }
+
+    /**
+     * Sketches of the lead and cycle times of one user or category.
+     */
+    private final class FlowTimes {
+        private final QuantileSketch leadTime = new QuantileSketch(relativeAccuracy);
+        private final QuantileSketch cycleTime = new QuantileSketch(relativeAccuracy);
+
+        void add(Completion completion) {
+            if (completion.leadTime() != null) {
+                leadTime.add(completion.leadTime().toMillis());
+            }
+            if (completion.cycleTime() != null) {
+                cycleTime.add(completion.cycleTime().toMillis());
+            }
+        }
+
+        void remove(Completion completion) {
+            if (completion.leadTime() != null) {
+                leadTime.remove(completion.leadTime().toMillis());
+            }
+            if (completion.cycleTime() != null) {
+                cycleTime.remove(completion.cycleTime().toMillis());
+            }
+        }
+    }
+
+    /**
+     * Replays the status history of all shards into the sketches.
+     * Runs while the application context starts, before requests or scheduled flushes can
+     * record new completions, so no completion is counted twice.
+     */
+    @PostConstruct
+    public void rebuild() {
+        byUser.clear();
+        byCategory.clear();
+        for (int shard = 0; shard < shardRouter.getShardCount(); shard++) {
+            replayShard(shard);
+        }
+    }
+
+    /**
+     * Adds completions to the sketches. Called after the transaction recording them has committed.
+     *
+     * @param completions The new completions
+     */
+    public void add(Collection<Completion> completions) {
+        for (Completion completion : completions) {
+            byUser.computeIfAbsent(completion.userId(), id -> new FlowTimes()).add(completion);
+            byCategory.computeIfAbsent(completion.categoryId(), id -> new FlowTimes()).add(completion);
+        }
+    }
+
+    /**
+     * Takes completions of deleted tasks out of the sketches. Called after the transaction
+     * deleting them has committed.
+     *
+     * @param completions The completions replayed from the deleted history
+     */
+    public void remove(Collection<Completion> completions) {
+        for (Completion completion : completions) {
+            FlowTimes user = byUser.get(completion.userId());
+            if (user != null) {
+                user.remove(completion);
+            }
+            FlowTimes category = byCategory.get(completion.categoryId());
+            if (category != null) {
+                category.remove(completion);
+            }
+        }
+    }
+
+    /**
+     * Reports the flow time percentiles of every existing user or category with a completed task.
+     *
+     * @param groupBy Whether to report per user or per category
+     * @return The percentiles per user or category, sorted by ID
+     */
+    public FlowTimeReportResponse report(FlowTimeGroup groupBy) {
+        Map<Long, FlowTimes> sketches = groupBy == FlowTimeGroup.USER ? byUser : byCategory;
+        TreeSet<Long> ids = new TreeSet<>(sketches.keySet());
+        Map<Long, String> names = groupBy == FlowTimeGroup.USER
+                ? userRepository.findAllById(ids).stream().collect(Collectors.toMap(User::getId, User::getName))
+                : categoryRepository.findAllById(ids).stream()
+                        .collect(Collectors.toMap(Category::getId, Category::getName));
+
+        FlowTimeReportResponse report = new FlowTimeReportResponse();
+        report.setGroupBy(groupBy);
+        for (Long id : ids) {
+            FlowTimes flowTimes = sketches.get(id);
+            // Deleted since its completions were recorded, or no completion left
+            if (!names.containsKey(id) || flowTimes.leadTime.count() + flowTimes.cycleTime.count() == 0) {
+                continue;
+            }
+            report.getGroups().add(new FlowTimeReportResponse.Group(id, names.get(id),
+                    toPercentiles(flowTimes.leadTime), toPercentiles(flowTimes.cycleTime)));
+        }
+        return report;
+    }
+
+    private void replayShard(int shard) {
+        long afterTaskId = 0;
+        long afterId = 0;
+        Long currentTaskId = null;
+        TaskFlow flow = null;
+        List<TaskStatusHistory> page;
+        do {
+            long taskId = afterTaskId;
+            long id = afterId;
+            page = shardRouter.inShard(shard, false,
+                    () -> historyRepository.findPageAfter(taskId, id, PageRequest.of(0, PAGE_SIZE)));
+            for (TaskStatusHistory entry : page) {
+                if (!entry.getTaskId().equals(currentTaskId)) {
+                    currentTaskId = entry.getTaskId();
+                    flow = new TaskFlow();
+                }
+                Completion completion = flow.next(entry);
+                if (completion != null) {
+                    add(List.of(completion));
+                }
+                afterTaskId = entry.getTaskId();
+                afterId = entry.getId();
+            }
+        } while (page.size() == PAGE_SIZE);
+    }
+
+    private static FlowTimeReportResponse.Percentiles toPercentiles(QuantileSketch sketch) {
+        return new FlowTimeReportResponse.Percentiles(sketch.count(), sketch.quantile(0.50), sketch.quantile(0.75),
+                sketch.quantile(0.90), sketch.quantile(0.95), sketch.quantile(0.99));
+    }
+}
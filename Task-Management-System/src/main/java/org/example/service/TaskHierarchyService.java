@@ -0,0 +1,308 @@
+package org.example.service;
+
+import org.example.exception.InvalidRequestException;
+import org.example.exception.TaskHierarchyCycleException;
+import org.example.model.entity.TaskClosure;
+import org.example.model.entity.TaskRollup;
+import org.example.model.enums.TaskStatus;
+import org.example.repository.ArchivedTaskRepository;
+import org.example.repository.InMemoryTaskStore;
+import org.example.repository.InMemoryTaskStore.StoredTask;
+import org.example.repository.TaskClosureRepository;
+import org.example.repository.TaskRepository;
+import org.example.repository.TaskRollupRepository;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.TreeMap;
+
+/**
+ * Subtask hierarchy of the tasks, kept in a closure table with roll-up counters.
+ *
+ * Every task of a hierarchy has a row per ancestor in task_closure (and one to itself), so
+ * all descendants of a task are one indexed query, however deep the tree. Its row in
+ * task_rollups counts its descendants and DONE descendants; the counters are updated
+ * incrementally, with one statement for all ancestors of the changed task:
+ * - a moved subtree of S tasks, D of them DONE, subtracts S and D from its old ancestors
+ *   and adds them to its new ones
+ * - a task changing from or to DONE adds -1 or +1 to the DONE counts of its ancestors
+ * - a deleted task is removed from the counts of its ancestors, and its subtasks move up
+ *   below its parent
+ *
+ * Hierarchies may span users and therefore shards, so both tables are stored on shard 0, and
+ * every change runs in its own transaction there. Moves are applied before the task row
+ * changes, so a rejected move leaves the task untouched; callers undo them if their own
+ * transaction rolls back. Status changes and deletions are applied once their transaction
+ * has committed. The parent_id column of the tasks follows the hierarchy.
+ *
+ * Archived tasks stay in the hierarchy (they are DONE), so the counters include them.
+ */
+@Service
+@RequiredArgsConstructor
+public class TaskHierarchyService {
+
+    private static final Logger log = LoggerFactory.getLogger(TaskHierarchyService.class);
+
+    private final TaskClosureRepository closureRepository;
+    private final TaskRollupRepository rollupRepository;
+    private final TaskRepository taskRepository;
+    private final ArchivedTaskRepository archivedTaskRepository;
+    private final TaskViewProjector taskViewProjector;
+    private final TaskShardRouter shardRouter;
+    private final Optional<InMemoryTaskStore> inMemoryTaskStore;
+
+    /**
+     * IDs of the tasks that may have rows in the hierarchy tables; tasks outside every
+     * hierarchy (most of them) are never looked up on shard 0
+     */
+    private final IdBitSet nodes = new IdBitSet();
+
+    /**
+     * The descendants of a task down to a depth, with the roll-up counters of the whole subtree.
+     *
+     * @param subtaskIds IDs of the descendants, nearest first, then by ID
+     * @param descendants Number of descendants at any depth
+     * @param doneDescendants Number of DONE descendants at any depth
+     */
+    public record Subtree(List<Long> subtaskIds, long descendants, long doneDescendants) {
+    }
+
+    /**
+     * Loads the IDs of the tasks in a hierarchy.
+     * Runs while the application context starts, before requests can change the hierarchy.
+     * The in-memory task store starts empty, so there is nothing to load for it.
+     */
+    @PostConstruct
+    public void rebuild() {
+        nodes.clear();
+        if (inMemoryTaskStore.isPresent()) {
+            return;
+        }
+        List<Long> ids = shardRouter.inShard(0, false, rollupRepository::findAllTaskIds);
+        ids.forEach(nodes::add);
+        log.info("Loaded {} tasks of the subtask hierarchy", ids.size());
+    }
+
+    /**
+     * Moves a task with all its subtasks below another parent, or to the top level.
+     * Runs in its own transaction on shard 0, committed when the method returns.
+     *
+     * @param taskId The ID of the task to move
+     * @param status The status of the task, used if it is not yet part of a hierarchy
+     * @param parentId The ID of the new parent, or null for the top level
+     * @param parentStatus The status of the new parent, used if it is not yet part of a hierarchy
+     * @throws TaskHierarchyCycleException if the new parent is the task itself or one of its subtasks
+     */
+    public synchronized void move(Long taskId, TaskStatus status, Long parentId, TaskStatus parentStatus) {
+        if (taskId.equals(parentId)) {
+            throw new TaskHierarchyCycleException(taskId, parentId);
+        }
+        if (parentId == null && !nodes.contains(taskId)) {
+            // A top-level task outside every hierarchy stays outside
+            return;
+        }
+
+        shardRouter.runInShard(0, () -> {
+            if (parentId != null && closureRepository.existsByAncestorIdAndDescendantId(taskId, parentId)) {
+                throw new TaskHierarchyCycleException(taskId, parentId);
+            }
+            TaskRollup rollup = ensureNode(taskId, status);
+            long size = 1 + rollup.getDescendants();
+            long done = (rollup.isDone() ? 1 : 0) + rollup.getDoneDescendants();
+
+            // Detach the subtree from its old ancestors
+            List<Long> oldAncestors = closureRepository.findAncestorIds(taskId);
+            if (!oldAncestors.isEmpty()) {
+                rollupRepository.addToCounts(oldAncestors, -size, -done);
+                closureRepository.deleteLinks(oldAncestors,
+                        closureRepository.findDescendantIds(taskId, 0, Integer.MAX_VALUE));
+            }
+
+            // Link the new parent and its ancestors to every task of the subtree
+            if (parentId != null) {
+                ensureNode(parentId, parentStatus);
+                closureRepository.attachSubtree(taskId, parentId);
+                rollupRepository.addToCounts(closureRepository.findAncestorIds(taskId), size, done);
+            }
+        });
+    }
+
+    /**
+     * Brings the DONE counts in line with a changed task once the transaction commits.
+     *
+     * @param taskId The ID of the task
+     * @param status The status of the task after the change
+     */
+    public void track(Long taskId, TaskStatus status) {
+        track(Map.of(taskId, status));
+    }
+
+    /**
+     * Brings the DONE counts in line with changed tasks once the transaction commits.
+     * Tasks outside every hierarchy are skipped without a query.
+     *
+     * @param statuses The status of every task after the change, by task ID
+     */
+    public void track(Map<Long, TaskStatus> statuses) {
+        Map<Long, TaskStatus> linked = new HashMap<>();
+        statuses.forEach((id, status) -> {
+            if (nodes.contains(id)) {
+                linked.put(id, status);
+            }
+        });
+        if (!linked.isEmpty()) {
+            TransactionCallbacks.afterCommit(() -> applyStatuses(linked));
+        }
+    }
+
+    /**
+     * Removes deleted tasks from the hierarchy once the transaction commits. Their subtasks
+     * move up below the parent of the deleted task (or to the top level).
+     *
+     * @param taskIds IDs of the deleted tasks
+     */
+    public void untrack(Collection<Long> taskIds) {
+        List<Long> linked = taskIds.stream().filter(nodes::contains).toList();
+        if (linked.isEmpty()) {
+            return;
+        }
+        TransactionCallbacks.afterCommit(() -> {
+            try {
+                remove(linked);
+            } catch (RuntimeException ex) {
+                log.error("Failed to remove {} deleted tasks from the subtask hierarchy", linked.size(), ex);
+            }
+        });
+    }
+
+    /**
+     * Retrieves the descendants of a task down to a depth, with its roll-up counters.
+     *
+     * @param taskId The ID of the task
+     * @param maxDepth Deepest level returned (1 for the direct subtasks), null for all levels
+     * @return The subtree of the task; empty for a task without subtasks
+     * @throws InvalidRequestException if maxDepth is less than 1
+     */
+    public Subtree subtree(Long taskId, Integer maxDepth) {
+        if (maxDepth != null && maxDepth < 1) {
+            throw new InvalidRequestException("maxDepth must be at least 1");
+        }
+        if (!nodes.contains(taskId)) {
+            return new Subtree(List.of(), 0, 0);
+        }
+        int depth = maxDepth != null ? maxDepth : Integer.MAX_VALUE;
+        return shardRouter.inShard(0, true, () -> rollupRepository.findById(taskId)
+                .map(rollup -> new Subtree(closureRepository.findDescendantIds(taskId, 1, depth),
+                        rollup.getDescendants(), rollup.getDoneDescendants()))
+                .orElseGet(() -> new Subtree(List.of(), 0, 0)));
+    }
+
+    /**
+     * Removes tasks from the hierarchy right away and re-parents their subtasks.
+     * Also undoes the move of a task whose creation rolled back.
+     *
+     * @param taskIds IDs of the removed tasks
+     */
+    synchronized void remove(List<Long> taskIds) {
+        // New parent of every subtask of a removed task (null for the top level)
+        Map<Long, Long> newParents = new HashMap<>();
+        shardRouter.runInShard(0, () -> {
+            for (Long id : taskIds) {
+                Optional<TaskRollup> rollup = rollupRepository.findById(id);
+                if (rollup.isEmpty()) {
+                    continue;
+                }
+                List<Long> ancestors = closureRepository.findAncestorIds(id);
+                List<Long> descendants = closureRepository.findDescendantIds(id, 1, Integer.MAX_VALUE);
+                List<Long> children = closureRepository.findDescendantIds(id, 1, 1);
+                if (!ancestors.isEmpty()) {
+                    rollupRepository.addToCounts(ancestors, -1, rollup.get().isDone() ? -1 : 0);
+                    if (!descendants.isEmpty()) {
+                        closureRepository.shortenLinks(ancestors, descendants);
+                    }
+                }
+                closureRepository.deleteByTaskId(id);
+                rollupRepository.delete(rollup.get());
+
+                Long parentId = ancestors.isEmpty() ? null : ancestors.get(0);
+                children.forEach(child -> newParents.put(child, parentId));
+            }
+        });
+        taskIds.forEach(id -> {
+            newParents.remove(id);
+            nodes.remove(id);
+        });
+        reparent(newParents);
+    }
+
+    /**
+     * Applies status changes to the DONE counts, in one transaction on shard 0.
+     */
+    private synchronized void applyStatuses(Map<Long, TaskStatus> statuses) {
+        try {
+            shardRouter.runInShard(0, () -> statuses.forEach((id, status) -> {
+                boolean done = status == TaskStatus.DONE;
+                // The flag is only changed on an actual flip, so a repeated change is not counted twice
+                if (rollupRepository.updateDone(id, done) == 1) {
+                    rollupRepository.addToCounts(closureRepository.findAncestorIds(id), 0, done ? 1 : -1);
+                }
+            }));
+        } catch (RuntimeException ex) {
+            log.error("Failed to roll up {} task status changes", statuses.size(), ex);
+        }
+    }
+
+    /**
+     * Returns the roll-up row of a task, creating the rows of a task new to the hierarchy.
+     */
+    private TaskRollup ensureNode(Long taskId, TaskStatus status) {
+        nodes.add(taskId);
+        return rollupRepository.findById(taskId).orElseGet(() -> {
+            closureRepository.saveAndFlush(new TaskClosure(null, taskId, taskId, 0));
+            return rollupRepository.saveAndFlush(new TaskRollup(taskId, status == TaskStatus.DONE, 0, 0));
+        });
+    }
+
+    /**
+     * Writes the new parents of re-parented subtasks to their task rows, on the shard of each subtask.
+     */
+    private void reparent(Map<Long, Long> newParents) {
+        if (newParents.isEmpty()) {
+            return;
+        }
+        if (inMemoryTaskStore.isPresent()) {
+            InMemoryTaskStore store = inMemoryTaskStore.get();
+            newParents.forEach((id, parentId) -> {
+                // Compare-and-set: retry if the task changed concurrently
+                Optional<StoredTask> task;
+                while ((task = store.findById(id)).isPresent()
+                        && store.replace(task.get(), task.get().withParent(parentId)).isEmpty()) {
+                    Thread.onSpinWait();
+                }
+            });
+            return;
+        }
+
+        Map<Long, Integer> shards = shardRouter.shardsOfTasks(newParents.keySet());
+        Map<Integer, Map<Long, List<Long>>> idsByShardAndParent = new TreeMap<>();
+        newParents.forEach((id, parentId) -> idsByShardAndParent
+                .computeIfAbsent(shards.get(id), shard -> new HashMap<>())
+                .computeIfAbsent(parentId, parent -> new ArrayList<>())
+                .add(id));
+        idsByShardAndParent.forEach((shard, idsByParent) -> shardRouter.runInShard(shard, () ->
+                idsByParent.forEach((parentId, ids) -> {
+                    taskRepository.updateParent(ids, parentId);
+                    archivedTaskRepository.updateParent(ids, parentId);
+                    taskViewProjector.refresh(ids);
+                })));
+    }
+}
@@ -0,0 +1,373 @@
+package org.example.service;
+
+import org.example.config.TaskImportProperties;
+import org.example.exception.InvalidRequestException;
+import org.example.model.dto.response.TaskImportResponse;
+import org.example.model.enums.TaskStatus;
+import org.example.repository.CategoryRepository;
+import org.example.repository.InMemoryTaskStore;
+import org.example.repository.PriorityRepository;
+import org.example.repository.UserRepository;
+import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.Reader;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Bulk import of tasks from CSV.
+ * The input is parsed record by record while it is read, rows are inserted with plain JDBC
+ * batches (no entities, no persistence context), and a transaction is committed every
+ * commit-interval rows, so memory use stays constant whatever the size of the input.
+ *
+ * Expected header (any column order, case-insensitive):
+ *   title,description,status,user,category,priority
+ * - user: email or (unique) name of the user
+ * - category, priority: name of the category or priority
+ * - description and status are optional; status defaults to PENDING
+ *
+ * Invalid rows are skipped and listed in the report instead of aborting the import.
+ * Every imported task gets its creation entry in the status history, batched the same way.
+ * With the in-memory task store ("memory" profile) valid rows are saved to the store instead.
+ */
+@Service
+@RequiredArgsConstructor
+public class TaskImportService {
+
+    private static final Logger log = LoggerFactory.getLogger(TaskImportService.class);
+
+    private static final String INSERT_TASK = "INSERT INTO tasks (title, description, status, overdue, user_id, " +
+            "category_id, priority_id, created_at, updated_at) VALUES (?, ?, ?, FALSE, ?, ?, ?, ?, ?)";
+
+    private static final String INSERT_HISTORY = "INSERT INTO task_status_history (task_id, user_id, " +
+            "category_id, from_status, to_status, changed_at) VALUES (?, ?, ?, NULL, ?, ?)";
+
+    private static final int MAX_TITLE_LENGTH = 255;
+    private static final int MAX_DESCRIPTION_LENGTH = 1000;
+
+    /**
+     * Marks a user name shared by several users in the name lookup
+     */
+    private static final Long AMBIGUOUS = -1L;
+
+    private final UserRepository userRepository;
+    private final CategoryRepository categoryRepository;
+    private final PriorityRepository priorityRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private final TaskShardRouter shardRouter;
+    private final EntityExistenceIndex existenceIndex;
+    private final TaskPriorityQueue taskPriorityQueue;
+    private final TaskViewProjector taskViewProjector;
+    private final TaskDependencyGraph dependencyGraph;
+    private final TaskImportProperties properties;
+    private final Optional<InMemoryTaskStore> inMemoryTaskStore;
+
+    /**
+     * Imports all rows of the CSV input.
+     *
+     * @param input The CSV input, read incrementally
+     * @return Report with the number of imported and skipped rows and the reasons for skipping
+     * @throws InvalidRequestException if the header is missing, incomplete or malformed
+     */
+    public TaskImportResponse importTasks(Reader input) throws IOException {
+        CsvReader csv = new CsvReader(new BufferedReader(input));
+        List<String> header = csv.next();
+        if (header == null) {
+            throw new InvalidRequestException("The CSV input is empty");
+        }
+        if (csv.getRecordError() != null) {
+            throw new InvalidRequestException("Malformed CSV header: " + csv.getRecordError());
+        }
+        Columns columns = Columns.of(header);
+        Lookups lookups = loadLookups();
+
+        TaskImportResponse report = new TaskImportResponse();
+        // Rows waiting for their commit, per shard (tasks are stored on the shard of their user)
+        List<List<ImportRow>> pendingByShard = new ArrayList<>();
+        for (int shard = 0; shard < shardRouter.getShardCount(); shard++) {
+            pendingByShard.add(new ArrayList<>());
+        }
+
+        List<String> record;
+        while ((record = csv.next()) != null) {
+            if (record.size() == 1 && record.get(0).isBlank()) {
+                continue;
+            }
+            if (csv.getRecordError() != null) {
+                reportError(report, csv.getRecordLine(), csv.getRecordError());
+                continue;
+            }
+            ImportRow row = toRow(record, csv.getRecordLine(), columns, lookups, report);
+            if (row == null) {
+                continue;
+            }
+            int shard = shardRouter.shardOfUser(row.userId());
+            List<ImportRow> pending = pendingByShard.get(shard);
+            pending.add(row);
+            if (pending.size() >= properties.getCommitInterval()) {
+                commit(shard, pending, report);
+            }
+        }
+        for (int shard = 0; shard < pendingByShard.size(); shard++) {
+            commit(shard, pendingByShard.get(shard), report);
+        }
+
+        log.info("Imported {} tasks from CSV, skipped {} invalid rows", report.getImported(), report.getFailed());
+        return report;
+    }
+
+    /**
+     * Validates a record and resolves its names to IDs.
+     *
+     * @return The row to insert, or null if the record is invalid (the error is added to the report)
+     */
+    private ImportRow toRow(List<String> record, long line, Columns columns, Lookups lookups,
+                            TaskImportResponse report) {
+        if (record.size() != columns.count()) {
+            reportError(report, line, "Expected " + columns.count() + " columns but found " + record.size());
+            return null;
+        }
+
+        String title = record.get(columns.title()).trim();
+        if (title.isEmpty()) {
+            reportError(report, line, "Title is required");
+            return null;
+        }
+        if (title.length() > MAX_TITLE_LENGTH) {
+            reportError(report, line, "Title is longer than " + MAX_TITLE_LENGTH + " characters");
+            return null;
+        }
+
+        String description = columns.description() >= 0 ? record.get(columns.description()) : null;
+        if (description != null && description.isEmpty()) {
+            description = null;
+        }
+        if (description != null && description.length() > MAX_DESCRIPTION_LENGTH) {
+            reportError(report, line, "Description is longer than " + MAX_DESCRIPTION_LENGTH + " characters");
+            return null;
+        }
+
+        TaskStatus status = TaskStatus.PENDING;
+        String statusValue = columns.status() >= 0 ? record.get(columns.status()).trim() : "";
+        if (!statusValue.isEmpty()) {
+            try {
+                status = TaskStatus.valueOf(statusValue.toUpperCase(Locale.ROOT));
+            } catch (IllegalArgumentException e) {
+                reportError(report, line, "Unknown status '" + statusValue + "'");
+                return null;
+            }
+        }
+
+        String user = record.get(columns.user()).trim();
+        Long userId = lookups.userIdsByEmail().get(user);
+        if (userId == null) {
+            userId = lookups.userIdsByName().get(user);
+        }
+        if (userId == null) {
+            reportError(report, line, "Unknown user '" + user + "'");
+            return null;
+        }
+        if (AMBIGUOUS.equals(userId)) {
+            reportError(report, line, "User name '" + user + "' is not unique, use the email");
+            return null;
+        }
+
+        String category = record.get(columns.category()).trim();
+        Long categoryId = lookups.categoryIds().get(category);
+        if (categoryId == null) {
+            reportError(report, line, "Unknown category '" + category + "'");
+            return null;
+        }
+
+        String priority = record.get(columns.priority()).trim();
+        Long priorityId = lookups.priorityIds().get(priority);
+        if (priorityId == null) {
+            reportError(report, line, "Unknown priority '" + priority + "'");
+            return null;
+        }
+
+        return new ImportRow(line, title, description, status, userId, categoryId, priorityId);
+    }
+
+    /**
+     * Inserts the pending rows of a shard in one transaction, batch by batch, and empties the list.
+     * If the transaction fails, all its rows are reported as not imported.
+     */
+    private void commit(int shard, List<ImportRow> rows, TaskImportResponse report) {
+        if (rows.isEmpty()) {
+            return;
+        }
+        if (inMemoryTaskStore.isPresent()) {
+            saveToMemory(inMemoryTaskStore.get(), rows);
+            report.setImported(report.getImported() + rows.size());
+            rows.clear();
+            return;
+        }
+        try {
+            int inserted = shardRouter.inShard(shard, false, () -> {
+                int count = 0;
+                for (int from = 0; from < rows.size(); from += properties.getBatchSize()) {
+                    List<Long> ids = insertBatch(rows.subList(from, Math.min(rows.size(), from + properties.getBatchSize())));
+                    taskViewProjector.refresh(ids);
+                    ids.forEach(existenceIndex::addTask);
+                    taskPriorityQueue.refresh(ids);
+                    trackReadiness(ids, rows.subList(from, from + ids.size()));
+                    count += ids.size();
+                }
+                return count;
+            });
+            report.setImported(report.getImported() + inserted);
+        } catch (DataAccessException e) {
+            String reason = "Not imported, the transaction of this row failed: " + e.getMostSpecificCause().getMessage();
+            rows.forEach(row -> reportError(report, row.line(), reason));
+        }
+        rows.clear();
+    }
+
+    /**
+     * Sends one JDBC batch of INSERTs (inside the current transaction), then one for the
+     * creation entries of the tasks in the status history.
+     *
+     * @return The generated task IDs
+     */
+    private List<Long> insertBatch(List<ImportRow> rows) {
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        List<Long> taskIds = jdbcTemplate.execute((ConnectionCallback<List<Long>>) connection -> {
+            try (PreparedStatement statement = connection.prepareStatement(INSERT_TASK, new String[]{"id"})) {
+                for (ImportRow row : rows) {
+                    statement.setString(1, row.title());
+                    statement.setString(2, row.description());
+                    statement.setString(3, row.status().name());
+                    statement.setLong(4, row.userId());
+                    statement.setLong(5, row.categoryId());
+                    statement.setLong(6, row.priorityId());
+                    statement.setTimestamp(7, now);
+                    statement.setTimestamp(8, now);
+                    statement.addBatch();
+                }
+                statement.executeBatch();
+
+                List<Long> ids = new ArrayList<>(rows.size());
+                try (ResultSet keys = statement.getGeneratedKeys()) {
+                    while (keys.next()) {
+                        ids.add(keys.getLong(1));
+                    }
+                }
+                return ids;
+            }
+        });
+        insertHistory(taskIds, rows, now);
+        return taskIds;
+    }
+
+    /**
+     * Sends one JDBC batch with the creation entries of imported tasks in the status history.
+     */
+    private void insertHistory(List<Long> ids, List<ImportRow> rows, Timestamp now) {
+        List<Object[]> entries = new ArrayList<>(rows.size());
+        for (int i = 0; i < rows.size(); i++) {
+            ImportRow row = rows.get(i);
+            entries.add(new Object[]{ids.get(i), row.userId(), row.categoryId(), row.status().name(), now});
+        }
+        jdbcTemplate.batchUpdate(INSERT_HISTORY, entries);
+    }
+
+    /**
+     * Saves the rows to the in-memory task store.
+     */
+    private void saveToMemory(InMemoryTaskStore store, List<ImportRow> rows) {
+        LocalDateTime now = LocalDateTime.now();
+        List<Long> ids = new ArrayList<>(rows.size());
+        for (ImportRow row : rows) {
+            ids.add(store.save(new InMemoryTaskStore.StoredTask(store.nextId(), row.title(), row.description(),
+                    row.status(), null, false, null, row.userId(), row.categoryId(), row.priorityId(), now, now)).id());
+        }
+        insertHistory(ids, rows, Timestamp.valueOf(now));
+        trackReadiness(ids, rows);
+    }
+
+    /**
+     * Adds the open imported tasks to the ready set of the dependency graph (they have no dependencies yet).
+     */
+    private void trackReadiness(List<Long> ids, List<ImportRow> rows) {
+        Map<Long, TaskStatus> statuses = new HashMap<>();
+        for (int i = 0; i < ids.size(); i++) {
+            statuses.put(ids.get(i), rows.get(i).status());
+        }
+        dependencyGraph.track(statuses);
+    }
+
+    /**
+     * Loads the name to ID maps of the reference data once per import.
+     */
+    private Lookups loadLookups() {
+        Map<String, Long> userIdsByEmail = new HashMap<>();
+        Map<String, Long> userIdsByName = new HashMap<>();
+        userRepository.findAll().forEach(user -> {
+            userIdsByEmail.put(user.getEmail(), user.getId());
+            userIdsByName.merge(user.getName(), user.getId(), (first, second) -> AMBIGUOUS);
+        });
+        Map<String, Long> categoryIds = new HashMap<>();
+        categoryRepository.findAll().forEach(category -> categoryIds.put(category.getName(), category.getId()));
+        Map<String, Long> priorityIds = new HashMap<>();
+        priorityRepository.findAll().forEach(priority -> priorityIds.put(priority.getName(), priority.getId()));
+        return new Lookups(userIdsByEmail, userIdsByName, categoryIds, priorityIds);
+    }
+
+    private void reportError(TaskImportResponse report, long line, String message) {
+        report.setFailed(report.getFailed() + 1);
+        if (report.getErrors().size() < properties.getMaxReportedErrors()) {
+            report.getErrors().add(new TaskImportResponse.RowError(line, message));
+        } else {
+            report.setErrorsTruncated(true);
+        }
+    }
+
+    /**
+     * Positions of the known columns in the CSV header (-1 for a missing optional column).
+     */
+    private record Columns(int count, int title, int description, int status, int user, int category, int priority) {
+
+        static Columns of(List<String> header) {
+            Map<String, Integer> positions = new HashMap<>();
+            for (int i = 0; i < header.size(); i++) {
+                positions.put(header.get(i).trim().toLowerCase(Locale.ROOT), i);
+            }
+            for (String required : List.of("title", "user", "category", "priority")) {
+                if (!positions.containsKey(required)) {
+                    throw new InvalidRequestException("The CSV header must contain the column '" + required + "'");
+                }
+            }
+            return new Columns(header.size(), positions.get("title"), positions.getOrDefault("description", -1),
+                    positions.getOrDefault("status", -1), positions.get("user"), positions.get("category"),
+                    positions.get("priority"));
+        }
+    }
+
+    private record Lookups(Map<String, Long> userIdsByEmail, Map<String, Long> userIdsByName,
+                           Map<String, Long> categoryIds, Map<String, Long> priorityIds) {
+    }
+
+    /**
+     * A validated row, ready to insert.
+     */
+    private record ImportRow(long line, String title, String description, TaskStatus status,
+                             Long userId, Long categoryId, Long priorityId) {
+    }
+}
@@ -0,0 +1,178 @@
+package org.example.service;
+
+import org.example.model.entity.Task;
+import org.example.model.enums.TaskStatus;
+import org.example.repository.TaskRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.PriorityBlockingQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * In-memory per-user heaps of PENDING tasks, used to hand out the "next task" of a user.
+ * Each user has an own heap ordered by priority level (highest first) and age (oldest first),
+ * so concurrent claims for different users never contend on a shared lock.
+ *
+ * Entries are invalidated lazily: the index maps each queued task ID to its current entry,
+ * and a heap entry that is no longer the current one (task changed, claimed or deleted)
+ * is skipped when it reaches the top of the heap. A heap is compacted once its stale entries
+ * outnumber the current ones, so users who never claim tasks do not accumulate them.
+ */
+@Component
+@RequiredArgsConstructor
+public class TaskPriorityQueue {
+
+    private static final Comparator<QueuedTask> NEXT_TASK_ORDER =
+            Comparator.comparingInt(QueuedTask::level).reversed()
+                    .thenComparing(QueuedTask::createdAt)
+                    .thenComparingLong(QueuedTask::taskId);
+
+    private final TaskRepository taskRepository;
+    private final TaskShardRouter shardRouter;
+
+    /**
+     * PENDING tasks per user ID
+     */
+    private final Map<Long, UserHeap> heapsByUser = new ConcurrentHashMap<>();
+
+    /**
+     * Current heap entry per queued task ID
+     */
+    private final Map<Long, QueuedTask> index = new ConcurrentHashMap<>();
+
+    /**
+     * Loads all PENDING tasks into the heaps once the application has started.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        heapsByUser.clear();
+        index.clear();
+        shardRouter.onAllShards(true, shard -> taskRepository.findQueueEntriesByStatus(TaskStatus.PENDING))
+                .forEach(rows -> rows.forEach(row -> offer(toEntry(row))));
+    }
+
+    /**
+     * Brings the queue in line with a created or modified task once the transaction commits.
+     * PENDING tasks are (re)queued with their current user and priority, other tasks are removed.
+     *
+     * @param task The task after the change
+     */
+    public void track(Task task) {
+        if (task.getStatus() != TaskStatus.PENDING) {
+            untrack(task.getId());
+            return;
+        }
+        Integer level = task.getPriority().getLevel();
+        QueuedTask entry = new QueuedTask(task.getId(), task.getUser().getId(),
+                level != null ? level : 0, task.getCreatedAt());
+        TransactionCallbacks.afterCommit(() -> offer(entry));
+    }
+
+    /**
+     * Removes a task from the queue once the transaction commits.
+     *
+     * @param taskId The ID of the task
+     */
+    public void untrack(Long taskId) {
+        TransactionCallbacks.afterCommit(() -> {
+            QueuedTask removed = index.remove(taskId);
+            if (removed != null) {
+                markStale(removed);
+            }
+        });
+    }
+
+    /**
+     * Re-reads the given tasks after a bulk change (e.g., a chunked reassign) and
+     * re-queues the PENDING ones with their current user and priority once the transaction commits.
+     * Must run in the transaction on the shard holding the tasks.
+     *
+     * @param taskIds IDs of the changed tasks
+     */
+    public void refresh(Collection<Long> taskIds) {
+        List<QueuedTask> entries = taskRepository.findQueueEntriesByIdsAndStatus(taskIds, TaskStatus.PENDING)
+                .stream()
+                .map(this::toEntry)
+                .toList();
+        TransactionCallbacks.afterCommit(() -> entries.forEach(this::offer));
+    }
+
+    /**
+     * Takes the highest-priority, oldest queued task of a user out of the queue.
+     * If the surrounding transaction rolls back, the task is put back.
+     *
+     * @param userId The ID of the user
+     * @return ID of the task, or empty if the user has no queued tasks
+     */
+    public Optional<Long> pollNext(Long userId) {
+        UserHeap heap = heapsByUser.get(userId);
+        if (heap == null) {
+            return Optional.empty();
+        }
+        QueuedTask entry;
+        while ((entry = heap.entries.poll()) != null) {
+            // Only the current entry of a task counts; stale ones are simply dropped
+            if (index.remove(entry.taskId(), entry)) {
+                QueuedTask claimed = entry;
+                TransactionCallbacks.afterRollback(() -> offer(claimed));
+                return Optional.of(entry.taskId());
+            }
+            heap.stale.decrementAndGet();
+        }
+        return Optional.empty();
+    }
+
+    private QueuedTask toEntry(Object[] row) {
+        Integer level = (Integer) row[2];
+        return new QueuedTask((Long) row[0], (Long) row[1], level != null ? level : 0, (LocalDateTime) row[3]);
+    }
+
+    private void offer(QueuedTask entry) {
+        QueuedTask replaced = index.put(entry.taskId(), entry);
+        heapsByUser.computeIfAbsent(entry.userId(), id -> new UserHeap()).entries.offer(entry);
+        if (replaced != null) {
+            markStale(replaced);
+        }
+    }
+
+    /**
+     * Counts an entry that is no longer current and compacts its heap
+     * once the stale entries outnumber the current ones.
+     */
+    private void markStale(QueuedTask entry) {
+        UserHeap heap = heapsByUser.get(entry.userId());
+        if (heap != null && 2 * heap.stale.incrementAndGet() > heap.entries.size()) {
+            int[] removed = new int[1];
+            heap.entries.removeIf(queued -> {
+                boolean stale = index.get(queued.taskId()) != queued;
+                removed[0] += stale ? 1 : 0;
+                return stale;
+            });
+            heap.stale.addAndGet(-removed[0]);
+        }
+    }
+
+    /**
+     * Heap of one user, with the number of its entries that are no longer current.
+     */
+    private static final class UserHeap {
+        private final PriorityBlockingQueue<QueuedTask> entries = new PriorityBlockingQueue<>(16, NEXT_TASK_ORDER);
+        private final AtomicInteger stale = new AtomicInteger();
+    }
+
+    /**
+     * Heap entry: the data needed to order a PENDING task.
+     */
+    private record QueuedTask(Long taskId, Long userId, int level, LocalDateTime createdAt) {
+    }
+}
@@ -0,0 +1,333 @@
+package org.example.service;
+
+import org.example.exception.InvalidRequestException;
+import org.example.model.dto.response.PivotReportResponse;
+import org.example.model.entity.Category;
+import org.example.model.entity.Priority;
+import org.example.model.enums.PivotDimension;
+import org.example.model.enums.TaskStatus;
+import org.example.repository.CategoryRepository;
+import org.example.repository.InMemoryTaskStore;
+import org.example.repository.PriorityRepository;
+import org.example.repository.TaskViewRepository;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.temporal.IsoFields;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+import java.util.function.ToIntFunction;
+
+/**
+ * Reporting over all live tasks, answered from an in-memory columnar snapshot
+ * (TaskColumnSnapshot) instead of SQL GROUP BY queries.
+ *
+ * The snapshot is loaded once at startup and then kept up to date incrementally: every task
+ * write marks the task as changed once it has committed (through TaskViewProjector, or the
+ * change listener of the in-memory task store), and the changed tasks are re-read in one
+ * batch before the next report is computed.
+ */
+@Service
+@RequiredArgsConstructor
+public class TaskReportService {
+
+    private static final int PAGE_SIZE = 10_000;
+    private static final int RELOAD_CHUNK_SIZE = 1000;
+
+    private final TaskViewRepository taskViewRepository;
+    private final CategoryRepository categoryRepository;
+    private final PriorityRepository priorityRepository;
+    private final TaskShardRouter shardRouter;
+    private final Optional<InMemoryTaskStore> inMemoryTaskStore;
+
+    /**
+     * Maximum number of cells (product of the grouped dimensions' sizes) of one report
+     */
+    @Value("${task.reports.max-cells:1000000}")
+    private int maxCells;
+
+    private final TaskColumnSnapshot snapshot = new TaskColumnSnapshot();
+
+    /**
+     * Tasks written since they were last read into the snapshot
+     */
+    private final Set<Long> changedTaskIds = ConcurrentHashMap.newKeySet();
+
+    /**
+     * Serializes loading and refreshing, so an older read never overwrites a newer one
+     */
+    private final Object refreshLock = new Object();
+
+    private boolean loaded;
+
+    @PostConstruct
+    void listenToInMemoryStore() {
+        inMemoryTaskStore.ifPresent(store -> store.addChangeListener(changedTaskIds::add));
+    }
+
+    /**
+     * Loads the snapshot once the application has started.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void load() {
+        synchronized (refreshLock) {
+            if (loaded) {
+                return;
+            }
+            if (inMemoryTaskStore.isPresent()) {
+                snapshot.apply(inMemoryTaskStore.get().findAll().stream().map(this::toRow).toList(), List.of());
+            } else {
+                for (int shard = 0; shard < shardRouter.getShardCount(); shard++) {
+                    loadShard(shard);
+                }
+            }
+            loaded = true;
+        }
+    }
+
+    /**
+     * Marks tasks as changed; they are re-read before the next report.
+     * Called after the transaction of the change has committed.
+     *
+     * @param taskIds IDs of the created, changed or removed tasks
+     */
+    public void markChanged(Collection<Long> taskIds) {
+        changedTaskIds.addAll(taskIds);
+    }
+
+    /**
+     * Counts the live tasks per combination of the grouped dimensions.
+     *
+     * @param groupBy Dimensions to group by (at least one, each at most once)
+     * @param statuses Only count tasks with one of these statuses (all if empty)
+     * @param categoryIds Only count tasks in one of these categories (all if empty)
+     * @param priorityLevels Only count tasks whose priority has one of these levels (all if empty)
+     * @param createdFrom Only count tasks created on or after this day (optional)
+     * @param createdTo Only count tasks created on or before this day (optional)
+     * @return Task counts per combination, in dimension order, without empty combinations
+     * @throws InvalidRequestException if the dimensions are invalid or the report would have too many cells
+     */
+    public PivotReportResponse pivot(List<PivotDimension> groupBy, Set<TaskStatus> statuses, Set<Long> categoryIds,
+                                     Set<Integer> priorityLevels, LocalDate createdFrom, LocalDate createdTo) {
+        if (groupBy.isEmpty()) {
+            throw new InvalidRequestException("groupBy needs at least one dimension");
+        }
+        if (new HashSet<>(groupBy).size() != groupBy.size()) {
+            throw new InvalidRequestException("groupBy lists a dimension more than once");
+        }
+        refresh();
+
+        PivotReportResponse response = new PivotReportResponse();
+        response.setDimensions(groupBy);
+        int[] dayRange = snapshot.dayRange();
+        int fromDay = createdFrom != null ? (int) createdFrom.toEpochDay() : Integer.MIN_VALUE;
+        int toDay = createdTo != null ? (int) createdTo.toEpochDay() + 1 : Integer.MAX_VALUE;
+        if (dayRange == null || fromDay > dayRange[1] || toDay <= dayRange[0] || fromDay >= toDay) {
+            return response;
+        }
+
+        // Dimension values, each mapped to a dense code
+        List<String> statusKeys = new ArrayList<>();
+        int[] statusCodes = new int[TaskStatus.values().length];
+        for (TaskStatus status : TaskStatus.values()) {
+            boolean included = statuses.isEmpty() || statuses.contains(status);
+            statusCodes[status.ordinal()] = !included ? -1 : groupBy.contains(PivotDimension.STATUS)
+                    ? addKey(statusKeys, status.name()) : 0;
+        }
+
+        List<Priority> priorities = priorityRepository.findAll();
+        List<Integer> levels = new ArrayList<>(new TreeSet<>(priorities.stream()
+                .map(TaskReportService::levelOf).toList()));
+        int[] priorityCodes = codesById(priorities, Priority::getId, priority -> {
+            int level = levelOf(priority);
+            if (!priorityLevels.isEmpty() && !priorityLevels.contains(level)) {
+                return -1;
+            }
+            return groupBy.contains(PivotDimension.PRIORITY_LEVEL) ? levels.indexOf(level) : 0;
+        });
+
+        List<Category> categories = categoryRepository.findAll().stream()
+                .sorted(Comparator.comparing(Category::getId)).toList();
+        Map<Long, Integer> categoryIndex = new HashMap<>();
+        categories.forEach(category -> categoryIndex.put(category.getId(), categoryIndex.size()));
+        int[] categoryCodes = codesById(categories, Category::getId, category -> {
+            if (!categoryIds.isEmpty() && !categoryIds.contains(category.getId())) {
+                return -1;
+            }
+            return groupBy.contains(PivotDimension.CATEGORY) ? categoryIndex.get(category.getId()) : 0;
+        });
+
+        boolean groupByWeek = groupBy.contains(PivotDimension.CREATED_WEEK);
+        int firstWeek = TaskColumnSnapshot.weekOf(Math.max(fromDay, dayRange[0]));
+        int lastWeek = TaskColumnSnapshot.weekOf(Math.min(toDay - 1, dayRange[1]));
+
+        TaskColumnSnapshot.Scan scan = new TaskColumnSnapshot.Scan(statusCodes, priorityCodes, categoryCodes,
+                fromDay, toDay, groupByWeek, firstWeek,
+                groupBy.contains(PivotDimension.STATUS) ? statusKeys.size() : 1,
+                groupBy.contains(PivotDimension.PRIORITY_LEVEL) ? levels.size() : 1,
+                groupBy.contains(PivotDimension.CATEGORY) ? categories.size() : 1,
+                groupByWeek ? lastWeek - firstWeek + 1 : 1);
+        if (scan.cellCount() == 0) {
+            return response;
+        }
+        if (scan.cellCount() > maxCells) {
+            throw new InvalidRequestException("The report would have " + scan.cellCount() + " cells (maximum "
+                    + maxCells + "); group by fewer dimensions or narrow createdFrom/createdTo");
+        }
+        long[] counts = snapshot.count(scan);
+
+        // Cell index back to the code of each dimension (indexed by dimension ordinal)
+        List<int[]> cells = new ArrayList<>();
+        for (int cell = 0; cell < counts.length; cell++) {
+            if (counts[cell] == 0) {
+                continue;
+            }
+            int rest = cell;
+            int[] codes = new int[PivotDimension.values().length];
+            codes[PivotDimension.CREATED_WEEK.ordinal()] = rest % scan.weekCount();
+            rest /= scan.weekCount();
+            codes[PivotDimension.CATEGORY.ordinal()] = rest % scan.categoryCount();
+            rest /= scan.categoryCount();
+            codes[PivotDimension.PRIORITY_LEVEL.ordinal()] = rest % scan.priorityCount();
+            codes[PivotDimension.STATUS.ordinal()] = rest / scan.priorityCount();
+            cells.add(new int[]{cell, codes[0], codes[1], codes[2], codes[3]});
+        }
+        // Rows sorted by the grouped dimensions in groupBy order
+        Comparator<int[]> order = null;
+        for (PivotDimension dimension : groupBy) {
+            Comparator<int[]> byDimension = Comparator.comparingInt(cell -> cell[1 + dimension.ordinal()]);
+            order = order == null ? byDimension : order.thenComparing(byDimension);
+        }
+        cells.sort(order);
+
+        for (int[] cell : cells) {
+            List<String> keys = new ArrayList<>(groupBy.size());
+            for (PivotDimension dimension : groupBy) {
+                int code = cell[1 + dimension.ordinal()];
+                keys.add(switch (dimension) {
+                    case STATUS -> statusKeys.get(code);
+                    case PRIORITY_LEVEL -> levels.get(code).toString();
+                    case CATEGORY -> categories.get(code).getName();
+                    case CREATED_WEEK -> isoWeek(firstWeek + code);
+                });
+            }
+            long count = counts[cell[0]];
+            response.getRows().add(new PivotReportResponse.Row(keys, count));
+            response.setTotal(response.getTotal() + count);
+        }
+        return response;
+    }
+
+    /**
+     * Re-reads the tasks changed since the last refresh into the snapshot.
+     */
+    private void refresh() {
+        load();
+        synchronized (refreshLock) {
+            List<Long> ids = new ArrayList<>();
+            for (Iterator<Long> iterator = changedTaskIds.iterator(); iterator.hasNext(); ) {
+                ids.add(iterator.next());
+                iterator.remove();
+            }
+            if (ids.isEmpty()) {
+                return;
+            }
+
+            List<TaskColumnSnapshot.Row> rows = new ArrayList<>();
+            if (inMemoryTaskStore.isPresent()) {
+                ids.forEach(id -> inMemoryTaskStore.get().findById(id).map(this::toRow).ifPresent(rows::add));
+            } else {
+                Map<Long, Integer> shards = shardRouter.shardsOfTasks(ids);
+                Map<Integer, List<Long>> idsByShard = new HashMap<>();
+                ids.forEach(id -> idsByShard.computeIfAbsent(shards.get(id), shard -> new ArrayList<>())
+                        .add(id));
+                idsByShard.forEach((shard, shardIds) -> {
+                    for (int from = 0; from < shardIds.size(); from += RELOAD_CHUNK_SIZE) {
+                        List<Long> chunk = shardIds.subList(from, Math.min(shardIds.size(), from + RELOAD_CHUNK_SIZE));
+                        // Read-write transaction: always the primary (or shard), never a lagging replica
+                        shardRouter.inShard(shard, false, () -> taskViewRepository.findReportRowsByIds(chunk))
+                                .forEach(row -> rows.add(toRow(row)));
+                    }
+                });
+            }
+
+            // Changed tasks that were not found anymore are deleted or archived
+            Set<Long> found = new HashSet<>();
+            rows.forEach(row -> found.add(row.id()));
+            snapshot.apply(rows, ids.stream().filter(id -> !found.contains(id)).toList());
+        }
+    }
+
+    /**
+     * Reads all tasks of a shard, page by page in ID order.
+     */
+    private void loadShard(int shard) {
+        long afterId = 0;
+        while (true) {
+            long after = afterId;
+            List<Object[]> page = shardRouter.inShard(shard, false,
+                    () -> taskViewRepository.findReportRowsAfter(after, PageRequest.of(0, PAGE_SIZE)));
+            if (page.isEmpty()) {
+                return;
+            }
+            snapshot.apply(page.stream().map(this::toRow).toList(), List.of());
+            afterId = (Long) page.get(page.size() - 1)[0];
+        }
+    }
+
+    private TaskColumnSnapshot.Row toRow(Object[] row) {
+        return new TaskColumnSnapshot.Row((Long) row[0], (TaskStatus) row[1], (Long) row[2], (Long) row[3],
+                (LocalDateTime) row[4]);
+    }
+
+    private TaskColumnSnapshot.Row toRow(InMemoryTaskStore.StoredTask task) {
+        return new TaskColumnSnapshot.Row(task.id(), task.status(), task.categoryId(), task.priorityId(),
+                task.createdAt());
+    }
+
+    private static int levelOf(Priority priority) {
+        return priority.getLevel() != null ? priority.getLevel() : 0;
+    }
+
+    private static int addKey(List<String> keys, String key) {
+        keys.add(key);
+        return keys.size() - 1;
+    }
+
+    /**
+     * Builds an array indexed by entity ID holding the code of each entity (-1 for unknown IDs).
+     */
+    private static <E> int[] codesById(List<E> entities, Function<E, Long> id,
+                                       ToIntFunction<E> code) {
+        int length = entities.stream().mapToInt(entity -> id.apply(entity).intValue() + 1).max().orElse(0);
+        int[] codes = new int[length];
+        Arrays.fill(codes, -1);
+        entities.forEach(entity -> codes[id.apply(entity).intValue()] = code.applyAsInt(entity));
+        return codes;
+    }
+
+    private static String isoWeek(int week) {
+        LocalDate monday = LocalDate.ofEpochDay(week * 7L - 3);
+        return String.format("%d-W%02d", monday.get(IsoFields.WEEK_BASED_YEAR),
+                monday.get(IsoFields.WEEK_OF_WEEK_BASED_YEAR));
+    }
+}
@@ -1,40 +1,33 @@
 package org.example.service;
 
-import org.example.exception.*;
+import org.example.exception.CategoryNotFoundException;
+import org.example.exception.InvalidRequestException;
+import org.example.exception.PriorityNotFoundException;
+import org.example.exception.TaskHierarchyCycleException;
+import org.example.exception.TaskNotFoundException;
+import org.example.exception.UserNotFoundException;
 import org.example.model.dto.request.TaskRequest;
 import org.example.model.dto.request.TaskStatusUpdateRequest;
-import org.example.model.dto.response.*;
-import org.example.model.entity.*;
-import org.example.model.enums.TaskStatus;
-import org.example.repository.*;
-import lombok.RequiredArgsConstructor;
-import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
+import org.example.model.dto.response.BatchResponse;
+import org.example.model.dto.response.TaskResponse;
+import org.example.model.dto.response.TaskSubtasksResponse;
+import org.example.model.dto.response.UserDashboardResponse;
 
 import java.util.List;
-import java.util.stream.Collectors;
+import java.util.Optional;
 
 /**
- * Service class for Task-related business logic.
- * Contains the core business logic for task management including validation
- * of related entities (User, Category, Priority) before task operations.
+ * Task-related business logic, independent of the task store engine.
+ * Two implementations exist, selected by Spring profile:
+ * - JpaTaskService (default): tasks in the database through JPA
+ * - InMemoryTaskService ("memory" profile): tasks in primitive hash maps, no JPA, no SQL
+ *
+ * Both implementations must behave identically for every method.
  */
-@Service
-@RequiredArgsConstructor
-public class TaskService {
-
-    private final TaskRepository taskRepository;
-    private final UserRepository userRepository;
-    private final CategoryRepository categoryRepository;
-    private final PriorityRepository priorityRepository;
+public interface TaskService {
 
     /**
-     * Creates a new task in the system.
-     * This method performs several validation steps:
-     * 1. Validates that the assigned user exists
-     * 2. Validates that the category exists
-     * 3. Validates that the priority exists
-     * 4. Creates and saves the task with PENDING status
+     * Creates a new task with PENDING status after validating its user, category and priority.
      *
      * @param request TaskRequest containing task details and related entity IDs
      * @return TaskResponse with complete task information including user, category, and priority
@@ -42,65 +35,61 @@ public class TaskService {
      * @throws CategoryNotFoundException if the specified category doesn't exist
      * @throws PriorityNotFoundException if the specified priority doesn't exist
      */
-    @Transactional
-    public TaskResponse createTask(TaskRequest request) {
-        // Step 1: Validate user exists
-        User user = userRepository.findById(request.getUserId())
-                .orElseThrow(() -> new UserNotFoundException("User not found with id: " + request.getUserId()));
-
-        // Step 2: Validate category exists
-        Category category = categoryRepository.findById(request.getCategoryId())
-                .orElseThrow(() -> new CategoryNotFoundException("Category not found with id: " + request.getCategoryId()));
-
-        // Step 3: Validate priority exists
-        Priority priority = priorityRepository.findById(request.getPriorityId())
-                .orElseThrow(() -> new PriorityNotFoundException("Priority not found with id: " + request.getPriorityId()));
-
-        // Step 4: Create new task with validated entities
-        Task task = new Task();
-        task.setTitle(request.getTitle());
-        task.setDescription(request.getDescription());
-        task.setUser(user);
-        task.setCategory(category);
-        task.setPriority(priority);
-        task.setStatus(TaskStatus.PENDING); // Default status
-
-        // Save task and return response
-        Task savedTask = taskRepository.save(task);
-        return mapToResponse(savedTask);
-    }
+    TaskResponse createTask(TaskRequest request);
 
     /**
-     * Retrieves all tasks from the database.
-     * Each task includes complete information about its user, category, and priority.
+     * Retrieves all tasks, sorted by ID.
+     * Only live tasks are returned unless archived ones are explicitly requested.
      *
+     * @param includeArchived Whether archived tasks are included as well
      * @return List of TaskResponse containing all tasks with full details
      */
-    public List<TaskResponse> getAllTasks() {
-        // Fetch all tasks and convert each to TaskResponse with nested entities
-        return taskRepository.findAll().stream()
-                .map(this::mapToResponse)
-                .collect(Collectors.toList());
-    }
+    List<TaskResponse> getAllTasks(boolean includeArchived);
 
     /**
      * Retrieves a specific task by its ID.
      *
      * @param id The unique identifier of the task
+     * @param includeArchived Whether to look in the archive if the task is not live
      * @return TaskResponse with complete task information
      * @throws TaskNotFoundException if no task exists with the given ID
      */
-    public TaskResponse getTaskById(Long id) {
-        // Find task or throw exception
-        Task task = taskRepository.findById(id)
-                .orElseThrow(() -> new TaskNotFoundException("Task not found with id: " + id));
+    TaskResponse getTaskById(Long id, boolean includeArchived);
 
-        return mapToResponse(task);
-    }
+    /**
+     * Retrieves tasks by their IDs, in request order. IDs without a task are reported
+     * in the response instead of failing the request.
+     *
+     * @param ids The IDs of the tasks; a repeated ID is returned once
+     * @param includeArchived Whether to look in the archive for IDs that are not live
+     * @return BatchResponse with the found tasks and the IDs without a task
+     * @throws InvalidRequestException if too many IDs are requested
+     */
+    BatchResponse<TaskResponse> getTasksByIds(List<Long> ids, boolean includeArchived);
 
     /**
-     * Updates an existing task's information.
-     * All related entities (user, category, priority) are validated before update.
+     * Retrieves the tasks ready to be worked on: open (not DONE) tasks whose dependencies
+     * are all DONE, sorted by ID. Served from the ready set of TaskDependencyGraph.
+     *
+     * @return List of TaskResponse containing the ready tasks with full details
+     */
+    List<TaskResponse> getReadyTasks();
+
+    /**
+     * Retrieves the live subtasks of a task down to a depth, nearest first (then by ID),
+     * together with the rolled-up number of subtasks and DONE subtasks at any depth.
+     * Served from the closure table of TaskHierarchyService.
+     *
+     * @param id The ID of the task
+     * @param maxDepth Deepest level returned (1 for the direct subtasks), null for all levels
+     * @return TaskSubtasksResponse with the counters and the subtasks
+     * @throws TaskNotFoundException if no live task exists with the given ID
+     */
+    TaskSubtasksResponse getSubtasks(Long id, Integer maxDepth);
+
+    /**
+     * Updates an existing task's title, description, deadline, parent, user, category and priority.
+     * A new parent moves the task with all its subtasks.
      *
      * @param id The ID of the task to update
      * @param request TaskRequest containing updated task details
@@ -109,120 +98,47 @@ public class TaskService {
      * @throws UserNotFoundException if the new user doesn't exist
      * @throws CategoryNotFoundException if the new category doesn't exist
      * @throws PriorityNotFoundException if the new priority doesn't exist
+     * @throws TaskHierarchyCycleException if the new parent is the task itself or one of its subtasks
      */
-    @Transactional
-    public TaskResponse updateTask(Long id, TaskRequest request) {
-        // Step 1: Validate task exists
-        Task task = taskRepository.findById(id)
-                .orElseThrow(() -> new TaskNotFoundException("Task not found with id: " + id));
-
-        // Step 2: Validate new user exists
-        User user = userRepository.findById(request.getUserId())
-                .orElseThrow(() -> new UserNotFoundException("User not found with id: " + request.getUserId()));
-
-        // Step 3: Validate new category exists
-        Category category = categoryRepository.findById(request.getCategoryId())
-                .orElseThrow(() -> new CategoryNotFoundException("Category not found with id: " + request.getCategoryId()));
-
-        // Step 4: Validate new priority exists
-        Priority priority = priorityRepository.findById(request.getPriorityId())
-                .orElseThrow(() -> new PriorityNotFoundException("Priority not found with id: " + request.getPriorityId()));
-
-        // Step 5: Update task fields
-        task.setTitle(request.getTitle());
-        task.setDescription(request.getDescription());
-        task.setUser(user);
-        task.setCategory(category);
-        task.setPriority(priority);
-
-        // Save and return updated task
-        Task updatedTask = taskRepository.save(task);
-        return mapToResponse(updatedTask);
-    }
+    TaskResponse updateTask(Long id, TaskRequest request);
 
     /**
      * Updates only the status of a task.
-     * This is a lighter operation than full task update, used when only
-     * the status needs to change (e.g., moving from PENDING to IN_PROGRESS).
      *
      * @param id The ID of the task to update
      * @param request TaskStatusUpdateRequest containing the new status
      * @return TaskResponse with updated task information
      * @throws TaskNotFoundException if the task doesn't exist
      */
-    @Transactional
-    public TaskResponse updateTaskStatus(Long id, TaskStatusUpdateRequest request) {
-        // Step 1: Validate task exists
-        Task task = taskRepository.findById(id)
-                .orElseThrow(() -> new TaskNotFoundException("Task not found with id: " + id));
-
-        // Step 2: Update status only
-        task.setStatus(request.getStatus());
-
-        // Save and return updated task
-        Task updatedTask = taskRepository.save(task);
-        return mapToResponse(updatedTask);
-    }
+    TaskResponse updateTaskStatus(Long id, TaskStatusUpdateRequest request);
 
     /**
-     * Deletes a task from the system.
+     * Claims the next task of a user: the PENDING task with the highest priority level,
+     * oldest first among equal levels, which is moved to IN_PROGRESS.
+     * Concurrent callers never claim the same task.
      *
-     * @param id The ID of the task to delete
-     * @throws TaskNotFoundException if no task exists with the given ID
+     * @param userId The ID of the user whose next task is claimed
+     * @return TaskResponse of the claimed task, or empty if the user has no PENDING tasks
+     * @throws UserNotFoundException if no user exists with the given ID
      */
-    @Transactional
-    public void deleteTask(Long id) {
-        // Verify task exists before deletion
-        if (!taskRepository.existsById(id)) {
-            throw new TaskNotFoundException("Task not found with id: " + id);
-        }
-
-        taskRepository.deleteById(id);
-    }
+    Optional<TaskResponse> claimNextTask(Long userId);
 
     /**
-     * Converts Task entity to TaskResponse DTO with complete nested information.
-     * This method builds a complete response including:
-     * - Task details
-     * - Complete user information
-     * - Complete category information
-     * - Complete priority information
+     * Retrieves the dashboard of a user: the user, the number of tasks per status, the open
+     * tasks grouped by status and the categories and priorities they reference.
+     * Assembled with a fixed number of queries, whatever the number of tasks.
      *
-     * @param task The Task entity to convert
-     * @return TaskResponse DTO with all nested information
+     * @param userId The ID of the user
+     * @return UserDashboardResponse of the user
+     * @throws UserNotFoundException if no user exists with the given ID
      */
-    private TaskResponse mapToResponse(Task task) {
-        TaskResponse response= new TaskResponse();
-        response.setId(task.getId());
-        response.setTitle(task.getTitle());
-        response.setDescription(task.getDescription());
-        response.setStatus(task.getStatus());
-        response.setCreatedAt(task.getCreatedAt());
-        response.setUpdatedAt(task.getUpdatedAt());
-
-        // Map nested user information
-        UserResponse userResponse= new UserResponse();
-        userResponse.setId(task.getUser().getId());
-        userResponse.setName(task.getUser().getName());
-        userResponse.setEmail(task.getUser().getEmail());
-        userResponse.setCreatedAt(task.getUser().getCreatedAt());
-        response.setUser(userResponse);
+    UserDashboardResponse getUserDashboard(Long userId);
 
-        // Map nested category information
-        CategoryResponse categoryResponse= new CategoryResponse();
-        categoryResponse.setId(task.getCategory().getId());
-        categoryResponse.setName(task.getCategory().getName());
-        categoryResponse.setDescription(task.getCategory().getDescription());
-        response.setCategory(categoryResponse);
-
-        // Map nested priority information
-        PriorityResponse priorityResponse= new PriorityResponse();
-        priorityResponse.setId(task.getPriority().getId());
-        priorityResponse.setName(task.getPriority().getName());
-        priorityResponse.setLevel(task.getPriority().getLevel());
-        response.setPriority(priorityResponse);
-
-        return response;
-    }
+    /**
+     * Deletes a task from the system.
+     *
+     * @param id The ID of the task to delete
+     * @throws TaskNotFoundException if no task exists with the given ID
+     */
+    void deleteTask(Long id);
 }
-
@@ -0,0 +1,629 @@
+package org.example.service;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.example.config.DataSourceRouting;
+import org.example.config.ShardProperties;
+import org.example.model.entity.ArchivedTask;
+import org.example.model.entity.Task;
+import org.example.model.entity.TaskLocation;
+import org.example.model.entity.TaskStatusHistory;
+import org.example.repository.ArchivedTaskRepository;
+import org.example.repository.CategoryRepository;
+import org.example.repository.PriorityRepository;
+import org.example.repository.TaskLocationRepository;
+import org.example.repository.TaskRepository;
+import org.example.repository.TaskStatusHistoryRepository;
+import org.example.repository.TaskViewRepository;
+import org.example.repository.UserRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Queue;
+import java.util.TreeMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.IntFunction;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+/**
+ * Routes task storage to N shards partitioned by user ID (shard = userId mod N).
+ * - A task is stored on the shard of its user; single-user work runs on that one shard
+ * - Queries over all tasks run on every shard in parallel (scatter-gather)
+ * - Users, categories and priorities are written to shard 0 and replicated to the other shards,
+ *   so every shard can check its foreign keys and join locally
+ *
+ * Task IDs stay unique across shards: shard k generates the IDs k+1, k+1+N, k+1+2N, ...
+ * so the ID of a task tells on which shard it was created. Tasks that moved to another
+ * shard because their user changed keep their ID; their shard is stored in "task_locations"
+ * on shard 0, so every instance routes them to the same shard.
+ * Moves that did not finish (e.g., because of a crash) are completed at startup, and reference
+ * data writes that failed on a shard are retried in order until they succeed.
+ *
+ * With a single shard (no task.shards.urls) everything runs on the primary as before.
+ */
+@Component
+public class TaskShardRouter {
+
+    private static final Logger log = LoggerFactory.getLogger(TaskShardRouter.class);
+
+    private final int shardCount;
+    private final TransactionTemplate readWriteTransaction;
+    private final TransactionTemplate readOnlyTransaction;
+    private final DataSource dataSource;
+    private final TaskRepository taskRepository;
+    private final ArchivedTaskRepository archivedTaskRepository;
+    private final UserRepository userRepository;
+    private final CategoryRepository categoryRepository;
+    private final PriorityRepository priorityRepository;
+    private final TaskViewRepository taskViewRepository;
+    private final TaskStatusHistoryRepository historyRepository;
+    private final TaskLocationRepository locationRepository;
+
+    /**
+     * Runs the per-shard parts of a scatter-gather, and other independent queries, in parallel
+     */
+    private final ExecutorService scatterExecutor;
+
+    /**
+     * Reference data writes per shard 1..N-1 that still have to be applied there, in order
+     */
+    private final Map<Integer, Queue<Runnable>> pendingReplication = new ConcurrentHashMap<>();
+
+    /**
+     * Shard of the read-write transaction the current thread runs in, if the router started it
+     */
+    private final ThreadLocal<Integer> transactionShard = new ThreadLocal<>();
+
+    public TaskShardRouter(ShardProperties properties, PlatformTransactionManager transactionManager,
+                           DataSource dataSource, TaskRepository taskRepository,
+                           ArchivedTaskRepository archivedTaskRepository, UserRepository userRepository,
+                           CategoryRepository categoryRepository, PriorityRepository priorityRepository,
+                           TaskViewRepository taskViewRepository, TaskStatusHistoryRepository historyRepository,
+                           TaskLocationRepository locationRepository) {
+        this.shardCount = properties.getCount();
+        this.dataSource = dataSource;
+        this.taskRepository = taskRepository;
+        this.archivedTaskRepository = archivedTaskRepository;
+        this.userRepository = userRepository;
+        this.categoryRepository = categoryRepository;
+        this.priorityRepository = priorityRepository;
+        this.taskViewRepository = taskViewRepository;
+        this.historyRepository = historyRepository;
+        this.locationRepository = locationRepository;
+
+        // Shard work always gets its own transaction: a surrounding one is bound to another shard's connection
+        this.readWriteTransaction = new TransactionTemplate(transactionManager);
+        this.readWriteTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.readOnlyTransaction.setReadOnly(true);
+
+        // One thread per shard, and at least two so independent queries overlap on a single shard too
+        AtomicInteger threadNumber = new AtomicInteger();
+        this.scatterExecutor = Executors.newFixedThreadPool(Math.max(2, shardCount), runnable -> {
+            Thread thread = new Thread(runnable, "shard-scatter-" + threadNumber.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        for (int shard = 1; shard < shardCount; shard++) {
+            pendingReplication.put(shard, new ConcurrentLinkedQueue<>());
+        }
+    }
+
+    /**
+     * Prepares the shards 1..N-1 once Hibernate has created the schema on shard 0:
+     * copies the schema and the reference data, and gives every shard its own task ID sequence.
+     */
+    @PostConstruct
+    public void initializeShards() {
+        if (shardCount == 1) {
+            return;
+        }
+        // H2 specific: SCRIPT NODATA returns the DDL of the primary. A real deployment would
+        // provision the shards with the same schema migrations instead.
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(dataSource);
+        List<String> schema = jdbcTemplate.queryForList("SCRIPT NODATA", String.class).stream()
+                .filter(statement -> !statement.startsWith("--") && !statement.startsWith("CREATE USER"))
+                .toList();
+        for (int shard = 1; shard < shardCount; shard++) {
+            withShard(shard, () -> {
+                // Already prepared by another instance (or an earlier start on a persistent shard)
+                Integer tables = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM INFORMATION_SCHEMA.TABLES " +
+                        "WHERE TABLE_SCHEMA = 'PUBLIC' AND TABLE_NAME = 'TASKS'", Integer.class);
+                if (tables == 0) {
+                    schema.forEach(jdbcTemplate::execute);
+                }
+            });
+        }
+
+        for (int shard = 0; shard < shardCount; shard++) {
+            int currentShard = shard;
+            withShard(shard, () -> {
+                Long maxId = jdbcTemplate.queryForObject("SELECT COALESCE(MAX(id), 0) FROM tasks", Long.class);
+                long nextId = maxId + 1 + Math.floorMod(currentShard - maxId, shardCount);
+                jdbcTemplate.execute("ALTER TABLE tasks ALTER COLUMN id RESTART WITH " + nextId);
+                jdbcTemplate.execute("ALTER TABLE tasks ALTER COLUMN id SET INCREMENT BY " + shardCount);
+            });
+        }
+
+        userRepository.findAll().forEach(user -> replicateNow(() -> userRepository.replicate(
+                user.getId(), user.getName(), user.getEmail(), user.getCreatedAt())));
+        categoryRepository.findAll().forEach(category -> replicateNow(() -> categoryRepository.replicate(
+                category.getId(), category.getName(), category.getDescription())));
+        priorityRepository.findAll().forEach(priority -> replicateNow(() -> priorityRepository.replicate(
+                priority.getId(), priority.getName(), priority.getLevel())));
+
+        // Adds the locations of tasks relocated before they were stored (e.g., data from an older version)
+        for (int shard = 0; shard < shardCount; shard++) {
+            int currentShard = shard;
+            List<Long> relocated = new ArrayList<>(
+                    inShard(shard, true, () -> taskRepository.findRelocatedIds(shardCount, currentShard)));
+            relocated.addAll(inShard(shard, true, () -> archivedTaskRepository.findRelocatedIds(shardCount, currentShard)));
+            Map<Long, Integer> known = shardsOfTasks(relocated);
+            relocate(relocated.stream().filter(id -> known.get(id) != currentShard).toList(), currentShard);
+        }
+        finishInterruptedMoves();
+        log.info("Task storage split over {} shards", shardCount);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        scatterExecutor.shutdown();
+    }
+
+    public int getShardCount() {
+        return shardCount;
+    }
+
+    public boolean isSharded() {
+        return shardCount > 1;
+    }
+
+    /**
+     * @param userId The ID of the user
+     * @return The shard holding the tasks of the user
+     */
+    public int shardOfUser(Long userId) {
+        return Math.floorMod(userId, shardCount);
+    }
+
+    /**
+     * @param taskId The ID of a live or archived task
+     * @return The shard holding the task (if it exists)
+     */
+    public int shardOfTask(Long taskId) {
+        if (shardCount == 1) {
+            return 0;
+        }
+        // Read-write transaction: always the primary, never a replica lagging behind a move
+        return inShard(0, false, () -> locationRepository.findById(taskId))
+                .map(TaskLocation::getShard)
+                .orElseGet(() -> homeShard(taskId));
+    }
+
+    /**
+     * Looks up the shards of many tasks with one query (see shardOfTask()).
+     *
+     * @param taskIds IDs of live or archived tasks
+     * @return The shard holding each task (if it exists) by task ID
+     */
+    public Map<Long, Integer> shardsOfTasks(Collection<Long> taskIds) {
+        Map<Long, Integer> shards = new HashMap<>(taskIds.size() * 2);
+        taskIds.forEach(id -> shards.put(id, shardCount == 1 ? 0 : homeShard(id)));
+        if (shardCount > 1 && !taskIds.isEmpty()) {
+            inShard(0, false, () -> locationRepository.findAllById(taskIds))
+                    .forEach(location -> shards.put(location.getTaskId(), location.getShard()));
+        }
+        return shards;
+    }
+
+    /**
+     * Drops the stored shards of tasks once the current transaction has deleted them.
+     *
+     * @param taskIds IDs of the deleted tasks
+     */
+    public void forgetTasks(Collection<Long> taskIds) {
+        if (shardCount > 1 && !taskIds.isEmpty()) {
+            TransactionCallbacks.afterCommit(() -> runInShard(0, () -> locationRepository.deleteByTaskIds(taskIds)));
+        }
+    }
+
+    /**
+     * Runs the work in a new transaction on the given shard.
+     * Work for the shard of a read-write transaction started by the router on this thread
+     * joins that transaction instead, so both commit or roll back together.
+     *
+     * @param shard The shard index
+     * @param readOnly Whether the transaction is read-only (shard 0 reads may then use a replica)
+     * @param work The work to run
+     * @return The result of the work
+     */
+    public <T> T inShard(int shard, boolean readOnly, Supplier<T> work) {
+        Integer current = transactionShard.get();
+        if (current != null && current == shard) {
+            return work.get();
+        }
+        TransactionTemplate transaction = readOnly ? readOnlyTransaction : readWriteTransaction;
+        return withShard(shard, () -> transaction.execute(status -> {
+            // Reset before the commit: work in commit callbacks must not join a finished transaction
+            transactionShard.set(readOnly ? null : shard);
+            try {
+                return work.get();
+            } finally {
+                transactionShard.set(current);
+            }
+        }));
+    }
+
+    /**
+     * Runs the work in a new read-write transaction on the given shard,
+     * or in the surrounding one on that shard (see inShard()).
+     *
+     * @param shard The shard index
+     * @param work The work to run
+     */
+    public void runInShard(int shard, Runnable work) {
+        inShard(shard, false, () -> {
+            work.run();
+            return null;
+        });
+    }
+
+    /**
+     * Runs the work on every shard in parallel, each in its own transaction (scatter-gather).
+     *
+     * @param readOnly Whether the transactions are read-only
+     * @param work The work to run, given the shard index
+     * @return The result of every shard, in shard order
+     */
+    public <T> List<T> onAllShards(boolean readOnly, IntFunction<T> work) {
+        if (shardCount == 1) {
+            return Collections.singletonList(inShard(0, readOnly, () -> work.apply(0)));
+        }
+        List<CompletableFuture<T>> results = IntStream.range(0, shardCount)
+                .mapToObj(shard -> inShardAsync(shard, readOnly, () -> work.apply(shard)))
+                .toList();
+        return results.stream().map(TaskShardRouter::join).toList();
+    }
+
+    /**
+     * Starts the work in a new transaction on the given shard, on a scatter thread, so the caller
+     * can run other work meanwhile (also with a single shard).
+     *
+     * @param shard The shard index
+     * @param readOnly Whether the transaction is read-only
+     * @param work The work to run
+     * @return The pending result of the work; see join()
+     */
+    public <T> CompletableFuture<T> inShardAsync(int shard, boolean readOnly, Supplier<T> work) {
+        // Keep the read-your-writes pin of the request in the worker thread
+        boolean pinnedToPrimary = DataSourceRouting.isPinnedToPrimary();
+        return CompletableFuture.supplyAsync(() -> {
+            if (pinnedToPrimary) {
+                DataSourceRouting.pinToPrimary();
+            }
+            try {
+                return inShard(shard, readOnly, work);
+            } finally {
+                DataSourceRouting.clear();
+            }
+        }, scatterExecutor);
+    }
+
+    /**
+     * Waits for the result of inShardAsync(), rethrowing the exception of the work as it was thrown.
+     */
+    public static <T> T join(CompletableFuture<T> result) {
+        try {
+            return result.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * Applies a reference data write (user, category or priority) to the shards 1..N-1
+     * once the current transaction on shard 0 has committed.
+     * If the write fails on a shard, it is retried there in the background (see retryReplication()).
+     *
+     * @param write The write, run once per shard
+     */
+    public void replicate(Runnable write) {
+        if (shardCount > 1) {
+            TransactionCallbacks.afterCommit(() -> replicateNow(write));
+        }
+    }
+
+    /**
+     * Applies the reference data writes that failed on a shard, in their original order.
+     * Runs periodically in the background; the startup copies all reference data anyway.
+     */
+    @Scheduled(fixedDelayString = "${task.shards.replication-retry-interval:PT5S}")
+    public void retryReplication() {
+        pendingReplication.keySet().forEach(this::drainReplication);
+    }
+
+    /**
+     * Moves live tasks to another shard, keeping their IDs and values, with their status history.
+     * The rows are copied before they are deleted, so they can be found at any time.
+     *
+     * @param taskIds IDs of the tasks to move
+     * @param from The shard holding the tasks
+     * @param to The target shard
+     */
+    public void moveTasks(Collection<Long> taskIds, int from, int to) {
+        if (from == to || taskIds.isEmpty()) {
+            return;
+        }
+        List<Task> tasks = inShard(from, false, () -> taskRepository.findAllById(taskIds));
+        List<TaskStatusHistory> history = inShard(from, false,
+                () -> historyRepository.findByTaskIdInOrderByTaskIdAscIdAsc(taskIds));
+        List<Long> ids = tasks.stream().map(Task::getId).toList();
+        move(ids, from, to, () -> {
+            tasks.forEach(task -> taskRepository.insertCopy(task.getId(), task.getTitle(),
+                    task.getDescription(), task.getStatus().name(), task.getDueAt(), task.isOverdue(),
+                    task.getParentId(), task.getUser().getId(),
+                    task.getCategory().getId(), task.getPriority().getId(), task.getCreatedAt(), task.getUpdatedAt()));
+            taskViewRepository.refresh(ids);
+            historyRepository.saveAll(copyOf(history));
+        }, () -> deleteTasks(ids));
+    }
+
+    /**
+     * Moves archived tasks to another shard, keeping their IDs and values, with their status history.
+     *
+     * @param taskIds IDs of the archived tasks to move
+     * @param from The shard holding the tasks
+     * @param to The target shard
+     */
+    public void moveArchivedTasks(Collection<Long> taskIds, int from, int to) {
+        if (from == to || taskIds.isEmpty()) {
+            return;
+        }
+        List<ArchivedTask> tasks = inShard(from, false, () -> archivedTaskRepository.findAllById(taskIds));
+        List<TaskStatusHistory> history = inShard(from, false,
+                () -> historyRepository.findByTaskIdInOrderByTaskIdAscIdAsc(taskIds));
+        List<Long> ids = tasks.stream().map(ArchivedTask::getId).toList();
+        move(ids, from, to, () -> {
+            archivedTaskRepository.saveAll(tasks);
+            historyRepository.saveAll(copyOf(history));
+        }, () -> deleteArchivedTasks(ids));
+    }
+
+    /**
+     * Copies rows to the target shard, then deletes them on the source shard.
+     * If the delete fails, the copies are deleted again so the rows stay on the source shard only.
+     * Rows left on both shards or on the wrong one, e.g., after a crash between the steps,
+     * are handled at the next startup (see finishInterruptedMoves()).
+     *
+     * @param ids IDs of the moved tasks
+     * @param copy Writes the copies, run on the target shard
+     * @param delete Deletes the rows, run on the source shard (or on the target to undo the copy)
+     */
+    private void move(List<Long> ids, int from, int to, Runnable copy, Runnable delete) {
+        if (ids.isEmpty()) {
+            return;
+        }
+        runInShard(to, copy);
+        relocate(ids, to);
+        try {
+            runInShard(from, delete);
+        } catch (RuntimeException ex) {
+            try {
+                relocate(ids, from);
+                runInShard(to, delete);
+            } catch (RuntimeException undoFailure) {
+                ex.addSuppressed(undoFailure);
+            }
+            throw ex;
+        }
+    }
+
+    private void deleteTasks(Collection<Long> ids) {
+        taskRepository.deleteAllByIdInBatch(ids);
+        taskViewRepository.deleteByIds(ids);
+        historyRepository.deleteByTaskIds(ids);
+    }
+
+    private void deleteArchivedTasks(Collection<Long> ids) {
+        archivedTaskRepository.deleteAllByIdInBatch(ids);
+        historyRepository.deleteByTaskIds(ids);
+    }
+
+    /**
+     * Completes moves of (live and archived) tasks to the shard of their user that did not finish.
+     * Tasks already copied to that shard are deleted on the old one: the copy was the current
+     * version since the copy committed. The others are moved now.
+     */
+    private void finishInterruptedMoves() {
+        for (int shard = 0; shard < shardCount; shard++) {
+            int from = shard;
+            misplacedByShard(inShard(from, true, () -> taskRepository.findMisplacedRows(shardCount, from)))
+                    .forEach((to, ids) -> {
+                        List<Long> copied = inShard(to, true, () -> taskRepository.findExistingIds(ids));
+                        if (!copied.isEmpty()) {
+                            runInShard(from, () -> deleteTasks(copied));
+                        }
+                        relocate(copied, to);
+                        moveTasks(ids.stream().filter(id -> !copied.contains(id)).toList(), from, to);
+                        log.warn("Finished the interrupted move of {} tasks from shard {} to shard {}",
+                                ids.size(), from, to);
+                    });
+            misplacedByShard(inShard(from, true, () -> archivedTaskRepository.findMisplacedRows(shardCount, from)))
+                    .forEach((to, ids) -> {
+                        List<Long> copied = inShard(to, true, () -> archivedTaskRepository.findExistingIds(ids));
+                        if (!copied.isEmpty()) {
+                            runInShard(from, () -> deleteArchivedTasks(copied));
+                        }
+                        relocate(copied, to);
+                        moveArchivedTasks(ids.stream().filter(id -> !copied.contains(id)).toList(), from, to);
+                        log.warn("Finished the interrupted move of {} archived tasks from shard {} to shard {}",
+                                ids.size(), from, to);
+                    });
+        }
+    }
+
+    /**
+     * Groups [task id, user id] rows by the shard of the user.
+     */
+    private Map<Integer, List<Long>> misplacedByShard(List<Object[]> rows) {
+        return rows.stream().collect(Collectors.groupingBy(row -> shardOfUser((Long) row[1]), TreeMap::new,
+                Collectors.mapping(row -> (Long) row[0], Collectors.toList())));
+    }
+
+    /**
+     * Copies history entries for another shard: same values in the same order, new IDs there.
+     */
+    private static List<TaskStatusHistory> copyOf(List<TaskStatusHistory> history) {
+        return history.stream()
+                .map(entry -> new TaskStatusHistory(null, entry.getTaskId(), entry.getUserId(),
+                        entry.getCategoryId(), entry.getFromStatus(), entry.getToStatus(), entry.getChangedAt()))
+                .toList();
+    }
+
+    /**
+     * Merges lists that are each sorted by the comparator into one sorted list (k-way merge).
+     *
+     * @param sortedLists The per-shard results
+     * @param order The order of every list and of the result
+     * @return All elements in order
+     */
+    public static <T> List<T> mergeSorted(List<List<T>> sortedLists, Comparator<? super T> order) {
+        if (sortedLists.size() == 1) {
+            return sortedLists.get(0);
+        }
+        PriorityQueue<Cursor<T>> heads = new PriorityQueue<>((a, b) -> order.compare(a.head(), b.head()));
+        int total = 0;
+        for (List<T> list : sortedLists) {
+            total += list.size();
+            if (!list.isEmpty()) {
+                heads.add(new Cursor<>(list));
+            }
+        }
+        List<T> merged = new ArrayList<>(total);
+        Cursor<T> cursor;
+        while ((cursor = heads.poll()) != null) {
+            merged.add(cursor.head());
+            if (cursor.advance()) {
+                heads.add(cursor);
+            }
+        }
+        return merged;
+    }
+
+    private int homeShard(Long taskId) {
+        return (int) Math.floorMod(taskId - 1, (long) shardCount);
+    }
+
+    /**
+     * Stores the new shard of tasks on shard 0; tasks back on their home shard lose their row.
+     */
+    private void relocate(Collection<Long> taskIds, int shard) {
+        if (taskIds.isEmpty()) {
+            return;
+        }
+        Map<Boolean, List<Long>> atHome = taskIds.stream()
+                .collect(Collectors.partitioningBy(id -> shard == homeShard(id)));
+        runInShard(0, () -> {
+            if (!atHome.get(true).isEmpty()) {
+                locationRepository.deleteByTaskIds(atHome.get(true));
+            }
+            locationRepository.saveAll(atHome.get(false).stream().map(id -> new TaskLocation(id, shard)).toList());
+        });
+    }
+
+    private void replicateNow(Runnable write) {
+        pendingReplication.forEach((shard, writes) -> {
+            writes.add(write);
+            drainReplication(shard);
+        });
+    }
+
+    /**
+     * Applies the pending writes of a shard in order, stopping at the first one that fails.
+     * One thread at a time per shard, so a later write never overtakes an earlier one.
+     */
+    private void drainReplication(int shard) {
+        Queue<Runnable> writes = pendingReplication.get(shard);
+        synchronized (writes) {
+            Runnable write;
+            while ((write = writes.peek()) != null) {
+                try {
+                    runInShard(shard, write);
+                } catch (RuntimeException ex) {
+                    log.warn("Replication to shard {} failed, {} writes pending; retrying later",
+                            shard, writes.size(), ex);
+                    return;
+                }
+                writes.poll();
+            }
+        }
+    }
+
+    /**
+     * Binds the current thread to a shard while the work runs.
+     */
+    private <T> T withShard(int shard, Supplier<T> work) {
+        int previous = DataSourceRouting.currentShard();
+        DataSourceRouting.setShard(shard);
+        try {
+            return work.get();
+        } finally {
+            DataSourceRouting.setShard(previous);
+        }
+    }
+
+    private void withShard(int shard, Runnable work) {
+        withShard(shard, () -> {
+            work.run();
+            return null;
+        });
+    }
+
+    /**
+     * Read position in one of the lists of a k-way merge.
+     */
+    private static final class Cursor<T> {
+
+        private final List<T> list;
+        private int position;
+
+        private Cursor(List<T> list) {
+            this.list = list;
+        }
+
+        private T head() {
+            return list.get(position);
+        }
+
+        private boolean advance() {
+            return ++position < list.size();
+        }
+    }
+}
@@ -0,0 +1,113 @@
+package org.example.service;
+
+import org.example.model.dto.response.TaskStatusHistoryResponse;
+import org.example.model.entity.TaskStatusHistory;
+import org.example.model.enums.TaskStatus;
+import org.example.repository.TaskStatusHistoryRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Appends task status changes to the task_status_history and reads them back.
+ * Every write path that creates a task or changes its status records its entries here,
+ * in the transaction of the change; completions (changes to DONE) are measured against the
+ * earlier entries of their task and handed to TaskFlowTimeService once committed.
+ * The history of a task is deleted with the task (see deleteHistory()).
+ */
+@Service
+@RequiredArgsConstructor
+public class TaskStatusHistoryService {
+
+    private final TaskStatusHistoryRepository historyRepository;
+    private final TaskFlowTimeService flowTimeService;
+    private final TaskShardRouter shardRouter;
+
+    /**
+     * Appends entries in the current transaction, which must be on the shard of their tasks.
+     *
+     * @param entries The new entries (without ID), in the order the changes happened
+     */
+    public void record(List<TaskStatusHistory> entries) {
+        if (entries.isEmpty()) {
+            return;
+        }
+        historyRepository.saveAll(entries);
+
+        Set<Long> completionIds = new HashSet<>();
+        Set<Long> completedTaskIds = new HashSet<>();
+        for (TaskStatusHistory entry : entries) {
+            if (entry.getFromStatus() != null && entry.getToStatus() == TaskStatus.DONE) {
+                completionIds.add(entry.getId());
+                completedTaskIds.add(entry.getTaskId());
+            }
+        }
+        if (completionIds.isEmpty()) {
+            return;
+        }
+
+        // Replay the histories of the completed tasks to find where each flow started
+        List<TaskFlowTimeService.Completion> completions = new ArrayList<>();
+        Map<Long, TaskFlowTimeService.TaskFlow> flows = new HashMap<>();
+        for (TaskStatusHistory entry : historyRepository.findByTaskIdInOrderByTaskIdAscIdAsc(completedTaskIds)) {
+            TaskFlowTimeService.Completion completion = flows
+                    .computeIfAbsent(entry.getTaskId(), taskId -> new TaskFlowTimeService.TaskFlow())
+                    .next(entry);
+            if (completion != null && completionIds.contains(entry.getId())) {
+                completions.add(completion);
+            }
+        }
+        TransactionCallbacks.afterCommit(() -> flowTimeService.add(completions));
+    }
+
+    /**
+     * Deletes the history of deleted tasks in the current transaction, which must be on the shard
+     * of the tasks, and takes their completions out of the flow times once committed.
+     *
+     * @param taskIds IDs of the deleted tasks
+     */
+    public void deleteHistory(Collection<Long> taskIds) {
+        if (taskIds.isEmpty()) {
+            return;
+        }
+        List<TaskFlowTimeService.Completion> completions = new ArrayList<>();
+        Map<Long, TaskFlowTimeService.TaskFlow> flows = new HashMap<>();
+        for (TaskStatusHistory entry : historyRepository.findByTaskIdInOrderByTaskIdAscIdAsc(taskIds)) {
+            TaskFlowTimeService.Completion completion = flows
+                    .computeIfAbsent(entry.getTaskId(), taskId -> new TaskFlowTimeService.TaskFlow())
+                    .next(entry);
+            if (completion != null) {
+                completions.add(completion);
+            }
+        }
+        historyRepository.deleteByTaskIds(taskIds);
+        if (!completions.isEmpty()) {
+            TransactionCallbacks.afterCommit(() -> flowTimeService.remove(completions));
+        }
+    }
+
+    /**
+     * Retrieves the status history of a task.
+     *
+     * @param taskId The ID of the task
+     * @return The status changes of the task, oldest first (empty if none were recorded)
+     */
+    public List<TaskStatusHistoryResponse> getHistory(Long taskId) {
+        return shardRouter.inShard(shardRouter.shardOfTask(taskId), true,
+                () -> historyRepository.findByTaskIdOrderById(taskId).stream()
+                        .map(this::mapToResponse)
+                        .toList());
+    }
+
+    private TaskStatusHistoryResponse mapToResponse(TaskStatusHistory entry) {
+        return new TaskStatusHistoryResponse(entry.getId(), entry.getTaskId(), entry.getUserId(),
+                entry.getCategoryId(), entry.getFromStatus(), entry.getToStatus(), entry.getChangedAt());
+    }
+}
@@ -0,0 +1,312 @@
+package org.example.service;
+
+import org.example.config.StatusWriteBehindProperties;
+import org.example.model.entity.TaskStatusHistory;
+import org.example.model.enums.TaskStatus;
+import org.example.repository.InMemoryTaskStore;
+import org.example.repository.TaskRepository;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Queue;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+
+/**
+ * Write-behind buffer for high-frequency task status updates.
+ * Status changes are queued without locking and coalesced per task (the last write wins).
+ * A background flush writes them every few milliseconds as one batched UPDATE per status,
+ * instead of one full transaction per request.
+ *
+ * The buffer is bounded: when it is full, enqueue() refuses and the caller performs
+ * the update synchronously, which slows the producer down (backpressure).
+ * Pending updates are flushed when the application shuts down.
+ *
+ * Every queued change carries a sequence number and stays in the buffer until it is written.
+ * A flush locks the rows first and then only writes changes that are still the latest for their
+ * task, so a synchronous update (see discard()) or a newer queued change is never overwritten by
+ * an older one. Changes whose flush failed stay queued; their shard is retried with a growing
+ * delay (see RetryBackoff), and its changes wait aside meanwhile while the other shards are flushed.
+ *
+ * Only the JPA task store is written behind; with the in-memory store the buffer stays disabled.
+ */
+@Service
+@RequiredArgsConstructor
+public class TaskStatusWriteBehindBuffer {
+
+    private static final Logger log = LoggerFactory.getLogger(TaskStatusWriteBehindBuffer.class);
+
+    private final TaskRepository taskRepository;
+    private final TaskShardRouter shardRouter;
+    private final TaskViewProjector taskViewProjector;
+    private final TaskStatusHistoryService statusHistoryService;
+    private final TaskDeadlineScheduler deadlineScheduler;
+    private final TaskDependencyGraph dependencyGraph;
+    private final TaskHierarchyService hierarchyService;
+    private final TaskPriorityQueue taskPriorityQueue;
+    private final StatusWriteBehindProperties properties;
+    private final Optional<InMemoryTaskStore> inMemoryTaskStore;
+
+    /**
+     * Latest pending change per task ID, until it is written or superseded
+     */
+    private final Map<Long, PendingStatus> pending = new ConcurrentHashMap<>();
+
+    /**
+     * Task IDs to look at in the next flush, in arrival order.
+     * An ID may appear more than once (e.g., queued again after a discard); flush() reads each once.
+     */
+    private final Queue<Long> dirtyTaskIds = new ConcurrentLinkedQueue<>();
+
+    /**
+     * Source of the sequence numbers of queued changes
+     */
+    private final AtomicLong sequence = new AtomicLong();
+
+    /**
+     * Number of distinct tasks waiting to be flushed
+     */
+    private final AtomicInteger size = new AtomicInteger();
+
+    /**
+     * Task IDs of changes for shards that are backing off after a failed flush, per shard
+     */
+    private final Map<Integer, Queue<Long>> deferredTaskIds = new ConcurrentHashMap<>();
+
+    /**
+     * Delays flushes to shards where the last flush failed
+     */
+    private RetryBackoff retryBackoff;
+
+    /**
+     * Delays the next flush after the shards of the queued tasks could not be looked up (key 0)
+     */
+    private RetryBackoff lookupBackoff;
+
+    /**
+     * Set once shutdown starts; later updates go the synchronous way
+     */
+    private volatile boolean closed;
+
+    @PostConstruct
+    public void createBackoff() {
+        retryBackoff = new RetryBackoff(Duration.ofSeconds(1), properties.getMaxRetryDelay());
+        lookupBackoff = new RetryBackoff(Duration.ofSeconds(1), properties.getMaxRetryDelay());
+    }
+
+    /**
+     * Checks whether asynchronous status updates are enabled.
+     *
+     * @return true if clients may use the write-behind mode
+     */
+    public boolean isEnabled() {
+        return properties.isEnabled() && !closed && inMemoryTaskStore.isEmpty();
+    }
+
+    /**
+     * Queues a status change for a task.
+     * A newer change for the same task replaces the queued one.
+     *
+     * @param taskId The ID of the task
+     * @param status The new status
+     * @return true if queued, false if the buffer is full or closed (the caller must update synchronously)
+     */
+    public boolean enqueue(Long taskId, TaskStatus status) {
+        if (closed) {
+            return false;
+        }
+        PendingStatus change = new PendingStatus(status, sequence.incrementAndGet());
+        // Replacing an already queued status never needs extra room
+        if (pending.replace(taskId, change) != null) {
+            return true;
+        }
+        if (size.incrementAndGet() > properties.getCapacity()) {
+            size.decrementAndGet();
+            return false;
+        }
+        if (pending.put(taskId, change) == null) {
+            dirtyTaskIds.add(taskId);
+        } else {
+            size.decrementAndGet();
+        }
+        return true;
+    }
+
+    /**
+     * Drops a queued status change, e.g., because a synchronous update supersedes it.
+     * Must be called while the superseding update holds the row lock, before it commits:
+     * a flush that already read the change skips it once it gets the row lock.
+     *
+     * @param taskId The ID of the task
+     */
+    public void discard(Long taskId) {
+        if (pending.remove(taskId) != null) {
+            size.decrementAndGet();
+        }
+    }
+
+    /**
+     * Writes all queued status changes to the database.
+     * Runs in the background every flush interval; changes are grouped by shard and status
+     * so each flush issues at most one UPDATE per status value and shard.
+     * The next-task queue picks up tasks that became PENDING and drops the others.
+     * Tasks whose status actually changes get an entry in the status history, their
+     * deadline is watched again (reopened) or no longer (completed), and the readiness of
+     * their dependents and the roll-up counters of their ancestors are updated.
+     * If the transaction of a shard fails, its changes stay queued and the shard is skipped
+     * until its retry delay has passed (the flush at shutdown tries every shard).
+     */
+    @Scheduled(fixedDelayString = "${task.status.write-behind.flush-interval:PT0.005S}")
+    public void flush() {
+        deferredTaskIds.forEach((shard, ids) -> {
+            if (closed || retryBackoff.isDue(shard)) {
+                Long id;
+                while ((id = ids.poll()) != null) {
+                    dirtyTaskIds.add(id);
+                }
+            }
+        });
+        if (!closed && !lookupBackoff.isDue(0)) {
+            return;
+        }
+
+        Map<Long, PendingStatus> dirty = new LinkedHashMap<>();
+        Long taskId;
+        while ((taskId = dirtyTaskIds.poll()) != null) {
+            PendingStatus change = pending.get(taskId);
+            if (change != null) {
+                dirty.put(taskId, change);
+            }
+        }
+        if (dirty.isEmpty()) {
+            return;
+        }
+        Map<Long, Integer> shards;
+        try {
+            shards = shardRouter.shardsOfTasks(dirty.keySet());
+        } catch (RuntimeException ex) {
+            logFailure(lookupBackoff.failed(0), "look up the shards of", dirty.size(), 0, ex);
+            dirtyTaskIds.addAll(dirty.keySet());
+            return;
+        }
+        lookupBackoff.succeeded(0);
+        Map<Integer, Map<Long, PendingStatus>> changesByShard = new TreeMap<>();
+        dirty.forEach((id, change) -> changesByShard
+                .computeIfAbsent(shards.get(id), shard -> new LinkedHashMap<>())
+                .put(id, change));
+
+        LocalDateTime now = LocalDateTime.now();
+        changesByShard.forEach((shard, changes) -> {
+            if (!closed && !retryBackoff.isDue(shard)) {
+                defer(shard, changes.keySet());
+                return;
+            }
+            Map<TaskStatus, List<Long>> idsByStatus = new EnumMap<>(TaskStatus.class);
+            changes.forEach((id, change) ->
+                    idsByStatus.computeIfAbsent(change.status(), status -> new ArrayList<>()).add(id));
+            try {
+                shardRouter.runInShard(shard, () -> idsByStatus.forEach((status, queuedIds) -> {
+                    // Lock the rows first: a change superseded before that is skipped, a later one waits
+                    List<Object[]> rows = taskRepository.findStatusRowsByIds(queuedIds).stream()
+                            .filter(row -> changes.get((Long) row[0]).equals(pending.get((Long) row[0])))
+                            .toList();
+                    List<Long> ids = rows.stream().map(row -> (Long) row[0]).toList();
+                    if (ids.isEmpty()) {
+                        return;
+                    }
+                    List<Object[]> changed = rows.stream()
+                            .filter(row -> row[1] != status)
+                            .toList();
+                    taskRepository.updateStatusForIds(ids, status, now);
+                    if (status == TaskStatus.DONE) {
+                        taskRepository.clearOverdue(ids);
+                    }
+                    taskViewProjector.refresh(ids);
+                    if (status == TaskStatus.PENDING) {
+                        taskPriorityQueue.refresh(ids);
+                    } else {
+                        ids.forEach(taskPriorityQueue::untrack);
+                    }
+                    statusHistoryService.record(changed.stream()
+                            .map(row -> new TaskStatusHistory(null, (Long) row[0], (Long) row[2], (Long) row[3],
+                                    (TaskStatus) row[1], status, now))
+                            .toList());
+                    changed.forEach(row -> deadlineScheduler.track((Long) row[0], (LocalDateTime) row[4], status,
+                            false));
+                    Map<Long, TaskStatus> statuses = changed.stream()
+                            .collect(Collectors.toMap(row -> (Long) row[0], row -> status));
+                    dependencyGraph.track(statuses);
+                    hierarchyService.track(statuses);
+                }));
+            } catch (RuntimeException ex) {
+                logFailure(retryBackoff.failed(shard), "flush", changes.size(), shard, ex);
+                defer(shard, changes.keySet());
+                return;
+            }
+            int failures = retryBackoff.succeeded(shard);
+            if (failures > 0) {
+                log.info("Flushed buffered task status updates to shard {} again after {} failed attempts",
+                        shard, failures);
+            }
+            // Written or superseded; a newer change queued meanwhile is flushed next time
+            changes.forEach((id, change) -> {
+                if (pending.remove(id, change)) {
+                    size.decrementAndGet();
+                } else if (pending.containsKey(id)) {
+                    dirtyTaskIds.add(id);
+                }
+            });
+        });
+    }
+
+    private void defer(int shard, Collection<Long> taskIds) {
+        deferredTaskIds.computeIfAbsent(shard, key -> new ConcurrentLinkedQueue<>()).addAll(taskIds);
+    }
+
+    /**
+     * Logs the first failure in a row with its stack trace and the following ones as one line,
+     * at most once per retry delay.
+     */
+    private void logFailure(int failures, String action, int count, int shard, RuntimeException ex) {
+        if (failures == 1) {
+            log.error("Failed to {} {} buffered task status updates on shard {}, retrying later",
+                    action, count, shard, ex);
+        } else {
+            log.warn("Failed to {} {} buffered task status updates on shard {} again ({} attempts): {}",
+                    action, count, shard, failures, ex.toString());
+        }
+    }
+
+    /**
+     * Stops accepting updates and flushes everything still queued before the application stops.
+     */
+    @PreDestroy
+    public void shutdown() {
+        closed = true;
+        flush();
+    }
+
+    /**
+     * A queued status change; the sequence number tells apart changes to the same status.
+     */
+    private record PendingStatus(TaskStatus status, long sequence) {
+    }
+}
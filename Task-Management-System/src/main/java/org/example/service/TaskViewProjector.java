@@ -0,0 +1,83 @@
+package org.example.service;
+
+import jakarta.annotation.PostConstruct;
+import org.example.repository.TaskViewRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Keeps the task_view read model in line with the write model.
+ * Every task write calls refresh or remove with the affected IDs inside its own transaction
+ * (on the task's shard), so the view commits or rolls back together with the change.
+ * Renames of users, categories and priorities are applied to all view rows referencing them.
+ * Once the transaction has committed, the changed tasks are also marked for the report snapshot.
+ */
+@Component
+@RequiredArgsConstructor
+public class TaskViewProjector {
+
+    private final TaskViewRepository taskViewRepository;
+    private final TaskShardRouter shardRouter;
+    private final TaskReportService taskReportService;
+
+    /**
+     * Brings the view of every shard in line with its tasks at startup.
+     */
+    @PostConstruct
+    public void rebuild() {
+        shardRouter.onAllShards(false, shard -> taskViewRepository.deleteOrphans() + taskViewRepository.refreshAll());
+    }
+
+    /**
+     * Rewrites the view rows of created or changed tasks. Must run in the transaction of the change.
+     *
+     * @param taskIds IDs of the tasks
+     */
+    public void refresh(Collection<Long> taskIds) {
+        if (!taskIds.isEmpty()) {
+            taskViewRepository.refresh(taskIds);
+            markChanged(taskIds);
+        }
+    }
+
+    /**
+     * Removes the view rows of deleted or archived tasks. Must run in the transaction of the change.
+     *
+     * @param taskIds IDs of the tasks
+     */
+    public void remove(Collection<Long> taskIds) {
+        if (!taskIds.isEmpty()) {
+            taskViewRepository.deleteByIds(taskIds);
+            markChanged(taskIds);
+        }
+    }
+
+    private void markChanged(Collection<Long> taskIds) {
+        List<Long> changed = List.copyOf(taskIds);
+        TransactionCallbacks.afterCommit(() -> taskReportService.markChanged(changed));
+    }
+
+    /**
+     * Applies a user rename to the view rows of the current shard.
+     */
+    public void renameUser(Long userId, String name, String email) {
+        taskViewRepository.updateUser(userId, name, email);
+    }
+
+    /**
+     * Applies a category rename to the view rows of the current shard.
+     */
+    public void renameCategory(Long categoryId, String name, String description) {
+        taskViewRepository.updateCategory(categoryId, name, description);
+    }
+
+    /**
+     * Applies a priority rename (or level change) to the view rows of the current shard.
+     */
+    public void renamePriority(Long priorityId, String name, Integer level) {
+        taskViewRepository.updatePriority(priorityId, name, level);
+    }
+}
@@ -0,0 +1,177 @@
+package org.example.service;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Hierarchical timing wheel holding one deadline per ID.
+ * Time advances in ticks. Level 0 has one slot per tick for the next wheelSize ticks; each
+ * higher level has slots wheelSize times as long, covering wheelSize times as far ahead.
+ * A deadline is placed on the lowest level whose range reaches it; when a higher-level slot
+ * comes up, its entries cascade down to finer slots, and the level-0 slot of the current tick
+ * expires. Scheduling, cancelling and expiring an ID are O(1), whatever the number of deadlines.
+ *
+ * Deadlines are rounded up to whole ticks, so an ID never expires before its deadline and at
+ * most one tick after it (plus the delay of the caller of advance).
+ */
+final class TimingWheel {
+
+    /**
+     * Bucket index of IDs already expired but not yet returned by advance()
+     */
+    private static final int EXPIRED = -1;
+
+    private final long tickMillis;
+    private final int wheelSize;
+    private final int levels;
+
+    /**
+     * Ticks per slot of each level (wheelSize^level), plus the range of the whole wheel at the end
+     */
+    private final long[] slotTicks;
+
+    /**
+     * Deadline tick per ID, one map per slot (index level * wheelSize + slot)
+     */
+    private final List<Map<Long, Long>> buckets;
+
+    /**
+     * Bucket index of every scheduled ID
+     */
+    private final Map<Long, Integer> bucketOf = new HashMap<>();
+
+    private final Set<Long> expired = new LinkedHashSet<>();
+
+    private long currentTick;
+
+    /**
+     * @param tickMillis Length of a tick in milliseconds
+     * @param wheelSize Slots per level (at least 2)
+     * @param horizonMillis How far ahead the wheel reaches; later deadlines wait on the last level
+     * @param nowMillis The current time
+     */
+    TimingWheel(long tickMillis, int wheelSize, long horizonMillis, long nowMillis) {
+        if (tickMillis <= 0 || wheelSize < 2) {
+            throw new IllegalArgumentException("The tick must be positive and the wheel size at least 2");
+        }
+        this.tickMillis = tickMillis;
+        this.wheelSize = wheelSize;
+
+        List<Long> ticks = new ArrayList<>(List.of(1L));
+        long horizonTicks = Math.max(1, horizonMillis / tickMillis);
+        while (ticks.get(ticks.size() - 1) <= horizonTicks / wheelSize) {
+            ticks.add(ticks.get(ticks.size() - 1) * wheelSize);
+        }
+        this.levels = ticks.size();
+        ticks.add(ticks.get(levels - 1) * wheelSize);
+        this.slotTicks = ticks.stream().mapToLong(Long::longValue).toArray();
+
+        this.buckets = new ArrayList<>(levels * wheelSize);
+        for (int i = 0; i < levels * wheelSize; i++) {
+            buckets.add(new HashMap<>());
+        }
+        this.currentTick = Math.floorDiv(nowMillis, tickMillis);
+    }
+
+    /**
+     * Schedules an ID, replacing its previous deadline. A deadline in the past expires at the next advance.
+     */
+    synchronized void schedule(long id, long deadlineMillis) {
+        cancel(id);
+        place(id, -Math.floorDiv(-deadlineMillis, tickMillis));
+    }
+
+    /**
+     * Schedules an ID unless it already has a deadline (which is newer and kept).
+     */
+    synchronized void scheduleIfAbsent(long id, long deadlineMillis) {
+        if (!bucketOf.containsKey(id)) {
+            place(id, -Math.floorDiv(-deadlineMillis, tickMillis));
+        }
+    }
+
+    /**
+     * Removes the deadline of an ID, if it has one.
+     */
+    synchronized void cancel(long id) {
+        Integer bucket = bucketOf.remove(id);
+        if (bucket == null) {
+            return;
+        }
+        if (bucket == EXPIRED) {
+            expired.remove(id);
+        } else {
+            buckets.get(bucket).remove(id);
+        }
+    }
+
+    synchronized int size() {
+        return bucketOf.size();
+    }
+
+    /**
+     * Moves the wheel up to the given time.
+     *
+     * @return The IDs whose deadline has passed, removed from the wheel
+     */
+    synchronized List<Long> advance(long nowMillis) {
+        long targetTick = Math.floorDiv(nowMillis, tickMillis);
+        while (currentTick < targetTick) {
+            if (bucketOf.size() == expired.size()) {
+                // Nothing left on the wheel: skip the idle ticks
+                currentTick = targetTick;
+                break;
+            }
+            currentTick++;
+            // Higher levels first, so entries cascading down into the current tick still expire in it
+            for (int level = levels - 1; level >= 1; level--) {
+                if (currentTick % slotTicks[level] == 0) {
+                    Map<Long, Long> due = takeBucket(level, currentTick);
+                    due.forEach(this::place);
+                }
+            }
+            takeBucket(0, currentTick).keySet().forEach(id -> {
+                expired.add(id);
+                bucketOf.put(id, EXPIRED);
+            });
+        }
+
+        List<Long> result = new ArrayList<>(expired);
+        result.forEach(bucketOf::remove);
+        expired.clear();
+        return result;
+    }
+
+    private void place(long id, long deadlineTick) {
+        long delta = deadlineTick - currentTick;
+        if (delta <= 0) {
+            expired.add(id);
+            bucketOf.put(id, EXPIRED);
+            return;
+        }
+        int level = 0;
+        while (level < levels - 1 && delta >= slotTicks[level + 1]) {
+            level++;
+        }
+        // Beyond the horizon: wait in the farthest slot and cascade again when it comes up
+        long placedTick = Math.min(deadlineTick, currentTick + slotTicks[levels] - 1);
+        int bucket = level * wheelSize + (int) ((placedTick / slotTicks[level]) % wheelSize);
+        buckets.get(bucket).put(id, deadlineTick);
+        bucketOf.put(id, bucket);
+    }
+
+    private Map<Long, Long> takeBucket(int level, long tick) {
+        int bucket = level * wheelSize + (int) ((tick / slotTicks[level]) % wheelSize);
+        Map<Long, Long> entries = buckets.get(bucket);
+        if (entries.isEmpty()) {
+            return Map.of();
+        }
+        buckets.set(bucket, new HashMap<>());
+        entries.keySet().forEach(bucketOf::remove);
+        return entries;
+    }
+}
@@ -0,0 +1,53 @@
+package org.example.service;
+
+import org.example.model.dto.response.CategoryResponse;
+import org.example.model.dto.response.PriorityResponse;
+import org.example.model.dto.response.TaskResponse;
+import org.example.model.dto.response.UserDashboardResponse;
+import org.example.model.dto.response.UserResponse;
+import org.example.model.enums.TaskStatus;
+
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Assembles a UserDashboardResponse from the open tasks and status counts of a user,
+ * whichever task store they were read from.
+ */
+final class UserDashboards {
+
+    private UserDashboards() {
+    }
+
+    /**
+     * @param user The user
+     * @param statusCounts Number of tasks per status; missing statuses count 0
+     * @param openTasks The open tasks of the user, sorted by ID
+     */
+    static UserDashboardResponse assemble(UserResponse user, Map<TaskStatus, Long> statusCounts,
+                                          List<TaskResponse> openTasks) {
+        Map<TaskStatus, Long> counts = new EnumMap<>(TaskStatus.class);
+        Map<TaskStatus, List<UserDashboardResponse.Task>> tasksByStatus = new EnumMap<>(TaskStatus.class);
+        for (TaskStatus status : TaskStatus.values()) {
+            counts.put(status, statusCounts.getOrDefault(status, 0L));
+            if (status != TaskStatus.DONE) {
+                tasksByStatus.put(status, new ArrayList<>());
+            }
+        }
+
+        Map<Long, CategoryResponse> categories = new TreeMap<>();
+        Map<Long, PriorityResponse> priorities = new TreeMap<>();
+        for (TaskResponse task : openTasks) {
+            categories.putIfAbsent(task.getCategory().getId(), task.getCategory());
+            priorities.putIfAbsent(task.getPriority().getId(), task.getPriority());
+            tasksByStatus.get(task.getStatus()).add(new UserDashboardResponse.Task(task.getId(), task.getTitle(),
+                    task.getDescription(), task.getDueAt(), task.isOverdue(), task.getParentId(),
+                    task.getCategory().getId(), task.getPriority().getId(), task.getCreatedAt(), task.getUpdatedAt()));
+        }
+        return new UserDashboardResponse(user, counts, tasksByStatus,
+                new ArrayList<>(categories.values()), new ArrayList<>(priorities.values()));
+    }
+}
@@ -1,15 +1,23 @@
 package org.example.service;
 
+import org.example.exception.InvalidRequestException;
+import org.example.exception.ResourceInUseException;
 import org.example.exception.UserNotFoundException;
+import org.example.json.ReferenceJsonFragments;
 import org.example.model.dto.request.UserRequest;
+import org.example.model.dto.response.BatchResponse;
 import org.example.model.dto.response.UserResponse;
 import org.example.model.entity.User;
+import org.example.model.enums.TaskDeleteMode;
 import org.example.repository.UserRepository;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Map;
 import java.util.stream.Collectors;
 
 /**
@@ -22,6 +30,12 @@ import java.util.stream.Collectors;
 public class UserService {
 
     private final UserRepository userRepository;
+    private final EntityExistenceIndex existenceIndex;
+    private final TaskBulkService taskBulkService;
+    private final TransactionTemplate transactionTemplate;
+    private final TaskShardRouter shardRouter;
+    private final TaskViewProjector taskViewProjector;
+    private final ReferenceJsonFragments jsonFragments;
 
     /**
      * Creates a new user in the system.
@@ -38,6 +52,8 @@ public class UserService {
 
         // Save to database
         User savedUser = userRepository.save(user);
+        existenceIndex.addUser(savedUser.getId());
+        replicateToShards(savedUser);
 
         // Convert entity to response DTO and return
         return mapToResponse(savedUser);
@@ -48,6 +64,7 @@ public class UserService {
      *
      * @return List of UserResponse containing all users in the system
      */
+    @Transactional(readOnly = true)
     public List<UserResponse> getAllUsers() {
         // Fetch all users and convert each to UserResponse
         return userRepository.findAll().stream()
@@ -62,14 +79,37 @@ public class UserService {
      * @return UserResponse with the user's information
      * @throws UserNotFoundException if no user exists with the given ID
      */
+    @Transactional(readOnly = true)
     public UserResponse getUserById(Long id) {
+        // Miss in the existence index (confirmed in the database unless a single instance writes)
+        if (!existenceIndex.mightContainUser(id)) {
+            throw new UserNotFoundException(id);
+        }
+
         // Find user or throw exception if not found
         User user = userRepository.findById(id)
-                .orElseThrow(() -> new UserNotFoundException("User not found with id: " + id));
+                .orElseThrow(() -> new UserNotFoundException(id));
 
         return mapToResponse(user);
     }
 
+    /**
+     * Retrieves users by their IDs, with one IN-list query per chunk of IDs.
+     * Only IDs the existence index considers candidates are queried.
+     *
+     * @param ids The IDs of the users; a repeated ID is returned once
+     * @return BatchResponse with the users in request order and the IDs without a user
+     * @throws InvalidRequestException if too many IDs are requested
+     */
+    @Transactional(readOnly = true)
+    public BatchResponse<UserResponse> getUsersByIds(List<Long> ids) {
+        List<Long> requested = BatchLookup.distinct(ids);
+        List<Long> candidates = existenceIndex.candidateUsers(requested);
+        Map<Long, UserResponse> found = BatchLookup.findInChunks(candidates, userRepository::findAllById).stream()
+                .collect(Collectors.toMap(User::getId, this::mapToResponse));
+        return BatchLookup.inOrder(requested, found);
+    }
+
     /**
      * Updates an existing user's information.
      *
@@ -80,9 +120,14 @@ public class UserService {
      */
     @Transactional
     public UserResponse updateUser(Long id, UserRequest request) {
+        // Miss in the existence index (confirmed in the database unless a single instance writes)
+        if (!existenceIndex.mightContainUser(id)) {
+            throw new UserNotFoundException(id);
+        }
+
         // Find existing user or throw exception
         User user = userRepository.findById(id)
-                .orElseThrow(() -> new UserNotFoundException("User not found with id: " + id));
+                .orElseThrow(() -> new UserNotFoundException(id));
 
         // Update user fields
         user.setName(request.getName());
@@ -90,6 +135,9 @@ public class UserService {
 
         // Save changes and return updated user
         User updatedUser = userRepository.save(user);
+        replicateToShards(updatedUser);
+        updateTaskViews(updatedUser);
+        TransactionCallbacks.afterCommit(() -> jsonFragments.evictUser(id));
         return mapToResponse(updatedUser);
     }
 
@@ -98,16 +146,87 @@ public class UserService {
      *
      * @param id The ID of the user to delete
      * @throws UserNotFoundException if no user exists with the given ID
+     * @throws ResourceInUseException if tasks still reference the user
      */
     @Transactional
     public void deleteUser(Long id) {
         // Check if user exists before attempting deletion
-        if (!userRepository.existsById(id)) {
-            throw new UserNotFoundException("User not found with id: " + id);
+        if (!existenceIndex.mightContainUser(id) || !userRepository.existsById(id)) {
+            throw new UserNotFoundException(id);
         }
 
         // Delete the user
+        // Refused with 409 while tasks on any shard still reference it
+        taskBulkService.checkNotReferencedByTasks(TaskBulkService.TaskOwner.USER, id);
+
         userRepository.deleteById(id);
+        TransactionCallbacks.afterCommit(() -> jsonFragments.evictUser(id));
+        existenceIndex.removeUser(id);
+        shardRouter.replicate(() -> userRepository.deleteAllByIdInBatch(List.of(id)));
+    }
+
+    /**
+     * Deletes a user and handles the tasks that still reference it.
+     * - RESTRICT: same as a plain delete (fails while tasks reference the user)
+     * - CASCADE: deletes the user's tasks first
+     * - REASSIGN: moves the user's tasks to the user given by reassignTo first
+     * Tasks are processed in bounded chunks, each in its own short transaction,
+     * so the delete never holds locks on all tasks at once.
+     *
+     * @param id The ID of the user to delete
+     * @param mode What to do with the user's tasks
+     * @param reassignTo The ID of the user receiving the tasks (REASSIGN only)
+     * @throws UserNotFoundException if the user or the reassign target doesn't exist
+     * @throws InvalidRequestException if REASSIGN is requested without a valid target
+     * @throws ResourceInUseException if RESTRICT is requested while tasks still reference the user
+     */
+    public void deleteUser(Long id, TaskDeleteMode mode, Long reassignTo) {
+        if (!existenceIndex.mightContainUser(id) || !userRepository.existsById(id)) {
+            throw new UserNotFoundException(id);
+        }
+
+        if (mode == TaskDeleteMode.CASCADE) {
+            taskBulkService.deleteTasks(TaskBulkService.TaskOwner.USER, id);
+        } else if (mode == TaskDeleteMode.REASSIGN) {
+            if (reassignTo == null || reassignTo.equals(id)) {
+                throw new InvalidRequestException("REASSIGN requires reassignTo with the ID of another user");
+            }
+            if (!existenceIndex.mightContainUser(reassignTo) || !userRepository.existsById(reassignTo)) {
+                throw new UserNotFoundException(reassignTo);
+            }
+            taskBulkService.reassignTasks(TaskBulkService.TaskOwner.USER, id, reassignTo);
+        }
+
+        // The user itself is removed in a last short transaction
+        transactionTemplate.executeWithoutResult(status -> deleteUser(id));
+    }
+
+    /**
+     * Applies the new name and email to the task read model: on this shard in the current
+     * transaction, on the other shards once it has committed.
+     *
+     * @param user The updated User
+     */
+    private void updateTaskViews(User user) {
+        Long id = user.getId();
+        String name = user.getName();
+        String email = user.getEmail();
+        taskViewProjector.renameUser(id, name, email);
+        shardRouter.replicate(() -> taskViewProjector.renameUser(id, name, email));
+    }
+
+    /**
+     * Copies the user to the other task shards once the transaction has committed,
+     * so tasks on every shard can reference it.
+     *
+     * @param user The saved User
+     */
+    private void replicateToShards(User user) {
+        Long id = user.getId();
+        String name = user.getName();
+        String email = user.getEmail();
+        LocalDateTime createdAt = user.getCreatedAt();
+        shardRouter.replicate(() -> userRepository.replicate(id, name, email, createdAt));
     }
 
     /**
@@ -0,0 +1,124 @@
+package org.example.repository;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class LongHashMapTest {
+
+    @Test
+    void putsReplacesAndRemovesValues() {
+        LongHashMap<String> map = new LongHashMap<>();
+
+        assertThat(map.put(1, "a")).isNull();
+        assertThat(map.put(2, "b")).isNull();
+        assertThat(map.put(1, "c")).isEqualTo("a");
+
+        assertThat(map.size()).isEqualTo(2);
+        assertThat(map.get(1)).isEqualTo("c");
+        assertThat(map.remove(1)).isEqualTo("c");
+        assertThat(map.remove(1)).isNull();
+        assertThat(map.get(1)).isNull();
+        assertThat(map.get(2)).isEqualTo("b");
+        assertThat(map.size()).isEqualTo(1);
+    }
+
+    @Test
+    void rejectsNonPositiveKeys() {
+        LongHashMap<String> map = new LongHashMap<>();
+
+        assertThatThrownBy(() -> map.put(0, "a")).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> map.put(-5, "a")).isInstanceOf(IllegalArgumentException.class);
+        assertThat(map.get(0)).isNull();
+        assertThat(map.remove(-5)).isNull();
+        assertThat(map.isEmpty()).isTrue();
+    }
+
+    @Test
+    void keepsAllKeysFindableWhenGrowing() {
+        LongHashMap<Long> map = new LongHashMap<>();
+        for (long key = 1; key <= 10_000; key++) {
+            map.put(key, key * 10);
+        }
+
+        assertThat(map.size()).isEqualTo(10_000);
+        for (long key = 1; key <= 10_000; key++) {
+            assertThat(map.get(key)).isEqualTo(key * 10);
+        }
+        assertThat(map.values()).hasSize(10_000);
+    }
+
+    @Test
+    void keepsProbeChainsFindableAfterRemovingFromTheirMiddle() {
+        // Four keys with the same home slot at the end of the initial 8-slot table: the chain wraps around
+        List<Long> colliding = new ArrayList<>();
+        for (long key = 1; colliding.size() < 4; key++) {
+            if (homeSlot(key, 8) == 7) {
+                colliding.add(key);
+            }
+        }
+        long other = 1;
+        while (colliding.contains(other) || homeSlot(other, 8) != 0) {
+            other++;
+        }
+
+        for (long removed : colliding) {
+            LongHashMap<Long> map = new LongHashMap<>();
+            colliding.forEach(key -> map.put(key, key));
+            map.put(other, other);
+
+            assertThat(map.remove(removed)).isEqualTo(removed);
+            for (long key : colliding) {
+                assertThat(map.get(key)).isEqualTo(key == removed ? null : key);
+            }
+            assertThat(map.get(other)).isEqualTo(other);
+            assertThat(map.size()).isEqualTo(4);
+        }
+    }
+
+    @Test
+    void behavesLikeAHashMapUnderRandomPutsAndRemoves() {
+        Random random = new Random(42);
+        LongHashMap<Integer> map = new LongHashMap<>();
+        Map<Long, Integer> expected = new HashMap<>();
+
+        for (int i = 0; i < 200_000; i++) {
+            // A small key range keeps the table dense, so removals shift long chains
+            long key = 1 + random.nextInt(500);
+            if (random.nextInt(3) == 0) {
+                assertThat(map.remove(key)).isEqualTo(expected.remove(key));
+            } else {
+                assertThat(map.put(key, i)).isEqualTo(expected.put(key, i));
+            }
+            if (i % 1000 == 0) {
+                assertSameContent(map, expected);
+            }
+        }
+        assertSameContent(map, expected);
+    }
+
+    /**
+     * Same spreading as LongHashMap's home slot.
+     */
+    private static int homeSlot(long key, int capacity) {
+        long hash = key * 0x9E3779B97F4A7C15L;
+        return (int) (hash ^ (hash >>> 32)) & (capacity - 1);
+    }
+
+    private static void assertSameContent(LongHashMap<Integer> map, Map<Long, Integer> expected) {
+        assertThat(map.size()).isEqualTo(expected.size());
+        for (long key = 1; key <= 500; key++) {
+            assertThat(map.get(key)).as("key %d", key).isEqualTo(expected.get(key));
+        }
+        List<Integer> values = new ArrayList<>();
+        map.forEachValue(values::add);
+        assertThat(values).containsExactlyInAnyOrderElementsOf(expected.values());
+    }
+}
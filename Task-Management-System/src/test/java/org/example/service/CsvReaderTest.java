@@ -0,0 +1,101 @@
+package org.example.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class CsvReaderTest {
+
+    @Test
+    void readsQuotedFieldsWithEscapedQuotesCommasAndLineBreaks() throws IOException {
+        CsvReader csv = reader("a,\"b,c\",\"say \"\"hi\"\"\"\r\n\"two\nlines\",,x\n");
+
+        assertThat(csv.next()).containsExactly("a", "b,c", "say \"hi\"");
+        assertThat(csv.getRecordError()).isNull();
+        assertThat(csv.next()).containsExactly("two\nlines", "", "x");
+        assertThat(csv.getRecordLine()).isEqualTo(2);
+        assertThat(csv.next()).isNull();
+    }
+
+    @Test
+    void keepsQuotesInsideUnquotedFields() throws IOException {
+        CsvReader csv = reader("ab\"c,d\n");
+
+        assertThat(csv.next()).containsExactly("ab\"c", "d");
+        assertThat(csv.getRecordError()).isNull();
+    }
+
+    @Test
+    void flagsTextAfterAClosingQuoteAndReadsTheNextRecord() throws IOException {
+        CsvReader csv = reader("\"ab\"c,d\nnext,row\n");
+
+        csv.next();
+        assertThat(csv.getRecordError()).contains("after the closing quote of field 1");
+        assertThat(csv.next()).containsExactly("next", "row");
+        assertThat(csv.getRecordError()).isNull();
+        assertThat(csv.getRecordLine()).isEqualTo(2);
+    }
+
+    @Test
+    void resumesAtTheNextLineAfterAnUnterminatedQuote() throws IOException {
+        CsvReader csv = reader("a,\"broken\nb,c\nd,e");
+
+        csv.next();
+        assertThat(csv.getRecordError()).contains("Unterminated quoted field 2");
+        assertThat(csv.getRecordLine()).isEqualTo(1);
+        assertThat(csv.next()).containsExactly("b", "c");
+        assertThat(csv.getRecordLine()).isEqualTo(2);
+        assertThat(csv.next()).containsExactly("d", "e");
+        assertThat(csv.getRecordLine()).isEqualTo(3);
+        assertThat(csv.next()).isNull();
+    }
+
+    @Test
+    void skipsTheRestOfAnOversizedRow() throws IOException {
+        CsvReader csv = reader("x".repeat(70_000) + ",y\r\nb,c\n");
+
+        csv.next();
+        assertThat(csv.getRecordError()).contains("longer than");
+        assertThat(csv.next()).containsExactly("b", "c");
+        assertThat(csv.getRecordLine()).isEqualTo(2);
+    }
+
+    @Test
+    void resumesAtTheNextLineWhenAQuotedFieldRunsPastTheMaximumLength() throws IOException {
+        List<String> lines = new ArrayList<>();
+        for (int i = 0; i < 10_000; i++) {
+            lines.add("row" + i + ",value");
+        }
+        CsvReader csv = reader("\"open\n" + String.join("\n", lines));
+
+        csv.next();
+        assertThat(csv.getRecordError()).contains("longer than");
+        assertThat(csv.next()).containsExactly("row0", "value");
+        assertThat(csv.getRecordLine()).isEqualTo(2);
+        int records = 1;
+        while (csv.next() != null) {
+            assertThat(csv.getRecordError()).isNull();
+            records++;
+        }
+        assertThat(records).isEqualTo(lines.size());
+        assertThat(csv.getRecordLine()).isEqualTo(lines.size() + 1);
+    }
+
+    @Test
+    void capsTheNumberOfFieldsPerRecord() throws IOException {
+        CsvReader csv = reader(",".repeat(5_000) + "\na,b\n");
+
+        csv.next();
+        assertThat(csv.getRecordError()).contains("more than");
+        assertThat(csv.next()).containsExactly("a", "b");
+    }
+
+    private static CsvReader reader(String input) {
+        return new CsvReader(new StringReader(input));
+    }
+}
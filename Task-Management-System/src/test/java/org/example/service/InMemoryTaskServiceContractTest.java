@@ -0,0 +1,15 @@
+package org.example.service;
+
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.TestPropertySource;
+
+/**
+ * Runs the TaskService contract against InMemoryTaskService ("memory" profile).
+ */
+@ActiveProfiles("memory")
+@TestPropertySource(properties = {
+        "spring.datasource.url=jdbc:h2:mem:contract_memory",
+        "datasource.replicas.urls=jdbc:h2:mem:contract_memory"
+})
+class InMemoryTaskServiceContractTest extends TaskServiceContractTest {
+}
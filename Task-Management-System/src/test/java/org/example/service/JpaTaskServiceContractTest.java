@@ -0,0 +1,16 @@
+package org.example.service;
+
+import org.springframework.test.context.TestPropertySource;
+
+/**
+ * Runs the TaskService contract against JpaTaskService (default profile).
+ * The write-behind buffer is enabled but only flushed by the tests themselves.
+ */
+@TestPropertySource(properties = {
+        "spring.datasource.url=jdbc:h2:mem:contract_jpa",
+        "datasource.replicas.urls=jdbc:h2:mem:contract_jpa",
+        "task.status.write-behind.enabled=true",
+        "task.status.write-behind.flush-interval=PT1H"
+})
+class JpaTaskServiceContractTest extends TaskServiceContractTest {
+}
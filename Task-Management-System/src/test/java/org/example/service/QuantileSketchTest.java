@@ -0,0 +1,88 @@
+package org.example.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+class QuantileSketchTest {
+
+    private static final double ACCURACY = 0.01;
+
+    private final QuantileSketch sketch = new QuantileSketch(ACCURACY);
+
+    @Test
+    void returnsNullWhenEmpty() {
+        assertThat(sketch.quantile(0.5)).isNull();
+        assertThat(sketch.count()).isZero();
+    }
+
+    @Test
+    void estimatesEveryRankWithinTheRelativeAccuracy() {
+        // Descending, so the buckets also grow towards smaller values
+        for (long value = 100_000; value >= 1_000; value--) {
+            sketch.add(value);
+        }
+
+        assertThat(sketch.count()).isEqualTo(99_001);
+        for (double q = 0; q <= 1; q += 0.01) {
+            long exact = 1_000 + (long) (q * 99_000);
+            assertThat(sketch.quantile(q).doubleValue()).as("quantile %.2f", q)
+                    .isCloseTo(exact, within(ACCURACY * exact + 1));
+        }
+    }
+
+    @Test
+    void staysWithinTheRelativeAccuracyOnASkewedDistribution() {
+        Random random = new Random(3);
+        long[] values = new long[50_000];
+        for (int i = 0; i < values.length; i++) {
+            // Log-normal, like task flow times: most short, a long tail
+            values[i] = 1 + (long) Math.exp(10 + 2 * random.nextGaussian());
+            sketch.add(values[i]);
+        }
+        Arrays.sort(values);
+
+        for (double q : new double[] {0, 0.25, 0.5, 0.9, 0.99, 0.999, 1}) {
+            long exact = values[(int) (q * (values.length - 1))];
+            assertThat(sketch.quantile(q).doubleValue()).as("quantile %s", q)
+                    .isCloseTo(exact, within(ACCURACY * exact + 1));
+        }
+    }
+
+    @Test
+    void countsZeroAndNegativeValuesAsZero() {
+        sketch.add(0);
+        sketch.add(-5);
+        sketch.add(1000);
+        sketch.add(1000);
+
+        assertThat(sketch.quantile(0)).isZero();
+        // Rank floor(0.34 * 3) = 1, the second zero
+        assertThat(sketch.quantile(0.34)).isZero();
+        assertThat(sketch.quantile(0.67).doubleValue()).isCloseTo(1000, within(10.0));
+    }
+
+    @Test
+    void takesBackRemovedValues() {
+        for (long value = 1; value <= 200; value++) {
+            sketch.add(value * 100);
+        }
+        for (long value = 101; value <= 200; value++) {
+            sketch.remove(value * 100);
+        }
+        sketch.remove(-1);
+        sketch.remove(999_999);
+
+        assertThat(sketch.count()).isEqualTo(100);
+        assertThat(sketch.quantile(1).doubleValue()).isCloseTo(10_000, within(100.0));
+
+        for (long value = 1; value <= 100; value++) {
+            sketch.remove(value * 100);
+        }
+        assertThat(sketch.quantile(0.5)).isNull();
+    }
+}
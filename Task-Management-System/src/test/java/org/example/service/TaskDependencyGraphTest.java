@@ -0,0 +1,147 @@
+package org.example.service;
+
+import org.example.exception.TaskDependencyCycleException;
+import org.example.model.enums.TaskStatus;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Random;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class TaskDependencyGraphTest {
+
+    private static final int TASKS = 40;
+
+    // Outside a transaction, track() applies at once; no test reaches the repositories or the router
+    private final TaskDependencyGraph graph = new TaskDependencyGraph(null, null, null, Optional.empty());
+
+    @BeforeEach
+    void openAllTasks() {
+        Map<Long, TaskStatus> statuses = new HashMap<>();
+        for (long id = 1; id <= TASKS; id++) {
+            statuses.put(id, TaskStatus.PENDING);
+        }
+        graph.track(statuses);
+    }
+
+    @Test
+    void readiesATaskOnceAllItsDependenciesAreDone() {
+        graph.addDependency(3L, 1L);
+        graph.addDependency(3L, 2L);
+
+        assertThat(graph.isReady(3L)).isFalse();
+        graph.track(1L, TaskStatus.DONE);
+        assertThat(graph.isReady(3L)).isFalse();
+        graph.track(2L, TaskStatus.DONE);
+        assertThat(graph.isReady(3L)).isTrue();
+        assertThat(graph.isReady(1L)).isFalse();
+
+        graph.track(2L, TaskStatus.IN_PROGRESS);
+        assertThat(graph.isReady(3L)).isFalse();
+        graph.removeDependency(3L, 2L);
+        assertThat(graph.isReady(3L)).isTrue();
+        assertThat(graph.dependenciesOf(3L)).containsExactly(1L);
+        assertThat(graph.dependentsOf(2L)).isEmpty();
+    }
+
+    @Test
+    void rejectsSelfDirectAndTransitiveCycles() {
+        graph.addDependency(2L, 1L);
+        graph.addDependency(3L, 2L);
+
+        assertThatThrownBy(() -> graph.addDependency(4L, 4L)).isInstanceOf(TaskDependencyCycleException.class);
+        assertThatThrownBy(() -> graph.addDependency(1L, 2L)).isInstanceOf(TaskDependencyCycleException.class);
+        assertThatThrownBy(() -> graph.addDependency(1L, 3L)).isInstanceOf(TaskDependencyCycleException.class);
+        assertThat(graph.addDependency(3L, 2L)).isFalse();
+
+        // The graph is unchanged by the rejected dependencies and still accepts valid ones
+        assertThat(graph.dependenciesOf(1L)).isEmpty();
+        assertThat(graph.addDependency(3L, 1L)).isTrue();
+        assertThat(graph.addDependency(4L, 3L)).isTrue();
+        assertThatThrownBy(() -> graph.addDependency(1L, 4L)).isInstanceOf(TaskDependencyCycleException.class);
+    }
+
+    @Test
+    void reordersWhenADependencyGoesAgainstTheOrder() {
+        // Two chains ordered independently: 2 before 1, 4 before 3
+        graph.addDependency(1L, 2L);
+        graph.addDependency(3L, 4L);
+        // 4 now depends on 1, which came after it: the order becomes 2, 1, 4, 3
+        graph.addDependency(4L, 1L);
+
+        assertThatThrownBy(() -> graph.addDependency(2L, 3L)).isInstanceOf(TaskDependencyCycleException.class);
+        assertThatThrownBy(() -> graph.addDependency(1L, 4L)).isInstanceOf(TaskDependencyCycleException.class);
+        assertThat(graph.addDependency(3L, 2L)).isTrue();
+    }
+
+    @Test
+    void agreesWithAFullSearchUnderRandomChanges() {
+        Random random = new Random(11);
+        Map<Long, Set<Long>> dependsOn = new HashMap<>();
+        Set<Long> done = new HashSet<>();
+
+        for (int i = 0; i < 5000; i++) {
+            long taskId = 1 + random.nextInt(TASKS);
+            long dependsOnId = 1 + random.nextInt(TASKS);
+            int action = random.nextInt(10);
+            if (action < 6) {
+                boolean cycle = dependsTransitively(dependsOn, dependsOnId, taskId);
+                if (cycle) {
+                    assertThatThrownBy(() -> graph.addDependency(taskId, dependsOnId))
+                            .isInstanceOf(TaskDependencyCycleException.class);
+                } else {
+                    boolean added = dependsOn.computeIfAbsent(taskId, id -> new HashSet<>()).add(dependsOnId);
+                    assertThat(graph.addDependency(taskId, dependsOnId)).isEqualTo(added);
+                }
+            } else if (action < 8) {
+                boolean removed = dependsOn.containsKey(taskId) && dependsOn.get(taskId).remove(dependsOnId);
+                assertThat(graph.removeDependency(taskId, dependsOnId)).isEqualTo(removed);
+            } else {
+                boolean complete = !done.contains(taskId);
+                if (complete) {
+                    done.add(taskId);
+                } else {
+                    done.remove(taskId);
+                }
+                graph.track(taskId, complete ? TaskStatus.DONE : TaskStatus.PENDING);
+            }
+
+            List<Long> expectedReady = new ArrayList<>();
+            for (long id = 1; id <= TASKS; id++) {
+                if (!done.contains(id) && done.containsAll(dependsOn.getOrDefault(id, Set.of()))) {
+                    expectedReady.add(id);
+                }
+            }
+            assertThat(graph.readyTaskIds()).isEqualTo(expectedReady);
+        }
+    }
+
+    /**
+     * Whether a task depends on another one, directly or through other tasks (or is that task).
+     */
+    private static boolean dependsTransitively(Map<Long, Set<Long>> dependsOn, long taskId, long otherId) {
+        Set<Long> visited = new HashSet<>();
+        Deque<Long> stack = new ArrayDeque<>(List.of(taskId));
+        while (!stack.isEmpty()) {
+            long id = stack.pop();
+            if (id == otherId) {
+                return true;
+            }
+            if (visited.add(id)) {
+                stack.addAll(dependsOn.getOrDefault(id, Set.of()));
+            }
+        }
+        return false;
+    }
+}
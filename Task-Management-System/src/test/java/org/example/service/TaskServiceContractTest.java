@@ -0,0 +1,321 @@
+package org.example.service;
+
+import org.example.exception.CategoryNotFoundException;
+import org.example.exception.PriorityNotFoundException;
+import org.example.exception.TaskHierarchyCycleException;
+import org.example.exception.TaskNotFoundException;
+import org.example.exception.UserNotFoundException;
+import org.example.model.dto.request.CategoryRequest;
+import org.example.model.dto.request.PriorityRequest;
+import org.example.model.dto.request.TaskDependencyRequest;
+import org.example.model.dto.request.TaskRequest;
+import org.example.model.dto.request.TaskStatusUpdateRequest;
+import org.example.model.dto.request.UserRequest;
+import org.example.model.dto.response.BatchResponse;
+import org.example.model.dto.response.TaskResponse;
+import org.example.model.dto.response.TaskSubtasksResponse;
+import org.example.model.dto.response.UserDashboardResponse;
+import org.example.model.enums.TaskStatus;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+/**
+ * The TaskService contract, run against every task store engine (one subclass per engine).
+ * Both engines must pass the same tests unchanged.
+ *
+ * Each test creates its own user, category and priorities, so the tests of a class can share
+ * one application context without seeing each other's tasks.
+ */
+@SpringBootTest
+abstract class TaskServiceContractTest {
+
+    private static final AtomicInteger sequence = new AtomicInteger();
+
+    /**
+     * Timestamps a write returns before the database rounds them to microseconds
+     */
+    private static final String[] STORED_PRECISION_FIELDS = {"createdAt", "updatedAt"};
+
+    @Autowired
+    private TaskService taskService;
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private CategoryService categoryService;
+
+    @Autowired
+    private PriorityService priorityService;
+
+    @Autowired
+    private TaskDependencyService dependencyService;
+
+    @Autowired
+    private TaskStatusWriteBehindBuffer statusWriteBehindBuffer;
+
+    @Autowired
+    private TaskPriorityQueue taskPriorityQueue;
+
+    private Long userId;
+    private Long categoryId;
+    private Long lowPriorityId;
+    private Long highPriorityId;
+
+    @BeforeEach
+    void createReferences() {
+        int n = sequence.incrementAndGet();
+        userId = userService.createUser(new UserRequest("User " + n, "user" + n + "@example.org")).getId();
+        categoryId = categoryService.createCategory(new CategoryRequest("Category " + n, null)).getId();
+        lowPriorityId = priorityService.createPriority(new PriorityRequest("Low " + n, 1)).getId();
+        highPriorityId = priorityService.createPriority(new PriorityRequest("High " + n, 5)).getId();
+    }
+
+    @Test
+    void createTaskStoresPendingTaskWithItsReferences() {
+        LocalDateTime dueAt = LocalDateTime.now().plusDays(3).withNano(0);
+        TaskResponse created = taskService.createTask(
+                new TaskRequest("Write report", "Quarterly", dueAt, null, userId, categoryId, highPriorityId));
+
+        assertThat(created.getId()).isNotNull();
+        assertThat(created.getStatus()).isEqualTo(TaskStatus.PENDING);
+        assertThat(created.getTitle()).isEqualTo("Write report");
+        assertThat(created.getDescription()).isEqualTo("Quarterly");
+        assertThat(created.getDueAt()).isEqualTo(dueAt);
+        assertThat(created.isOverdue()).isFalse();
+        assertThat(created.getUser().getId()).isEqualTo(userId);
+        assertThat(created.getCategory().getId()).isEqualTo(categoryId);
+        assertThat(created.getPriority().getLevel()).isEqualTo(5);
+        assertThat(taskService.getTaskById(created.getId(), false)).usingRecursiveComparison()
+                .ignoringFields(STORED_PRECISION_FIELDS).isEqualTo(created);
+    }
+
+    @Test
+    void createTaskRejectsUnknownReferences() {
+        assertThatThrownBy(() -> taskService.createTask(task("Task", 999_999L, categoryId, lowPriorityId)))
+                .isInstanceOf(UserNotFoundException.class);
+        assertThatThrownBy(() -> taskService.createTask(task("Task", userId, 999_999L, lowPriorityId)))
+                .isInstanceOf(CategoryNotFoundException.class);
+        assertThatThrownBy(() -> taskService.createTask(task("Task", userId, categoryId, 999_999L)))
+                .isInstanceOf(PriorityNotFoundException.class);
+    }
+
+    @Test
+    void getTaskByIdFailsForUnknownTask() {
+        assertThatThrownBy(() -> taskService.getTaskById(999_999L, true))
+                .isInstanceOf(TaskNotFoundException.class);
+    }
+
+    @Test
+    void getAllTasksReturnsTasksSortedById() {
+        TaskResponse first = create("First", lowPriorityId);
+        TaskResponse second = create("Second", lowPriorityId);
+
+        List<Long> ids = taskService.getAllTasks(false).stream().map(TaskResponse::getId).toList();
+
+        assertThat(ids).contains(first.getId(), second.getId()).isSorted();
+    }
+
+    @Test
+    void getTasksByIdsKeepsRequestOrderAndReportsMissingIds() {
+        TaskResponse first = create("First", lowPriorityId);
+        TaskResponse second = create("Second", lowPriorityId);
+
+        BatchResponse<TaskResponse> batch = taskService.getTasksByIds(
+                List.of(second.getId(), 999_999L, first.getId(), second.getId()), false);
+
+        assertThat(batch.getItems()).extracting(TaskResponse::getId).containsExactly(second.getId(), first.getId());
+        assertThat(batch.getMissingIds()).containsExactly(999_999L);
+    }
+
+    @Test
+    void updateTaskReplacesFieldsAndReferences() {
+        TaskResponse created = create("Draft", lowPriorityId);
+        Long otherUserId = userService.createUser(
+                new UserRequest("Other " + sequence.incrementAndGet(), "other" + sequence.get() + "@example.org")).getId();
+
+        TaskResponse updated = taskService.updateTask(created.getId(),
+                new TaskRequest("Final", "Reviewed", null, null, otherUserId, categoryId, highPriorityId));
+
+        assertThat(updated.getTitle()).isEqualTo("Final");
+        assertThat(updated.getDescription()).isEqualTo("Reviewed");
+        assertThat(updated.getUser().getId()).isEqualTo(otherUserId);
+        assertThat(updated.getPriority().getId()).isEqualTo(highPriorityId);
+        assertThat(updated.getStatus()).isEqualTo(TaskStatus.PENDING);
+        assertThat(taskService.getTaskById(created.getId(), false)).usingRecursiveComparison()
+                .ignoringFields(STORED_PRECISION_FIELDS).isEqualTo(updated);
+    }
+
+    @Test
+    void updateTaskFailsForUnknownTask() {
+        assertThatThrownBy(() -> taskService.updateTask(999_999L, task("Task", userId, categoryId, lowPriorityId)))
+                .isInstanceOf(TaskNotFoundException.class);
+    }
+
+    @Test
+    void updateTaskStatusChangesOnlyTheStatus() {
+        TaskResponse created = create("Task", lowPriorityId);
+
+        TaskResponse done = taskService.updateTaskStatus(created.getId(), new TaskStatusUpdateRequest(TaskStatus.DONE));
+
+        assertThat(done.getStatus()).isEqualTo(TaskStatus.DONE);
+        assertThat(done.getTitle()).isEqualTo(created.getTitle());
+        assertThat(taskService.getTaskById(created.getId(), false).getStatus()).isEqualTo(TaskStatus.DONE);
+        assertThatThrownBy(() -> taskService.updateTaskStatus(999_999L, new TaskStatusUpdateRequest(TaskStatus.DONE)))
+                .isInstanceOf(TaskNotFoundException.class);
+    }
+
+    @Test
+    void claimNextTaskTakesHighestPriorityThenOldest() {
+        TaskResponse low = create("Low", lowPriorityId);
+        TaskResponse olderHigh = create("Older high", highPriorityId);
+        TaskResponse newerHigh = create("Newer high", highPriorityId);
+
+        assertThat(taskService.claimNextTask(userId)).map(TaskResponse::getId).contains(olderHigh.getId());
+        assertThat(taskService.claimNextTask(userId)).map(TaskResponse::getId).contains(newerHigh.getId());
+        Optional<TaskResponse> last = taskService.claimNextTask(userId);
+        assertThat(last).map(TaskResponse::getId).contains(low.getId());
+        assertThat(last).map(TaskResponse::getStatus).contains(TaskStatus.IN_PROGRESS);
+        assertThat(taskService.claimNextTask(userId)).isEmpty();
+    }
+
+    @Test
+    void claimNextTaskSkipsTasksThatAreNoLongerPending() {
+        TaskResponse done = create("Done", highPriorityId);
+        TaskResponse pending = create("Pending", lowPriorityId);
+        taskService.updateTaskStatus(done.getId(), new TaskStatusUpdateRequest(TaskStatus.DONE));
+
+        assertThat(taskService.claimNextTask(userId)).map(TaskResponse::getId).contains(pending.getId());
+        assertThat(taskService.claimNextTask(userId)).isEmpty();
+        assertThatThrownBy(() -> taskService.claimNextTask(999_999L)).isInstanceOf(UserNotFoundException.class);
+    }
+
+    @Test
+    void claimNextTaskFindsTasksMissingFromTheNextTaskQueue() {
+        TaskResponse low = create("Low", lowPriorityId);
+        TaskResponse high = create("High", highPriorityId);
+        // As if both were created through another instance
+        taskPriorityQueue.untrack(low.getId());
+        taskPriorityQueue.untrack(high.getId());
+
+        assertThat(taskService.claimNextTask(userId)).map(TaskResponse::getId).contains(high.getId());
+        assertThat(taskService.claimNextTask(userId)).map(TaskResponse::getId).contains(low.getId());
+        assertThat(taskService.claimNextTask(userId)).isEmpty();
+    }
+
+    @Test
+    void claimNextTaskSupersedesAQueuedStatusChange() {
+        assumeTrue(statusWriteBehindBuffer.isEnabled(), "the engine writes statuses behind");
+        TaskResponse task = create("Queued", lowPriorityId);
+        assertThat(statusWriteBehindBuffer.enqueue(task.getId(), TaskStatus.PENDING)).isTrue();
+
+        assertThat(taskService.claimNextTask(userId)).map(TaskResponse::getId).contains(task.getId());
+        statusWriteBehindBuffer.flush();
+
+        assertThat(taskService.getTaskById(task.getId(), false).getStatus()).isEqualTo(TaskStatus.IN_PROGRESS);
+        assertThat(taskService.claimNextTask(userId)).isEmpty();
+    }
+
+    @Test
+    void getReadyTasksExcludesTasksWithOpenDependencies() {
+        TaskResponse first = create("First", lowPriorityId);
+        TaskResponse second = create("Second", lowPriorityId);
+        dependencyService.addDependency(second.getId(), new TaskDependencyRequest(first.getId()));
+
+        assertThat(readyIds()).contains(first.getId()).doesNotContain(second.getId());
+
+        taskService.updateTaskStatus(first.getId(), new TaskStatusUpdateRequest(TaskStatus.DONE));
+
+        assertThat(readyIds()).contains(second.getId()).doesNotContain(first.getId());
+    }
+
+    @Test
+    void getSubtasksRollsUpDescendants() {
+        TaskResponse root = create("Root", lowPriorityId);
+        TaskResponse child = taskService.createTask(
+                new TaskRequest("Child", null, null, root.getId(), userId, categoryId, lowPriorityId));
+        TaskResponse grandchild = taskService.createTask(
+                new TaskRequest("Grandchild", null, null, child.getId(), userId, categoryId, lowPriorityId));
+        taskService.updateTaskStatus(grandchild.getId(), new TaskStatusUpdateRequest(TaskStatus.DONE));
+
+        TaskSubtasksResponse all = taskService.getSubtasks(root.getId(), null);
+        TaskSubtasksResponse direct = taskService.getSubtasks(root.getId(), 1);
+
+        assertThat(all.getDescendantCount()).isEqualTo(2);
+        assertThat(all.getDoneDescendantCount()).isEqualTo(1);
+        assertThat(all.getSubtasks()).extracting(TaskResponse::getId).containsExactly(child.getId(), grandchild.getId());
+        assertThat(direct.getSubtasks()).extracting(TaskResponse::getId).containsExactly(child.getId());
+    }
+
+    @Test
+    void updateTaskRejectsParentCycles() {
+        TaskResponse root = create("Root", lowPriorityId);
+        TaskResponse child = taskService.createTask(
+                new TaskRequest("Child", null, null, root.getId(), userId, categoryId, lowPriorityId));
+
+        assertThatThrownBy(() -> taskService.updateTask(root.getId(),
+                new TaskRequest("Root", null, null, child.getId(), userId, categoryId, lowPriorityId)))
+                .isInstanceOf(TaskHierarchyCycleException.class);
+        assertThat(taskService.getTaskById(root.getId(), false).getParentId()).isNull();
+    }
+
+    @Test
+    void getUserDashboardCountsTasksPerStatus() {
+        create("Pending", lowPriorityId);
+        TaskResponse started = create("Started", highPriorityId);
+        TaskResponse done = create("Done", lowPriorityId);
+        taskService.updateTaskStatus(started.getId(), new TaskStatusUpdateRequest(TaskStatus.IN_PROGRESS));
+        taskService.updateTaskStatus(done.getId(), new TaskStatusUpdateRequest(TaskStatus.DONE));
+
+        UserDashboardResponse dashboard = taskService.getUserDashboard(userId);
+
+        assertThat(dashboard.getUser().getId()).isEqualTo(userId);
+        assertThat(dashboard.getStatusCounts())
+                .containsEntry(TaskStatus.PENDING, 1L)
+                .containsEntry(TaskStatus.IN_PROGRESS, 1L)
+                .containsEntry(TaskStatus.DONE, 1L);
+        assertThat(dashboard.getOpenTasks()).doesNotContainKey(TaskStatus.DONE);
+        assertThat(dashboard.getOpenTasks().get(TaskStatus.IN_PROGRESS))
+                .extracting(UserDashboardResponse.Task::getId).containsExactly(started.getId());
+        assertThat(dashboard.getCategories()).extracting("id").containsExactly(categoryId);
+        assertThat(dashboard.getPriorities()).extracting("id")
+                .containsExactlyInAnyOrder(lowPriorityId, highPriorityId);
+        assertThatThrownBy(() -> taskService.getUserDashboard(999_999L)).isInstanceOf(UserNotFoundException.class);
+    }
+
+    @Test
+    void deleteTaskRemovesTheTask() {
+        TaskResponse created = create("Task", lowPriorityId);
+
+        taskService.deleteTask(created.getId());
+
+        assertThatThrownBy(() -> taskService.getTaskById(created.getId(), true))
+                .isInstanceOf(TaskNotFoundException.class);
+        assertThatThrownBy(() -> taskService.deleteTask(created.getId()))
+                .isInstanceOf(TaskNotFoundException.class);
+        assertThat(taskService.claimNextTask(userId)).isEmpty();
+    }
+
+    private TaskResponse create(String title, Long priorityId) {
+        return taskService.createTask(task(title, userId, categoryId, priorityId));
+    }
+
+    private static TaskRequest task(String title, Long userId, Long categoryId, Long priorityId) {
+        return new TaskRequest(title, null, null, null, userId, categoryId, priorityId);
+    }
+
+    private List<Long> readyIds() {
+        return taskService.getReadyTasks().stream().map(TaskResponse::getId).toList();
+    }
+}
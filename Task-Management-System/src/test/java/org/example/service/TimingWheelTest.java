@@ -0,0 +1,111 @@
+package org.example.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class TimingWheelTest {
+
+    // 10 ms ticks, 4 slots per level, 100 ms horizon: levels of 1 and 4 ticks per slot, 16 ticks in range
+    private static final long TICK = 10;
+
+    private final TimingWheel wheel = new TimingWheel(TICK, 4, 100, 0);
+
+    @Test
+    void rejectsInvalidDimensions() {
+        assertThatThrownBy(() -> new TimingWheel(0, 4, 100, 0)).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> new TimingWheel(10, 1, 100, 0)).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void roundsDeadlinesUpToTheNextTick() {
+        wheel.schedule(1, 11);
+
+        assertThat(wheel.advance(19)).isEmpty();
+        assertThat(wheel.advance(20)).containsExactly(1L);
+        assertThat(wheel.size()).isZero();
+    }
+
+    @Test
+    void expiresPastDeadlinesAtTheNextAdvance() {
+        wheel.advance(50);
+        wheel.schedule(1, 30);
+
+        assertThat(wheel.size()).isEqualTo(1);
+        assertThat(wheel.advance(50)).containsExactly(1L);
+    }
+
+    @Test
+    void cascadesHigherLevelsDownToTheExactTick() {
+        // Tick 13 starts on level 1 and cascades to level 0 when its slot comes up at tick 12
+        wheel.schedule(1, 130);
+        wheel.schedule(2, 40);
+
+        assertThat(advanceTickByTick(1, 3)).isEmpty();
+        assertThat(advanceTickByTick(4, 4)).containsExactly(2L);
+        assertThat(advanceTickByTick(5, 12)).isEmpty();
+        assertThat(advanceTickByTick(13, 13)).containsExactly(1L);
+    }
+
+    @Test
+    void keepsDeadlinesBeyondTheHorizonUntilTheyAreDue() {
+        // 100 ticks ahead, six times the range of the wheel
+        wheel.schedule(1, 1000);
+
+        assertThat(advanceTickByTick(1, 99)).isEmpty();
+        assertThat(wheel.size()).isEqualTo(1);
+        assertThat(advanceTickByTick(100, 100)).containsExactly(1L);
+    }
+
+    @Test
+    void replacesAndCancelsDeadlines() {
+        wheel.schedule(1, 50);
+        wheel.schedule(1, 80);
+        wheel.scheduleIfAbsent(1, 20);
+        wheel.scheduleIfAbsent(2, 20);
+        wheel.schedule(3, 30);
+        wheel.cancel(3);
+
+        assertThat(wheel.advance(50)).containsExactly(2L);
+        assertThat(wheel.advance(80)).containsExactly(1L);
+        assertThat(wheel.size()).isZero();
+    }
+
+    @Test
+    void expiresRandomDeadlinesAtTheirTickWhateverTheSteps() {
+        Random random = new Random(7);
+        Map<Long, Long> dueTick = new HashMap<>();
+        for (long id = 1; id <= 2000; id++) {
+            long deadline = random.nextInt(5000);
+            wheel.schedule(id, deadline);
+            dueTick.put(id, -Math.floorDiv(-deadline, TICK));
+        }
+
+        long now = 0;
+        while (!dueTick.isEmpty()) {
+            now += random.nextInt(3) == 0 ? 1 + random.nextInt(200) : TICK;
+            long tick = now / TICK;
+            List<Long> expired = wheel.advance(now);
+
+            assertThat(expired).allSatisfy(id -> assertThat(dueTick.get(id)).isLessThanOrEqualTo(tick));
+            expired.forEach(dueTick::remove);
+            assertThat(dueTick.values()).allSatisfy(due -> assertThat(due).isGreaterThan(tick));
+            assertThat(wheel.size()).isEqualTo(dueTick.size());
+        }
+    }
+
+    private List<Long> advanceTickByTick(long fromTick, long toTick) {
+        List<Long> expired = new ArrayList<>();
+        for (long tick = fromTick; tick <= toTick; tick++) {
+            expired.addAll(wheel.advance(tick * TICK));
+        }
+        return expired;
+    }
+}